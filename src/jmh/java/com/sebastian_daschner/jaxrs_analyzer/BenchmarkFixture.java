@@ -0,0 +1,175 @@
+package com.sebastian_daschner.jaxrs_analyzer;
+
+import com.sebastian_daschner.jaxrs_analyzer.analysis.ProjectAnalyzer;
+import com.sebastian_daschner.jaxrs_analyzer.analysis.classes.ContextClassReader;
+import com.sebastian_daschner.jaxrs_analyzer.analysis.classes.JAXRSClassVisitor;
+import com.sebastian_daschner.jaxrs_analyzer.model.rest.Project;
+import com.sebastian_daschner.jaxrs_analyzer.model.rest.Resources;
+import com.sebastian_daschner.jaxrs_analyzer.model.results.ClassResult;
+import com.sebastian_daschner.jaxrs_analyzer.model.results.MethodResult;
+import org.objectweb.asm.ClassReader;
+
+import javax.tools.JavaCompiler;
+import javax.tools.ToolProvider;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.*;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static java.util.Collections.emptySet;
+import static java.util.Collections.singleton;
+
+/**
+ * The benchmark fixture which is based on the {@code src/test/jaxrs-test} project.
+ * Scaled variants contain several copies of the project in separate packages with distinct resource paths.
+ *
+ * @author Sebastian Daschner
+ */
+public class BenchmarkFixture {
+
+    private static final Path TEST_PROJECT = Paths.get("src/test/jaxrs-test");
+    private static final String TEST_PACKAGE = "com.sebastian_daschner.jaxrs_test";
+    private static final Pattern PATH_ANNOTATION = Pattern.compile("@Path\\(\"/?");
+
+    private final Path directory;
+    private final Path sourcePath;
+    private final Path classPath;
+    private final Set<String> classNames;
+
+    private BenchmarkFixture(final Path directory, final Path sourcePath, final Path classPath, final Set<String> classNames) {
+        this.directory = directory;
+        this.sourcePath = sourcePath;
+        this.classPath = classPath;
+        this.classNames = classNames;
+    }
+
+    /**
+     * Creates and compiles the given number of copies of the test project in a temporary directory, which has to be {@link #delete() deleted} afterwards.
+     *
+     * @param copies The number of project copies
+     * @return The fixture
+     */
+    public static BenchmarkFixture create(final int copies) throws IOException {
+        final Path directory = Files.createTempDirectory("jaxrs-analyzer-benchmark");
+        final Path sourcePath = Files.createDirectories(directory.resolve("sources"));
+        final Path classPath = Files.createDirectories(directory.resolve("classes"));
+
+        final List<Path> testSources;
+        try (final Stream<Path> files = Files.list(TEST_PROJECT.resolve(TEST_PACKAGE.replace('.', File.separatorChar)))) {
+            testSources = files.filter(f -> f.toString().endsWith(".java")).collect(Collectors.toList());
+        }
+
+        final List<String> sourceFiles = new ArrayList<>();
+        final Set<String> classNames = new HashSet<>();
+        for (int copy = 0; copy < copies; copy++) {
+            final String packageName = copy == 0 ? TEST_PACKAGE : TEST_PACKAGE + "_copy" + copy;
+            final String pathPrefix = copy == 0 ? "" : "copy" + copy + '/';
+            final Path packageDirectory = Files.createDirectories(sourcePath.resolve(packageName.replace('.', File.separatorChar)));
+
+            for (final Path testSource : testSources) {
+                final String source = new String(Files.readAllBytes(testSource), StandardCharsets.UTF_8)
+                        .replace(TEST_PACKAGE, packageName);
+                final String fileName = testSource.getFileName().toString();
+                final Path sourceFile = packageDirectory.resolve(fileName);
+
+                Files.write(sourceFile, PATH_ANNOTATION.matcher(source).replaceAll(Matcher.quoteReplacement("@Path(\"" + pathPrefix)).getBytes(StandardCharsets.UTF_8));
+                sourceFiles.add(sourceFile.toString());
+                classNames.add(packageName + '.' + fileName.substring(0, fileName.length() - ".java".length()));
+            }
+        }
+
+        final List<String> arguments = new ArrayList<>(Arrays.asList("-g", "-nowarn", "-classpath", System.getProperty("java.class.path"), "-d", classPath.toString()));
+        arguments.addAll(sourceFiles);
+
+        final JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        if (compiler.run(null, null, null, arguments.toArray(new String[arguments.size()])) != 0)
+            throw new IllegalStateException("Could not compile the benchmark project");
+
+        ContextClassReader.addClassPath(classPath.toUri().toURL());
+        return new BenchmarkFixture(directory, sourcePath, classPath, classNames);
+    }
+
+    /**
+     * Deletes the temporary directory of the project copies, e.g. after a benchmark trial.
+     */
+    public void delete() throws IOException {
+        try (final Stream<Path> files = Files.walk(directory)) {
+            // the contents of a directory are deleted before the directory itself
+            for (final Path file : files.sorted(Comparator.reverseOrder()).collect(Collectors.toList()))
+                Files.delete(file);
+        }
+    }
+
+    public Path getSourcePath() {
+        return sourcePath;
+    }
+
+    public Path getClassPath() {
+        return classPath;
+    }
+
+    /**
+     * Returns the class paths of the analyzed project including the class path of the benchmark JVM.
+     *
+     * @return The class paths
+     */
+    public Set<Path> getClassPaths() {
+        final Set<Path> classPaths = Stream.of(System.getProperty("java.class.path").split(File.pathSeparator))
+                .map(Paths::get).collect(Collectors.toSet());
+        classPaths.add(classPath);
+        return classPaths;
+    }
+
+    /**
+     * Visits all classes of the project (without further bytecode analysis).
+     *
+     * @return The class results
+     */
+    public Set<ClassResult> visitClasses() {
+        return classNames.stream().map(c -> {
+            try {
+                final ClassResult classResult = new ClassResult();
+                new ContextClassReader(c).accept(new JAXRSClassVisitor(classResult), ClassReader.EXPAND_FRAMES);
+                return classResult;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }).collect(Collectors.toSet());
+    }
+
+    /**
+     * Returns the visited methods of all classes (without further bytecode analysis).
+     *
+     * @return The method results
+     */
+    public List<MethodResult> visitMethods() {
+        return visitClasses().stream().flatMap(c -> c.getMethods().stream()).collect(Collectors.toList());
+    }
+
+    /**
+     * Analyzes the project.
+     *
+     * @return The resources
+     */
+    public Resources analyze() {
+        return new ProjectAnalyzer(getClassPaths()).analyze(singleton(classPath), singleton(sourcePath), emptySet());
+    }
+
+    /**
+     * Analyzes the project with name and version.
+     *
+     * @return The project
+     */
+    public Project analyzeProject() {
+        return new Project("benchmark", "1.0", analyze());
+    }
+
+}
@@ -0,0 +1,60 @@
+package com.sebastian_daschner.jaxrs_analyzer;
+
+import org.openjdk.jmh.infra.BenchmarkParams;
+import org.openjdk.jmh.infra.IterationParams;
+import org.openjdk.jmh.profile.InternalProfiler;
+import org.openjdk.jmh.results.AggregationPolicy;
+import org.openjdk.jmh.results.IterationResult;
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.ScalarResult;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reports the peak heap usage and the times of the analysis phases (see {@link Metrics}) of every benchmark iteration.
+ * The peak heap is the sum of the peak usages of all heap memory pools, which is an upper bound of the actual peak.
+ * <p>
+ * Enabled with {@code -prof com.sebastian_daschner.jaxrs_analyzer.ScalingProfiler}.
+ *
+ * @author Sebastian Daschner
+ */
+public class ScalingProfiler implements InternalProfiler {
+
+    @Override
+    public String getDescription() {
+        return "Peak heap usage and times of the JAX-RS Analyzer phases";
+    }
+
+    @Override
+    public void beforeIteration(final BenchmarkParams benchmarkParams, final IterationParams iterationParams) {
+        System.gc();
+        ManagementFactory.getMemoryPoolMXBeans().stream().filter(p -> p.getType() == MemoryType.HEAP).forEach(MemoryPoolMXBean::resetPeakUsage);
+        Metrics.reset();
+        Metrics.setEnabled(true);
+    }
+
+    @Override
+    public Collection<? extends Result> afterIteration(final BenchmarkParams benchmarkParams, final IterationParams iterationParams,
+                                                       final IterationResult result) {
+        Metrics.setEnabled(false);
+        final Metrics.Summary summary = Metrics.summary();
+
+        final long peakHeap = ManagementFactory.getMemoryPoolMXBeans().stream().filter(p -> p.getType() == MemoryType.HEAP)
+                .mapToLong(p -> p.getPeakUsage().getUsed()).sum();
+
+        final List<Result> results = new ArrayList<>();
+        results.add(new ScalarResult("peak.heap", peakHeap / (1024.0 * 1024.0), "MB", AggregationPolicy.MAX));
+        for (final Metrics.Phase phase : Metrics.Phase.values())
+            results.add(new ScalarResult("phase." + phase.name().toLowerCase(Locale.ENGLISH), summary.getTime(phase, TimeUnit.MICROSECONDS) / 1000.0,
+                    "ms", AggregationPolicy.AVG));
+        return results;
+    }
+
+}
@@ -0,0 +1,43 @@
+package com.sebastian_daschner.jaxrs_analyzer.analysis;
+
+import com.sebastian_daschner.jaxrs_analyzer.BenchmarkFixture;
+import com.sebastian_daschner.jaxrs_analyzer.model.rest.Resources;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Analyzes the benchmark project end-to-end, including the JavaDoc analysis.
+ *
+ * @author Sebastian Daschner
+ */
+@BenchmarkMode(Mode.AverageTime)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ProjectAnalyzerBenchmark {
+
+    @Param({"1", "10"})
+    public int copies;
+
+    private BenchmarkFixture fixture;
+
+    @Setup
+    public void setUp() throws IOException {
+        fixture = BenchmarkFixture.create(copies);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        fixture.delete();
+    }
+
+    @Benchmark
+    public Resources analyze() {
+        return fixture.analyze();
+    }
+
+}
@@ -0,0 +1,71 @@
+package com.sebastian_daschner.jaxrs_analyzer.analysis;
+
+import com.sebastian_daschner.jaxrs_analyzer.JAXRSAnalyzer;
+import com.sebastian_daschner.jaxrs_analyzer.SyntheticProject;
+import com.sebastian_daschner.jaxrs_analyzer.backend.swagger.SwaggerBackend;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static java.util.Collections.emptyMap;
+
+/**
+ * Analyzes and renders synthetic projects of increasing size to reveal superlinear behavior of the analysis.
+ * Every run analyzes a freshly generated project in a separate JVM; the peak heap and the times of the single phases
+ * are reported with {@code -prof com.sebastian_daschner.jaxrs_analyzer.ScalingProfiler}.
+ *
+ * @author Sebastian Daschner
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(1)
+@State(Scope.Benchmark)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ProjectScalingBenchmark {
+
+    @Param({"1000", "10000", "50000"})
+    public int classes;
+
+    @Param({"DIRECTORY"})
+    public SyntheticProject.Packaging packaging;
+
+    private JAXRSAnalyzer analyzer;
+
+    @Setup
+    public void setUp() throws IOException {
+        final Path directory = Files.createTempDirectory("jaxrs-analyzer-scaling");
+        final SyntheticProject project = SyntheticProject.withClasses(classes)
+                .andLocatorDepth(2)
+                .andCallChainDepth(3)
+                .andDtoDepth(2)
+                .andDtoWidth(5)
+                .andRecursiveDtos()
+                .andJavaDoc()
+                .andPackaging(packaging)
+                .generate(directory);
+
+        final JAXRSAnalyzer.Analysis analysis = new JAXRSAnalyzer.Analysis();
+        analysis.addProjectClassPath(project.getClassPath());
+        analysis.addProjectSourcePath(project.getSourcePath());
+        Stream.of(System.getProperty("java.class.path").split(File.pathSeparator)).map(Paths::get).forEach(analysis::addClassPath);
+        analysis.setProjectName("scaling");
+        analysis.setProjectVersion("1.0");
+        analysis.setBackend(new SwaggerBackend());
+        analysis.configureBackend(emptyMap());
+        analysis.setOutputLocation(directory.resolve("swagger.json"));
+        analyzer = new JAXRSAnalyzer(analysis);
+    }
+
+    @Benchmark
+    public void analyze() {
+        analyzer.analyze();
+    }
+
+}
@@ -0,0 +1,51 @@
+package com.sebastian_daschner.jaxrs_analyzer.analysis.bytecode.reduction;
+
+import com.sebastian_daschner.jaxrs_analyzer.BenchmarkFixture;
+import com.sebastian_daschner.jaxrs_analyzer.model.instructions.Instruction;
+import com.sebastian_daschner.jaxrs_analyzer.model.results.MethodResult;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Reduces the instructions of all methods of the benchmark project.
+ *
+ * @author Sebastian Daschner
+ */
+@BenchmarkMode(Mode.AverageTime)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class RelevantInstructionReducerBenchmark {
+
+    @Param({"1", "10"})
+    public int copies;
+
+    private BenchmarkFixture fixture;
+    private List<List<Instruction>> instructions;
+
+    @Setup
+    public void setUp() throws IOException {
+        fixture = BenchmarkFixture.create(copies);
+        instructions = fixture.visitMethods().stream()
+                .map(MethodResult::getInstructions).collect(Collectors.toList());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        fixture.delete();
+    }
+
+    @Benchmark
+    public void reduceInstructions(final Blackhole blackhole) {
+        final RelevantInstructionReducer reducer = new RelevantInstructionReducer();
+        instructions.forEach(i -> blackhole.consume(reducer.reduceInstructions(i)));
+    }
+
+}
@@ -0,0 +1,59 @@
+package com.sebastian_daschner.jaxrs_analyzer.analysis.bytecode.simulation;
+
+import com.sebastian_daschner.jaxrs_analyzer.BenchmarkFixture;
+import com.sebastian_daschner.jaxrs_analyzer.model.instructions.Instruction;
+import com.sebastian_daschner.jaxrs_analyzer.model.instructions.InvokeInstruction;
+import com.sebastian_daschner.jaxrs_analyzer.model.methods.MethodIdentifier;
+import com.sebastian_daschner.jaxrs_analyzer.model.methods.ProjectMethod;
+import com.sebastian_daschner.jaxrs_analyzer.model.results.MethodResult;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Looks up the invoked methods of all methods of the benchmark project.
+ * The method pool contains the visited methods of the project as project methods.
+ *
+ * @author Sebastian Daschner
+ */
+@BenchmarkMode(Mode.AverageTime)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class MethodPoolBenchmark {
+
+    @Param({"1", "10"})
+    public int copies;
+
+    private BenchmarkFixture fixture;
+    private final MethodPool methodPool = new MethodPool();
+    private List<MethodIdentifier> identifiers;
+
+    @Setup
+    public void setUp() throws IOException {
+        fixture = BenchmarkFixture.create(copies);
+        final List<MethodResult> methods = fixture.visitMethods();
+        methods.forEach(m -> methodPool.addProjectMethod(new ProjectMethod(m.getOriginalMethodSignature(), m.getInstructions())));
+
+        identifiers = methods.stream().flatMap(m -> m.getInstructions().stream())
+                .filter(i -> i.getType() == Instruction.InstructionType.INVOKE)
+                .map(i -> ((InvokeInstruction) i).getIdentifier()).collect(Collectors.toList());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        fixture.delete();
+    }
+
+    @Benchmark
+    public void get(final Blackhole blackhole) {
+        identifiers.forEach(i -> blackhole.consume(methodPool.get(i)));
+    }
+
+}
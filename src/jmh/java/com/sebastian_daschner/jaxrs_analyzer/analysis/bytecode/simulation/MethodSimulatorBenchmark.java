@@ -0,0 +1,54 @@
+package com.sebastian_daschner.jaxrs_analyzer.analysis.bytecode.simulation;
+
+import com.sebastian_daschner.jaxrs_analyzer.BenchmarkFixture;
+import com.sebastian_daschner.jaxrs_analyzer.analysis.bytecode.reduction.RelevantInstructionReducer;
+import com.sebastian_daschner.jaxrs_analyzer.model.instructions.Instruction;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Simulates the relevant instructions of all methods of the benchmark project.
+ * The project is analyzed once before, thus the method pool contains the project methods.
+ *
+ * @author Sebastian Daschner
+ */
+@BenchmarkMode(Mode.AverageTime)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class MethodSimulatorBenchmark {
+
+    @Param({"1", "10"})
+    public int copies;
+
+    private BenchmarkFixture fixture;
+    private List<List<Instruction>> instructions;
+
+    @Setup
+    public void setUp() throws IOException {
+        fixture = BenchmarkFixture.create(copies);
+        fixture.analyze();
+
+        final RelevantInstructionReducer reducer = new RelevantInstructionReducer();
+        instructions = fixture.visitMethods().stream()
+                .map(m -> reducer.reduceInstructions(m.getInstructions())).collect(Collectors.toList());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        fixture.delete();
+    }
+
+    @Benchmark
+    public void simulate(final Blackhole blackhole) {
+        instructions.forEach(i -> blackhole.consume(new MethodSimulator().simulate(i)));
+    }
+
+}
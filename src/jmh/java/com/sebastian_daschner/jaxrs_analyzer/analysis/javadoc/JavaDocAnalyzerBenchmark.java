@@ -0,0 +1,51 @@
+package com.sebastian_daschner.jaxrs_analyzer.analysis.javadoc;
+
+import com.sebastian_daschner.jaxrs_analyzer.BenchmarkFixture;
+import com.sebastian_daschner.jaxrs_analyzer.model.results.ClassResult;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import static java.util.Collections.singleton;
+
+/**
+ * Parses the sources of the benchmark project and combines the comments with the visited classes.
+ *
+ * @author Sebastian Daschner
+ */
+@BenchmarkMode(Mode.AverageTime)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class JavaDocAnalyzerBenchmark {
+
+    @Param({"1", "10"})
+    public int copies;
+
+    private BenchmarkFixture fixture;
+    private Set<Path> sourcePaths;
+    private Set<ClassResult> classResults;
+
+    @Setup
+    public void setUp() throws IOException {
+        fixture = BenchmarkFixture.create(copies);
+        sourcePaths = singleton(fixture.getSourcePath());
+        classResults = fixture.visitClasses();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        fixture.delete();
+    }
+
+    @Benchmark
+    public void analyze() {
+        new JavaDocAnalyzer().analyze(sourcePaths, classResults);
+    }
+
+}
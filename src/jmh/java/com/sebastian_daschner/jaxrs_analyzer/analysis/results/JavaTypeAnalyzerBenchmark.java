@@ -0,0 +1,54 @@
+package com.sebastian_daschner.jaxrs_analyzer.analysis.results;
+
+import com.sebastian_daschner.jaxrs_analyzer.BenchmarkFixture;
+import com.sebastian_daschner.jaxrs_analyzer.model.results.MethodResult;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Analyzes the return and parameter types of all methods of the benchmark project.
+ *
+ * @author Sebastian Daschner
+ */
+@BenchmarkMode(Mode.AverageTime)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JavaTypeAnalyzerBenchmark {
+
+    @Param({"1", "10"})
+    public int copies;
+
+    private BenchmarkFixture fixture;
+    private Set<String> types;
+
+    @Setup
+    public void setUp() throws IOException {
+        fixture = BenchmarkFixture.create(copies);
+        types = fixture.visitMethods().stream()
+                .map(MethodResult::getOriginalMethodSignature)
+                .flatMap(i -> Stream.concat(Stream.of(i.getReturnType()), i.getParameters().stream()))
+                .collect(Collectors.toSet());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        fixture.delete();
+    }
+
+    @Benchmark
+    public void analyze(final Blackhole blackhole) {
+        final JavaTypeAnalyzer analyzer = new JavaTypeAnalyzer(new HashMap<>());
+        types.forEach(t -> blackhole.consume(analyzer.analyze(t)));
+    }
+
+}
@@ -0,0 +1,66 @@
+package com.sebastian_daschner.jaxrs_analyzer.backend.swagger;
+
+import com.sebastian_daschner.jaxrs_analyzer.BenchmarkFixture;
+import com.sebastian_daschner.jaxrs_analyzer.model.rest.Project;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+
+import static java.util.Collections.emptyMap;
+
+/**
+ * Renders the analyzed benchmark project as Swagger JSON.
+ *
+ * @author Sebastian Daschner
+ */
+@BenchmarkMode(Mode.AverageTime)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SwaggerBackendBenchmark {
+
+    @Param({"1", "10"})
+    public int copies;
+
+    private BenchmarkFixture fixture;
+    private Project project;
+    private SwaggerBackend backend;
+    private final OutputStream output = new DiscardingOutputStream();
+
+    @Setup
+    public void setUp() throws IOException {
+        fixture = BenchmarkFixture.create(copies);
+        project = fixture.analyzeProject();
+        backend = new SwaggerBackend();
+        backend.configure(emptyMap());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        fixture.delete();
+    }
+
+    @Benchmark
+    public void render() throws IOException {
+        backend.render(project, output);
+    }
+
+    private static class DiscardingOutputStream extends OutputStream {
+
+        @Override
+        public void write(final int b) {
+            // discard output
+        }
+
+        @Override
+        public void write(final byte[] b, final int off, final int len) {
+            // discard output
+        }
+
+    }
+
+}
@@ -0,0 +1,278 @@
+package com.sebastian_daschner.jaxrs_analyzer;
+
+import com.sebastian_daschner.jaxrs_analyzer.analysis.AnalysisContext;
+
+import javax.json.Json;
+import javax.json.JsonArray;
+import javax.json.JsonException;
+import javax.json.JsonObject;
+import javax.json.JsonReader;
+import javax.json.JsonString;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.MalformedURLException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+
+/**
+ * Analyzes several JAX-RS projects, e.g. the modules of a multi-module build, concurrently.
+ * <p>
+ * The class paths which are shared by the projects are added to the shared class pool once, before any project is analyzed,
+ * and the loaded dependency classes are reused by all projects. Every project is analyzed on its own thread with its own
+ * class pool on top of the shared one, method pool, analysis jobs, results and backends, therefore classes and methods with the
+ * same names in several projects don't collide.
+ * <p>
+ * The manifest of a batch is a JSON document with the shared class paths and the projects, relative paths are resolved
+ * against the directory of the manifest:
+ * <pre>
+ * {
+ *   "classPath": ["libs/lib1.jar", "libs/lib2.jar"],
+ *   "threads": 4,
+ *   "indexCache": "~/.jaxrs-analyzer/index",
+ *   "projects": [
+ *     {
+ *       "name": "orders",
+ *       "version": "1.0",
+ *       "projectPath": ["orders/target/classes"],
+ *       "sourcePath": ["orders/src/main/java"],
+ *       "classPath": ["common/target/classes"],
+ *       "backend": "swagger",
+ *       "output": "orders/target/swagger.json",
+ *       "attributes": {"swaggerSchemes": "https"},
+ *       "ignoredRootResources": ["com.example.orders.HealthResource"],
+ *       "controlFlowSimulation": true
+ *     }
+ *   ]
+ * }
+ * </pre>
+ * Only {@code projectPath} and {@code output} are mandatory for each project.
+ *
+ * @author Sebastian Daschner
+ */
+public class BatchAnalyzer {
+
+    private static final String DEFAULT_NAME = "project";
+    private static final String DEFAULT_VERSION = "0.1-SNAPSHOT";
+    private static final String DEFAULT_BACKEND = "swagger";
+
+    private final Set<Path> classPaths;
+    private final List<JAXRSAnalyzer.Analysis> analyses;
+    private int threads = Runtime.getRuntime().availableProcessors();
+    private boolean statistics;
+    private Path indexCacheLocation;
+    private Map<JAXRSAnalyzer.Analysis, Metrics.Summary> summaries;
+
+    /**
+     * Constructs a batch analyzer.
+     *
+     * @param classPaths The class paths which are shared by all projects
+     * @param analyses   The analyses of the single projects
+     */
+    public BatchAnalyzer(final Set<Path> classPaths, final List<JAXRSAnalyzer.Analysis> analyses) {
+        Objects.requireNonNull(classPaths);
+        Objects.requireNonNull(analyses);
+
+        if (analyses.isEmpty())
+            throw new IllegalArgumentException("At least one project is mandatory");
+
+        this.classPaths = classPaths;
+        this.analyses = analyses;
+    }
+
+    /**
+     * Sets the maximum number of projects which are analyzed concurrently, which defaults to the number of available processors.
+     *
+     * @param threads The number of threads
+     */
+    public void setThreads(final int threads) {
+        if (threads < 1)
+            throw new IllegalArgumentException("The number of threads must be positive");
+        this.threads = threads;
+    }
+
+    /**
+     * Sets the directory where the indexes of the shared class path jar-files are cached, which enables the indexes.
+     *
+     * @param indexCacheLocation The cache directory
+     * @see JAXRSAnalyzer.Analysis#setIndexCacheLocation(Path)
+     */
+    public void setIndexCacheLocation(final Path indexCacheLocation) {
+        this.indexCacheLocation = indexCacheLocation;
+    }
+
+    /**
+     * Enables the collection of the timings and counters of every project, which are available via {@link #getStatistics()} after the analysis.
+     *
+     * @param statistics If statistics should be collected
+     */
+    public void setStatistics(final boolean statistics) {
+        this.statistics = statistics;
+    }
+
+    /**
+     * Returns the timings and counters of the projects of the last batch.
+     *
+     * @return The statistics of every analyzed project in the order of the projects or {@code null} if the collection of statistics has not been enabled
+     */
+    public Map<JAXRSAnalyzer.Analysis, Metrics.Summary> getStatistics() {
+        return summaries;
+    }
+
+    /**
+     * Analyzes all projects and produces their outputs. A project which could not be analyzed doesn't affect the other projects.
+     *
+     * @return The number of projects which could not be analyzed
+     */
+    public int analyze() {
+        classPaths.forEach(this::addToClassPool);
+        // every project collects its own statistics
+        if (statistics)
+            analyses.forEach(a -> a.setStatistics(true));
+
+        final ExecutorService executor = Executors.newFixedThreadPool(Math.min(threads, analyses.size()));
+        try {
+            final Map<JAXRSAnalyzer.Analysis, JAXRSAnalyzer> analyzers = new LinkedHashMap<>();
+            final Map<JAXRSAnalyzer.Analysis, Future<?>> futures = new LinkedHashMap<>();
+            analyses.forEach(a -> {
+                final JAXRSAnalyzer analyzer = new JAXRSAnalyzer(a);
+                analyzers.put(a, analyzer);
+                futures.put(a, executor.submit(analyzer::analyze));
+            });
+
+            int failed = 0;
+            for (final Map.Entry<JAXRSAnalyzer.Analysis, Future<?>> entry : futures.entrySet()) {
+                try {
+                    entry.getValue().get();
+                } catch (ExecutionException e) {
+                    LogProvider.error("Could not analyze project " + entry.getKey().getProjectName() + ", reason: " + e.getCause().getMessage());
+                    LogProvider.debug(e.getCause());
+                    failed++;
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException("The batch analysis has been interrupted", e);
+                }
+            }
+
+            if (statistics) {
+                summaries = new LinkedHashMap<>();
+                analyzers.forEach((a, analyzer) -> summaries.put(a, analyzer.getStatistics()));
+            }
+            return failed;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private void addToClassPool(final Path location) {
+        if (!location.toFile().exists())
+            throw new IllegalArgumentException("The location '" + location + "' does not exist!");
+        try {
+            if (indexCacheLocation != null)
+                AnalysisContext.sharedClassPool().addIndexedClassPath(location, indexCacheLocation);
+            else
+                AnalysisContext.sharedClassPool().addClassPath(location);
+        } catch (MalformedURLException e) {
+            throw new IllegalArgumentException("The location '" + location + "' could not be loaded to the class path!", e);
+        }
+    }
+
+    /**
+     * Reads the batch analyzer from the given manifest.
+     *
+     * @param manifest The location of the manifest
+     * @return The batch analyzer
+     * @throws IllegalArgumentException If the manifest could not be read or is not valid
+     */
+    public static BatchAnalyzer fromManifest(final Path manifest) {
+        final JsonObject object;
+        try (final InputStream stream = Files.newInputStream(manifest);
+             final JsonReader reader = Json.createReader(stream)) {
+            object = reader.readObject();
+        } catch (IOException | JsonException e) {
+            throw new IllegalArgumentException("Could not read the batch manifest " + manifest + ", reason: " + e.getMessage(), e);
+        }
+
+        try {
+            final Path directory = manifest.toAbsolutePath().getParent();
+            final Set<Path> classPaths = new HashSet<>(readPaths(object, "classPath", directory));
+            final Path indexCacheLocation = object.containsKey("indexCache") ? resolve(object.getString("indexCache"), directory) : null;
+
+            final List<JAXRSAnalyzer.Analysis> analyses = readArray(object, "projects").getValuesAs(JsonObject.class).stream()
+                    .map(p -> readAnalysis(p, classPaths, directory))
+                    .collect(Collectors.toList());
+            analyses.forEach(a -> a.setIndexCacheLocation(indexCacheLocation));
+
+            final BatchAnalyzer batchAnalyzer = new BatchAnalyzer(classPaths, analyses);
+            batchAnalyzer.setIndexCacheLocation(indexCacheLocation);
+            if (object.containsKey("threads"))
+                batchAnalyzer.setThreads(object.getInt("threads"));
+            return batchAnalyzer;
+        } catch (ClassCastException | NullPointerException e) {
+            throw new IllegalArgumentException("Invalid batch manifest " + manifest + ", reason: " + e.getMessage(), e);
+        }
+    }
+
+    private static JAXRSAnalyzer.Analysis readAnalysis(final JsonObject project, final Set<Path> classPaths, final Path directory) {
+        final JAXRSAnalyzer.Analysis analysis = new JAXRSAnalyzer.Analysis();
+        analysis.setProjectName(project.getString("name", DEFAULT_NAME));
+        analysis.setProjectVersion(project.getString("version", DEFAULT_VERSION));
+
+        final List<Path> projectPaths = readPaths(project, "projectPath", directory);
+        if (projectPaths.isEmpty())
+            throw new IllegalArgumentException("Please provide at least one project path for project " + analysis.getProjectName());
+        projectPaths.forEach(analysis::addProjectClassPath);
+        readPaths(project, "sourcePath", directory).forEach(analysis::addProjectSourcePath);
+        classPaths.forEach(analysis::addClassPath);
+        readPaths(project, "classPath", directory).forEach(analysis::addClassPath);
+        readStrings(project, "ignoredRootResources").forEach(analysis::addIgnoredResource);
+        analysis.setControlFlowSimulation(project.getBoolean("controlFlowSimulation", false));
+
+        // concurrently analyzed projects would interleave their outputs on the console
+        if (!project.containsKey("output"))
+            throw new IllegalArgumentException("Please provide the output location for project " + analysis.getProjectName());
+        analysis.setOutputLocation(resolve(project.getString("output"), directory));
+
+        analysis.setBackend(JAXRSAnalyzer.constructBackend(project.getString("backend", DEFAULT_BACKEND)));
+        final Map<String, String> attributes = new HashMap<>();
+        if (project.containsKey("attributes"))
+            project.getJsonObject("attributes").forEach((k, v) -> attributes.put(k, v instanceof JsonString ? ((JsonString) v).getString() : v.toString()));
+        analysis.configureBackend(attributes);
+
+        return analysis;
+    }
+
+    private static List<Path> readPaths(final JsonObject object, final String name, final Path directory) {
+        final List<Path> paths = readStrings(object, name).stream()
+                .map(s -> resolve(s, directory))
+                .collect(Collectors.toList());
+        paths.forEach(p -> {
+            if (!p.toFile().exists())
+                throw new IllegalArgumentException("Location " + p.toFile() + " doesn't exist");
+        });
+        return paths;
+    }
+
+    private static Path resolve(final String location, final Path directory) {
+        return directory.resolve(location.replaceFirst("^~", System.getProperty("user.home")));
+    }
+
+    private static List<String> readStrings(final JsonObject object, final String name) {
+        if (!object.containsKey(name))
+            return Collections.emptyList();
+        return readArray(object, name).getValuesAs(JsonString.class).stream().map(JsonString::getString).collect(Collectors.toList());
+    }
+
+    private static JsonArray readArray(final JsonObject object, final String name) {
+        final JsonArray array = object.getJsonArray(name);
+        if (array == null)
+            throw new IllegalArgumentException("Missing " + name);
+        return array;
+    }
+
+}
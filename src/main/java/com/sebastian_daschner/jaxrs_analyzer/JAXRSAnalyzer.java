@@ -2,12 +2,16 @@ package com.sebastian_daschner.jaxrs_analyzer;
 
 import com.sebastian_daschner.jaxrs_analyzer.analysis.ProjectAnalyzer;
 import com.sebastian_daschner.jaxrs_analyzer.backend.Backend;
+import com.sebastian_daschner.jaxrs_analyzer.jfr.AnalyzerEvents;
 import com.sebastian_daschner.jaxrs_analyzer.model.rest.Project;
 import com.sebastian_daschner.jaxrs_analyzer.model.rest.Resources;
+import com.sebastian_daschner.jaxrs_analyzer.model.rest.ResourcesSnapshot;
 
-import java.io.FileOutputStream;
+import java.io.BufferedOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.*;
 import java.util.stream.StreamSupport;
@@ -20,6 +24,7 @@ import java.util.stream.StreamSupport;
 public class JAXRSAnalyzer {
 
     private final Analysis analysis;
+    private Metrics.Summary statistics;
 
     /**
      * Constructs a JAX-RS Analyzer.
@@ -33,51 +38,140 @@ public class JAXRSAnalyzer {
         Objects.requireNonNull(analysis.projectVersion);
         Objects.requireNonNull(analysis.backend);
 
-        if (analysis.projectClassPaths.isEmpty())
+        if (analysis.snapshotSource == null && analysis.projectClassPaths.isEmpty())
             throw new IllegalArgumentException("At least one project path is mandatory");
+        if (analysis.shardCount > 1 && analysis.snapshotLocation == null)
+            throw new IllegalArgumentException("The snapshot location of the shard is mandatory");
+        if (analysis.shards > 1 && !ShardedAnalysis.isSupported())
+            throw new IllegalArgumentException("The analysis can only be sharded if the analyzer is loaded from the class path of the JVM, e.g. from the command line");
 
         this.analysis = analysis;
     }
 
     /**
-     * Analyzes the JAX-RS project at the class path and produces the output as configured.
+     * Analyzes the JAX-RS project at the class path, or reads the result of a previous analysis from the snapshot,
+     * and produces the output as configured.
      */
     public void analyze() {
-        final Resources resources = new ProjectAnalyzer(analysis.classPaths)
-                .analyze(analysis.projectClassPaths, analysis.projectSourcePaths, analysis.ignoredResources);
+        if (!analysis.statistics) {
+            analyzeAndRender();
+            return;
+        }
+
+        // the metrics are bound to this analysis, therefore concurrent analyses don't mix their statistics
+        final Metrics metrics = new Metrics();
+        try {
+            metrics.run(this::analyzeAndRender);
+        } finally {
+            statistics = metrics.getSummary();
+        }
+    }
+
+    /**
+     * Returns the timings and counters of the last analysis.
+     *
+     * @return The statistics or {@code null} if the collection of statistics has not been enabled
+     */
+    public Metrics.Summary getStatistics() {
+        return statistics;
+    }
+
+    private void analyzeAndRender() {
+        final Resources resources;
+        if (analysis.snapshotSource != null) {
+            resources = readSnapshot(analysis.snapshotSource);
+            if (resources == null)
+                return;
+        } else if (analysis.shards > 1) {
+            resources = new ShardedAnalysis(analysis).analyze();
+            if (resources == null)
+                return;
+        } else {
+            final ProjectAnalyzer.Options options = new ProjectAnalyzer.Options();
+            options.setParallelInterpretation(analysis.parallelInterpretation);
+            options.setIndexCacheLocation(analysis.indexCacheLocation);
+            options.setControlFlowSimulation(analysis.controlFlowSimulation);
+            final ProjectAnalyzer projectAnalyzer = new ProjectAnalyzer(analysis.classPaths, options);
+            if (analysis.shardCount > 1)
+                projectAnalyzer.setShard(analysis.shardIndex, analysis.shardCount);
+            resources = projectAnalyzer.analyze(analysis.projectClassPaths, analysis.projectSourcePaths, analysis.ignoredResources);
+        }
+
+        // the partial result of a shard is merged by the analysis which started the shard, even if it's empty
+        if (analysis.shardCount > 1) {
+            writeSnapshot(resources, analysis.snapshotLocation);
+            return;
+        }
 
         if (resources.isEmpty()) {
             LogProvider.info("Empty JAX-RS analysis result, omitting output");
             return;
         }
 
+        if (analysis.snapshotLocation != null)
+            writeSnapshot(resources, analysis.snapshotLocation);
+
         final Project project = new Project(analysis.projectName, analysis.projectVersion, resources);
-        final byte[] output = analysis.backend.render(project);
 
-        if (analysis.outputLocation != null) {
-            outputToFile(output, analysis.outputLocation);
-        } else {
-            outputToConsole(output);
-        }
+        final List<Output> outputs = new ArrayList<>();
+        outputs.add(new Output(analysis.backend, analysis.outputLocation));
+        outputs.addAll(analysis.additionalOutputs);
+
+        // the resources are frozen, therefore the backends can render them concurrently
+        outputs.parallelStream().filter(o -> o.location != null).forEach(Metrics.propagateAction(o -> outputToFile(project, o.backend, o.location)));
+        outputs.stream().filter(o -> o.location == null).forEach(o -> outputToConsole(project, o.backend));
     }
 
-    private void outputToConsole(final byte[] output) {
+    private static void outputToConsole(final Project project, final Backend backend) {
+        final long start = Metrics.start();
+        final long allocation = Metrics.startAllocation(Metrics.Phase.RENDERING);
+        final Object event = AnalyzerEvents.begin(AnalyzerEvents.Type.RENDERING);
         try {
-            System.out.write(output);
+            backend.render(project, System.out);
             System.out.flush();
         } catch (IOException e) {
             LogProvider.error("Could not write the output, reason: " + e.getMessage());
             LogProvider.debug(e);
+        } finally {
+            Metrics.stopAllocation(Metrics.Phase.RENDERING, allocation);
+            Metrics.stop(Metrics.Phase.RENDERING, start);
+            AnalyzerEvents.commit(event, backend.getName(), project.getResources().getResources().size(), 0);
         }
     }
 
-    private static void outputToFile(final byte[] output, final Path outputLocation) {
-        try (final OutputStream stream = new FileOutputStream(outputLocation.toFile())) {
-            stream.write(output);
+    private static void outputToFile(final Project project, final Backend backend, final Path outputLocation) {
+        final long start = Metrics.start();
+        final long allocation = Metrics.startAllocation(Metrics.Phase.RENDERING);
+        final Object event = AnalyzerEvents.begin(AnalyzerEvents.Type.RENDERING);
+        try (final OutputStream stream = new BufferedOutputStream(Files.newOutputStream(outputLocation))) {
+            backend.render(project, stream);
             stream.flush();
         } catch (IOException e) {
             LogProvider.error("Could not write to the specified output location, reason: " + e.getMessage());
             LogProvider.debug(e);
+        } finally {
+            Metrics.stopAllocation(Metrics.Phase.RENDERING, allocation);
+            Metrics.stop(Metrics.Phase.RENDERING, start);
+            AnalyzerEvents.commit(event, backend.getName(), project.getResources().getResources().size(), 0);
+        }
+    }
+
+    private static Resources readSnapshot(final Path snapshotSource) {
+        try (final InputStream stream = Files.newInputStream(snapshotSource)) {
+            return ResourcesSnapshot.read(stream);
+        } catch (IOException e) {
+            LogProvider.error("Could not read the snapshot, reason: " + e.getMessage());
+            LogProvider.debug(e);
+            return null;
+        }
+    }
+
+    private static void writeSnapshot(final Resources resources, final Path snapshotLocation) {
+        try (final OutputStream stream = new BufferedOutputStream(Files.newOutputStream(snapshotLocation))) {
+            ResourcesSnapshot.write(resources, stream);
+        } catch (IOException e) {
+            LogProvider.error("Could not write the snapshot, reason: " + e.getMessage());
+            LogProvider.debug(e);
         }
     }
 
@@ -89,6 +183,21 @@ public class JAXRSAnalyzer {
                 .orElseThrow(() -> new IllegalArgumentException("Unknown backend type " + backendType));
     }
 
+    /**
+     * A backend with its output location which is {@code null} for the console.
+     */
+    private static class Output {
+
+        private final Backend backend;
+        private final Path location;
+
+        private Output(final Backend backend, final Path location) {
+            this.backend = backend;
+            this.location = location;
+        }
+
+    }
+
     public static class Analysis {
 
         private final Set<Path> projectClassPaths = new HashSet<>();
@@ -99,6 +208,19 @@ public class JAXRSAnalyzer {
         private String projectVersion;
         private Path outputLocation;
         private Backend backend;
+        private boolean parallelInterpretation;
+        private boolean controlFlowSimulation;
+        private int shards = 1;
+        private int shardTimeout = 60;
+        private int shardIndex;
+        private int shardCount = 1;
+        private Path snapshotLocation;
+        private Path snapshotSource;
+        private Path indexCacheLocation;
+        private boolean statistics;
+        private int topMethods;
+        private String statisticsFormat = "text";
+        private final List<Output> additionalOutputs = new ArrayList<>();
 
         public Set<Path> getProjectClassPaths() {
             return projectClassPaths;
@@ -112,14 +234,26 @@ public class JAXRSAnalyzer {
             projectSourcePaths.add(sourcePath);
         }
 
+        public Set<Path> getProjectSourcePaths() {
+            return projectSourcePaths;
+        }
+
         public void addClassPath(Path classPath) {
             classPaths.add(classPath);
         }
 
+        public Set<Path> getClassPaths() {
+            return classPaths;
+        }
+
         public void addIgnoredResource(String ignored) {
             ignoredResources.add(ignored);
         }
 
+        public Set<String> getIgnoredResources() {
+            return ignoredResources;
+        }
+
         public void configureBackend(Map<String, String> attributes) {
             if (backend != null)
                 backend.configure(attributes);
@@ -129,6 +263,10 @@ public class JAXRSAnalyzer {
             this.projectName = projectName;
         }
 
+        public String getProjectName() {
+            return projectName;
+        }
+
         public void setProjectVersion(String projectVersion) {
             this.projectVersion = projectVersion;
         }
@@ -144,6 +282,163 @@ public class JAXRSAnalyzer {
         public Backend getBackend() {
             return backend;
         }
+
+        /**
+         * Adds a backend which renders the same analysis result in addition to the main backend.
+         *
+         * @param backend        The backend
+         * @param outputLocation The location of the output or {@code null} for the console
+         * @param attributes     The configuration of the backend
+         */
+        public void addBackend(Backend backend, Path outputLocation, Map<String, String> attributes) {
+            Objects.requireNonNull(backend);
+            backend.configure(attributes);
+            additionalOutputs.add(new Output(backend, outputLocation));
+        }
+
+        public void setParallelInterpretation(boolean parallelInterpretation) {
+            this.parallelInterpretation = parallelInterpretation;
+        }
+
+        public boolean isParallelInterpretation() {
+            return parallelInterpretation;
+        }
+
+        /**
+         * Enables the simulation of the methods along their control flow graphs. The values of all branches are joined at the merge points,
+         * instead of simulating the instructions in their linear order.
+         *
+         * @param controlFlowSimulation If the methods should be simulated along their control flow graphs
+         */
+        public void setControlFlowSimulation(boolean controlFlowSimulation) {
+            this.controlFlowSimulation = controlFlowSimulation;
+        }
+
+        public boolean isControlFlowSimulation() {
+            return controlFlowSimulation;
+        }
+
+        /**
+         * Sets the number of worker processes which analyze the root resources of the project. Every worker analyzes a shard of the
+         * root resources with a fraction of the heap; the partial results are merged and rendered by this analysis.
+         *
+         * @param shards The number of worker processes, {@code 1} analyzes the project in this process
+         */
+        public void setShards(int shards) {
+            if (shards < 1)
+                throw new IllegalArgumentException("The number of shards must be positive");
+            this.shards = shards;
+        }
+
+        public int getShards() {
+            return shards;
+        }
+
+        /**
+         * Sets the time after which the worker processes of a sharded analysis are terminated and the analysis fails.
+         *
+         * @param shardTimeout The timeout in minutes
+         */
+        public void setShardTimeout(int shardTimeout) {
+            if (shardTimeout < 1)
+                throw new IllegalArgumentException("The shard timeout must be positive");
+            this.shardTimeout = shardTimeout;
+        }
+
+        public int getShardTimeout() {
+            return shardTimeout;
+        }
+
+        /**
+         * Restricts the analysis to a shard of the root resources. The partial result is written to the snapshot location instead of being rendered.
+         *
+         * @param shardIndex The index of the shard, starting at {@code 0}
+         * @param shardCount The number of shards
+         */
+        public void setShard(int shardIndex, int shardCount) {
+            if (shardCount < 1 || shardIndex < 0 || shardIndex >= shardCount)
+                throw new IllegalArgumentException("Invalid shard " + shardIndex + " of " + shardCount + " shards");
+            this.shardIndex = shardIndex;
+            this.shardCount = shardCount;
+        }
+
+        public int getShardCount() {
+            return shardCount;
+        }
+
+        /**
+         * Sets the location where the snapshot of the analysis result is written to.
+         *
+         * @param snapshotLocation The snapshot file
+         */
+        public void setSnapshotLocation(Path snapshotLocation) {
+            this.snapshotLocation = snapshotLocation;
+        }
+
+        public Path getSnapshotLocation() {
+            return snapshotLocation;
+        }
+
+        /**
+         * Sets the snapshot of a previous analysis which is rendered instead of analyzing the project class paths.
+         *
+         * @param snapshotSource The snapshot file
+         */
+        public void setSnapshotSource(Path snapshotSource) {
+            this.snapshotSource = snapshotSource;
+        }
+
+        public Path getSnapshotSource() {
+            return snapshotSource;
+        }
+
+        /**
+         * Sets the directory where the indexes of the class path jar-files are cached, which enables the indexes.
+         * The indexes are keyed by the locations of the jar-files, are rebuilt if a jar-file has changed and can be shared by all analyses.
+         *
+         * @param indexCacheLocation The cache directory
+         */
+        public void setIndexCacheLocation(Path indexCacheLocation) {
+            this.indexCacheLocation = indexCacheLocation;
+        }
+
+        public Path getIndexCacheLocation() {
+            return indexCacheLocation;
+        }
+
+        /**
+         * Enables the collection of timings and counters which are available via {@link JAXRSAnalyzer#getStatistics()} after the analysis.
+         *
+         * @param statistics If statistics should be collected
+         */
+        public void setStatistics(boolean statistics) {
+            this.statistics = statistics;
+        }
+
+        public boolean isStatistics() {
+            return statistics;
+        }
+
+        /**
+         * Sets the number of the most expensive resource methods which are reported with the statistics.
+         *
+         * @param topMethods The number of reported resource methods
+         */
+        public void setTopMethods(int topMethods) {
+            this.topMethods = topMethods;
+        }
+
+        public int getTopMethods() {
+            return topMethods;
+        }
+
+        public void setStatisticsFormat(String statisticsFormat) {
+            this.statisticsFormat = statisticsFormat;
+        }
+
+        public String getStatisticsFormat() {
+            return statisticsFormat;
+        }
     }
 
 }
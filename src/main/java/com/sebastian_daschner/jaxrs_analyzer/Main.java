@@ -20,11 +20,17 @@ import com.sebastian_daschner.jaxrs_analyzer.backend.StringBackend;
 import com.sebastian_daschner.jaxrs_analyzer.backend.swagger.SwaggerOptions;
 
 import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -39,9 +45,16 @@ public class Main {
     private static final String DEFAULT_VERSION = "0.1-SNAPSHOT";
     private static final String DEFAULT_BACKEND = "swagger";
     private static final String COMMA_LIST_SEPARATOR = ",";
+    private static final List<String> STATISTICS_FORMATS = Arrays.asList("text", "json");
 
-    private static final JAXRSAnalyzer.Analysis analysis = new JAXRSAnalyzer.Analysis();
-    private static final Map<String, String> attributes = new HashMap<>();
+    private static JAXRSAnalyzer.Analysis analysis;
+    private static Map<String, String> attributes;
+    private static Backend backend;
+    private static Path outputLocation;
+    private static Set<Path> outputLocations;
+    private static Path batchManifest;
+    private static Path statisticsFile;
+    private static boolean leadingBackendOptions;
 
     /**
      * Inspects JAX-RS projects and outputs the gathered information.
@@ -52,7 +65,9 @@ public class Main {
      * <p>
      * Following available options:
      * <ul>
-     * <li>{@code -b backend} The backend to choose: {@code swagger} (default), {@code plaintext}, {@code asciidoc}, {@code markdown}</li>
+     * <li>{@code -b backend} The backend to choose: {@code swagger} (default), {@code plaintext}, {@code asciidoc}, {@code markdown};
+     * may be specified several times, the output location and backend options that follow a backend apply to that backend;
+     * if several backends are given, these options must not precede the first backend</li>
      * <li>{@code -cp class path[:class paths...]} The additional class paths which contain classes which are used in the project</li>
      * <li>{@code -sp source path[:source paths...]} The optional source paths  needed for JavaDoc analysis</li>
      * <li>{@code -X} Debug enabled (prints error debugging information on Standard error out)</li>
@@ -61,6 +76,20 @@ public class Main {
      * <li>{@code -d project domain} The domain of the project</li>
      * <li>{@code -o output file} The location of the analysis output (will be printed to standard out if omitted)</li>
      * <li>{@code -e encoding} The source file encoding</li>
+     * <li>{@code --parallelInterpretation} Interprets the analyzed resource classes in parallel</li>
+     * <li>{@code --controlFlowSimulation} Simulates the methods along their control flow graphs, joining the values of all branches</li>
+     * <li>{@code --shards number} Analyzes the root resources with the given number of worker processes and merges their partial results</li>
+     * <li>{@code --shard index/count} Analyzes only the given shard of the root resources and writes the partial result to the snapshot location</li>
+     * <li>{@code --stats} Prints the timings, heap allocations and counters of the analysis phases</li>
+     * <li>{@code --statsFormat format} The format of the statistics: {@code text} (default), {@code json}</li>
+     * <li>{@code --topMethods number} Includes the given number of the most expensive resource methods and most allocating resource classes in the statistics</li>
+     * <li>{@code --statsFile file} Writes the statistics to the file instead of standard error</li>
+     * <li>{@code --shardTimeout minutes} The time after which the worker processes of {@code --shards} are terminated (60 per default)</li>
+     * <li>{@code --snapshot snapshot file} The location where a snapshot of the analysis result is written to</li>
+     * <li>{@code --fromSnapshot snapshot file} Renders the result of a previous analysis from the snapshot (no class paths needed)</li>
+     * <li>{@code --indexCache directory} Caches the indexes of the class path jar-files in the directory and answers type questions from them</li>
+     * <li>{@code --batch manifest file} Analyzes the projects of the manifest concurrently, sharing their common class paths (see {@link BatchAnalyzer});
+     * only the debug and statistics options apply additionally</li>
      * </ul>
      * <p>
      * Following available backend specific options (only have effect if the corresponding backend is selected):
@@ -69,6 +98,7 @@ public class Main {
      * <li>{@code --renderSwaggerTags} Enables rendering of Swagger tags (will not be rendered per default)</li>
      * <li>{@code --swaggerTagsPathOffset path offset} The number at which path position the Swagger tags should be extracted ({@code 0} per default)</li>
      * <li>{@code --ignoredRootResources class[,classes]} JAX-RS root resource classes which should be ignored by analyze (empty per default)</li>
+     * <li>{@code --parallelRendering} Renders the resources of the plaintext, AsciiDoc and Markdown backends in parallel</li>
      * </ul>
      *
      * @param args The arguments
@@ -79,31 +109,82 @@ public class Main {
         }
 
         try {
-            setDefaults();
             extractArgs(args);
         } catch (IllegalArgumentException e) {
             System.err.println(e.getMessage() + '\n');
             printUsageAndExit();
         }
 
+        if (batchManifest != null) {
+            analyzeBatch();
+            return;
+        }
+
         validateArgs();
         configureBackend();
 
-        new JAXRSAnalyzer(analysis).analyze();
+        final JAXRSAnalyzer jaxrsAnalyzer = new JAXRSAnalyzer(analysis);
+        jaxrsAnalyzer.analyze();
+
+        if (analysis.isStatistics())
+            printStatistics(formatStatistics(jaxrsAnalyzer.getStatistics()));
+    }
+
+    private static void analyzeBatch() {
+        final BatchAnalyzer batchAnalyzer;
+        try {
+            batchAnalyzer = BatchAnalyzer.fromManifest(batchManifest);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage() + '\n');
+            printUsageAndExit();
+            return;
+        }
+
+        batchAnalyzer.setStatistics(analysis.isStatistics());
+        final int failed = batchAnalyzer.analyze();
+
+        if (analysis.isStatistics()) {
+            final StringBuilder statistics = new StringBuilder();
+            batchAnalyzer.getStatistics().forEach((a, s) -> statistics.append("Project ").append(a.getProjectName()).append(":\n")
+                    .append(formatStatistics(s)).append('\n'));
+            printStatistics(statistics.toString());
+        }
+
+        if (failed > 0) {
+            LogProvider.error(failed + " project(s) could not be analyzed");
+            System.exit(1);
+        }
     }
 
-    private static void setDefaults() {
+    /**
+     * Resets the arguments of a previous invocation to their defaults.
+     */
+    static void setDefaults() {
+        analysis = new JAXRSAnalyzer.Analysis();
         analysis.setProjectName(DEFAULT_NAME);
         analysis.setProjectVersion(DEFAULT_VERSION);
+        attributes = new HashMap<>();
+        backend = null;
+        outputLocation = null;
+        outputLocations = new HashSet<>();
+        batchManifest = null;
+        statisticsFile = null;
+        leadingBackendOptions = false;
     }
 
-    private static void extractArgs(String[] args) {
+    static void extractArgs(String[] args) {
+        setDefaults();
         try {
             for (int i = 0; i < args.length; i++) {
                 if (args[i].startsWith("-")) {
                     switch (args[i]) {
                         case "-b":
-                            analysis.setBackend(extractBackend(args[++i]));
+                            if (backend != null) {
+                                if (leadingBackendOptions)
+                                    throw new IllegalArgumentException("The output location and backend options have to follow the -b option of their backend if several backends are given");
+                                addBackend();
+                            }
+                            backend = extractBackend(args[++i]);
                             break;
                         case "-cp":
                             extractClassPaths(args[++i]).forEach(analysis::addClassPath);
@@ -121,32 +202,85 @@ public class Main {
                             analysis.setProjectVersion(args[++i]);
                             break;
                         case "-d":
+                            bindToBackend();
                             attributes.put(SwaggerOptions.DOMAIN, args[++i]);
                             break;
                         case "-o":
-                            analysis.setOutputLocation(Paths.get(args[++i]));
+                            bindToBackend();
+                            outputLocation = extractOutputLocation(args[++i]);
                             break;
                         case "-e":
                             System.setProperty("project.build.sourceEncoding", args[++i]);
                             break;
                         case "--swaggerSchemes":
+                            bindToBackend();
                             attributes.put(SwaggerOptions.SWAGGER_SCHEMES, args[++i]);
                             break;
                         case "--renderSwaggerTags":
+                            bindToBackend();
                             attributes.put(SwaggerOptions.RENDER_SWAGGER_TAGS, "true");
                             break;
                         case "--swaggerTagsPathOffset":
+                            bindToBackend();
                             attributes.put(SwaggerOptions.SWAGGER_TAGS_PATH_OFFSET, args[++i]);
                             break;
                         case "--noInlinePrettify":
+                            bindToBackend();
                             attributes.put(StringBackend.INLINE_PRETTIFY, "false");
                             break;
+                        case "--parallelRendering":
+                            bindToBackend();
+                            attributes.put(StringBackend.PARALLEL_RENDERING, "true");
+                            break;
                         case "--ignoredRootResources":
                             extractList(args[++i]).forEach(analysis::addIgnoredResource);
                             break;
                         case "-a":
+                            bindToBackend();
                             addAttribute(args[++i]);
                             break;
+                        case "--parallelInterpretation":
+                            analysis.setParallelInterpretation(true);
+                            break;
+                        case "--controlFlowSimulation":
+                            analysis.setControlFlowSimulation(true);
+                            break;
+                        case "--shards":
+                            analysis.setShards(Integer.parseInt(args[++i]));
+                            break;
+                        case "--shard":
+                            extractShard(args[++i]);
+                            break;
+                        case "--shardTimeout":
+                            analysis.setShardTimeout(Integer.parseInt(args[++i]));
+                            break;
+                        case "--stats":
+                            analysis.setStatistics(true);
+                            break;
+                        case "--statsFormat":
+                            analysis.setStatistics(true);
+                            analysis.setStatisticsFormat(extractStatisticsFormat(args[++i]));
+                            break;
+                        case "--topMethods":
+                            analysis.setStatistics(true);
+                            analysis.setTopMethods(Integer.parseInt(args[++i]));
+                            break;
+                        case "--statsFile":
+                            analysis.setStatistics(true);
+                            statisticsFile = Paths.get(args[++i]);
+                            break;
+                        case "--snapshot":
+                            analysis.setSnapshotLocation(Paths.get(args[++i]));
+                            break;
+                        case "--fromSnapshot":
+                            analysis.setSnapshotSource(extractSnapshotSource(args[++i]));
+                            break;
+                        case "--indexCache":
+                            analysis.setIndexCacheLocation(Paths.get(args[++i].replaceFirst("^~", System.getProperty("user.home"))));
+                            break;
+                        case "--batch":
+                            batchManifest = extractBatchManifest(args[++i]);
+                            break;
                         default:
                             throw new IllegalArgumentException("Unknown option " + args[i]);
                     }
@@ -164,6 +298,14 @@ public class Main {
         }
     }
 
+    /**
+     * Marks a backend specific option. The options apply to the backend of the preceding {@code -b} option, or to the only backend.
+     */
+    private static void bindToBackend() {
+        if (backend == null)
+            leadingBackendOptions = true;
+    }
+
     static Map<String, String> addAttribute(String attribute) {
         int separatorIndex = attribute.indexOf('=');
 
@@ -176,6 +318,14 @@ public class Main {
         return attributes;
     }
 
+    private static Path extractOutputLocation(final String location) {
+        final Path path = Paths.get(location);
+        // the outputs of several backends are written concurrently
+        if (outputLocations.contains(path.toAbsolutePath().normalize()))
+            throw new IllegalArgumentException("Output location " + path.toFile() + " is used by several backends");
+        return path;
+    }
+
     private static Backend extractBackend(final String name) {
         return JAXRSAnalyzer.constructBackend(name.toLowerCase());
     }
@@ -192,6 +342,52 @@ public class Main {
         return paths;
     }
 
+    private static String extractStatisticsFormat(final String format) {
+        if (!STATISTICS_FORMATS.contains(format.toLowerCase()))
+            throw new IllegalArgumentException("Unknown statistics format " + format);
+        return format.toLowerCase();
+    }
+
+    private static String formatStatistics(final Metrics.Summary statistics) {
+        if ("json".equals(analysis.getStatisticsFormat()))
+            return statistics.toJson(analysis.getTopMethods()).toString();
+        return statistics.format(analysis.getTopMethods());
+    }
+
+    private static void printStatistics(final String statistics) {
+        if (statisticsFile == null) {
+            LogProvider.info(statistics);
+            return;
+        }
+        try {
+            Files.write(statisticsFile, statistics.getBytes(StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            LogProvider.error("Could not write the statistics to " + statisticsFile + ", reason: " + e.getMessage());
+            LogProvider.debug(e);
+        }
+    }
+
+    private static Path extractSnapshotSource(final String location) {
+        final Path path = Paths.get(location.replaceFirst("^~", System.getProperty("user.home")));
+        if (!path.toFile().isFile())
+            throw new IllegalArgumentException("Snapshot " + path.toFile() + " doesn't exist");
+        return path;
+    }
+
+    private static Path extractBatchManifest(final String location) {
+        final Path path = Paths.get(location.replaceFirst("^~", System.getProperty("user.home")));
+        if (!path.toFile().isFile())
+            throw new IllegalArgumentException("Batch manifest " + path.toFile() + " doesn't exist");
+        return path;
+    }
+
+    private static void extractShard(final String shard) {
+        final String[] values = shard.split("/");
+        if (values.length != 2)
+            throw new IllegalArgumentException("Invalid shard " + shard + ", expected <index>/<count>");
+        analysis.setShard(Integer.parseInt(values[0].trim()), Integer.parseInt(values[1].trim()));
+    }
+
     private static List<String> extractList(String list) {
         return Stream.of(list.split(COMMA_LIST_SEPARATOR))
                 .map(String::trim)
@@ -200,16 +396,41 @@ public class Main {
     }
 
     private static void validateArgs() {
-        if (analysis.getProjectClassPaths().isEmpty()) {
+        if (analysis.getSnapshotSource() == null && analysis.getProjectClassPaths().isEmpty()) {
             System.err.println("Please provide at least one project path\n");
             printUsageAndExit();
         }
+        if (analysis.getShardCount() > 1 && analysis.getSnapshotLocation() == null) {
+            System.err.println("Please provide the snapshot location of the shard\n");
+            printUsageAndExit();
+        }
     }
 
     private static void configureBackend() {
-        if (analysis.getBackend() == null)
-            analysis.setBackend(JAXRSAnalyzer.constructBackend(DEFAULT_BACKEND));
-        analysis.configureBackend(attributes);
+        if (backend == null)
+            backend = JAXRSAnalyzer.constructBackend(DEFAULT_BACKEND);
+        addBackend();
+    }
+
+    /**
+     * Adds the current backend with its output location and attributes to the analysis.
+     * The first backend is the main backend, all following backends render the same analysis result additionally.
+     */
+    private static void addBackend() {
+        if (analysis.getBackend() == null) {
+            analysis.setBackend(backend);
+            analysis.setOutputLocation(outputLocation);
+            analysis.configureBackend(attributes);
+        } else {
+            analysis.addBackend(backend, outputLocation, attributes);
+        }
+
+        if (outputLocation != null)
+            outputLocations.add(outputLocation.toAbsolutePath().normalize());
+
+        backend = null;
+        outputLocation = null;
+        attributes = new HashMap<>();
     }
 
     private static void printUsageAndExit() {
@@ -217,6 +438,8 @@ public class Main {
         System.err.println("The classPath entries may be directories or jar-files containing the classes to be analyzed\n");
         System.err.println("Following available options:\n");
         System.err.println(" -b <backend> The backend to choose: swagger (default), plaintext, asciidoc, markdown");
+        System.err.println("    May be specified several times, the output location (-o), -d, -a and the backend specific options that follow a -b option apply to that backend;");
+        System.err.println("    if several backends are given, these options must not precede the first -b option");
         System.err.println(" -cp <class path>[:class paths] Additional class paths (separated with colon) which contain classes used in the project (may be directories or jar-files)");
         System.err.println(" -sp <source path>[:source paths] Optional source paths (separated with colon) needed for JavaDoc analysis (may be directories or jar-files)");
         System.err.println(" -X Debug enabled (enabled error debugging information)");
@@ -226,13 +449,29 @@ public class Main {
         System.err.println(" -o <output file> The location of the analysis output (will be printed to standard out if omitted)");
         System.err.println(" -a <attribute name>=<attribute value> Set custom attributes for backends.");
         System.err.println(" -e <encoding> The source file encoding");
+        System.err.println(" --parallelInterpretation Interprets the analyzed resource classes in parallel");
+        System.err.println(" --controlFlowSimulation Simulates the methods along their control flow graphs, joining the values of all branches");
+        System.err.println(" --shards <number> Analyzes the root resources with the given number of worker processes and merges their partial results");
+        System.err.println(" --shard <index>/<count> Analyzes only the given shard of the root resources and writes the partial result to the --snapshot location");
+        System.err.println(" --stats Prints the timings, heap allocations and counters of the analysis phases to standard error");
+        System.err.println(" --statsFormat <format> The format of the statistics: text (default), json");
+        System.err.println(" --topMethods <number> Includes the given number of the most expensive resource methods and most allocating resource classes in the statistics");
+        System.err.println(" --statsFile <file> Writes the statistics to the file instead of standard error");
+        System.err.println(" --shardTimeout <minutes> The time after which the worker processes of --shards are terminated (60 per default)");
+        System.err.println(" --snapshot <snapshot file> The location where a snapshot of the analysis result is written to");
+        System.err.println(" --fromSnapshot <snapshot file> Renders the result of a previous analysis from the snapshot instead of analyzing class paths");
+        System.err.println(" --indexCache <directory> Caches the indexes of the class path jar-files in the directory and answers type questions from them, e.g. ~/.jaxrs-analyzer/index");
+        System.err.println(" --batch <manifest file> Analyzes the projects listed in the JSON manifest concurrently, sharing their common class paths (only -X and the statistics options apply additionally)");
         System.err.println("\nFollowing available backend specific options (only have effect if the corresponding backend is selected):\n");
         System.err.println(" --swaggerSchemes <scheme>[,schemes] The Swagger schemes: http (default), https, ws, wss");
         System.err.println(" --renderSwaggerTags Enables rendering of Swagger tags (default tag will be used per default)");
         System.err.println(" --swaggerTagsPathOffset <path offset> The number at which path position the Swagger tags will be extracted (0 will be used per default)");
         System.err.println(" --ignoredRootResources <fully qualified classname [class,...]> JAX-RS root resource classes which should be ignored by analyze (empty per default)");
         System.err.println(" --noPrettyPrint Don't pretty print inline JSON body representations (will be pretty printed per default)");
+        System.err.println(" --parallelRendering Renders the resources of the plaintext, AsciiDoc and Markdown backends in parallel");
         System.err.println("\nExample: java -jar jaxrs-analyzer.jar -b swagger -n \"My Project\" -cp ~/libs/lib1.jar:~/libs/project/bin ~/project/target/classes");
+        System.err.println("Example: java -jar jaxrs-analyzer.jar -b swagger -o swagger.json -b asciidoc -o resources.adoc ~/project/target/classes");
+        System.err.println("Example: java -jar jaxrs-analyzer.jar --stats --batch modules.json");
         System.exit(1);
     }
 
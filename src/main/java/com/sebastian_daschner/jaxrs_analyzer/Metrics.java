@@ -0,0 +1,646 @@
+package com.sebastian_daschner.jaxrs_analyzer;
+
+import javax.json.Json;
+import javax.json.JsonArrayBuilder;
+import javax.json.JsonObject;
+import javax.json.JsonObjectBuilder;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Collects timings and counters of the analysis phases. Every analysis with statistics records into its own instance,
+ * which is bound to the analyzing thread (see {@link #run(Runnable)}) and propagated to the worker threads of the parallel operations
+ * (see {@link #propagate(Function)}), therefore concurrent analyses don't mix their metrics.
+ * The static methods record into the instance of the current thread or, if there is none, into a default instance,
+ * whose collection is disabled per default. Disabled metrics only cost a thread-local lookup and a flag check per measured operation.
+ * This class is thread-safe.
+ * <p>
+ * The counters are additionally attributed to the resource method which is currently analyzed by the calling thread (if any).
+ * <p>
+ * The heap allocations are measured with the allocated bytes counters of the single threads (if supported by the JVM)
+ * and are summed up over all threads, including the worker threads of the parallel operations.
+ *
+ * @author Sebastian Daschner
+ */
+public final class Metrics {
+
+    private static final ThreadLocal<Metrics> CURRENT = new ThreadLocal<>();
+    private static final Metrics DEFAULT = new Metrics(false);
+    private static final ThreadLocal<MethodCost> CURRENT_METHOD = new ThreadLocal<>();
+    private static final ThreadLocal<int[]> ALLOCATION_DEPTHS = ThreadLocal.withInitial(() -> new int[Phase.values().length]);
+    private static final com.sun.management.ThreadMXBean THREAD_BEAN = threadBean();
+
+    private static final long NOT_MEASURED = Long.MIN_VALUE;
+    private static final long NESTED = -1L;
+
+    private final LongAdder[] times = newAdders(Phase.values().length);
+    private final LongAdder[] invocations = newAdders(Phase.values().length);
+    private final LongAdder[] counts = newAdders(Counter.values().length);
+    private final LongAdder[] allocations = newAdders(Phase.values().length);
+    private final Queue<MethodCost> methodCosts = new ConcurrentLinkedQueue<>();
+    private final Map<String, LongAdder> resourceAllocations = new ConcurrentHashMap<>();
+
+    private volatile boolean enabled;
+
+    /**
+     * Creates metrics which are collected while they are bound to a thread.
+     */
+    public Metrics() {
+        this(true);
+    }
+
+    private Metrics(final boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * Runs the action and records the metrics of the current thread into this instance.
+     *
+     * @param action The action, e.g. a complete analysis
+     */
+    public void run(final Runnable action) {
+        call(() -> {
+            action.run();
+            return null;
+        });
+    }
+
+    private <T> T call(final Supplier<T> action) {
+        final Metrics previous = CURRENT.get();
+        CURRENT.set(this);
+        try {
+            return action.get();
+        } finally {
+            if (previous == null)
+                CURRENT.remove();
+            else
+                CURRENT.set(previous);
+        }
+    }
+
+    /**
+     * Returns the metrics which have been collected by this instance.
+     *
+     * @return The summary of the metrics
+     */
+    public Summary getSummary() {
+        final Map<Phase, Long> times = new EnumMap<>(Phase.class);
+        final Map<Phase, Long> invocations = new EnumMap<>(Phase.class);
+        final Map<Counter, Long> counts = new EnumMap<>(Counter.class);
+        final Map<Phase, Long> allocations = new EnumMap<>(Phase.class);
+        for (final Phase phase : Phase.values()) {
+            times.put(phase, this.times[phase.ordinal()].sum());
+            invocations.put(phase, this.invocations[phase.ordinal()].sum());
+            allocations.put(phase, this.allocations[phase.ordinal()].sum());
+        }
+        for (final Counter counter : Counter.values())
+            counts.put(counter, this.counts[counter.ordinal()].sum());
+        final List<MethodCost> methodCosts = this.methodCosts.stream()
+                .sorted(Comparator.comparingLong((MethodCost c) -> c.time).reversed().thenComparing(c -> c.method))
+                .collect(Collectors.toList());
+        final Map<String, Long> resourceAllocations = new LinkedHashMap<>();
+        this.resourceAllocations.entrySet().stream()
+                .sorted(Comparator.comparingLong((Map.Entry<String, LongAdder> e) -> e.getValue().sum()).reversed().thenComparing(Map.Entry::getKey))
+                .forEach(e -> resourceAllocations.put(e.getKey(), e.getValue().sum()));
+        return new Summary(times, invocations, counts, allocations, methodCosts, resourceAllocations, THREAD_BEAN != null);
+    }
+
+    /**
+     * Wraps the function, so that the worker threads which call it record into the metrics of the current thread.
+     *
+     * @param function The function
+     * @return The wrapped function
+     */
+    public static <T, R> Function<T, R> propagate(final Function<T, R> function) {
+        final Metrics metrics = CURRENT.get();
+        if (metrics == null)
+            return function;
+        return t -> metrics.call(() -> function.apply(t));
+    }
+
+    /**
+     * Wraps the action, so that the worker threads which call it record into the metrics of the current thread.
+     *
+     * @param action The action
+     * @return The wrapped action
+     */
+    public static <T> Consumer<T> propagateAction(final Consumer<T> action) {
+        final Metrics metrics = CURRENT.get();
+        if (metrics == null)
+            return action;
+        return t -> metrics.run(() -> action.accept(t));
+    }
+
+    /**
+     * Enables or disables the collection of the default metrics, which are recorded by threads without metrics of their own.
+     *
+     * @param enabled If the metrics should be collected
+     */
+    public static void setEnabled(final boolean enabled) {
+        DEFAULT.enabled = enabled;
+    }
+
+    /**
+     * Returns whether the current thread collects metrics.
+     */
+    public static boolean isEnabled() {
+        return current().enabled;
+    }
+
+    /**
+     * Resets all collected timings and counters of the default metrics.
+     */
+    public static void reset() {
+        Stream.of(DEFAULT.times, DEFAULT.invocations, DEFAULT.counts, DEFAULT.allocations).flatMap(Stream::of).forEach(LongAdder::reset);
+        DEFAULT.methodCosts.clear();
+        DEFAULT.resourceAllocations.clear();
+    }
+
+    /**
+     * Starts a time measurement.
+     *
+     * @return The start time which is passed to {@link #stop(Phase, long)}
+     */
+    public static long start() {
+        return current().enabled ? System.nanoTime() : 0L;
+    }
+
+    /**
+     * Stops the time measurement and adds the elapsed time to the phase.
+     *
+     * @param phase The measured phase
+     * @param start The start time as returned by {@link #start()}
+     */
+    public static void stop(final Phase phase, final long start) {
+        final Metrics metrics = current();
+        if (!metrics.enabled || start == 0L)
+            return;
+        metrics.times[phase.ordinal()].add(System.nanoTime() - start);
+        metrics.invocations[phase.ordinal()].increment();
+    }
+
+    /**
+     * Increments the counter by one.
+     *
+     * @param counter The counter
+     */
+    public static void count(final Counter counter) {
+        count(counter, 1L);
+    }
+
+    /**
+     * Increments the counter by the given amount.
+     *
+     * @param counter The counter
+     * @param amount  The amount to add
+     */
+    public static void count(final Counter counter, final long amount) {
+        final Metrics metrics = current();
+        if (!metrics.enabled)
+            return;
+        metrics.counts[counter.ordinal()].add(amount);
+
+        final MethodCost cost = CURRENT_METHOD.get();
+        if (cost != null)
+            cost.counts[counter.ordinal()] += amount;
+    }
+
+    /**
+     * Starts the cost accounting of a resource method which is analyzed by the current thread.
+     *
+     * @param method The description of the method
+     * @return The method cost which is passed to {@link #stopMethod(MethodCost)} or {@code null} if disabled
+     */
+    public static MethodCost startMethod(final String method) {
+        final Metrics metrics = current();
+        if (!metrics.enabled)
+            return null;
+        final MethodCost cost = new MethodCost(method, metrics);
+        CURRENT_METHOD.set(cost);
+        return cost;
+    }
+
+    /**
+     * Stops the cost accounting of the resource method.
+     *
+     * @param cost The method cost as returned by {@link #startMethod(String)}
+     */
+    public static void stopMethod(final MethodCost cost) {
+        if (cost == null)
+            return;
+        cost.time = System.nanoTime() - cost.start;
+        CURRENT_METHOD.remove();
+        cost.metrics.methodCosts.add(cost);
+    }
+
+    /**
+     * Starts an allocation measurement of the phase on the current thread.
+     * Nested measurements of the same phase on the same thread are not accounted twice.
+     *
+     * @param phase The measured phase
+     * @return The start value which is passed to {@link #stopAllocation(Phase, long)}
+     */
+    public static long startAllocation(final Phase phase) {
+        if (!current().enabled || THREAD_BEAN == null)
+            return NOT_MEASURED;
+        if (ALLOCATION_DEPTHS.get()[phase.ordinal()]++ > 0)
+            return NESTED;
+        return allocatedBytes();
+    }
+
+    /**
+     * Stops the allocation measurement and adds the bytes which have been allocated by the current thread to the phase.
+     *
+     * @param phase The measured phase
+     * @param start The start value as returned by {@link #startAllocation(Phase)}
+     */
+    public static void stopAllocation(final Phase phase, final long start) {
+        if (start == NOT_MEASURED)
+            return;
+        ALLOCATION_DEPTHS.get()[phase.ordinal()]--;
+        if (start != NESTED)
+            current().allocations[phase.ordinal()].add(allocatedBytes() - start);
+    }
+
+    /**
+     * Starts the allocation measurement of a resource class on the current thread.
+     *
+     * @return The start value which is passed to {@link #stopResource(String, long)}
+     */
+    public static long startResource() {
+        return current().enabled && THREAD_BEAN != null ? allocatedBytes() : NOT_MEASURED;
+    }
+
+    /**
+     * Stops the allocation measurement and adds the bytes which have been allocated by the current thread to the resource class.
+     *
+     * @param className The name of the resource class
+     * @param start     The start value as returned by {@link #startResource()}
+     */
+    public static void stopResource(final String className, final long start) {
+        if (start == NOT_MEASURED)
+            return;
+        current().resourceAllocations.computeIfAbsent(className, c -> new LongAdder()).add(allocatedBytes() - start);
+    }
+
+    /**
+     * Adds the metrics of the JSON summary (see {@link Summary#toJson(int)}), e.g. of a worker process, to the metrics of the current thread.
+     *
+     * @param summary The JSON summary
+     */
+    public static void add(final JsonObject summary) {
+        final Metrics metrics = current();
+        if (!metrics.enabled)
+            return;
+
+        final JsonObject phases = summary.getJsonObject("phases");
+        for (final Phase phase : Phase.values()) {
+            final JsonObject phaseObject = phases.getJsonObject(Summary.toKey(phase));
+            if (phaseObject == null)
+                continue;
+            metrics.times[phase.ordinal()].add(phaseObject.getJsonNumber("time").longValue());
+            metrics.invocations[phase.ordinal()].add(phaseObject.getJsonNumber("invocations").longValue());
+            if (phaseObject.containsKey("allocated"))
+                metrics.allocations[phase.ordinal()].add(phaseObject.getJsonNumber("allocated").longValue());
+        }
+
+        final JsonObject counters = summary.getJsonObject("counters");
+        for (final Counter counter : Counter.values()) {
+            if (counters.containsKey(Summary.toKey(counter)))
+                metrics.counts[counter.ordinal()].add(counters.getJsonNumber(Summary.toKey(counter)).longValue());
+        }
+
+        summary.getJsonArray("methods").getValuesAs(JsonObject.class).forEach(m -> {
+            final MethodCost cost = new MethodCost(m.getString("method"), metrics);
+            cost.time = m.getJsonNumber("time").longValue();
+            for (final Counter counter : Counter.values()) {
+                if (m.containsKey(Summary.toKey(counter)))
+                    cost.counts[counter.ordinal()] = m.getJsonNumber(Summary.toKey(counter)).longValue();
+            }
+            metrics.methodCosts.add(cost);
+        });
+
+        summary.getJsonArray("resources").getValuesAs(JsonObject.class).forEach(r -> metrics.resourceAllocations
+                .computeIfAbsent(r.getString("class"), c -> new LongAdder()).add(r.getJsonNumber("allocated").longValue()));
+    }
+
+    /**
+     * Returns the collected default metrics.
+     *
+     * @return The summary of the metrics
+     * @see #setEnabled(boolean)
+     */
+    public static Summary summary() {
+        return DEFAULT.getSummary();
+    }
+
+    private static Metrics current() {
+        final Metrics metrics = CURRENT.get();
+        return metrics != null ? metrics : DEFAULT;
+    }
+
+    private static LongAdder[] newAdders(final int size) {
+        return Stream.generate(LongAdder::new).limit(size).toArray(LongAdder[]::new);
+    }
+
+    private static long allocatedBytes() {
+        return THREAD_BEAN.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    private static com.sun.management.ThreadMXBean threadBean() {
+        try {
+            final ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+            if (!(threadBean instanceof com.sun.management.ThreadMXBean))
+                return null;
+
+            final com.sun.management.ThreadMXBean allocationBean = (com.sun.management.ThreadMXBean) threadBean;
+            if (!allocationBean.isThreadAllocatedMemorySupported())
+                return null;
+            if (!allocationBean.isThreadAllocatedMemoryEnabled())
+                allocationBean.setThreadAllocatedMemoryEnabled(true);
+            return allocationBean;
+        } catch (LinkageError | RuntimeException e) {
+            // the allocations are not measured on this JVM
+            return null;
+        }
+    }
+
+    /**
+     * The measured phases. The stages of the bytecode analysis are part of that phase;
+     * the project method inlining contains the reduction of the inlined methods.
+     * The heap allocations are only measured for the top-level phases.
+     */
+    public enum Phase {
+
+        DISCOVERY("class discovery", true),
+        CLASS_VISITING("class visiting", true),
+        BYTECODE_ANALYSIS("bytecode analysis", true),
+        INSTRUCTION_REDUCTION("  instruction reduction", false),
+        PROJECT_METHOD_INLINING("  project method inlining", false),
+        SIMULATION("  simulation", false),
+        JAVADOC("JavaDoc analysis", true),
+        INTERPRETATION("interpretation", true),
+        RENDERING("rendering", true);
+
+        private final String label;
+        private final boolean allocations;
+
+        Phase(final String label, final boolean allocations) {
+            this.label = label;
+            this.allocations = allocations;
+        }
+
+        /**
+         * Returns whether the heap allocations of this phase are measured.
+         */
+        public boolean isAllocationsMeasured() {
+            return allocations;
+        }
+
+    }
+
+    /**
+     * The counted events.
+     */
+    public enum Counter {
+
+        CLASSES_SCANNED("classes scanned"),
+        CLASSES_LOADED("classes loaded"),
+        CLASS_FILES_READ("class files read"),
+        PROJECT_METHODS_INLINED("project methods inlined"),
+        INSTRUCTIONS_COLLECTED("instructions collected"),
+        INSTRUCTIONS_RELEVANT("instructions after reduction"),
+        INSTRUCTIONS_SIMULATED("instructions simulated"),
+        BASIC_BLOCKS_SIMULATED("basic blocks simulated"),
+        METHOD_POOL_HITS("method pool hits"),
+        TYPE_ANALYSIS_CACHE_HITS("type analysis cache hits"),
+        REPRESENTATION_CACHE_HITS("representation cache hits"),
+        CLASS_INDEX_HITS("class index hits");
+
+        private final String label;
+
+        Counter(final String label) {
+            this.label = label;
+        }
+
+    }
+
+    /**
+     * The accumulated costs of a single analyzed resource method, including the inlined project methods.
+     */
+    public static class MethodCost {
+
+        private final String method;
+        private final Metrics metrics;
+        private final long start = System.nanoTime();
+        private final long[] counts = new long[Counter.values().length];
+        private long time;
+
+        private MethodCost(final String method, final Metrics metrics) {
+            this.method = method;
+            this.metrics = metrics;
+        }
+
+        public String getMethod() {
+            return method;
+        }
+
+        public long getTime(final TimeUnit unit) {
+            return unit.convert(time, TimeUnit.NANOSECONDS);
+        }
+
+        public long getCount(final Counter counter) {
+            return counts[counter.ordinal()];
+        }
+
+    }
+
+    /**
+     * The immutable summary of collected metrics.
+     */
+    public static class Summary {
+
+        private final Map<Phase, Long> times;
+        private final Map<Phase, Long> invocations;
+        private final Map<Counter, Long> counts;
+        private final Map<Phase, Long> allocations;
+        private final List<MethodCost> methodCosts;
+        private final Map<String, Long> resourceAllocations;
+        private final boolean allocationsSupported;
+
+        private Summary(final Map<Phase, Long> times, final Map<Phase, Long> invocations, final Map<Counter, Long> counts,
+                        final Map<Phase, Long> allocations, final List<MethodCost> methodCosts, final Map<String, Long> resourceAllocations,
+                        final boolean allocationsSupported) {
+            this.times = times;
+            this.invocations = invocations;
+            this.counts = counts;
+            this.allocations = allocations;
+            this.methodCosts = Collections.unmodifiableList(methodCosts);
+            this.resourceAllocations = Collections.unmodifiableMap(resourceAllocations);
+            this.allocationsSupported = allocationsSupported;
+        }
+
+        /**
+         * Returns the accumulated time of the phase.
+         *
+         * @param phase The phase
+         * @param unit  The time unit
+         * @return The time in the given unit
+         */
+        public long getTime(final Phase phase, final TimeUnit unit) {
+            return unit.convert(times.get(phase), TimeUnit.NANOSECONDS);
+        }
+
+        /**
+         * Returns how often the phase has been measured.
+         *
+         * @param phase The phase
+         * @return The number of invocations
+         */
+        public long getInvocations(final Phase phase) {
+            return invocations.get(phase);
+        }
+
+        public long getCount(final Counter counter) {
+            return counts.get(counter);
+        }
+
+        /**
+         * Returns the bytes which have been allocated on the heap during the phase by all threads.
+         *
+         * @param phase The phase
+         * @return The allocated bytes or {@code 0} if the allocations of the phase are not measured
+         */
+        public long getAllocatedBytes(final Phase phase) {
+            return allocations.get(phase);
+        }
+
+        /**
+         * Returns the bytes which have been allocated on the heap for the single resource classes, the most allocating first.
+         * Contains the visiting and bytecode analysis of every resource class and the interpretation of the root resource classes,
+         * including their sub-resources.
+         *
+         * @return The allocated bytes per fully-qualified class name
+         */
+        public Map<String, Long> getResourceAllocations() {
+            return resourceAllocations;
+        }
+
+        /**
+         * Returns whether the JVM supports the measurement of the heap allocations.
+         */
+        public boolean isAllocationsSupported() {
+            return allocationsSupported;
+        }
+
+        /**
+         * Returns the costs of the analyzed resource methods, the most expensive (by wall time) first.
+         *
+         * @return The method costs
+         */
+        public List<MethodCost> getMethodCosts() {
+            return methodCosts;
+        }
+
+        /**
+         * Formats the summary as human-readable text.
+         *
+         * @return The formatted summary
+         */
+        public String format() {
+            return format(0);
+        }
+
+        /**
+         * Formats the summary including the most expensive resource methods as human-readable text.
+         *
+         * @param topMethods The maximum number of listed resource methods
+         * @return The formatted summary
+         */
+        public String format(final int topMethods) {
+            final StringBuilder builder = new StringBuilder("Analysis statistics:\n");
+            for (final Phase phase : Phase.values()) {
+                builder.append(String.format("  %-30s %8d ms %10d x", phase.label, getTime(phase, TimeUnit.MILLISECONDS), getInvocations(phase)));
+                if (allocationsSupported && phase.allocations)
+                    builder.append(String.format(" %10d KB allocated", getAllocatedBytes(phase) / 1024));
+                builder.append(String.format("%n"));
+            }
+            for (final Counter counter : Counter.values())
+                builder.append(String.format("  %-30s %11d%n", counter.label, getCount(counter)));
+
+            if (topMethods > 0 && !methodCosts.isEmpty()) {
+                builder.append("Most expensive resource methods:\n");
+                builder.append(String.format("  %8s %10s %10s %8s %10s  %s%n", "ms", "collected", "relevant", "inlined", "simulated", "method"));
+                methodCosts.stream().limit(topMethods).forEach(c -> builder.append(String.format("  %8d %10d %10d %8d %10d  %s%n",
+                        c.getTime(TimeUnit.MILLISECONDS), c.getCount(Counter.INSTRUCTIONS_COLLECTED), c.getCount(Counter.INSTRUCTIONS_RELEVANT),
+                        c.getCount(Counter.PROJECT_METHODS_INLINED), c.getCount(Counter.INSTRUCTIONS_SIMULATED), c.method)));
+            }
+
+            if (topMethods > 0 && !resourceAllocations.isEmpty()) {
+                builder.append("Most allocating resource classes:\n");
+                builder.append(String.format("  %10s  %s%n", "KB", "class"));
+                resourceAllocations.entrySet().stream().limit(topMethods)
+                        .forEach(e -> builder.append(String.format("  %10d  %s%n", e.getValue() / 1024, e.getKey())));
+            }
+            return builder.toString();
+        }
+
+        /**
+         * Creates a JSON representation of the summary including the most expensive resource methods and resource classes.
+         * The times are given in nanoseconds, the allocations in bytes.
+         *
+         * @param topMethods The maximum number of listed resource methods
+         * @return The JSON object
+         */
+        public JsonObject toJson(final int topMethods) {
+            final JsonObjectBuilder phasesBuilder = Json.createObjectBuilder();
+            for (final Phase phase : Phase.values()) {
+                final JsonObjectBuilder phaseBuilder = Json.createObjectBuilder().add("time", times.get(phase)).add("invocations", getInvocations(phase));
+                if (allocationsSupported && phase.allocations)
+                    phaseBuilder.add("allocated", getAllocatedBytes(phase));
+                phasesBuilder.add(toKey(phase), phaseBuilder);
+            }
+
+            final JsonObjectBuilder countersBuilder = Json.createObjectBuilder();
+            for (final Counter counter : Counter.values())
+                countersBuilder.add(toKey(counter), getCount(counter));
+
+            final JsonArrayBuilder methodsBuilder = Json.createArrayBuilder();
+            methodCosts.stream().limit(topMethods).forEach(c -> {
+                final JsonObjectBuilder methodBuilder = Json.createObjectBuilder().add("method", c.method).add("time", c.time);
+                for (final Counter counter : Counter.values())
+                    if (c.getCount(counter) > 0)
+                        methodBuilder.add(toKey(counter), c.getCount(counter));
+                methodsBuilder.add(methodBuilder);
+            });
+
+            final JsonArrayBuilder resourcesBuilder = Json.createArrayBuilder();
+            resourceAllocations.entrySet().stream().limit(topMethods)
+                    .forEach(e -> resourcesBuilder.add(Json.createObjectBuilder().add("class", e.getKey()).add("allocated", e.getValue())));
+
+            return Json.createObjectBuilder().add("phases", phasesBuilder).add("counters", countersBuilder).add("methods", methodsBuilder)
+                    .add("resources", resourcesBuilder).build();
+        }
+
+        private static String toKey(final Enum<?> value) {
+            return value.name().toLowerCase(Locale.ENGLISH);
+        }
+
+        @Override
+        public String toString() {
+            return format();
+        }
+
+    }
+
+}
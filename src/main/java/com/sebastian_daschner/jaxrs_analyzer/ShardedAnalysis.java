@@ -0,0 +1,208 @@
+package com.sebastian_daschner.jaxrs_analyzer;
+
+import com.sebastian_daschner.jaxrs_analyzer.analysis.results.ResultInterpreter;
+import com.sebastian_daschner.jaxrs_analyzer.model.rest.Resources;
+import com.sebastian_daschner.jaxrs_analyzer.model.rest.ResourcesSnapshot;
+
+import javax.json.Json;
+import javax.json.JsonException;
+import javax.json.JsonReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.CodeSource;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Analyzes a project with several worker processes on the same machine. Every worker analyzes a shard of the root resources
+ * (see {@code --shard}) and writes its partial result as snapshot; the partial results are merged in the order of the shards,
+ * therefore the merged result doesn't depend on the scheduling of the workers.
+ * <p>
+ * The workers are started with the Java runtime and class path of the current process, therefore the analyzer has to be loaded from
+ * that class path, e.g. by the command line interface. The options of the worker JVMs, e.g. the maximum heap size, can be set with the
+ * {@code JAVA_TOOL_OPTIONS} environment variable, which is inherited by the workers. Workers which don't finish within the shard timeout
+ * are terminated. If statistics are collected, the statistics of the workers are added to the statistics of this analysis.
+ *
+ * @author Sebastian Daschner
+ */
+class ShardedAnalysis {
+
+    private final JAXRSAnalyzer.Analysis analysis;
+
+    ShardedAnalysis(final JAXRSAnalyzer.Analysis analysis) {
+        this.analysis = analysis;
+    }
+
+    /**
+     * Analyzes the shards of the project and merges their partial results.
+     *
+     * @return The merged resources or {@code null} if a shard could not be analyzed
+     */
+    Resources analyze() {
+        Path directory = null;
+        try {
+            directory = Files.createTempDirectory("jaxrs-analyzer-shards");
+            final List<Path> snapshots = analyzeShards(directory);
+            if (snapshots == null)
+                return null;
+
+            final List<Resources> partialResources = new ArrayList<>();
+            for (int shard = 0; shard < snapshots.size(); shard++) {
+                try (final InputStream stream = Files.newInputStream(snapshots.get(shard))) {
+                    partialResources.add(ResourcesSnapshot.read(stream));
+                }
+                addStatistics(statisticsFile(directory, shard));
+            }
+
+            final long start = Metrics.start();
+            final long allocation = Metrics.startAllocation(Metrics.Phase.INTERPRETATION);
+            final Resources resources = new ResultInterpreter().merge(partialResources);
+            Metrics.stopAllocation(Metrics.Phase.INTERPRETATION, allocation);
+            Metrics.stop(Metrics.Phase.INTERPRETATION, start);
+            return resources;
+        } catch (IOException e) {
+            LogProvider.error("Could not merge the results of the shards, reason: " + e.getMessage());
+            LogProvider.debug(e);
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            LogProvider.error("The analysis of the shards has been interrupted");
+            return null;
+        } finally {
+            if (directory != null)
+                delete(directory);
+        }
+    }
+
+    private List<Path> analyzeShards(final Path directory) throws IOException, InterruptedException {
+        final int shards = analysis.getShards();
+        final List<Path> snapshots = new ArrayList<>();
+        final List<Process> processes = new ArrayList<>();
+
+        try {
+            for (int shard = 0; shard < shards; shard++) {
+                final Path snapshot = directory.resolve("shard-" + shard + ".snapshot");
+                snapshots.add(snapshot);
+                processes.add(new ProcessBuilder(buildCommand(shard, shards, snapshot, statisticsFile(directory, shard))).inheritIO().start());
+            }
+
+            final long deadline = System.nanoTime() + TimeUnit.MINUTES.toNanos(analysis.getShardTimeout());
+            boolean failed = false;
+            for (int shard = 0; shard < shards; shard++) {
+                final Process process = processes.get(shard);
+                if (!process.waitFor(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS)) {
+                    LogProvider.error("The shard " + shard + " has not been analyzed within " + analysis.getShardTimeout() + " minutes");
+                    failed = true;
+                } else if (process.exitValue() != 0 || !Files.isRegularFile(snapshots.get(shard))) {
+                    LogProvider.error("The shard " + shard + " could not be analyzed, exit code: " + process.exitValue());
+                    failed = true;
+                }
+            }
+            return failed ? null : snapshots;
+        } finally {
+            processes.stream().filter(Process::isAlive).forEach(Process::destroyForcibly);
+        }
+    }
+
+    /**
+     * Returns if the analyzer has been loaded from the class path of this JVM, which is used to start the workers.
+     */
+    static boolean isSupported() {
+        final CodeSource codeSource = Main.class.getProtectionDomain().getCodeSource();
+        if (codeSource == null || codeSource.getLocation() == null)
+            return false;
+        try {
+            final Path location = Paths.get(codeSource.getLocation().toURI()).toAbsolutePath().normalize();
+            return Stream.of(System.getProperty("java.class.path", "").split(File.pathSeparator)).filter(p -> !p.isEmpty())
+                    .map(p -> Paths.get(p).toAbsolutePath().normalize()).anyMatch(location::equals);
+        } catch (URISyntaxException | IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    private static Path statisticsFile(final Path directory, final int shard) {
+        return directory.resolve("shard-" + shard + ".stats");
+    }
+
+    private static void addStatistics(final Path statisticsFile) throws IOException {
+        if (!Metrics.isEnabled() || !Files.isRegularFile(statisticsFile))
+            return;
+        try (final JsonReader reader = Json.createReader(Files.newBufferedReader(statisticsFile, StandardCharsets.UTF_8))) {
+            Metrics.add(reader.readObject());
+        } catch (JsonException e) {
+            LogProvider.error("Could not read the statistics " + statisticsFile + ", reason: " + e.getMessage());
+            LogProvider.debug(e);
+        }
+    }
+
+    private List<String> buildCommand(final int shard, final int shards, final Path snapshot, final Path statisticsFile) {
+        final List<String> command = new ArrayList<>();
+        command.add(Paths.get(System.getProperty("java.home"), "bin", "java").toString());
+        command.add("-cp");
+        command.add(System.getProperty("java.class.path"));
+        command.add(Main.class.getName());
+
+        addPaths(command, "-cp", analysis.getClassPaths());
+        addPaths(command, "-sp", analysis.getProjectSourcePaths());
+        if (!analysis.getIgnoredResources().isEmpty()) {
+            command.add("--ignoredRootResources");
+            command.add(String.join(",", analysis.getIgnoredResources()));
+        }
+        if (System.getProperty("project.build.sourceEncoding") != null) {
+            command.add("-e");
+            command.add(System.getProperty("project.build.sourceEncoding"));
+        }
+        if (analysis.isParallelInterpretation())
+            command.add("--parallelInterpretation");
+        if (analysis.isControlFlowSimulation())
+            command.add("--controlFlowSimulation");
+        if (analysis.getIndexCacheLocation() != null) {
+            command.add("--indexCache");
+            command.add(analysis.getIndexCacheLocation().toString());
+        }
+
+        if (Metrics.isEnabled()) {
+            command.add("--statsFormat");
+            command.add("json");
+            command.add("--topMethods");
+            command.add(String.valueOf(analysis.getTopMethods()));
+            command.add("--statsFile");
+            command.add(statisticsFile.toString());
+        }
+
+        command.add("--shard");
+        command.add(shard + "/" + shards);
+        command.add("--snapshot");
+        command.add(snapshot.toString());
+
+        analysis.getProjectClassPaths().forEach(p -> command.add(p.toString()));
+        return command;
+    }
+
+    private static void addPaths(final List<String> command, final String option, final Collection<Path> paths) {
+        if (paths.isEmpty())
+            return;
+        command.add(option);
+        command.add(paths.stream().map(Path::toString).collect(Collectors.joining(File.pathSeparator)));
+    }
+
+    private static void delete(final Path directory) {
+        final File[] files = directory.toFile().listFiles();
+        if (files != null) {
+            for (final File file : files)
+                file.delete();
+        }
+        directory.toFile().delete();
+    }
+
+}
@@ -0,0 +1,107 @@
+package com.sebastian_daschner.jaxrs_analyzer.analysis;
+
+import com.sebastian_daschner.jaxrs_analyzer.Metrics;
+import com.sebastian_daschner.jaxrs_analyzer.analysis.bytecode.simulation.MethodPool;
+import com.sebastian_daschner.jaxrs_analyzer.analysis.classes.ClassPool;
+import com.sebastian_daschner.jaxrs_analyzer.analysis.classes.StaticFieldValues;
+
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * The state of a single project analysis. Every {@link ProjectAnalyzer} has its own context which is bound to the analyzing thread,
+ * therefore several projects can be analyzed concurrently in the same JVM without sharing their classes, methods, static values or jobs.
+ * The state is released together with the project analyzer.
+ * <p>
+ * Code which runs outside of a bound analysis, e.g. single analysis stages in tests, uses a default context. The class pool of the
+ * default context is the parent of the class pools of all analyses, therefore the class paths which are added outside of an analysis,
+ * e.g. the shared dependencies of a batch, are loaded once for all projects.
+ *
+ * @author Sebastian Daschner
+ */
+public class AnalysisContext {
+
+    private static final ThreadLocal<AnalysisContext> CURRENT = new ThreadLocal<>();
+    private static final AnalysisContext DEFAULT = new AnalysisContext(new ClassPool());
+
+    private final ClassPool classPool;
+    private final MethodPool methodPool = new MethodPool();
+    private final JobRegistry jobRegistry = new JobRegistry();
+    private final StaticFieldValues staticFieldValues = new StaticFieldValues();
+
+    public AnalysisContext() {
+        this(new ClassPool(DEFAULT.classPool));
+    }
+
+    private AnalysisContext(final ClassPool classPool) {
+        this.classPool = classPool;
+    }
+
+    public ClassPool getClassPool() {
+        return classPool;
+    }
+
+    /**
+     * Returns the method pool which contains the project methods of the currently analyzed class.
+     */
+    public MethodPool getMethodPool() {
+        return methodPool;
+    }
+
+    public JobRegistry getJobRegistry() {
+        return jobRegistry;
+    }
+
+    /**
+     * Returns the cached values of the static fields of the analyzed classes.
+     */
+    public StaticFieldValues getStaticFieldValues() {
+        return staticFieldValues;
+    }
+
+    /**
+     * Calls the action with this context bound to the current thread.
+     *
+     * @param action The action
+     * @return The result of the action
+     */
+    public <T> T call(final Supplier<T> action) {
+        final AnalysisContext previous = CURRENT.get();
+        CURRENT.set(this);
+        try {
+            return action.get();
+        } finally {
+            if (previous == null)
+                CURRENT.remove();
+            else
+                CURRENT.set(previous);
+        }
+    }
+
+    /**
+     * Wraps the function, so that it's called with this context and the metrics of the current thread bound,
+     * e.g. on the worker threads of parallel operations.
+     *
+     * @param function The function
+     * @return The wrapped function
+     */
+    public <T, R> Function<T, R> propagate(final Function<T, R> function) {
+        return Metrics.propagate(t -> call(() -> function.apply(t)));
+    }
+
+    /**
+     * Returns the class pool of the default context, which is the parent of the class pools of all analyses.
+     */
+    public static ClassPool sharedClassPool() {
+        return DEFAULT.classPool;
+    }
+
+    /**
+     * Returns the context of the analysis of the current thread or the default context.
+     */
+    public static AnalysisContext current() {
+        final AnalysisContext context = CURRENT.get();
+        return context != null ? context : DEFAULT;
+    }
+
+}
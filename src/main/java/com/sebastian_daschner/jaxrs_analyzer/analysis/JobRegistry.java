@@ -7,17 +7,18 @@ import java.util.Queue;
 import java.util.concurrent.ConcurrentLinkedQueue;
 
 /**
- * Thread-safe singleton of unhandled class analysis jobs.
+ * Thread-safe registry of unhandled class analysis jobs.
+ * Every analysis has its own instance (see {@link AnalysisContext#getJobRegistry()}), therefore several projects can be analyzed
+ * concurrently without taking over each other's jobs.
  *
  * @author Sebastian Daschner
  */
 public class JobRegistry {
 
-    private static final JobRegistry INSTANCE = new JobRegistry();
-    private Queue<Pair<String, ClassResult>> unhandledClasses = new ConcurrentLinkedQueue<>();
+    private final Queue<Pair<String, ClassResult>> unhandledClasses = new ConcurrentLinkedQueue<>();
 
-    private JobRegistry() {
-        // only one instance allowed
+    JobRegistry() {
+        // only one instance per analysis context allowed
     }
 
     /**
@@ -37,8 +38,11 @@ public class JobRegistry {
         return unhandledClasses.poll();
     }
 
-    public static JobRegistry getInstance() {
-        return INSTANCE;
+    /**
+     * Removes all unhandled classes, e.g. after a failed analysis.
+     */
+    public void clear() {
+        unhandledClasses.clear();
     }
 
 }
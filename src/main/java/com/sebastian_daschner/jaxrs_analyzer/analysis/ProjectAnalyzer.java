@@ -17,6 +17,7 @@
 package com.sebastian_daschner.jaxrs_analyzer.analysis;
 
 import com.sebastian_daschner.jaxrs_analyzer.LogProvider;
+import com.sebastian_daschner.jaxrs_analyzer.Metrics;
 import com.sebastian_daschner.jaxrs_analyzer.analysis.bytecode.BytecodeAnalyzer;
 import com.sebastian_daschner.jaxrs_analyzer.analysis.classes.ContextClassReader;
 import com.sebastian_daschner.jaxrs_analyzer.analysis.classes.JAXRSClassVisitor;
@@ -25,6 +26,7 @@ import com.sebastian_daschner.jaxrs_analyzer.analysis.results.ResultInterpreter;
 import com.sebastian_daschner.jaxrs_analyzer.model.JavaUtils;
 import com.sebastian_daschner.jaxrs_analyzer.model.rest.Resources;
 import com.sebastian_daschner.jaxrs_analyzer.model.results.ClassResult;
+import com.sebastian_daschner.jaxrs_analyzer.utils.ConcurrentReads;
 import com.sebastian_daschner.jaxrs_analyzer.utils.Pair;
 import org.objectweb.asm.ClassReader;
 import org.objectweb.asm.ClassVisitor;
@@ -34,13 +36,13 @@ import java.io.File;
 import java.io.IOException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.util.Enumeration;
-import java.util.HashSet;
-import java.util.Set;
+import java.util.*;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
 import java.util.jar.JarEntry;
 import java.util.jar.JarFile;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import static com.sebastian_daschner.jaxrs_analyzer.model.JavaUtils.isAnnotationPresent;
 
@@ -58,10 +60,14 @@ public class ProjectAnalyzer {
     // b should have result
 
     private final Lock lock = new ReentrantLock();
+    private final AnalysisContext context = new AnalysisContext();
     private final Set<String> classes = new HashSet<>();
-    private final ResultInterpreter resultInterpreter = new ResultInterpreter();
-    private final BytecodeAnalyzer bytecodeAnalyzer = new BytecodeAnalyzer();
+    private final ResultInterpreter resultInterpreter;
+    private final BytecodeAnalyzer bytecodeAnalyzer;
+    private final boolean controlFlowSimulation;
     private final JavaDocAnalyzer javaDocAnalyzer = new JavaDocAnalyzer();
+    private int shardIndex;
+    private int shardCount = 1;
 
     /**
      * Creates a project analyzer with given class path locations where to search for classes.
@@ -69,7 +75,35 @@ public class ProjectAnalyzer {
      * @param classPaths The locations of additional class paths (can be directories or jar-files)
      */
     public ProjectAnalyzer(final Set<Path> classPaths) {
-        classPaths.forEach(this::addToClassPool);
+        this(classPaths, new Options());
+    }
+
+    /**
+     * Creates a project analyzer with given class path locations where to search for classes.
+     *
+     * @param classPaths The locations of additional class paths (can be directories or jar-files)
+     * @param options    The options of the analysis
+     */
+    public ProjectAnalyzer(final Set<Path> classPaths, final Options options) {
+        resultInterpreter = new ResultInterpreter(options.parallelInterpretation);
+        bytecodeAnalyzer = new BytecodeAnalyzer(options.controlFlowSimulation);
+        controlFlowSimulation = options.controlFlowSimulation;
+        classPaths.forEach(p -> addToClassPool(p, options.indexCacheLocation));
+    }
+
+    /**
+     * Restricts the analysis to a shard of the root resources. The root resources are sorted by their names and distributed
+     * round-robin to the shards, therefore every analysis of the same project with the same shard count selects the same classes.
+     * The sub-resources are analyzed by the shards of their root resources.
+     *
+     * @param shardIndex The index of the shard, starting at {@code 0}
+     * @param shardCount The number of shards
+     */
+    public void setShard(final int shardIndex, final int shardCount) {
+        if (shardCount < 1 || shardIndex < 0 || shardIndex >= shardCount)
+            throw new IllegalArgumentException("Invalid shard " + shardIndex + " of " + shardCount + " shards");
+        this.shardIndex = shardIndex;
+        this.shardCount = shardCount;
     }
 
     /**
@@ -83,33 +117,81 @@ public class ProjectAnalyzer {
     public Resources analyze(Set<Path> projectClassPaths, Set<Path> projectSourcePaths, Set<String> ignoredResources) {
         lock.lock();
         try {
-            projectClassPaths.forEach(this::addProjectPath);
+            return context.call(() -> analyzeProject(projectClassPaths, projectSourcePaths, ignoredResources));
+        } finally {
+            // the jobs and methods of a failed analysis are not taken over by the next analysis
+            context.getJobRegistry().clear();
+            context.getMethodPool().clearProjectMethods();
+            lock.unlock();
+        }
+    }
 
-            // analyze relevant classes
-            final JobRegistry jobRegistry = JobRegistry.getInstance();
-            final Set<ClassResult> classResults = new HashSet<>();
+    private Resources analyzeProject(Set<Path> projectClassPaths, Set<Path> projectSourcePaths, Set<String> ignoredResources) {
+        long start = Metrics.start();
+        long allocation = Metrics.startAllocation(Metrics.Phase.DISCOVERY);
+        projectClassPaths.forEach(this::addProjectPath);
 
-            classes.stream()
-                    .filter(this::isJAXRSRootResource)
-                    .filter(r -> !ignoredResources.contains(r))
-                    .forEach(c -> jobRegistry.analyzeResourceClass(c, new ClassResult()));
+        // analyze relevant classes
+        final JobRegistry jobRegistry = context.getJobRegistry();
+        final Set<ClassResult> classResults = new HashSet<>();
 
-            Pair<String, ClassResult> classResultPair;
-            while ((classResultPair = jobRegistry.nextUnhandledClass()) != null) {
-                final ClassResult classResult = classResultPair.getRight();
+        final List<String> rootResources = selectShard(classes.stream()
+                .filter(this::isJAXRSRootResource)
+                .filter(r -> !ignoredResources.contains(r))
+                .collect(Collectors.toList()));
+        rootResources.forEach(c -> jobRegistry.analyzeResourceClass(c, new ClassResult()));
+        Metrics.stopAllocation(Metrics.Phase.DISCOVERY, allocation);
+        Metrics.stop(Metrics.Phase.DISCOVERY, start);
 
-                classResults.add(classResult);
-                analyzeClass(classResultPair.getLeft(), classResult);
+        // the root resource class files are read ahead concurrently, if supported
+        final Map<String, byte[]> classFiles = ContextClassReader.readClassFiles(rootResources);
 
-                bytecodeAnalyzer.analyzeBytecode(classResult);
-            }
+        Pair<String, ClassResult> classResultPair;
+        while ((classResultPair = jobRegistry.nextUnhandledClass()) != null) {
+            final ClassResult classResult = classResultPair.getRight();
+            final long resourceAllocation = Metrics.startResource();
 
-            javaDocAnalyzer.analyze(projectSourcePaths, classResults);
+            classResults.add(classResult);
+            start = Metrics.start();
+            allocation = Metrics.startAllocation(Metrics.Phase.CLASS_VISITING);
+            analyzeClass(classResultPair.getLeft(), classFiles.remove(classResultPair.getLeft()), classResult);
+            Metrics.stopAllocation(Metrics.Phase.CLASS_VISITING, allocation);
+            Metrics.stop(Metrics.Phase.CLASS_VISITING, start);
 
-            return resultInterpreter.interpret(classResults);
-        } finally {
-            lock.unlock();
+            start = Metrics.start();
+            allocation = Metrics.startAllocation(Metrics.Phase.BYTECODE_ANALYSIS);
+            bytecodeAnalyzer.analyzeBytecode(classResult);
+            // every resource method finds its own project methods, therefore they are not kept for the following classes
+            context.getMethodPool().clearProjectMethods();
+            Metrics.stopAllocation(Metrics.Phase.BYTECODE_ANALYSIS, allocation);
+            Metrics.stop(Metrics.Phase.BYTECODE_ANALYSIS, start);
+
+            Metrics.stopResource(classResultPair.getLeft(), resourceAllocation);
         }
+
+        start = Metrics.start();
+        allocation = Metrics.startAllocation(Metrics.Phase.JAVADOC);
+        javaDocAnalyzer.analyze(projectSourcePaths, classResults);
+        Metrics.stopAllocation(Metrics.Phase.JAVADOC, allocation);
+        Metrics.stop(Metrics.Phase.JAVADOC, start);
+
+        start = Metrics.start();
+        allocation = Metrics.startAllocation(Metrics.Phase.INTERPRETATION);
+        final Resources resources = resultInterpreter.interpret(classResults);
+        Metrics.stopAllocation(Metrics.Phase.INTERPRETATION, allocation);
+        Metrics.stop(Metrics.Phase.INTERPRETATION, start);
+        return resources;
+    }
+
+    private List<String> selectShard(final List<String> rootResources) {
+        if (shardCount == 1)
+            return rootResources;
+
+        final List<String> sortedResources = rootResources.stream().sorted().collect(Collectors.toList());
+        return IntStream.range(0, sortedResources.size())
+                .filter(i -> i % shardCount == shardIndex)
+                .mapToObj(sortedResources::get)
+                .collect(Collectors.toList());
     }
 
     private boolean isJAXRSRootResource(String className) {
@@ -117,10 +199,10 @@ public class ProjectAnalyzer {
         return clazz != null && (isAnnotationPresent(clazz, javax.ws.rs.Path.class) || isAnnotationPresent(clazz, ApplicationPath.class));
     }
 
-    private void analyzeClass(final String className, ClassResult classResult) {
+    private void analyzeClass(final String className, final byte[] classFile, ClassResult classResult) {
         try {
-            final ClassReader classReader = new ContextClassReader(className);
-            final ClassVisitor visitor = new JAXRSClassVisitor(classResult);
+            final ClassReader classReader = classFile != null ? new ContextClassReader(classFile) : new ContextClassReader(className);
+            final ClassVisitor visitor = new JAXRSClassVisitor(classResult, controlFlowSimulation);
 
             classReader.accept(visitor, ClassReader.EXPAND_FRAMES);
         } catch (IOException e) {
@@ -132,13 +214,17 @@ public class ProjectAnalyzer {
     /**
      * Adds the location to the class pool.
      *
-     * @param location The location of a jar file or a directory
+     * @param location           The location of a jar file or a directory
+     * @param indexCacheLocation The directory of the cached class indexes or {@code null} if the location should not be indexed
      */
-    private void addToClassPool(final Path location) {
+    private void addToClassPool(final Path location, final Path indexCacheLocation) {
         if (!location.toFile().exists())
             throw new IllegalArgumentException("The location '" + location + "' does not exist!");
         try {
-            ContextClassReader.addClassPath(location.toUri().toURL());
+            if (indexCacheLocation != null)
+                context.getClassPool().addIndexedClassPath(location, indexCacheLocation);
+            else
+                context.getClassPool().addClassPath(location);
         } catch (Exception e) {
             throw new IllegalArgumentException("The location '" + location + "' could not be loaded to the class path!", e);
         }
@@ -150,12 +236,13 @@ public class ProjectAnalyzer {
      * @param path The project path
      */
     private void addProjectPath(final Path path) {
-        addToClassPool(path);
+        // the project classes change with every build, therefore they are not indexed
+        addToClassPool(path, null);
 
         if (path.toFile().isFile() && path.toString().endsWith(".jar")) {
             addJarClasses(path);
         } else if (path.toFile().isDirectory()) {
-            addDirectoryClasses(path, Paths.get(""));
+            addDirectoryClasses(path);
         } else {
             throw new IllegalArgumentException("The project path '" + path + "' must be a jar file or a directory");
         }
@@ -172,8 +259,10 @@ public class ProjectAnalyzer {
             while (entries.hasMoreElements()) {
                 final JarEntry entry = entries.nextElement();
                 final String entryName = entry.getName();
-                if (entryName.endsWith(".class"))
+                if (entryName.endsWith(".class")) {
                     classes.add(toQualifiedClassName(entryName));
+                    Metrics.count(Metrics.Counter.CLASSES_SCANNED);
+                }
             }
         } catch (IOException e) {
             throw new IllegalArgumentException("Could not read jar-file '" + location + "', reason: " + e.getMessage());
@@ -182,21 +271,53 @@ public class ProjectAnalyzer {
 
     /**
      * Adds all classes in the given directory location to the set of known classes.
+     * The directories are listed level by level, the listings of one level are read concurrently if supported.
      *
-     * @param location The location of the current directory
-     * @param subPath  The sub-path which is relevant for the package names or {@code null} if currently in the root directory
+     * @param location The location of the root directory
      */
-    private void addDirectoryClasses(final Path location, final Path subPath) {
-        for (final File file : location.toFile().listFiles()) {
-            if (file.isDirectory())
-                addDirectoryClasses(location.resolve(file.getName()), subPath.resolve(file.getName()));
-            else if (file.isFile() && file.getName().endsWith(".class")) {
-                final String classFileName = subPath.resolve(file.getName()).toString();
-                classes.add(toQualifiedClassName(classFileName));
+    private void addDirectoryClasses(final Path location) {
+        List<Pair<Path, Path>> directories = Collections.singletonList(Pair.of(location, Paths.get("")));
+        while (!directories.isEmpty()) {
+            final List<List<Pair<String, Boolean>>> listings = ConcurrentReads.readAll(directories, d -> listDirectory(d.getLeft()));
+            final List<Pair<Path, Path>> subDirectories = new ArrayList<>();
+
+            for (int i = 0; i < directories.size(); i++) {
+                final Path directory = directories.get(i).getLeft();
+                final Path subPath = directories.get(i).getRight();
+                for (final Pair<String, Boolean> file : listings.get(i)) {
+                    if (file.getRight())
+                        subDirectories.add(Pair.of(directory.resolve(file.getLeft()), subPath.resolve(file.getLeft())));
+                    else if (file.getLeft().endsWith(".class")) {
+                        classes.add(toQualifiedClassName(subPath.resolve(file.getLeft()).toString()));
+                        Metrics.count(Metrics.Counter.CLASSES_SCANNED);
+                    }
+                }
             }
+            directories = subDirectories;
         }
     }
 
+    /**
+     * Lists the files and sub-directories of the directory.
+     *
+     * @param directory The directory
+     * @return The names of the files and sub-directories, paired with {@code true} for sub-directories
+     */
+    private static List<Pair<String, Boolean>> listDirectory(final Path directory) {
+        final File[] files = directory.toFile().listFiles();
+        if (files == null)
+            throw new IllegalArgumentException("Could not list directory '" + directory + "'");
+
+        final List<Pair<String, Boolean>> listing = new ArrayList<>(files.length);
+        for (final File file : files) {
+            if (file.isDirectory())
+                listing.add(Pair.of(file.getName(), true));
+            else if (file.isFile())
+                listing.add(Pair.of(file.getName(), false));
+        }
+        return listing;
+    }
+
     /**
      * Converts the given file name of a class-file to the fully-qualified class name.
      *
@@ -208,4 +329,49 @@ public class ProjectAnalyzer {
         return replacedSeparators.substring(0, replacedSeparators.length() - ".class".length());
     }
 
+    /**
+     * The options of a project analysis. Per default the classes are interpreted sequentially, the jar-files are not indexed
+     * and the methods are simulated linearly.
+     */
+    public static class Options {
+
+        private boolean parallelInterpretation;
+        private Path indexCacheLocation;
+        private boolean controlFlowSimulation;
+
+        public boolean isParallelInterpretation() {
+            return parallelInterpretation;
+        }
+
+        /**
+         * @param parallelInterpretation If the analyzed classes should be interpreted in parallel
+         */
+        public void setParallelInterpretation(final boolean parallelInterpretation) {
+            this.parallelInterpretation = parallelInterpretation;
+        }
+
+        public Path getIndexCacheLocation() {
+            return indexCacheLocation;
+        }
+
+        /**
+         * @param indexCacheLocation The directory of the cached indexes of the class path jar-files or {@code null} if the jar-files should not be indexed
+         */
+        public void setIndexCacheLocation(final Path indexCacheLocation) {
+            this.indexCacheLocation = indexCacheLocation;
+        }
+
+        public boolean isControlFlowSimulation() {
+            return controlFlowSimulation;
+        }
+
+        /**
+         * @param controlFlowSimulation If the methods should be simulated along their control flow graphs instead of linearly
+         */
+        public void setControlFlowSimulation(final boolean controlFlowSimulation) {
+            this.controlFlowSimulation = controlFlowSimulation;
+        }
+
+    }
+
 }
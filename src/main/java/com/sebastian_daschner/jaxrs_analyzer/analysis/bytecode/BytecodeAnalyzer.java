@@ -1,5 +1,7 @@
 package com.sebastian_daschner.jaxrs_analyzer.analysis.bytecode;
 
+import com.sebastian_daschner.jaxrs_analyzer.Metrics;
+import com.sebastian_daschner.jaxrs_analyzer.model.methods.MethodIdentifier;
 import com.sebastian_daschner.jaxrs_analyzer.model.results.ClassResult;
 import com.sebastian_daschner.jaxrs_analyzer.model.results.MethodResult;
 
@@ -8,23 +10,48 @@ import com.sebastian_daschner.jaxrs_analyzer.model.results.MethodResult;
  */
 public class BytecodeAnalyzer {
 
-    private final ResourceMethodContentAnalyzer methodContentAnalyzer = new ResourceMethodContentAnalyzer();
-    private final SubResourceLocatorMethodContentAnalyzer subResourceLocatorAnalyzer = new SubResourceLocatorMethodContentAnalyzer();
+    private final ResourceMethodContentAnalyzer methodContentAnalyzer;
+    private final SubResourceLocatorMethodContentAnalyzer subResourceLocatorAnalyzer;
+
+    public BytecodeAnalyzer() {
+        this(false);
+    }
+
+    /**
+     * @param controlFlowSimulation If the methods should be simulated along their control flow graphs instead of linearly
+     */
+    public BytecodeAnalyzer(final boolean controlFlowSimulation) {
+        methodContentAnalyzer = new ResourceMethodContentAnalyzer(controlFlowSimulation);
+        subResourceLocatorAnalyzer = new SubResourceLocatorMethodContentAnalyzer(controlFlowSimulation);
+    }
 
     /**
      * Analyzes the bytecode instructions of the method results and interprets JAX-RS relevant information.
+     * The instructions of every method are released after its analysis, thus only the instructions of the current class are kept in memory.
      */
     public void analyzeBytecode(final ClassResult classResult) {
         classResult.getMethods().forEach(this::analyzeBytecode);
     }
 
     private void analyzeBytecode(final MethodResult methodResult) {
-        if (methodResult.getHttpMethod() == null) {
-            // sub-resource
-            subResourceLocatorAnalyzer.analyze(methodResult);
-        } else {
-            methodContentAnalyzer.analyze(methodResult);
+        final Metrics.MethodCost cost = Metrics.isEnabled() ? Metrics.startMethod(describe(methodResult)) : null;
+        try {
+            if (methodResult.getHttpMethod() == null) {
+                // sub-resource
+                subResourceLocatorAnalyzer.analyze(methodResult);
+            } else {
+                methodContentAnalyzer.analyze(methodResult);
+            }
+        } finally {
+            methodResult.releaseInstructions();
+            Metrics.stopMethod(cost);
         }
     }
 
+    private static String describe(final MethodResult methodResult) {
+        final MethodIdentifier identifier = methodResult.getOriginalMethodSignature();
+        return (methodResult.getHttpMethod() == null ? "sub-resource locator" : methodResult.getHttpMethod().name()) + ' '
+                + identifier.getContainingClass() + '#' + identifier.getMethodName() + identifier.getSignature();
+    }
+
 }
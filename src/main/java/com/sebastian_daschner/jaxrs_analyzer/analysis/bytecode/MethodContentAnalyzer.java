@@ -17,9 +17,14 @@
 package com.sebastian_daschner.jaxrs_analyzer.analysis.bytecode;
 
 import com.sebastian_daschner.jaxrs_analyzer.LogProvider;
+import com.sebastian_daschner.jaxrs_analyzer.Metrics;
 import com.sebastian_daschner.jaxrs_analyzer.analysis.bytecode.reduction.RelevantInstructionReducer;
 import com.sebastian_daschner.jaxrs_analyzer.analysis.classes.ContextClassReader;
+import com.sebastian_daschner.jaxrs_analyzer.analysis.bytecode.simulation.ControlFlowGraph;
+import com.sebastian_daschner.jaxrs_analyzer.analysis.bytecode.simulation.MethodSimulator;
 import com.sebastian_daschner.jaxrs_analyzer.analysis.classes.ProjectMethodClassVisitor;
+import com.sebastian_daschner.jaxrs_analyzer.jfr.AnalyzerEvents;
+import com.sebastian_daschner.jaxrs_analyzer.model.elements.Element;
 import com.sebastian_daschner.jaxrs_analyzer.model.instructions.Instruction;
 import com.sebastian_daschner.jaxrs_analyzer.model.instructions.InvokeInstruction;
 import com.sebastian_daschner.jaxrs_analyzer.model.methods.MethodIdentifier;
@@ -47,16 +52,46 @@ abstract class MethodContentAnalyzer {
      */
     private static final int PROJECT_PACKAGE_HIERARCHIES = 2;
     private final RelevantInstructionReducer instructionReducer = new RelevantInstructionReducer();
+    private final boolean controlFlowSimulation;
     private String projectPackagePrefix;
 
+    /**
+     * @param controlFlowSimulation If the methods should be simulated along their control flow graphs
+     */
+    MethodContentAnalyzer(final boolean controlFlowSimulation) {
+        this.controlFlowSimulation = controlFlowSimulation;
+    }
+
     /**
      * Interprets the relevant instructions for the given method.
      *
+     * @param identifier   The method
      * @param instructions The instructions to reduce
      * @return The reduced instructions
      */
-    List<Instruction> interpretRelevantInstructions(final List<Instruction> instructions) {
-        return instructionReducer.reduceInstructions(instructions);
+    List<Instruction> interpretRelevantInstructions(final MethodIdentifier identifier, final List<Instruction> instructions) {
+        final Object event = AnalyzerEvents.begin(AnalyzerEvents.Type.INSTRUCTION_REDUCTION);
+        final List<Instruction> relevantInstructions = instructionReducer.reduceInstructions(instructions);
+        AnalyzerEvents.commit(event, identifier, instructions.size(), relevantInstructions.size());
+        return relevantInstructions;
+    }
+
+    /**
+     * Simulates the relevant instructions of the given method.
+     *
+     * @param simulator    The simulator
+     * @param methodResult The method result containing the collected instructions
+     * @param instructions The relevant instructions
+     * @return The return element merged with all possible values
+     */
+    Element simulate(final MethodSimulator simulator, final MethodResult methodResult, final List<Instruction> instructions) {
+        final MethodIdentifier identifier = methodResult.getOriginalMethodSignature();
+        final Object event = AnalyzerEvents.begin(AnalyzerEvents.Type.SIMULATION);
+        final Element returnedElement = controlFlowSimulation
+                ? simulator.simulate(ControlFlowGraph.build(methodResult.getInstructions(), methodResult.getBranches(), instructions))
+                : simulator.simulate(instructions);
+        AnalyzerEvents.commit(event, identifier, instructions.size(), 0);
+        return returnedElement;
     }
 
     /**
@@ -83,10 +118,13 @@ abstract class MethodContentAnalyzer {
      * @return The found project methods
      */
     Set<ProjectMethod> findProjectMethods(final List<Instruction> instructions) {
+        final long start = Metrics.start();
         final Set<ProjectMethod> projectMethods = new HashSet<>();
 
         addProjectMethods(instructions, projectMethods);
 
+        Metrics.count(Metrics.Counter.PROJECT_METHODS_INLINED, projectMethods.size());
+        Metrics.stop(Metrics.Phase.PROJECT_METHOD_INLINING, start);
         return projectMethods;
     }
 
@@ -102,13 +140,17 @@ abstract class MethodContentAnalyzer {
         for (MethodIdentifier identifier : projectMethodIdentifiers) {
             // TODO cache results -> singleton pool?
 
+            final Object event = AnalyzerEvents.begin(AnalyzerEvents.Type.PROJECT_METHOD_INLINING);
             final MethodResult methodResult = visitProjectMethod(identifier);
             if (methodResult == null) {
                 continue;
             }
 
-            final List<Instruction> nestedMethodInstructions = interpretRelevantInstructions(methodResult.getInstructions());
-            projectMethods.add(new ProjectMethod(identifier, nestedMethodInstructions));
+            final List<Instruction> nestedMethodInstructions = interpretRelevantInstructions(identifier, methodResult.getInstructions());
+            projectMethods.add(controlFlowSimulation
+                    ? new ProjectMethod(identifier, nestedMethodInstructions, ControlFlowGraph.build(methodResult.getInstructions(), methodResult.getBranches(), nestedMethodInstructions))
+                    : new ProjectMethod(identifier, nestedMethodInstructions));
+            AnalyzerEvents.commit(event, identifier, methodResult.getInstructions().size(), nestedMethodInstructions.size());
             addProjectMethods(nestedMethodInstructions, projectMethods);
         }
     }
@@ -118,6 +160,8 @@ abstract class MethodContentAnalyzer {
             final ClassReader classReader = new ContextClassReader(identifier.getContainingClass());
             final MethodResult methodResult = new MethodResult();
             methodResult.setOriginalMethodSignature(identifier);
+            if (controlFlowSimulation)
+                methodResult.collectBranches();
             final ClassVisitor visitor = new ProjectMethodClassVisitor(methodResult, identifier);
 
             classReader.accept(visitor, ClassReader.EXPAND_FRAMES);
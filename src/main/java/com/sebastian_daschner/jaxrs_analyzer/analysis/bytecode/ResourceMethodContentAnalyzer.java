@@ -16,7 +16,7 @@
 
 package com.sebastian_daschner.jaxrs_analyzer.analysis.bytecode;
 
-import com.sebastian_daschner.jaxrs_analyzer.analysis.bytecode.simulation.MethodPool;
+import com.sebastian_daschner.jaxrs_analyzer.analysis.AnalysisContext;
 import com.sebastian_daschner.jaxrs_analyzer.analysis.bytecode.simulation.MethodSimulator;
 import com.sebastian_daschner.jaxrs_analyzer.model.Types;
 import com.sebastian_daschner.jaxrs_analyzer.model.elements.Element;
@@ -41,6 +41,10 @@ class ResourceMethodContentAnalyzer extends MethodContentAnalyzer {
 
     private final Lock lock = new ReentrantLock();
 
+    ResourceMethodContentAnalyzer(final boolean controlFlowSimulation) {
+        super(controlFlowSimulation);
+    }
+
     /**
      * Analyzes the method (including own project methods).
      *
@@ -51,15 +55,15 @@ class ResourceMethodContentAnalyzer extends MethodContentAnalyzer {
         try {
             buildPackagePrefix(methodResult.getParentResource().getOriginalClass());
 
-            final List<Instruction> visitedInstructions = interpretRelevantInstructions(methodResult.getInstructions());
+            final List<Instruction> visitedInstructions = interpretRelevantInstructions(methodResult.getOriginalMethodSignature(), methodResult.getInstructions());
 
             // find project defined methods in invoke occurrences
             final Set<ProjectMethod> projectMethods = findProjectMethods(visitedInstructions);
 
-            // add project methods to global method pool
-            projectMethods.forEach(MethodPool.getInstance()::addProjectMethod);
+            // add project methods to the method pool of the analysis
+            projectMethods.forEach(AnalysisContext.current().getMethodPool()::addProjectMethod);
 
-            Element returnedElement = new MethodSimulator().simulate(visitedInstructions);
+            Element returnedElement = simulate(new MethodSimulator(), methodResult, visitedInstructions);
             final String returnType = methodResult.getOriginalMethodSignature().getReturnType();
 
             // void resource methods are interpreted later; stop analyzing on error
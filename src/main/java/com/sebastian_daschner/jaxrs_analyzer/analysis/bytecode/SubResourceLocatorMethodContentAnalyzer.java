@@ -16,8 +16,7 @@
 
 package com.sebastian_daschner.jaxrs_analyzer.analysis.bytecode;
 
-import com.sebastian_daschner.jaxrs_analyzer.analysis.JobRegistry;
-import com.sebastian_daschner.jaxrs_analyzer.analysis.bytecode.simulation.MethodPool;
+import com.sebastian_daschner.jaxrs_analyzer.analysis.AnalysisContext;
 import com.sebastian_daschner.jaxrs_analyzer.analysis.bytecode.simulation.MethodSimulator;
 import com.sebastian_daschner.jaxrs_analyzer.model.JavaUtils;
 import com.sebastian_daschner.jaxrs_analyzer.model.elements.Element;
@@ -43,6 +42,14 @@ class SubResourceLocatorMethodContentAnalyzer extends MethodContentAnalyzer {
     private final Lock lock = new ReentrantLock();
     private final MethodSimulator simulator = new MethodSimulator();
 
+    SubResourceLocatorMethodContentAnalyzer() {
+        this(false);
+    }
+
+    SubResourceLocatorMethodContentAnalyzer(final boolean controlFlowSimulation) {
+        super(controlFlowSimulation);
+    }
+
     /**
      * Analyzes the sub-resource locator method as a class result (which will be the content of a method result).
      *
@@ -67,15 +74,15 @@ class SubResourceLocatorMethodContentAnalyzer extends MethodContentAnalyzer {
      * This will analyze the concrete returned types (which then are further analyzed).
      */
     private Set<String> determineReturnTypes(final MethodResult result) {
-        final List<Instruction> visitedInstructions = interpretRelevantInstructions(result.getInstructions());
+        final List<Instruction> visitedInstructions = interpretRelevantInstructions(result.getOriginalMethodSignature(), result.getInstructions());
 
         // find project defined methods in invoke occurrences
         final Set<ProjectMethod> projectMethods = findProjectMethods(visitedInstructions);
 
-        // add project methods to global method pool
-        projectMethods.forEach(MethodPool.getInstance()::addProjectMethod);
+        // add project methods to the method pool of the analysis
+        projectMethods.forEach(AnalysisContext.current().getMethodPool()::addProjectMethod);
 
-        final Element returnedElement = simulator.simulate(visitedInstructions);
+        final Element returnedElement = simulate(simulator, result, visitedInstructions);
         if (returnedElement == null) {
             // happens for abstract methods or if there is no return
             return singleton(result.getOriginalMethodSignature().getReturnType());
@@ -86,7 +93,7 @@ class SubResourceLocatorMethodContentAnalyzer extends MethodContentAnalyzer {
 
     private void registerSubResourceJob(final String type, final ClassResult classResult) {
         final String className = JavaUtils.toClassName(type);
-        JobRegistry.getInstance().analyzeResourceClass(className, classResult);
+        AnalysisContext.current().getJobRegistry().analyzeResourceClass(className, classResult);
     }
 
 }
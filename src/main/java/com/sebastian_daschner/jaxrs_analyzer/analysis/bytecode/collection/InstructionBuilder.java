@@ -1,6 +1,6 @@
 package com.sebastian_daschner.jaxrs_analyzer.analysis.bytecode.collection;
 
-import com.sebastian_daschner.jaxrs_analyzer.LogProvider;
+import com.sebastian_daschner.jaxrs_analyzer.analysis.AnalysisContext;
 import com.sebastian_daschner.jaxrs_analyzer.model.JavaUtils;
 import com.sebastian_daschner.jaxrs_analyzer.model.instructions.*;
 import com.sebastian_daschner.jaxrs_analyzer.model.methods.MethodIdentifier;
@@ -8,8 +8,6 @@ import org.objectweb.asm.Handle;
 import org.objectweb.asm.Label;
 import org.objectweb.asm.Opcodes;
 
-import java.lang.reflect.Field;
-
 import static com.sebastian_daschner.jaxrs_analyzer.model.Types.*;
 import static com.sebastian_daschner.jaxrs_analyzer.model.methods.MethodIdentifier.of;
 import static org.objectweb.asm.Opcodes.*;
@@ -33,7 +31,7 @@ public final class InstructionBuilder {
 
         switch (opcode) {
             case GETSTATIC:
-                final Object value = getStaticValue(name, ownerClass);
+                final Object value = AnalysisContext.current().getStaticFieldValues().get(ownerClass, name);
                 return new GetStaticInstruction(ownerClass, name, desc, value, label);
             case PUTSTATIC:
                 return new SizeChangingInstruction(opcodeName, 0, 1, label);
@@ -288,19 +286,4 @@ public final class InstructionBuilder {
         }
     }
 
-    private static Object getStaticValue(String name, String containingClass) {
-        final Field field;
-        try {
-            // needs to load same class instance in Maven plugin, not from extended classloader
-            final Class<?> clazz = Class.forName(containingClass.replace('/', '.'));
-            field = clazz.getDeclaredField(name);
-            field.setAccessible(true);
-            return field.get(null);
-        } catch (Exception e) {
-            LogProvider.error("Could not access static property, reason: " + e.getMessage());
-            LogProvider.debug(e);
-            return null;
-        }
-    }
-
 }
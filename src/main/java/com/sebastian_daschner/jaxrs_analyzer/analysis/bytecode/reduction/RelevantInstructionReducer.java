@@ -16,6 +16,7 @@
 
 package com.sebastian_daschner.jaxrs_analyzer.analysis.bytecode.reduction;
 
+import com.sebastian_daschner.jaxrs_analyzer.Metrics;
 import com.sebastian_daschner.jaxrs_analyzer.model.instructions.Instruction;
 import com.sebastian_daschner.jaxrs_analyzer.model.instructions.LoadInstruction;
 
@@ -49,14 +50,19 @@ public class RelevantInstructionReducer {
      * @return The relevant instructions
      */
     public List<Instruction> reduceInstructions(final List<Instruction> instructions) {
+        final long start = Metrics.start();
         lock.lock();
         try {
             this.instructions = instructions;
             stackSizeSimulator.buildStackSizes(instructions);
 
-            return reduceInstructionsInternal(instructions);
+            final List<Instruction> relevantInstructions = reduceInstructionsInternal(instructions);
+            Metrics.count(Metrics.Counter.INSTRUCTIONS_COLLECTED, instructions.size());
+            Metrics.count(Metrics.Counter.INSTRUCTIONS_RELEVANT, relevantInstructions.size());
+            return relevantInstructions;
         } finally {
             lock.unlock();
+            Metrics.stop(Metrics.Phase.INSTRUCTION_REDUCTION, start);
         }
     }
 
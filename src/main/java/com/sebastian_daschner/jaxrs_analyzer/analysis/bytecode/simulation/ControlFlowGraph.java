@@ -0,0 +1,173 @@
+package com.sebastian_daschner.jaxrs_analyzer.analysis.bytecode.simulation;
+
+import com.sebastian_daschner.jaxrs_analyzer.model.instructions.Branches;
+import com.sebastian_daschner.jaxrs_analyzer.model.instructions.Instruction;
+import org.objectweb.asm.Label;
+
+import java.util.*;
+
+/**
+ * The control flow graph of a method, consisting of the basic blocks of the collected instructions.
+ * <p>
+ * Every block contains the relevant instructions (i.e. the reduced instructions) of its range, which are the transfer function
+ * of the block, and its successors. The graph is immutable, therefore it is built once per method and shared by all simulations of the method.
+ * The blocks don't cache summaries of their effects, as the effect of a block depends on its entry state and on the simulated invocations.
+ *
+ * @author Sebastian Daschner
+ */
+public class ControlFlowGraph {
+
+    private final List<BasicBlock> blocks;
+
+    private ControlFlowGraph(final List<BasicBlock> blocks) {
+        this.blocks = blocks;
+    }
+
+    /**
+     * Returns the basic blocks in the order of the instructions. The first block is the entry of the method.
+     *
+     * @return The basic blocks
+     */
+    public List<BasicBlock> getBlocks() {
+        return blocks;
+    }
+
+    /**
+     * Builds the control flow graph.
+     *
+     * @param instructions         All collected instructions of the method
+     * @param branches             The control flow information of the collected instructions
+     * @param relevantInstructions The relevant instructions which are contained in the collected instructions
+     * @return The control flow graph
+     */
+    public static ControlFlowGraph build(final List<Instruction> instructions, final Branches branches, final List<Instruction> relevantInstructions) {
+        final int size = instructions.size();
+        if (size == 0)
+            return new ControlFlowGraph(Collections.singletonList(new BasicBlock(0, new ArrayList<>(relevantInstructions))));
+
+        final int[] blockStarts = findBlockStarts(instructions, branches);
+        final int[] blockIndexes = new int[size];
+        for (int block = 0; block < blockStarts.length; block++) {
+            final int end = block + 1 < blockStarts.length ? blockStarts[block + 1] : size;
+            Arrays.fill(blockIndexes, blockStarts[block], end, block);
+        }
+
+        final Set<Instruction> relevant = Collections.newSetFromMap(new IdentityHashMap<>());
+        relevant.addAll(relevantInstructions);
+
+        final List<BasicBlock> blocks = new ArrayList<>(blockStarts.length);
+        for (int block = 0; block < blockStarts.length; block++) {
+            final int start = blockStarts[block];
+            final int end = block + 1 < blockStarts.length ? blockStarts[block + 1] : size;
+
+            final List<Instruction> blockInstructions = new ArrayList<>();
+            for (int position = start; position < end; position++) {
+                if (relevant.contains(instructions.get(position)))
+                    blockInstructions.add(instructions.get(position));
+            }
+
+            final BasicBlock basicBlock = new BasicBlock(block, blockInstructions);
+            addSuccessors(basicBlock, end - 1, instructions, branches, blockIndexes);
+            blocks.add(basicBlock);
+        }
+
+        addExceptionSuccessors(blocks, blockStarts, size, branches, blockIndexes);
+
+        return new ControlFlowGraph(Collections.unmodifiableList(blocks));
+    }
+
+    private static int[] findBlockStarts(final List<Instruction> instructions, final Branches branches) {
+        final int size = instructions.size();
+        final SortedSet<Integer> starts = new TreeSet<>();
+        starts.add(0);
+        branches.getLabelPositions().stream().filter(p -> p < size).forEach(starts::add);
+
+        for (int position = 0; position < size - 1; position++) {
+            final Instruction.InstructionType type = instructions.get(position).getType();
+            if (branches.getBranchTargets().containsKey(position) || type == Instruction.InstructionType.RETURN || type == Instruction.InstructionType.THROW)
+                starts.add(position + 1);
+        }
+
+        return starts.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    private static void addSuccessors(final BasicBlock block, final int last, final List<Instruction> instructions, final Branches branches, final int[] blockIndexes) {
+        final List<Label> targets = branches.getBranchTargets().get(last);
+        if (targets != null) {
+            targets.stream().map(branches::getPosition).filter(Objects::nonNull).filter(p -> p < blockIndexes.length)
+                    .forEach(p -> block.successors.add(blockIndexes[p]));
+            if (!branches.isConditional(last))
+                return;
+        }
+
+        final Instruction.InstructionType type = instructions.get(last).getType();
+        if (type != Instruction.InstructionType.RETURN && type != Instruction.InstructionType.THROW && last + 1 < blockIndexes.length)
+            block.successors.add(blockIndexes[last + 1]);
+    }
+
+    private static void addExceptionSuccessors(final List<BasicBlock> blocks, final int[] blockStarts, final int size, final Branches branches, final int[] blockIndexes) {
+        for (final Branches.TryCatchBlock tryCatchBlock : branches.getTryCatchBlocks()) {
+            final Integer start = branches.getPosition(tryCatchBlock.getStart());
+            final Integer end = branches.getPosition(tryCatchBlock.getEnd());
+            final Integer handler = branches.getPosition(tryCatchBlock.getHandler());
+            if (start == null || end == null || handler == null || handler >= size)
+                continue;
+
+            // every block which overlaps the protected range may throw
+            for (int block = 0; block < blockStarts.length; block++) {
+                final int blockEnd = block + 1 < blockStarts.length ? blockStarts[block + 1] : size;
+                if (blockStarts[block] < end && blockEnd > start)
+                    blocks.get(block).exceptionSuccessors.add(blockIndexes[handler]);
+            }
+        }
+    }
+
+    /**
+     * A basic block of the control flow graph.
+     */
+    public static class BasicBlock {
+
+        private final int index;
+        private final List<Instruction> instructions;
+        private final Set<Integer> successors = new LinkedHashSet<>();
+        private final Set<Integer> exceptionSuccessors = new LinkedHashSet<>();
+
+        private BasicBlock(final int index, final List<Instruction> instructions) {
+            this.index = index;
+            this.instructions = instructions;
+        }
+
+        public int getIndex() {
+            return index;
+        }
+
+        /**
+         * Returns the relevant instructions of this block.
+         *
+         * @return The instructions
+         */
+        public List<Instruction> getInstructions() {
+            return instructions;
+        }
+
+        /**
+         * Returns the blocks which are executed after this block, with the runtime stack of this block.
+         *
+         * @return The indexes of the successors
+         */
+        public Set<Integer> getSuccessors() {
+            return successors;
+        }
+
+        /**
+         * Returns the exception handler blocks which may be executed after this block, with an empty runtime stack.
+         *
+         * @return The indexes of the exception handler blocks
+         */
+        public Set<Integer> getExceptionSuccessors() {
+            return exceptionSuccessors;
+        }
+
+    }
+
+}
@@ -25,6 +25,7 @@ import java.util.LinkedList;
 import java.util.List;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
 import java.util.stream.IntStream;
 
 /**
@@ -50,6 +51,22 @@ public class InjectableArgumentMethodSimulator extends MethodSimulator {
      * @return The return value or {@code null} if return type is void
      */
     public Element simulate(final List<Element> arguments, final List<Instruction> instructions, final MethodIdentifier identifier) {
+        return simulate(arguments, identifier, () -> simulateInternal(instructions));
+    }
+
+    /**
+     * Simulates the basic blocks of the method which will be called with the given arguments along its control flow graph.
+     *
+     * @param arguments  The argument values
+     * @param graph      The control flow graph of the method
+     * @param identifier The identifier of the method
+     * @return The return value or {@code null} if return type is void
+     */
+    public Element simulate(final List<Element> arguments, final ControlFlowGraph graph, final MethodIdentifier identifier) {
+        return simulate(arguments, identifier, () -> simulateInternal(graph));
+    }
+
+    private Element simulate(final List<Element> arguments, final MethodIdentifier identifier, final Supplier<Element> simulation) {
         // prevent infinite loops on analysing recursion
         if (EXECUTED_PATH_METHODS.contains(identifier))
             return new Element();
@@ -60,7 +77,7 @@ public class InjectableArgumentMethodSimulator extends MethodSimulator {
 
             injectArguments(arguments, identifier);
 
-            return simulateInternal(instructions);
+            return simulation.get();
         } finally {
             EXECUTED_PATH_METHODS.remove(identifier);
             lock.unlock();
@@ -16,15 +16,15 @@
 
 package com.sebastian_daschner.jaxrs_analyzer.analysis.bytecode.simulation;
 
+import com.sebastian_daschner.jaxrs_analyzer.Metrics;
+import com.sebastian_daschner.jaxrs_analyzer.analysis.AnalysisContext;
 import com.sebastian_daschner.jaxrs_analyzer.model.elements.Element;
 import com.sebastian_daschner.jaxrs_analyzer.model.methods.IdentifiableMethod;
 import com.sebastian_daschner.jaxrs_analyzer.model.methods.Method;
 import com.sebastian_daschner.jaxrs_analyzer.model.methods.MethodIdentifier;
 import com.sebastian_daschner.jaxrs_analyzer.model.methods.ProjectMethod;
 
-import java.util.LinkedList;
-import java.util.List;
-import java.util.Optional;
+import java.util.*;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 import java.util.function.Function;
@@ -33,44 +33,46 @@ import java.util.stream.Stream;
 import static com.sebastian_daschner.jaxrs_analyzer.model.Types.PRIMITIVE_VOID;
 
 /**
- * A thread-safe singleton pool of known {@link Method}s.
+ * A thread-safe pool of known {@link Method}s. Every analysis has its own pool (see {@link AnalysisContext#getMethodPool()}).
+ * The project methods are indexed by their containing class and method name.
  *
  * @author Sebastian Daschner
  */
 public class MethodPool {
 
-    /**
-     * The only instance of the method pool.
-     */
-    private static final MethodPool INSTANCE = new MethodPool();
     private static final Function<MethodIdentifier, Method> DEFAULT_METHOD = identifier -> (object, arguments) -> {
         if (!PRIMITIVE_VOID.equals(identifier.getReturnType()))
             return new Element(identifier.getReturnType());
         return null;
     };
 
-    private final List<IdentifiableMethod> availableMethods;
+    private final List<IdentifiableMethod> knownMethods;
+    private final Map<String, List<ProjectMethod>> projectMethods;
     private final ReadWriteLock readWriteLock;
 
-    private MethodPool() {
-        availableMethods = new LinkedList<>();
+    public MethodPool() {
+        knownMethods = new ArrayList<>();
 
         // order matters, known methods are taken first
-        Stream.of(KnownResponseResultMethod.values()).forEach(availableMethods::add);
-        Stream.of(KnownJsonResultMethod.values()).forEach(availableMethods::add);
+        Stream.of(KnownResponseResultMethod.values()).forEach(knownMethods::add);
+        Stream.of(KnownJsonResultMethod.values()).forEach(knownMethods::add);
 
+        projectMethods = new HashMap<>();
         readWriteLock = new ReentrantReadWriteLock();
     }
 
     /**
-     * Adds a project method to the pool.
+     * Adds a project method to the pool. Methods which match an already added project method are ignored,
+     * since the first added method is taken.
      *
      * @param method The method to add
      */
     public void addProjectMethod(final ProjectMethod method) {
         readWriteLock.writeLock().lock();
         try {
-            availableMethods.add(method);
+            final List<ProjectMethod> methods = projectMethods.computeIfAbsent(key(method.getIdentifier()), k -> new ArrayList<>(1));
+            if (methods.stream().noneMatch(m -> m.matches(method.getIdentifier())))
+                methods.add(method);
         } finally {
             readWriteLock.writeLock().unlock();
         }
@@ -83,12 +85,22 @@ public class MethodPool {
      * @return The found method or a default handler
      */
     public Method get(final MethodIdentifier identifier) {
-        // search for available methods
+        // the known methods are not modified after construction
+        final Optional<IdentifiableMethod> knownMethod = knownMethods.stream().filter(m -> m.matches(identifier)).findFirst();
+        if (knownMethod.isPresent()) {
+            Metrics.count(Metrics.Counter.METHOD_POOL_HITS);
+            return knownMethod.get();
+        }
+
+        // search for project methods
         readWriteLock.readLock().lock();
         try {
-            final Optional<? extends IdentifiableMethod> method = availableMethods.stream().filter(m -> m.matches(identifier)).findAny();
-            if (method.isPresent())
+            final List<ProjectMethod> methods = projectMethods.getOrDefault(key(identifier), Collections.emptyList());
+            final Optional<ProjectMethod> method = methods.stream().filter(m -> m.matches(identifier)).findFirst();
+            if (method.isPresent()) {
+                Metrics.count(Metrics.Counter.METHOD_POOL_HITS);
                 return method.get();
+            }
         } finally {
             readWriteLock.readLock().unlock();
         }
@@ -98,12 +110,19 @@ public class MethodPool {
     }
 
     /**
-     * Returns the singleton instance.
-     *
-     * @return The method pool
+     * Removes all project methods. The known methods are kept.
      */
-    public static MethodPool getInstance() {
-        return INSTANCE;
+    public void clearProjectMethods() {
+        readWriteLock.writeLock().lock();
+        try {
+            projectMethods.clear();
+        } finally {
+            readWriteLock.writeLock().unlock();
+        }
+    }
+
+    private static String key(final MethodIdentifier identifier) {
+        return identifier.getContainingClass() + '#' + identifier.getMethodName();
     }
 
 }
@@ -16,6 +16,8 @@
 
 package com.sebastian_daschner.jaxrs_analyzer.analysis.bytecode.simulation;
 
+import com.sebastian_daschner.jaxrs_analyzer.Metrics;
+import com.sebastian_daschner.jaxrs_analyzer.analysis.AnalysisContext;
 import com.sebastian_daschner.jaxrs_analyzer.model.Types;
 import com.sebastian_daschner.jaxrs_analyzer.model.elements.Element;
 import com.sebastian_daschner.jaxrs_analyzer.model.elements.MethodHandle;
@@ -37,16 +39,26 @@ import static com.sebastian_daschner.jaxrs_analyzer.model.JavaUtils.toType;
 
 /**
  * Simulates the instructions of a method. This class is thread-safe.
+ * <p>
+ * The instructions are either simulated linearly, where the local variables of all branches are merged and invalidated
+ * at the end of their scopes, or along the {@link ControlFlowGraph} of the method. The latter computes the fixpoint of the
+ * states at the entries of the basic blocks, joining the states of all predecessors, with strong updates of the local variables.
  *
  * @author Sebastian Daschner
  */
 public class MethodSimulator {
 
+    /**
+     * The number of simulations of a single basic block, after which the entry state of the block is widened to the types of its elements.
+     * This bounds loops that create new values in every iteration.
+     */
+    private static final int MAX_BLOCK_SIMULATIONS = 4;
+
     private final Lock lock = new ReentrantLock();
-    private final MethodPool methodPool = MethodPool.getInstance();
     private final Stack<Element> runtimeStack = new Stack<>();
     private final MultivaluedMap<Label, Integer> variableInvalidation = new MultivaluedHashMap<>();
     private Label active;
+    private boolean controlFlow;
 
     Map<Integer, Element> localVariables = new HashMap<>();
 
@@ -59,12 +71,32 @@ public class MethodSimulator {
      * @return The return element merged with all possible values
      */
     public Element simulate(final List<Instruction> instructions) {
+        final long start = Metrics.start();
         lock.lock();
         try {
             returnElement = null;
             return simulateInternal(instructions);
         } finally {
             lock.unlock();
+            Metrics.stop(Metrics.Phase.SIMULATION, start);
+        }
+    }
+
+    /**
+     * Simulates the basic blocks of the method along the control flow graph and collects information about the resource method.
+     *
+     * @param graph The control flow graph of the method
+     * @return The return element merged with all possible values
+     */
+    public Element simulate(final ControlFlowGraph graph) {
+        final long start = Metrics.start();
+        lock.lock();
+        try {
+            returnElement = null;
+            return simulateInternal(graph);
+        } finally {
+            lock.unlock();
+            Metrics.stop(Metrics.Phase.SIMULATION, start);
         }
     }
 
@@ -75,11 +107,87 @@ public class MethodSimulator {
      * @return The return element of the method
      */
     Element simulateInternal(final List<Instruction> instructions) {
+        controlFlow = false;
         instructions.forEach(this::simulate);
+        Metrics.count(Metrics.Counter.INSTRUCTIONS_SIMULATED, instructions.size());
 
         return returnElement;
     }
 
+    /**
+     * Simulates the basic blocks of the method until the states at the block entries don't change anymore.
+     * The blocks are processed in the order of the instructions, thus the predecessors of a block are usually simulated before.
+     *
+     * @param graph The control flow graph
+     * @return The return element of the method
+     */
+    Element simulateInternal(final ControlFlowGraph graph) {
+        controlFlow = true;
+        final List<ControlFlowGraph.BasicBlock> blocks = graph.getBlocks();
+        final SimulationState[] entryStates = new SimulationState[blocks.size()];
+        final int[] simulations = new int[blocks.size()];
+        final SortedSet<Integer> worklist = new TreeSet<>();
+
+        entryStates[0] = new SimulationState(localVariables, runtimeStack);
+        worklist.add(0);
+
+        int simulatedInstructions = 0;
+        int simulatedBlocks = 0;
+        while (!worklist.isEmpty()) {
+            final int index = worklist.first();
+            worklist.remove(index);
+            // a block which is simulated more often, e.g. in a loop that creates new values, continues with the types only
+            if (simulations[index]++ >= MAX_BLOCK_SIMULATIONS)
+                entryStates[index].widen();
+
+            final ControlFlowGraph.BasicBlock block = blocks.get(index);
+            final SimulationState exitState;
+            if (block.getInstructions().isEmpty()) {
+                // the block doesn't change the state
+                exitState = entryStates[index];
+            } else {
+                entryStates[index].restore(localVariables, runtimeStack);
+                simulateBlock(block);
+                exitState = new SimulationState(localVariables, runtimeStack);
+                simulatedInstructions += block.getInstructions().size();
+                simulatedBlocks++;
+            }
+
+            block.getSuccessors().forEach(s -> {
+                if (join(entryStates, s, exitState))
+                    worklist.add(s);
+            });
+            block.getExceptionSuccessors().forEach(s -> {
+                final boolean joined = join(entryStates, s, entryStates[index].withoutStack());
+                if (join(entryStates, s, exitState.withoutStack()) || joined)
+                    worklist.add(s);
+            });
+        }
+
+        Metrics.count(Metrics.Counter.INSTRUCTIONS_SIMULATED, simulatedInstructions);
+        Metrics.count(Metrics.Counter.BASIC_BLOCKS_SIMULATED, simulatedBlocks);
+        return returnElement;
+    }
+
+    private void simulateBlock(final ControlFlowGraph.BasicBlock block) {
+        try {
+            block.getInstructions().forEach(this::simulate);
+        } catch (EmptyStackException e) {
+            // the entry stack is joined from all simulated predecessors and the exception handlers push their exception,
+            // therefore the instructions of the block are inconsistent and a partial state would be wrong
+            throw new IllegalStateException("Runtime stack under-flow occurred in basic block " + block.getIndex(), e);
+        }
+    }
+
+    private static boolean join(final SimulationState[] states, final int index, final SimulationState state) {
+        if (states[index] != null)
+            return states[index].join(state);
+
+        states[index] = state.withoutStack();
+        states[index].join(state);
+        return true;
+    }
+
     /**
      * Simulates the instruction.
      *
@@ -142,7 +250,8 @@ public class MethodSimulator {
                 throw new IllegalArgumentException("Instruction without type!");
         }
 
-        if (instruction.getLabel() != active && variableInvalidation.containsKey(active)) {
+        // the local variables of the control flow simulation are updated on every store
+        if (!controlFlow && instruction.getLabel() != active && variableInvalidation.containsKey(active)) {
             variableInvalidation.get(active).forEach(localVariables::remove);
         }
         active = instruction.getLabel();
@@ -178,6 +287,7 @@ public class MethodSimulator {
         IntStream.range(0, identifier.getParameters().size()).forEach(i -> arguments.add(runtimeStack.pop()));
         Collections.reverse(arguments);
 
+        final MethodPool methodPool = AnalysisContext.current().getMethodPool();
         Element object = null;
         Method method;
         if (!identifier.isStaticMethod()) {
@@ -224,7 +334,10 @@ public class MethodSimulator {
         final String elementType = type.equals(Types.OBJECT) ? determineLeastSpecificType(element.getTypes().toArray(new String[element.getTypes().size()])) : type;
         final Element created = new Element(elementType);
         created.merge(element);
-        localVariables.merge(index, created, Element::merge);
+        if (controlFlow)
+            localVariables.put(index, created);
+        else
+            localVariables.merge(index, created, Element::merge);
     }
 
     /**
@@ -234,7 +347,10 @@ public class MethodSimulator {
      * @param methodHandle The method handle to merge
      */
     private void mergeMethodHandleStore(final int index, final MethodHandle methodHandle) {
-        localVariables.merge(index, new MethodHandle(methodHandle), Element::merge);
+        if (controlFlow)
+            localVariables.put(index, new MethodHandle(methodHandle));
+        else
+            localVariables.merge(index, new MethodHandle(methodHandle), Element::merge);
     }
 
     /**
@@ -0,0 +1,116 @@
+package com.sebastian_daschner.jaxrs_analyzer.analysis.bytecode.simulation;
+
+import com.sebastian_daschner.jaxrs_analyzer.model.elements.Element;
+import com.sebastian_daschner.jaxrs_analyzer.model.elements.MethodHandle;
+
+import java.util.*;
+
+/**
+ * The local variables and the runtime stack at the entry of a basic block. The elements are copied, as the simulation modifies the elements.
+ * The states of several predecessors are joined by merging the elements, i.e. the possible types and values.
+ * A widened state only keeps the types, i.e. the values are unknown, therefore it changes only a bounded number of times.
+ *
+ * @author Sebastian Daschner
+ */
+class SimulationState {
+
+    private final Map<Integer, Element> localVariables = new HashMap<>();
+    private final List<Element> runtimeStack = new ArrayList<>();
+    private boolean widened;
+
+    SimulationState(final Map<Integer, Element> localVariables, final List<Element> runtimeStack) {
+        localVariables.forEach((index, element) -> this.localVariables.put(index, copy(element)));
+        runtimeStack.forEach(element -> this.runtimeStack.add(copy(element)));
+    }
+
+    /**
+     * Returns a copy of this state with an empty runtime stack, e.g. for the entry of an exception handler.
+     */
+    SimulationState withoutStack() {
+        return new SimulationState(localVariables, Collections.emptyList());
+    }
+
+    /**
+     * Restores this state to the given local variables and runtime stack.
+     */
+    void restore(final Map<Integer, Element> localVariables, final Stack<Element> runtimeStack) {
+        localVariables.clear();
+        this.localVariables.forEach((index, element) -> localVariables.put(index, copy(element)));
+        runtimeStack.clear();
+        this.runtimeStack.forEach(element -> runtimeStack.push(copy(element)));
+    }
+
+    /**
+     * Widens this state to the types of its elements. The following joins only add types.
+     */
+    void widen() {
+        widened = true;
+        localVariables.replaceAll((index, element) -> widen(element));
+        runtimeStack.replaceAll(SimulationState::widen);
+    }
+
+    /**
+     * Joins the other state into this state. The runtime stacks are aligned at their tops.
+     *
+     * @param state The other state
+     * @return {@code true} if this state has changed
+     */
+    boolean join(final SimulationState state) {
+        boolean changed = false;
+
+        for (final Map.Entry<Integer, Element> entry : state.localVariables.entrySet()) {
+            final Element element = localVariables.get(entry.getKey());
+            if (element == null) {
+                localVariables.put(entry.getKey(), join(entry.getValue()));
+                changed = true;
+            } else {
+                changed |= merge(element, entry.getValue());
+            }
+        }
+
+        final int size = runtimeStack.size();
+        final int otherSize = state.runtimeStack.size();
+        for (int i = 1; i <= Math.min(size, otherSize); i++)
+            changed |= merge(runtimeStack.get(size - i), state.runtimeStack.get(otherSize - i));
+
+        if (otherSize > size) {
+            for (int i = otherSize - size - 1; i >= 0; i--)
+                runtimeStack.add(0, join(state.runtimeStack.get(i)));
+            changed = true;
+        }
+
+        return changed;
+    }
+
+    private boolean merge(final Element element, final Element other) {
+        final int size = size(element);
+        if (widened && !(element instanceof MethodHandle))
+            element.getTypes().addAll(other.getTypes());
+        else
+            element.merge(other);
+        return size(element) != size;
+    }
+
+    private Element join(final Element element) {
+        return widened ? widen(element) : copy(element);
+    }
+
+    private static int size(final Element element) {
+        final int size = element.getTypes().size() + element.getPossibleValues().size();
+        return element instanceof MethodHandle ? size + ((MethodHandle) element).getPossibleIdentifiers().size() : size;
+    }
+
+    private static Element widen(final Element element) {
+        // the identifiers of the method handles are bounded by the invoke dynamic instructions of the method
+        if (element instanceof MethodHandle)
+            return new MethodHandle((MethodHandle) element);
+        return new Element(element.getTypes());
+    }
+
+    private static Element copy(final Element element) {
+        if (element instanceof MethodHandle)
+            return new MethodHandle((MethodHandle) element);
+        return new Element(element.getTypes()).merge(element);
+    }
+
+}
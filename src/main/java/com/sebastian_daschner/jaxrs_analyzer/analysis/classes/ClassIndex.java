@@ -0,0 +1,486 @@
+package com.sebastian_daschner.jaxrs_analyzer.analysis.classes;
+
+import com.sebastian_daschner.jaxrs_analyzer.LogProvider;
+import org.objectweb.asm.*;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.zip.CRC32;
+
+/**
+ * The precomputed index of the class declarations of a dependency jar: the class names, super types, generic signatures,
+ * visible class annotations and the member signatures. Dependency jars are immutable, therefore their indexes are cached
+ * in a directory, keyed by the location of the jar, and are reused by all following analyses as long as the size and the modification time
+ * of the jar are unchanged. Thus the jars are only read if their index is built.
+ * <p>
+ * The index file is memory-mapped and decoded lazily. It consists of a header (magic number, format version, size, modification time and
+ * SHA-256 checksum of the jar, number of strings and classes), the offsets of all strings, the class table sorted by the class names,
+ * the string data, the class records and a CRC-32 trailer of the preceding content. Corrupted or outdated index files are rebuilt.
+ * All numbers are fixed-width integers, strings are referenced by their table index and {@code -1} denotes a missing string.
+ * This class is thread-safe.
+ *
+ * @author Sebastian Daschner
+ */
+public class ClassIndex {
+
+    private static final int MAGIC = 0x4A584349;
+    private static final int VERSION = 2;
+    private static final int CHECKSUM_SIZE = 32;
+    private static final int HEADER_SIZE = 32 + CHECKSUM_SIZE;
+    private static final int TRAILER_SIZE = 4;
+    private static final int NO_STRING = -1;
+    private static final String INDEX_SUFFIX = ".idx";
+
+    private final ByteBuffer buffer;
+    private final long jarSize;
+    private final long jarModified;
+    private final int stringCount;
+    private final int classCount;
+    private final int classTableOffset;
+    private final Map<String, Optional<IndexedClass>> classes = new ConcurrentHashMap<>();
+
+    private ClassIndex(final ByteBuffer buffer) throws IOException {
+        this.buffer = buffer;
+        if (buffer.limit() < HEADER_SIZE + TRAILER_SIZE || buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION)
+            throw new IOException("Unsupported class index format");
+        jarSize = buffer.getLong(8);
+        jarModified = buffer.getLong(16);
+        stringCount = buffer.getInt(24 + CHECKSUM_SIZE);
+        classCount = buffer.getInt(28 + CHECKSUM_SIZE);
+        classTableOffset = HEADER_SIZE + 4 * stringCount;
+
+        final int contentSize = buffer.limit() - TRAILER_SIZE;
+        if (stringCount < 0 || classCount < 0 || HEADER_SIZE + 4L * stringCount + 8L * classCount > contentSize)
+            throw new IOException("Corrupted class index, invalid table sizes");
+        if (crc(buffer, contentSize) != buffer.getInt(contentSize))
+            throw new IOException("Corrupted class index, checksum mismatch");
+    }
+
+    /**
+     * Returns the indexed class.
+     *
+     * @param className The class name in internal form, e.g. {@code java/lang/String}
+     * @return The class or {@code null} if the class is not contained in the jar
+     */
+    public IndexedClass get(final String className) {
+        return classes.computeIfAbsent(className, c -> Optional.ofNullable(find(c))).orElse(null);
+    }
+
+    public int size() {
+        return classCount;
+    }
+
+    /**
+     * Returns the SHA-256 checksum of the indexed jar, at the time the index has been built.
+     *
+     * @return The checksum in hexadecimal form
+     */
+    public String getChecksum() {
+        final byte[] checksum = new byte[CHECKSUM_SIZE];
+        final ByteBuffer header = buffer.duplicate();
+        header.position(24);
+        header.get(checksum);
+        return toHex(checksum);
+    }
+
+    private IndexedClass find(final String className) {
+        int low = 0;
+        int high = classCount - 1;
+        while (low <= high) {
+            final int middle = (low + high) >>> 1;
+            final int comparison = readString(buffer.getInt(classTableOffset + 8 * middle)).compareTo(className);
+            if (comparison < 0)
+                low = middle + 1;
+            else if (comparison > 0)
+                high = middle - 1;
+            else
+                return readClass(className, buffer.getInt(classTableOffset + 8 * middle + 4));
+        }
+        return null;
+    }
+
+    private IndexedClass readClass(final String className, final int offset) {
+        final ByteBuffer record = buffer.duplicate();
+        record.position(offset);
+        final int access = record.getInt();
+        final String superName = readString(record.getInt());
+        final String signature = readString(record.getInt());
+        final List<String> interfaces = readStrings(record);
+        final List<String> annotations = readStrings(record);
+        final List<Member> fields = readMembers(record);
+        final List<Member> methods = readMembers(record);
+        return new IndexedClass(className, access, superName, signature, interfaces, annotations, fields, methods);
+    }
+
+    private List<String> readStrings(final ByteBuffer record) {
+        final int size = record.getInt();
+        final List<String> strings = new ArrayList<>(size);
+        for (int i = 0; i < size; i++)
+            strings.add(readString(record.getInt()));
+        return strings;
+    }
+
+    private List<Member> readMembers(final ByteBuffer record) {
+        final int size = record.getInt();
+        final List<Member> members = new ArrayList<>(size);
+        for (int i = 0; i < size; i++)
+            members.add(new Member(record.getInt(), readString(record.getInt()), readString(record.getInt()), readString(record.getInt())));
+        return members;
+    }
+
+    private String readString(final int index) {
+        if (index == NO_STRING)
+            return null;
+        final ByteBuffer data = buffer.duplicate();
+        data.position(buffer.getInt(HEADER_SIZE + 4 * index));
+        final byte[] bytes = new byte[data.getInt()];
+        data.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Returns the index of the jar file, which is either read from the cache directory or built and stored to the cache directory.
+     *
+     * @param jar            The location of the jar file
+     * @param cacheDirectory The directory of the cached indexes
+     * @return The class index
+     * @throws IOException If the jar could not be read
+     */
+    public static ClassIndex of(final Path jar, final Path cacheDirectory) throws IOException {
+        final Path location = jar.toAbsolutePath().normalize();
+        final long size = Files.size(location);
+        final long modified = Files.getLastModifiedTime(location).toMillis();
+        final Path indexFile = cacheDirectory.resolve(toHex(digest(location.toString().getBytes(StandardCharsets.UTF_8))) + INDEX_SUFFIX);
+
+        if (Files.isRegularFile(indexFile)) {
+            try {
+                final ClassIndex index = read(indexFile);
+                if (index.jarSize == size && index.jarModified == modified)
+                    return index;
+                LogProvider.debug("The class index " + indexFile + " of " + location + " is outdated, rebuilding it");
+            } catch (IOException e) {
+                LogProvider.debug("Could not read the class index " + indexFile + ", rebuilding it, reason: " + e.getMessage());
+            }
+        }
+
+        final byte[] index = build(location, size, modified);
+        write(index, indexFile);
+        return new ClassIndex(ByteBuffer.wrap(index));
+    }
+
+    private static ClassIndex read(final Path indexFile) throws IOException {
+        try (final FileChannel channel = FileChannel.open(indexFile, StandardOpenOption.READ)) {
+            return new ClassIndex(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    private static void write(final byte[] index, final Path indexFile) {
+        // concurrent analyses may build the same index, therefore the file is written completely before it's moved to its location
+        try {
+            Files.createDirectories(indexFile.getParent());
+            final Path temporaryFile = Files.createTempFile(indexFile.getParent(), indexFile.getFileName().toString(), ".tmp");
+            Files.write(temporaryFile, index);
+            Files.move(temporaryFile, indexFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            LogProvider.error("Could not write the class index " + indexFile + ", reason: " + e.getMessage());
+            LogProvider.debug(e);
+        }
+    }
+
+    private static int crc(final ByteBuffer buffer, final int size) {
+        final ByteBuffer content = buffer.duplicate();
+        content.position(0);
+        content.limit(size);
+        final CRC32 crc = new CRC32();
+        crc.update(content);
+        return (int) crc.getValue();
+    }
+
+    private static byte[] checksum(final Path jar) throws IOException {
+        final MessageDigest digest = sha256();
+        try (final InputStream input = new DigestInputStream(new BufferedInputStream(Files.newInputStream(jar)), digest)) {
+            final byte[] bytes = new byte[8192];
+            while (input.read(bytes) >= 0) {
+                // the digest is updated by the stream
+            }
+        }
+        return digest.digest();
+    }
+
+    private static byte[] digest(final byte[] bytes) {
+        return sha256().digest(bytes);
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String toHex(final byte[] bytes) {
+        final StringBuilder builder = new StringBuilder();
+        for (final byte b : bytes)
+            builder.append(String.format("%02x", b));
+        return builder.toString();
+    }
+
+    static byte[] build(final Path jar, final long size, final long modified) throws IOException {
+        final SortedMap<String, IndexedClass> classes = new TreeMap<>();
+        try (final JarFile jarFile = new JarFile(jar.toFile())) {
+            final Enumeration<JarEntry> entries = jarFile.entries();
+            while (entries.hasMoreElements()) {
+                final JarEntry entry = entries.nextElement();
+                if (!entry.getName().endsWith(".class") || entry.getName().startsWith("META-INF/") || entry.getName().endsWith("module-info.class"))
+                    continue;
+                try (final InputStream input = jarFile.getInputStream(entry)) {
+                    final IndexingClassVisitor visitor = new IndexingClassVisitor();
+                    new ClassReader(input).accept(visitor, ClassReader.SKIP_CODE | ClassReader.SKIP_DEBUG | ClassReader.SKIP_FRAMES);
+                    classes.putIfAbsent(visitor.indexedClass.name, visitor.indexedClass);
+                }
+            }
+        }
+        return new Writer().write(classes, size, modified, checksum(jar));
+    }
+
+    private static class Writer {
+
+        private final Map<String, Integer> strings = new LinkedHashMap<>();
+        private final ByteArrayOutputStream records = new ByteArrayOutputStream();
+        private final DataOutputStream recordOutput = new DataOutputStream(records);
+
+        byte[] write(final SortedMap<String, IndexedClass> classes, final long jarSize, final long jarModified, final byte[] checksum) throws IOException {
+            final int[] nameIndexes = new int[classes.size()];
+            final int[] recordOffsets = new int[classes.size()];
+            int i = 0;
+            for (final IndexedClass indexedClass : classes.values()) {
+                nameIndexes[i] = index(indexedClass.name);
+                recordOffsets[i++] = recordOutput.size();
+                writeClass(indexedClass);
+            }
+
+            final ByteArrayOutputStream stringData = new ByteArrayOutputStream();
+            final DataOutputStream stringOutput = new DataOutputStream(stringData);
+            final int stringDataOffset = HEADER_SIZE + 4 * strings.size() + 8 * classes.size();
+            final int[] stringOffsets = new int[strings.size()];
+            i = 0;
+            for (final String string : strings.keySet()) {
+                stringOffsets[i++] = stringDataOffset + stringOutput.size();
+                final byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+                stringOutput.writeInt(bytes.length);
+                stringOutput.write(bytes);
+            }
+            final int recordsOffset = stringDataOffset + stringOutput.size();
+
+            final ByteArrayOutputStream index = new ByteArrayOutputStream(recordsOffset + records.size() + TRAILER_SIZE);
+            final DataOutputStream output = new DataOutputStream(index);
+            output.writeInt(MAGIC);
+            output.writeInt(VERSION);
+            output.writeLong(jarSize);
+            output.writeLong(jarModified);
+            output.write(checksum);
+            output.writeInt(strings.size());
+            output.writeInt(classes.size());
+            for (final int offset : stringOffsets)
+                output.writeInt(offset);
+            for (int j = 0; j < nameIndexes.length; j++) {
+                output.writeInt(nameIndexes[j]);
+                output.writeInt(recordsOffset + recordOffsets[j]);
+            }
+            stringData.writeTo(output);
+            records.writeTo(output);
+            final byte[] content = index.toByteArray();
+            output.writeInt(crc(ByteBuffer.wrap(content), content.length));
+            return index.toByteArray();
+        }
+
+        private void writeClass(final IndexedClass indexedClass) throws IOException {
+            recordOutput.writeInt(indexedClass.access);
+            recordOutput.writeInt(index(indexedClass.superName));
+            recordOutput.writeInt(index(indexedClass.signature));
+            writeStrings(indexedClass.interfaces);
+            writeStrings(indexedClass.annotations);
+            writeMembers(indexedClass.fields);
+            writeMembers(indexedClass.methods);
+        }
+
+        private void writeStrings(final List<String> strings) throws IOException {
+            recordOutput.writeInt(strings.size());
+            for (final String string : strings)
+                recordOutput.writeInt(index(string));
+        }
+
+        private void writeMembers(final List<Member> members) throws IOException {
+            recordOutput.writeInt(members.size());
+            for (final Member member : members) {
+                recordOutput.writeInt(member.access);
+                recordOutput.writeInt(index(member.name));
+                recordOutput.writeInt(index(member.descriptor));
+                recordOutput.writeInt(index(member.signature));
+            }
+        }
+
+        private int index(final String string) {
+            if (string == null)
+                return NO_STRING;
+            return strings.computeIfAbsent(string, s -> strings.size());
+        }
+
+    }
+
+    private static class IndexingClassVisitor extends ClassVisitor {
+
+        private IndexedClass indexedClass;
+
+        IndexingClassVisitor() {
+            super(Opcodes.ASM5);
+        }
+
+        @Override
+        public void visit(final int version, final int access, final String name, final String signature, final String superName, final String[] interfaces) {
+            indexedClass = new IndexedClass(name, access, superName, signature, Arrays.asList(interfaces), new ArrayList<>(), new ArrayList<>(), new ArrayList<>());
+        }
+
+        @Override
+        public AnnotationVisitor visitAnnotation(final String desc, final boolean visible) {
+            if (visible)
+                indexedClass.annotations.add(desc);
+            return null;
+        }
+
+        @Override
+        public FieldVisitor visitField(final int access, final String name, final String desc, final String signature, final Object value) {
+            indexedClass.fields.add(new Member(access, name, desc, signature));
+            return null;
+        }
+
+        @Override
+        public MethodVisitor visitMethod(final int access, final String name, final String desc, final String signature, final String[] exceptions) {
+            indexedClass.methods.add(new Member(access, name, desc, signature));
+            return null;
+        }
+
+    }
+
+    /**
+     * The declaration of an indexed class.
+     */
+    public static class IndexedClass {
+
+        private final String name;
+        private final int access;
+        private final String superName;
+        private final String signature;
+        private final List<String> interfaces;
+        private final List<String> annotations;
+        private final List<Member> fields;
+        private final List<Member> methods;
+
+        IndexedClass(final String name, final int access, final String superName, final String signature, final List<String> interfaces,
+                     final List<String> annotations, final List<Member> fields, final List<Member> methods) {
+            this.name = name;
+            this.access = access;
+            this.superName = superName;
+            this.signature = signature;
+            this.interfaces = interfaces;
+            this.annotations = annotations;
+            this.fields = fields;
+            this.methods = methods;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public int getAccess() {
+            return access;
+        }
+
+        /**
+         * @return The super class name in internal form or {@code null} for {@code java/lang/Object} and interfaces without super class
+         */
+        public String getSuperName() {
+            return superName;
+        }
+
+        /**
+         * @return The generic signature or {@code null} if the class is not generic
+         */
+        public String getSignature() {
+            return signature;
+        }
+
+        public List<String> getInterfaces() {
+            return interfaces;
+        }
+
+        /**
+         * @return The descriptors of the runtime-visible class annotations
+         */
+        public List<String> getAnnotations() {
+            return annotations;
+        }
+
+        public List<Member> getFields() {
+            return fields;
+        }
+
+        public List<Member> getMethods() {
+            return methods;
+        }
+
+    }
+
+    /**
+     * The declaration of a field or method of an indexed class.
+     */
+    public static class Member {
+
+        private final int access;
+        private final String name;
+        private final String descriptor;
+        private final String signature;
+
+        Member(final int access, final String name, final String descriptor, final String signature) {
+            this.access = access;
+            this.name = name;
+            this.descriptor = descriptor;
+            this.signature = signature;
+        }
+
+        public int getAccess() {
+            return access;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public String getDescriptor() {
+            return descriptor;
+        }
+
+        /**
+         * @return The generic signature or {@code null} if the member is not generic
+         */
+        public String getSignature() {
+            return signature;
+        }
+
+    }
+
+}
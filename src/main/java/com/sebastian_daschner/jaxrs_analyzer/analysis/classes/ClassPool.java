@@ -0,0 +1,137 @@
+package com.sebastian_daschner.jaxrs_analyzer.analysis.classes;
+
+import com.sebastian_daschner.jaxrs_analyzer.LogProvider;
+
+import java.io.IOException;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * The class path locations of an analysis, together with the class loader and the class indexes of these locations.
+ * The class loader of a pool delegates to the class loader of its parent pool first, therefore the classes of a parent pool,
+ * e.g. the dependencies which are shared by several projects, are loaded only once and several child pools don't see each other's classes.
+ * This class is thread-safe.
+ *
+ * @author Sebastian Daschner
+ */
+public class ClassPool {
+
+    private final ClassPool parent;
+    private final ExtensibleClassLoader classLoader;
+    private final Set<Path> locations = ConcurrentHashMap.newKeySet();
+    private final Set<Path> indexedLocations = ConcurrentHashMap.newKeySet();
+    private final List<ClassIndex> classIndexes = new CopyOnWriteArrayList<>();
+
+    /**
+     * Creates a class pool without a parent pool.
+     */
+    public ClassPool() {
+        parent = null;
+        classLoader = new ExtensibleClassLoader(ClassLoader.getSystemClassLoader());
+    }
+
+    /**
+     * Creates a class pool which resolves the classes from the parent pool first.
+     *
+     * @param parent The parent pool
+     */
+    public ClassPool(final ClassPool parent) {
+        this.parent = parent;
+        classLoader = new ExtensibleClassLoader(parent.classLoader);
+    }
+
+    public ClassLoader getClassLoader() {
+        return classLoader;
+    }
+
+    /**
+     * Adds the class path location. Locations which are already contained in this or a parent pool are ignored.
+     *
+     * @param location The location of a jar file or a directory
+     */
+    public void addClassPath(final Path location) throws MalformedURLException {
+        final Path normalizedLocation = location.toAbsolutePath().normalize();
+        if (!contains(normalizedLocation) && locations.add(normalizedLocation))
+            classLoader.addURL(normalizedLocation.toUri().toURL());
+    }
+
+    void addClassPath(final URL url) {
+        classLoader.addURL(url);
+    }
+
+    /**
+     * Adds the class path location and, if it's a jar file, its class index which is read from or stored to the cache directory.
+     * The indexes answer type questions about the dependency classes without loading them.
+     * Locations which are already contained in a parent pool are loaded by the parent pool and only indexed if the parent pool has no index of them.
+     *
+     * @param location       The location of a jar file or a directory
+     * @param cacheDirectory The directory of the cached class indexes
+     */
+    public void addIndexedClassPath(final Path location, final Path cacheDirectory) throws MalformedURLException {
+        final Path normalizedLocation = location.toAbsolutePath().normalize();
+        addClassPath(normalizedLocation);
+
+        if (normalizedLocation.toFile().isFile() && normalizedLocation.toString().endsWith(".jar") && !isIndexedByParent(normalizedLocation)
+                && indexedLocations.add(normalizedLocation)) {
+            try {
+                classIndexes.add(ClassIndex.of(normalizedLocation, cacheDirectory));
+            } catch (IOException e) {
+                LogProvider.error("Could not index the class path " + normalizedLocation + ", reason: " + e.getMessage());
+                LogProvider.debug(e);
+            }
+        }
+    }
+
+    /**
+     * Returns the declaration of the class from the indexed class paths of this or a parent pool.
+     *
+     * @param className The class name in internal form, e.g. {@code java/lang/String}
+     * @return The indexed class or {@code null} if the class is not contained in an indexed class path
+     */
+    public ClassIndex.IndexedClass getIndexedClass(final String className) {
+        if (parent != null) {
+            final ClassIndex.IndexedClass indexedClass = parent.getIndexedClass(className);
+            if (indexedClass != null)
+                return indexedClass;
+        }
+        for (final ClassIndex index : classIndexes) {
+            final ClassIndex.IndexedClass indexedClass = index.get(className);
+            if (indexedClass != null)
+                return indexedClass;
+        }
+        return null;
+    }
+
+    private boolean contains(final Path location) {
+        return parent != null && (parent.locations.contains(location) || parent.contains(location));
+    }
+
+    private boolean isIndexedByParent(final Path location) {
+        return parent != null && (parent.indexedLocations.contains(location) || parent.isIndexedByParent(location));
+    }
+
+    private static class ExtensibleClassLoader extends URLClassLoader {
+
+        static {
+            // the class loaders are used by concurrently analyzed projects, concurrent reads and the parallel interpretation
+            ClassLoader.registerAsParallelCapable();
+        }
+
+        ExtensibleClassLoader(final ClassLoader parent) {
+            super(new URL[]{}, parent);
+        }
+
+        @Override
+        public void addURL(final URL url) {
+            super.addURL(url);
+        }
+
+    }
+
+}
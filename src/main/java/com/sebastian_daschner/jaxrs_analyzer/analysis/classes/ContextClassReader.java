@@ -1,43 +1,115 @@
 package com.sebastian_daschner.jaxrs_analyzer.analysis.classes;
 
+import com.sebastian_daschner.jaxrs_analyzer.Metrics;
+import com.sebastian_daschner.jaxrs_analyzer.analysis.AnalysisContext;
+import com.sebastian_daschner.jaxrs_analyzer.jfr.AnalyzerEvents;
+import com.sebastian_daschner.jaxrs_analyzer.utils.ConcurrentReads;
 import org.objectweb.asm.ClassReader;
+import org.objectweb.asm.ClassVisitor;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.net.MalformedURLException;
 import java.net.URL;
-import java.net.URLClassLoader;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 
 /**
- * A {@link ClassReader} that is able to use a separate {@link ClassLoader}.
+ * A {@link ClassReader} that reads the classes from the class pool of the current analysis (see {@link AnalysisContext#getClassPool()}).
  *
  * @author Sebastian Daschner
  */
 public class ContextClassReader extends ClassReader {
 
-    private static final ExtensibleClassLoader CLASS_LOADER = new ExtensibleClassLoader();
-
     public ContextClassReader(final String className) throws IOException {
-        super(CLASS_LOADER.getResourceAsStream(className.replace('.', '/') + ".class"));
+        super(AnalysisContext.current().getClassPool().getClassLoader().getResourceAsStream(className.replace('.', '/') + ".class"));
+        Metrics.count(Metrics.Counter.CLASS_FILES_READ);
     }
 
-    public static ClassLoader getClassLoader() {
-        return CLASS_LOADER;
+    /**
+     * Creates a class reader of a class file which has been read ahead.
+     *
+     * @param classFile The contents of the class file
+     * @see #readClassFiles(List)
+     */
+    public ContextClassReader(final byte[] classFile) {
+        super(classFile);
+        Metrics.count(Metrics.Counter.CLASS_FILES_READ);
     }
 
-    public static void addClassPath(final URL url) {
-        CLASS_LOADER.addURL(url);
+    @Override
+    public void accept(final ClassVisitor classVisitor, final int parsingOptions) {
+        final Object event = AnalyzerEvents.begin(AnalyzerEvents.Type.CLASS_PARSING);
+        super.accept(classVisitor, parsingOptions);
+        AnalyzerEvents.commit(event, getClassName(), b.length, 0);
     }
 
-    private static class ExtensibleClassLoader extends URLClassLoader {
+    /**
+     * Reads the class files of the classes ahead, if the reads are issued concurrently.
+     *
+     * @param classNames The fully-qualified class names
+     * @return The contents of the class files by the class names, without classes which could not be read; empty if the reads are not concurrent
+     */
+    public static Map<String, byte[]> readClassFiles(final List<String> classNames) {
+        if (!ConcurrentReads.isConcurrent())
+            return new HashMap<>();
 
-        ExtensibleClassLoader() {
-            super(new URL[]{});
+        final ClassLoader classLoader = getClassLoader();
+        final List<byte[]> classFiles = ConcurrentReads.readAll(classNames, c -> readClassFile(classLoader, c));
+        final Map<String, byte[]> contents = new HashMap<>();
+        for (int i = 0; i < classNames.size(); i++) {
+            if (classFiles.get(i) != null)
+                contents.put(classNames.get(i), classFiles.get(i));
         }
+        return contents;
+    }
 
-        @Override
-        public void addURL(final URL url) {
-            super.addURL(url);
+    private static byte[] readClassFile(final ClassLoader classLoader, final String className) {
+        try (final InputStream stream = classLoader.getResourceAsStream(className.replace('.', '/') + ".class")) {
+            if (stream == null)
+                return null;
+            final ByteArrayOutputStream output = new ByteArrayOutputStream();
+            final byte[] buffer = new byte[8192];
+            int read;
+            while ((read = stream.read(buffer)) >= 0)
+                output.write(buffer, 0, read);
+            return output.toByteArray();
+        } catch (IOException e) {
+            // the class file is read again when the class is analyzed, which reports the error
+            return null;
         }
+    }
+
+    public static ClassLoader getClassLoader() {
+        return AnalysisContext.current().getClassPool().getClassLoader();
+    }
+
+    public static void addClassPath(final URL url) {
+        AnalysisContext.current().getClassPool().addClassPath(url);
+    }
+
+    /**
+     * Adds the dependency class path and, if it's a jar file, its class index to the class pool of the current analysis.
+     *
+     * @param location       The location of a jar file or a directory
+     * @param cacheDirectory The directory of the cached class indexes
+     * @see ClassPool#addIndexedClassPath(Path, Path)
+     */
+    public static void addIndexedClassPath(final Path location, final Path cacheDirectory) throws MalformedURLException {
+        AnalysisContext.current().getClassPool().addIndexedClassPath(location, cacheDirectory);
+    }
 
+    /**
+     * Returns the declaration of the class from the indexed dependency class paths of the current analysis.
+     *
+     * @param className The class name in internal form, e.g. {@code java/lang/String}
+     * @return The indexed class or {@code null} if the class is not contained in an indexed class path
+     */
+    public static ClassIndex.IndexedClass getIndexedClass(final String className) {
+        return AnalysisContext.current().getClassPool().getIndexedClass(className);
     }
 
 }
@@ -31,10 +31,20 @@ public class JAXRSClassVisitor extends ClassVisitor {
     private static final Class<? extends Annotation>[] RELEVANT_METHOD_ANNOTATIONS = new Class[]{Path.class, GET.class, PUT.class, POST.class, DELETE.class, OPTIONS.class, HEAD.class};
 
     private final ClassResult classResult;
+    private final boolean collectBranches;
 
     public JAXRSClassVisitor(final ClassResult classResult) {
+        this(classResult, false);
+    }
+
+    /**
+     * @param classResult     The class result
+     * @param collectBranches If the control flow information of the methods should be collected for the control flow simulation
+     */
+    public JAXRSClassVisitor(final ClassResult classResult, final boolean collectBranches) {
         super(ASM5);
         this.classResult = classResult;
+        this.collectBranches = collectBranches;
     }
 
     @Override
@@ -75,6 +85,8 @@ public class JAXRSClassVisitor extends ClassVisitor {
 
         if (legalModifiers && !"<init>".equals(name)) {
             final MethodResult methodResult = new MethodResult();
+            if (collectBranches)
+                methodResult.collectBranches();
             if (hasJAXRSAnnotations(classResult.getOriginalClass(), name, methodSignature))
                 return new JAXRSMethodVisitor(identifier, classResult, methodResult, true);
             else {
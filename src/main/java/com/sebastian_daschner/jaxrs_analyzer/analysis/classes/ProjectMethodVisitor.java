@@ -37,11 +37,15 @@ class ProjectMethodVisitor extends MethodVisitor {
     @Override
     public void visitTryCatchBlock(Label start, Label end, Label handler, String type) {
         exceptionHandlers.add(handler);
+        if (methodResult.getBranches() != null)
+            methodResult.getBranches().addTryCatchBlock(start, end, handler);
     }
 
     @Override
     public void visitLabel(Label label) {
         visitedLabels.add(label);
+        if (methodResult.getBranches() != null)
+            methodResult.getBranches().addLabel(label, methodResult.getInstructions().size());
         if (exceptionHandlers.remove(label))
             methodResult.getInstructions().add(new ExceptionHandlerInstruction(label));
     }
@@ -126,6 +130,8 @@ class ProjectMethodVisitor extends MethodVisitor {
 
     @Override
     public void visitJumpInsn(int opcode, Label label) {
+        if (methodResult.getBranches() != null)
+            methodResult.getBranches().addBranch(methodResult.getInstructions().size(), opcode != GOTO, label);
         methodResult.getInstructions().add(buildJumpInstruction(opcode, label));
     }
 
@@ -170,14 +176,24 @@ class ProjectMethodVisitor extends MethodVisitor {
 
     @Override
     public void visitTableSwitchInsn(int min, int max, Label dflt, Label... labels) {
+        if (methodResult.getBranches() != null)
+            methodResult.getBranches().addBranch(methodResult.getInstructions().size(), false, switchTargets(dflt, labels));
         methodResult.getInstructions().add(new SizeChangingInstruction(OPCODES[TABLESWITCH], 0, 1, getLastLabel()));
     }
 
     @Override
     public void visitLookupSwitchInsn(Label dflt, int[] keys, Label[] labels) {
+        if (methodResult.getBranches() != null)
+            methodResult.getBranches().addBranch(methodResult.getInstructions().size(), false, switchTargets(dflt, labels));
         methodResult.getInstructions().add(new SizeChangingInstruction(OPCODES[LOOKUPSWITCH], 0, 1, getLastLabel()));
     }
 
+    private static Label[] switchTargets(final Label dflt, final Label[] labels) {
+        final Label[] targets = Arrays.copyOf(labels, labels.length + 1);
+        targets[labels.length] = dflt;
+        return targets;
+    }
+
     @Override
     public void visitMultiANewArrayInsn(String desc, int dimensions) {
         methodResult.getInstructions().add(new SizeChangingInstruction(OPCODES[MULTIANEWARRAY], 1, dimensions, getLastLabel()));
@@ -0,0 +1,328 @@
+package com.sebastian_daschner.jaxrs_analyzer.analysis.classes;
+
+import com.sebastian_daschner.jaxrs_analyzer.LogProvider;
+import com.sebastian_daschner.jaxrs_analyzer.analysis.AnalysisContext;
+import org.objectweb.asm.*;
+
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+import static org.objectweb.asm.Opcodes.*;
+
+/**
+ * Resolves the values of static fields without initializing the containing classes.
+ * <p>
+ * The values of the project and dependency classes are taken from the {@code ConstantValue} attributes of the fields
+ * and from simple assignments in the static initializer, i.e. constants, boxed constants or other static fields which are
+ * assigned once, unconditionally, and not changed elsewhere. The static initializers of these classes are never executed, as they may have
+ * arbitrary side effects. Only the values of the JDK and Java EE API classes (e.g. {@code Response.Status}) are read reflectively.
+ * <p>
+ * Therefore the values of project fields which are computed by method calls, e.g. {@code Json.createObjectBuilder()...build()},
+ * collections or project enum constants, are not resolved. These were read reflectively before, if the project classes were
+ * visible to the class loader of the analyzer, e.g. in the Maven plugin.
+ * <p>
+ * The resolved values are cached per owner class for a single analysis (see {@link AnalysisContext#getStaticFieldValues()}).
+ * This class is thread-safe.
+ *
+ * @author Sebastian Daschner
+ */
+public class StaticFieldValues {
+
+    private static final int MAX_REFERENCE_DEPTH = 8;
+    private static final Object UNKNOWN = new Object();
+    private static final Map<String, String> WRAPPER_PRIMITIVES = new HashMap<>();
+
+    static {
+        WRAPPER_PRIMITIVES.put("java/lang/Boolean", "Z");
+        WRAPPER_PRIMITIVES.put("java/lang/Character", "C");
+        WRAPPER_PRIMITIVES.put("java/lang/Byte", "B");
+        WRAPPER_PRIMITIVES.put("java/lang/Short", "S");
+        WRAPPER_PRIMITIVES.put("java/lang/Integer", "I");
+        WRAPPER_PRIMITIVES.put("java/lang/Long", "J");
+        WRAPPER_PRIMITIVES.put("java/lang/Float", "F");
+        WRAPPER_PRIMITIVES.put("java/lang/Double", "D");
+    }
+
+    private final Map<String, Map<String, Object>> values = new ConcurrentHashMap<>();
+
+    /**
+     * Returns the value of the static field.
+     *
+     * @param ownerClass The class containing the field, in internal form, e.g. {@code javax/ws/rs/core/Response$Status}
+     * @param name       The name of the field
+     * @return The value or {@code null} if the value could not be resolved
+     */
+    public Object get(final String ownerClass, final String name) {
+        return resolve(ownerClass, name, 0);
+    }
+
+    private Object resolve(final String ownerClass, final String name, final int depth) {
+        final Object value = getValues(ownerClass).computeIfAbsent(name, n -> isApiClass(ownerClass) ? readReflectively(ownerClass, n) : UNKNOWN);
+
+        if (value instanceof FieldReference && depth < MAX_REFERENCE_DEPTH) {
+            final FieldReference reference = (FieldReference) value;
+            return resolve(reference.ownerClass, reference.name, depth + 1);
+        }
+        return value == UNKNOWN || value instanceof FieldReference ? null : value;
+    }
+
+    private Map<String, Object> getValues(final String ownerClass) {
+        final Map<String, Object> classValues = values.get(ownerClass);
+        if (classValues != null)
+            return classValues;
+
+        final Map<String, Object> analyzedValues = new ConcurrentHashMap<>();
+        if (!isApiClass(ownerClass))
+            analyzedValues.putAll(analyzeClass(ownerClass));
+
+        final Map<String, Object> previous = values.putIfAbsent(ownerClass, analyzedValues);
+        return previous != null ? previous : analyzedValues;
+    }
+
+    private static boolean isApiClass(final String className) {
+        return className.startsWith("java/") || className.startsWith("javax/");
+    }
+
+    private static Object readReflectively(final String ownerClass, final String name) {
+        try {
+            // needs to load same class instance in Maven plugin, not from extended classloader
+            final Class<?> clazz = Class.forName(ownerClass.replace('/', '.'));
+            final Field field = clazz.getDeclaredField(name);
+            field.setAccessible(true);
+            final Object value = field.get(null);
+            return value != null ? value : UNKNOWN;
+        } catch (Exception e) {
+            LogProvider.error("Could not access static property, reason: " + e.getMessage());
+            LogProvider.debug(e);
+            return UNKNOWN;
+        }
+    }
+
+    private static Map<String, Object> analyzeClass(final String ownerClass) {
+        final StaticFieldsClassVisitor visitor = new StaticFieldsClassVisitor(ownerClass);
+        try {
+            new ContextClassReader(ownerClass).accept(visitor, ClassReader.SKIP_DEBUG | ClassReader.SKIP_FRAMES);
+        } catch (IOException e) {
+            // the class file is not available, e.g. for classes which are generated at runtime
+            LogProvider.debug("Could not read the static fields of " + ownerClass + ", reason: " + e.getMessage());
+            return new HashMap<>();
+        }
+        return visitor.getValues();
+    }
+
+    /**
+     * Converts the constant value to the boxed type of the given primitive descriptor.
+     */
+    private static Object convert(final Object value, final String desc) {
+        if (!(value instanceof Integer))
+            return value;
+
+        final int intValue = (Integer) value;
+        switch (desc) {
+            case "Z":
+                return intValue != 0;
+            case "C":
+                return (char) intValue;
+            case "B":
+                return (byte) intValue;
+            case "S":
+                return (short) intValue;
+            default:
+                return value;
+        }
+    }
+
+    private static class FieldReference {
+
+        private final String ownerClass;
+        private final String name;
+
+        private FieldReference(final String ownerClass, final String name) {
+            this.ownerClass = ownerClass;
+            this.name = name;
+        }
+    }
+
+    private static class StaticFieldsClassVisitor extends ClassVisitor {
+
+        private final String className;
+        private final Map<String, Object> values = new HashMap<>();
+        private final Map<String, String> descriptors = new HashMap<>();
+        private final Set<String> reassignedFields = new HashSet<>();
+
+        private StaticFieldsClassVisitor(final String className) {
+            super(ASM5);
+            this.className = className;
+        }
+
+        @Override
+        public FieldVisitor visitField(final int access, final String name, final String desc, final String signature, final Object value) {
+            if ((access & ACC_STATIC) != 0) {
+                descriptors.put(name, desc);
+                if (value != null)
+                    values.put(name, convert(value, desc));
+            }
+            return null;
+        }
+
+        @Override
+        public MethodVisitor visitMethod(final int access, final String name, final String desc, final String signature, final String[] exceptions) {
+            if ("<clinit>".equals(name))
+                return new StaticInitializerVisitor();
+            return new MethodVisitor(ASM5) {
+                @Override
+                public void visitFieldInsn(final int opcode, final String owner, final String name, final String desc) {
+                    if (opcode == PUTSTATIC && owner.equals(className))
+                        reassignedFields.add(name);
+                }
+            };
+        }
+
+        private void assign(final String name, final Object value) {
+            if (values.containsKey(name) || value == null)
+                reassignedFields.add(name);
+            else
+                values.put(name, value);
+        }
+
+        Map<String, Object> getValues() {
+            reassignedFields.forEach(f -> values.put(f, UNKNOWN));
+            return values;
+        }
+
+        /**
+         * Tracks the value which has been pushed by the last instruction, to detect assignments like {@code static final Integer CODE = 404}.
+         * The assignments between a forward jump (or the start of a try block) and its target are conditional and therefore unknown.
+         */
+        private class StaticInitializerVisitor extends MethodVisitor {
+
+            private final Set<Label> visitedLabels = new HashSet<>();
+            private final Set<Label> pendingLabels = new HashSet<>();
+            private final Map<Label, List<Label>> tryBlocks = new HashMap<>();
+            private Object pushedValue;
+
+            private StaticInitializerVisitor() {
+                super(ASM5);
+            }
+
+            @Override
+            public void visitInsn(final int opcode) {
+                if (opcode >= ICONST_M1 && opcode <= ICONST_5)
+                    pushedValue = opcode - ICONST_0;
+                else if (opcode == LCONST_0 || opcode == LCONST_1)
+                    pushedValue = (long) (opcode - LCONST_0);
+                else if (opcode >= FCONST_0 && opcode <= FCONST_2)
+                    pushedValue = (float) (opcode - FCONST_0);
+                else if (opcode == DCONST_0 || opcode == DCONST_1)
+                    pushedValue = (double) (opcode - DCONST_0);
+                else
+                    pushedValue = null;
+            }
+
+            @Override
+            public void visitIntInsn(final int opcode, final int operand) {
+                pushedValue = opcode == BIPUSH || opcode == SIPUSH ? operand : null;
+            }
+
+            @Override
+            public void visitLdcInsn(final Object cst) {
+                pushedValue = cst instanceof Type || cst instanceof Handle ? null : cst;
+            }
+
+            @Override
+            public void visitFieldInsn(final int opcode, final String owner, final String name, final String desc) {
+                if (opcode == GETSTATIC)
+                    pushedValue = new FieldReference(owner, name);
+                else {
+                    if (opcode == PUTSTATIC && owner.equals(className) && !pendingLabels.isEmpty())
+                        assign(name, null);
+                    else if (opcode == PUTSTATIC && owner.equals(className))
+                        assign(name, pushedValue instanceof FieldReference ? pushedValue : convert(pushedValue, desc));
+                    pushedValue = null;
+                }
+            }
+
+            @Override
+            public void visitMethodInsn(final int opcode, final String owner, final String name, final String desc, final boolean itf) {
+                // only the boxing of the own primitive, e.g. Integer.valueOf(int), not String.valueOf(int)
+                final String primitive = WRAPPER_PRIMITIVES.get(owner);
+                final boolean boxing = opcode == INVOKESTATIC && primitive != null && "valueOf".equals(name)
+                        && desc.equals('(' + primitive + ")L" + owner + ';') && pushedValue instanceof Number;
+                pushedValue = boxing ? convert(pushedValue, primitive) : null;
+            }
+
+            @Override
+            public void visitVarInsn(final int opcode, final int var) {
+                pushedValue = null;
+            }
+
+            @Override
+            public void visitTypeInsn(final int opcode, final String type) {
+                pushedValue = null;
+            }
+
+            @Override
+            public void visitInvokeDynamicInsn(final String name, final String desc, final Handle bsm, final Object... bsmArgs) {
+                pushedValue = null;
+            }
+
+            @Override
+            public void visitTryCatchBlock(final Label start, final Label end, final Label handler, final String type) {
+                tryBlocks.computeIfAbsent(start, l -> new ArrayList<>()).addAll(Arrays.asList(end, handler));
+            }
+
+            @Override
+            public void visitJumpInsn(final int opcode, final Label label) {
+                jump(label);
+                pushedValue = null;
+            }
+
+            @Override
+            public void visitLabel(final Label label) {
+                visitedLabels.add(label);
+                pendingLabels.remove(label);
+                tryBlocks.getOrDefault(label, Collections.emptyList()).forEach(this::jump);
+                // a jump target may be reached with other values
+                pushedValue = null;
+            }
+
+            @Override
+            public void visitIincInsn(final int var, final int increment) {
+                pushedValue = null;
+            }
+
+            @Override
+            public void visitTableSwitchInsn(final int min, final int max, final Label dflt, final Label... labels) {
+                jump(dflt);
+                Stream.of(labels).forEach(this::jump);
+                pushedValue = null;
+            }
+
+            @Override
+            public void visitLookupSwitchInsn(final Label dflt, final int[] keys, final Label[] labels) {
+                jump(dflt);
+                Stream.of(labels).forEach(this::jump);
+                pushedValue = null;
+            }
+
+            @Override
+            public void visitMultiANewArrayInsn(final String desc, final int dims) {
+                pushedValue = null;
+            }
+
+            /**
+             * Marks the code up to the target label as conditional, unless it's a backward jump.
+             */
+            private void jump(final Label label) {
+                if (!visitedLabels.contains(label))
+                    pendingLabels.add(label);
+            }
+
+        }
+
+    }
+
+}
@@ -4,20 +4,27 @@ import com.github.javaparser.JavaParser;
 import com.github.javaparser.ast.CompilationUnit;
 import com.github.javaparser.ast.body.MethodDeclaration;
 import com.sebastian_daschner.jaxrs_analyzer.LogProvider;
+import com.sebastian_daschner.jaxrs_analyzer.Metrics;
 import com.sebastian_daschner.jaxrs_analyzer.model.JavaUtils;
 import com.sebastian_daschner.jaxrs_analyzer.model.javadoc.MethodComment;
 import com.sebastian_daschner.jaxrs_analyzer.model.methods.MethodIdentifier;
 import com.sebastian_daschner.jaxrs_analyzer.model.results.ClassResult;
 import com.sebastian_daschner.jaxrs_analyzer.model.results.MethodResult;
+import com.sebastian_daschner.jaxrs_analyzer.utils.ConcurrentReads;
+import com.sebastian_daschner.jaxrs_analyzer.utils.Pair;
 
-import java.io.FileNotFoundException;
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystem;
+import java.nio.file.FileSystems;
 import java.nio.file.FileVisitResult;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.SimpleFileVisitor;
 import java.nio.file.attribute.BasicFileAttributes;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Stream;
 
 /**
@@ -25,11 +32,16 @@ import java.util.stream.Stream;
  */
 public class JavaDocAnalyzer {
 
-    private final Map<MethodIdentifier, MethodComment> methodComments = new HashMap<>();
+    private final Map<MethodIdentifier, MethodComment> methodComments = new ConcurrentHashMap<>();
 
     public void analyze(final Set<Path> projectSourcePaths, final Set<ClassResult> classResults) {
-        invokeParser(projectSourcePaths);
-        combineResults(classResults);
+        try {
+            invokeParser(projectSourcePaths);
+            combineResults(classResults);
+        } finally {
+            // the comments of the analyzed methods have been attached to the results, the comments of all other methods are not needed
+            methodComments.clear();
+        }
     }
 
     private void invokeParser(Set<Path> projectSourcePaths) {
@@ -44,6 +56,19 @@ public class JavaDocAnalyzer {
     }
 
     private void invokeParser(Path sourcePath) throws IOException {
+        if (isJarFile(sourcePath)) {
+            // source jars are read in-place without extracting them
+            try (final FileSystem fileSystem = FileSystems.newFileSystem(sourcePath, (ClassLoader) null)) {
+                for (Path root : fileSystem.getRootDirectories()) {
+                    invokeParserOnFiles(root);
+                }
+            }
+        } else {
+            invokeParserOnFiles(sourcePath);
+        }
+    }
+
+    private void invokeParserOnFiles(Path sourcePath) throws IOException {
         Set<Path> files = new HashSet<>();
 
         Files.walkFileTree(sourcePath, new SimpleFileVisitor<Path>() {
@@ -55,37 +80,74 @@ public class JavaDocAnalyzer {
             }
         });
 
-        files.forEach(path -> parseJavaDoc(path, new JavaDocParserVisitor(methodComments)));
+        ConcurrentReads.readAndProcess(files, JavaDocAnalyzer::readSource,
+                Metrics.propagateAction(source -> parseJavaDoc(source, new JavaDocParserVisitor(methodComments))));
     }
 
-    private static void parseJavaDoc(Path path, JavaDocParserVisitor visitor) {
+    private static byte[] readSource(Path path) {
         try {
-            CompilationUnit cu = JavaParser.parse(path.toFile());
-            cu.accept(visitor, null);
-        } catch (FileNotFoundException e) {
+            return Files.readAllBytes(path);
+        } catch (IOException e) {
             throw new IllegalStateException(e);
         }
     }
 
+    private static boolean isJarFile(Path path) {
+        return Files.isRegularFile(path) && path.toString().endsWith(".jar");
+    }
+
+    private static void parseJavaDoc(byte[] source, JavaDocParserVisitor visitor) {
+        // the files are parsed by worker threads, a nested measurement on the calling thread is ignored
+        final long allocation = Metrics.startAllocation(Metrics.Phase.JAVADOC);
+        try {
+            CompilationUnit cu = JavaParser.parse(new ByteArrayInputStream(source), StandardCharsets.UTF_8);
+            cu.accept(visitor, null);
+        } finally {
+            Metrics.stopAllocation(Metrics.Phase.JAVADOC, allocation);
+        }
+    }
+
     private void combineResults(final Set<ClassResult> classResults) {
-        methodComments.forEach((key, value) -> classResults.stream()
-                .map(c -> findMethodResult(key, c))
-                .filter(Objects::nonNull)
-                .forEach(m -> m.setMethodDoc(value)));
+        final Map<Pair<String, String>, List<MethodResult>> methodResults = indexMethodResults(classResults);
+
+        methodComments.forEach((key, value) -> {
+            final List<MethodResult> candidates = methodResults.get(Pair.of(key.getContainingClass(), key.getMethodName()));
+            if (candidates == null)
+                return;
+
+            // only one method per containing class result is documented
+            final Set<ClassResult> documentedClasses = Collections.newSetFromMap(new IdentityHashMap<>());
+            candidates.stream()
+                    .filter(m -> equalsSimpleTypeNames(key, m))
+                    .filter(m -> documentedClasses.add(m.getParentResource()))
+                    .forEach(m -> m.setMethodDoc(value));
+        });
     }
 
-    private MethodResult findMethodResult(final MethodIdentifier identifier, final ClassResult classResult) {
-        if (classResult.getOriginalClass().equals(identifier.getContainingClass()))
-            return classResult.getMethods().stream()
-                    .filter(methodResult -> equalsSimpleTypeNames(identifier, methodResult))
-                    .findAny().orElse(null);
-
-        return classResult.getMethods().stream()
-                .map(MethodResult::getSubResource)
-                .filter(Objects::nonNull)
-                .map(c -> findMethodResult(identifier, c))
-                .filter(Objects::nonNull)
-                .findAny().orElse(null);
+    /**
+     * Indexes the method results of all class results, including the sub-resources, by their containing class and method name.
+     */
+    private static Map<Pair<String, String>, List<MethodResult>> indexMethodResults(final Set<ClassResult> classResults) {
+        final Map<Pair<String, String>, List<MethodResult>> methodResults = new HashMap<>();
+        final Set<ClassResult> visited = Collections.newSetFromMap(new IdentityHashMap<>());
+        final Deque<ClassResult> unvisited = new ArrayDeque<>(classResults);
+
+        while (!unvisited.isEmpty()) {
+            final ClassResult classResult = unvisited.pop();
+            if (!visited.add(classResult))
+                continue;
+
+            classResult.getMethods().forEach(m -> {
+                if (classResult.getOriginalClass() != null && m.getOriginalMethodSignature() != null) {
+                    final Pair<String, String> key = Pair.of(classResult.getOriginalClass(), m.getOriginalMethodSignature().getMethodName());
+                    methodResults.computeIfAbsent(key, k -> new ArrayList<>()).add(m);
+                }
+                if (m.getSubResource() != null)
+                    unvisited.push(m.getSubResource());
+            });
+        }
+
+        return methodResults;
     }
 
     /**
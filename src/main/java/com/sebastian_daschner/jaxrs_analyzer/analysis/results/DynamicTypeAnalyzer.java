@@ -29,6 +29,11 @@ import java.util.Map;
 /**
  * Analyzes {@code JsonValue}s to derive the actual JSON representations.
  * Equal JSON structures (i.e. objects or arrays) will result in the same dynamically identified representation.
+ * <p>
+ * The dynamic types are hash-consed: As the nested types are analyzed first and equal nested structures already share one identifier,
+ * an object is canonically keyed by its property identifiers and an array by the identifier of its contained type.
+ * Therefore, equal structures are found by a single map lookup. The identifiers are numbered in the order of their creation,
+ * starting after the dynamic types which are already contained in the storage.
  *
  * @author Sebastian Daschner
  */
@@ -39,8 +44,33 @@ class DynamicTypeAnalyzer {
      */
     private final Map<TypeIdentifier, TypeRepresentation> typeRepresentations;
 
+    /**
+     * The dynamic object types, keyed by their properties.
+     */
+    private final Map<Map<String, TypeIdentifier>, TypeIdentifier> objectTypes = new HashMap<>();
+
+    /**
+     * The dynamic collection types, keyed by the identifiers of their contained types.
+     */
+    private final Map<TypeIdentifier, TypeIdentifier> collectionTypes = new HashMap<>();
+
+    private int dynamicNumber;
+
     DynamicTypeAnalyzer(final Map<TypeIdentifier, TypeRepresentation> typeRepresentations) {
         this.typeRepresentations = typeRepresentations;
+        typeRepresentations.forEach((identifier, representation) -> {
+            if (identifier.getType().equals(Types.JSON))
+                register(identifier, representation);
+        });
+    }
+
+    private void register(final TypeIdentifier identifier, final TypeRepresentation representation) {
+        dynamicNumber = Math.max(dynamicNumber, identifier.getDynamicNumber());
+
+        if (representation instanceof TypeRepresentation.CollectionTypeRepresentation)
+            collectionTypes.putIfAbsent(((TypeRepresentation.CollectionTypeRepresentation) representation).getRepresentation().getIdentifier(), identifier);
+        else if (representation instanceof TypeRepresentation.ConcreteTypeRepresentation)
+            objectTypes.putIfAbsent(((TypeRepresentation.ConcreteTypeRepresentation) representation).getProperties(), identifier);
     }
 
     /**
@@ -73,45 +103,60 @@ class DynamicTypeAnalyzer {
         }
     }
 
+    /**
+     * Adds a dynamic type representation of another type representation storage. Equal JSON structures which are already contained
+     * will be reused. All nested dynamic types of the representation have to be merged before.
+     *
+     * @param representation    The dynamic type representation to merge
+     * @param mergedIdentifiers The already merged dynamic identifiers, mapped to the identifiers of this storage
+     * @return The type identifier
+     */
+    TypeIdentifier merge(final TypeRepresentation representation, final Map<TypeIdentifier, TypeIdentifier> mergedIdentifiers) {
+        if (representation instanceof TypeRepresentation.CollectionTypeRepresentation) {
+            final TypeRepresentation contained = ((TypeRepresentation.CollectionTypeRepresentation) representation).getRepresentation();
+            final TypeIdentifier containedIdentifier = mergedIdentifiers.getOrDefault(contained.getIdentifier(), contained.getIdentifier());
+            return analyzeCollection(typeRepresentations.getOrDefault(containedIdentifier, contained));
+        }
+
+        final HashMap<String, TypeIdentifier> properties = new HashMap<>();
+        ((TypeRepresentation.ConcreteTypeRepresentation) representation).getProperties()
+                .forEach((k, v) -> properties.put(k, mergedIdentifiers.getOrDefault(v, v)));
+        return analyzeObject(properties);
+    }
+
     private TypeIdentifier analyzeInternal(final JsonArray jsonArray) {
         final TypeIdentifier containedIdentifier = jsonArray.isEmpty() ? TypeIdentifier.ofType(Types.OBJECT) : analyzeInternal(jsonArray.get(0));
         final TypeRepresentation containedRepresentation = typeRepresentations.getOrDefault(containedIdentifier, TypeRepresentation.ofConcrete(containedIdentifier));
 
-        final TypeIdentifier existingCollection = findExistingCollection(containedRepresentation);
-        if (existingCollection != null) {
-            return existingCollection;
-        }
+        return analyzeCollection(containedRepresentation);
+    }
 
-        final TypeIdentifier identifier = TypeIdentifier.ofDynamic();
-        typeRepresentations.put(identifier, TypeRepresentation.ofCollection(identifier, containedRepresentation));
-        return identifier;
+    private TypeIdentifier analyzeCollection(final TypeRepresentation containedRepresentation) {
+        return collectionTypes.computeIfAbsent(containedRepresentation.getIdentifier(), k -> {
+            final TypeIdentifier identifier = TypeIdentifier.ofDynamic(++dynamicNumber);
+            typeRepresentations.put(identifier, TypeRepresentation.ofCollection(identifier, containedRepresentation));
+            return identifier;
+        });
     }
 
     private TypeIdentifier analyzeInternal(final JsonObject jsonObject) {
         final HashMap<String, TypeIdentifier> properties = jsonObject.entrySet().stream()
                 .collect(HashMap::new, (m, v) -> m.put(v.getKey(), analyze(v.getValue())), Map::putAll);
 
-        final TypeIdentifier existing = findExistingType(properties);
+        return analyzeObject(properties);
+    }
+
+    private TypeIdentifier analyzeObject(final HashMap<String, TypeIdentifier> properties) {
+        final TypeIdentifier existing = objectTypes.get(properties);
         if (existing != null)
             return existing;
 
-        final TypeIdentifier identifier = TypeIdentifier.ofDynamic();
-        typeRepresentations.put(identifier, TypeRepresentation.ofConcrete(identifier, properties));
+        final TypeIdentifier identifier = TypeIdentifier.ofDynamic(++dynamicNumber);
+        final TypeRepresentation.ConcreteTypeRepresentation representation = (TypeRepresentation.ConcreteTypeRepresentation) TypeRepresentation.ofConcrete(identifier, properties);
+        typeRepresentations.put(identifier, representation);
+        // the compact properties of the representation are the key
+        objectTypes.put(representation.getProperties(), identifier);
         return identifier;
     }
 
-    private TypeIdentifier findExistingCollection(final TypeRepresentation containedRepresentation) {
-        return typeRepresentations.entrySet().stream().filter(e -> e.getValue() instanceof TypeRepresentation.CollectionTypeRepresentation)
-                .filter(e -> e.getKey().getType().equals(Types.JSON))
-                .filter(e -> ((TypeRepresentation.CollectionTypeRepresentation) e.getValue()).contentEquals(containedRepresentation))
-                .map(Map.Entry::getKey).findAny().orElse(null);
-    }
-
-    private TypeIdentifier findExistingType(final HashMap<String, TypeIdentifier> properties) {
-        return typeRepresentations.entrySet().stream().filter(e -> e.getValue() instanceof TypeRepresentation.ConcreteTypeRepresentation)
-                .filter(e -> e.getKey().getType().equals(Types.JSON))
-                .filter(e -> ((TypeRepresentation.ConcreteTypeRepresentation) e.getValue()).contentEquals(properties))
-                .map(Map.Entry::getKey).findAny().orElse(null);
-    }
-
 }
@@ -18,6 +18,8 @@ package com.sebastian_daschner.jaxrs_analyzer.analysis.results;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreType;
+import com.sebastian_daschner.jaxrs_analyzer.Metrics;
+import com.sebastian_daschner.jaxrs_analyzer.jfr.AnalyzerEvents;
 import com.sebastian_daschner.jaxrs_analyzer.model.Types;
 import com.sebastian_daschner.jaxrs_analyzer.model.rest.TypeIdentifier;
 import com.sebastian_daschner.jaxrs_analyzer.model.rest.TypeRepresentation;
@@ -45,13 +47,17 @@ import static com.sebastian_daschner.jaxrs_analyzer.model.Types.COLLECTION;
 class JavaTypeAnalyzer {
 
     private final static String[] NAMES_TO_IGNORE = {"getClass"};
-    private static Set<String> ignoredFieldNames = new HashSet<>();
 
     /**
      * The type representation storage where all analyzed types have to be added. This will be created by the caller.
      */
     private final Map<TypeIdentifier, TypeRepresentation> typeRepresentations;
     private final Set<String> analyzedTypes;
+    /**
+     * The analyzed representations by their types, which are shared by the storage and the collection representations which contain them.
+     */
+    private final Map<String, TypeRepresentation> representations = new HashMap<>();
+    private final Set<String> ignoredFieldNames = new HashSet<>();
 
     JavaTypeAnalyzer(final Map<TypeIdentifier, TypeRepresentation> typeRepresentations) {
         this.typeRepresentations = typeRepresentations;
@@ -70,9 +76,14 @@ class JavaTypeAnalyzer {
         final String type = ResponseTypeNormalizer.normalizeResponseWrapper(rootType);
         final TypeIdentifier identifier = TypeIdentifier.ofType(type);
 
-        if (!analyzedTypes.contains(type) && (isAssignableTo(type, COLLECTION) || !isJDKType(type))) {
+        if (analyzedTypes.contains(type)) {
+            Metrics.count(Metrics.Counter.TYPE_ANALYSIS_CACHE_HITS);
+        } else if (isAssignableTo(type, COLLECTION) || !isJDKType(type)) {
+            final Object event = AnalyzerEvents.begin(AnalyzerEvents.Type.TYPE_ANALYSIS);
+            final int analyzedRepresentations = typeRepresentations.size();
             analyzedTypes.add(type);
             typeRepresentations.put(identifier, analyzeInternal(identifier, type));
+            AnalyzerEvents.commit(event, type, typeRepresentations.size() - analyzedRepresentations, 0);
         }
 
         return identifier;
@@ -84,6 +95,16 @@ class JavaTypeAnalyzer {
     }
 
     private TypeRepresentation analyzeInternal(final TypeIdentifier identifier, final String type) {
+        final TypeRepresentation analyzed = representations.get(type);
+        if (analyzed != null)
+            return analyzed;
+
+        final TypeRepresentation representation = analyzeRepresentation(identifier, type);
+        representations.putIfAbsent(type, representation);
+        return representations.get(type);
+    }
+
+    private TypeRepresentation analyzeRepresentation(final TypeIdentifier identifier, final String type) {
         if (isAssignableTo(type, COLLECTION)) {
             final String containedType = ResponseTypeNormalizer.normalizeCollection(type);
             return TypeRepresentation.ofCollection(identifier, analyzeInternal(TypeIdentifier.ofType(containedType), containedType));
@@ -133,7 +154,7 @@ class JavaTypeAnalyzer {
         return XmlAccessType.PUBLIC_MEMBER;
     }
 
-    private static boolean isRelevant(final Field field, final XmlAccessType accessType) {
+    private boolean isRelevant(final Field field, final XmlAccessType accessType) {
         if (field.isSynthetic())
             return false;
 
@@ -172,7 +193,7 @@ class JavaTypeAnalyzer {
      * @param method The method
      * @return {@code true} if the method should be analyzed further
      */
-    private static boolean isRelevant(final Method method, final XmlAccessType accessType) {
+    private boolean isRelevant(final Method method, final XmlAccessType accessType) {
         if (method.isSynthetic() || !isGetter(method))
             return false;
 
@@ -16,7 +16,10 @@
 
 package com.sebastian_daschner.jaxrs_analyzer.analysis.results;
 
+import com.sebastian_daschner.jaxrs_analyzer.Metrics;
+import com.sebastian_daschner.jaxrs_analyzer.analysis.AnalysisContext;
 import com.sebastian_daschner.jaxrs_analyzer.model.JavaUtils;
+import com.sebastian_daschner.jaxrs_analyzer.model.Types;
 import com.sebastian_daschner.jaxrs_analyzer.model.elements.HttpResponse;
 import com.sebastian_daschner.jaxrs_analyzer.model.javadoc.ClassComment;
 import com.sebastian_daschner.jaxrs_analyzer.model.javadoc.MemberComment;
@@ -26,11 +29,12 @@ import com.sebastian_daschner.jaxrs_analyzer.model.rest.MethodParameter;
 import com.sebastian_daschner.jaxrs_analyzer.model.rest.ResourceMethod;
 import com.sebastian_daschner.jaxrs_analyzer.model.rest.Resources;
 import com.sebastian_daschner.jaxrs_analyzer.model.rest.Response;
+import com.sebastian_daschner.jaxrs_analyzer.model.rest.TypeIdentifier;
 import com.sebastian_daschner.jaxrs_analyzer.model.results.ClassResult;
 import com.sebastian_daschner.jaxrs_analyzer.model.results.MethodResult;
 
-import java.util.Optional;
-import java.util.Set;
+import java.util.*;
+import java.util.stream.Collectors;
 
 import static com.sebastian_daschner.jaxrs_analyzer.analysis.results.JavaDocParameterResolver.*;
 
@@ -41,28 +45,141 @@ import static com.sebastian_daschner.jaxrs_analyzer.analysis.results.JavaDocPara
  */
 public class ResultInterpreter {
 
+    private static final Comparator<ClassResult> CLASS_RESULT_COMPARATOR = Comparator
+            .comparing(ClassResult::getOriginalClass, Comparator.nullsFirst(Comparator.naturalOrder()))
+            .thenComparing(ClassResult::getResourcePath, Comparator.nullsFirst(Comparator.naturalOrder()));
+
+    private final boolean parallel;
     private JavaTypeAnalyzer javaTypeAnalyzer;
     private Resources resources;
     private DynamicTypeAnalyzer dynamicTypeAnalyzer;
     private StringParameterResolver stringParameterResolver;
 
+    public ResultInterpreter() {
+        this(false);
+    }
+
+    /**
+     * Creates a result interpreter.
+     *
+     * @param parallel If the class results should be interpreted in parallel
+     */
+    public ResultInterpreter(final boolean parallel) {
+        this.parallel = parallel;
+    }
+
     /**
      * Interprets the class results.
      *
-     * @return All REST resources
+     * @return All REST resources, frozen
      */
     public Resources interpret(final Set<ClassResult> classResults) {
+        initialize(PathNormalizer.getApplicationPath(classResults));
+
+        if (parallel)
+            interpretInParallel(classResults);
+        else
+            classResults.stream().filter(c -> c.getResourcePath() != null).forEach(this::interpretRootResource);
+
+        resources.consolidateMultiplePaths();
+        resources.freeze();
+
+        return resources;
+    }
+
+    /**
+     * Merges the partial resources of several analyses of the same project, e.g. of its shards, in the given order.
+     * The paths are consolidated like the paths of a single analysis and the dynamic type identifiers are renumbered,
+     * therefore equal partial resources always result in the same identifiers.
+     *
+     * @param partialResources The partial resources, which are modified by the merge
+     * @return The merged resources, frozen
+     */
+    public Resources merge(final List<Resources> partialResources) {
+        initialize(partialResources.stream().map(Resources::getBasePath).filter(p -> p != null && !p.isEmpty()).findFirst().orElse(""));
+
+        partialResources.forEach(this::merge);
+
+        resources.consolidateMultiplePaths();
+        resources.freeze();
+
+        return resources;
+    }
+
+    private void initialize(final String basePath) {
         resources = new Resources();
-        resources.setBasePath(PathNormalizer.getApplicationPath(classResults));
+        resources.setBasePath(basePath);
 
         javaTypeAnalyzer = new JavaTypeAnalyzer(resources.getTypeRepresentations());
         dynamicTypeAnalyzer = new DynamicTypeAnalyzer(resources.getTypeRepresentations());
         stringParameterResolver = new StringParameterResolver(resources.getTypeRepresentations(), javaTypeAnalyzer);
+    }
 
-        classResults.stream().filter(c -> c.getResourcePath() != null).forEach(this::interpretClassResult);
-        resources.consolidateMultiplePaths();
+    /**
+     * Interprets every root resource class into partial resources on the common pool and merges them in a deterministic order.
+     * The dynamic type identifiers are assigned during the merge, therefore the result doesn't depend on the scheduling.
+     * The worker threads load the classes with the context of the current analysis.
+     *
+     * @param classResults The class results
+     */
+    private void interpretInParallel(final Set<ClassResult> classResults) {
+        final List<Resources> partialResources = classResults.stream()
+                .filter(c -> c.getResourcePath() != null)
+                .sorted(CLASS_RESULT_COMPARATOR)
+                .collect(Collectors.toList())
+                .parallelStream()
+                .map(AnalysisContext.current().propagate(ResultInterpreter::interpretPartially))
+                .collect(Collectors.toList());
+
+        partialResources.forEach(this::merge);
+    }
 
-        return resources;
+    private static Resources interpretPartially(final ClassResult classResult) {
+        final long allocation = Metrics.startAllocation(Metrics.Phase.INTERPRETATION);
+        try {
+            final ResultInterpreter interpreter = new ResultInterpreter();
+            interpreter.initialize(null);
+            interpreter.interpretRootResource(classResult);
+            return interpreter.resources;
+        } finally {
+            Metrics.stopAllocation(Metrics.Phase.INTERPRETATION, allocation);
+        }
+    }
+
+    /**
+     * Merges the partial resources into the current resources. Equal dynamic types are combined and their identifiers are replaced.
+     *
+     * @param partialResources The partial resources
+     */
+    private void merge(final Resources partialResources) {
+        final Map<TypeIdentifier, TypeIdentifier> mergedIdentifiers = new HashMap<>();
+
+        // nested types precede their containing types
+        partialResources.getTypeRepresentations().forEach((identifier, representation) -> {
+            if (identifier.getType().equals(Types.JSON))
+                mergedIdentifiers.put(identifier, dynamicTypeAnalyzer.merge(representation, mergedIdentifiers));
+            else
+                resources.getTypeRepresentations().putIfAbsent(identifier, representation);
+        });
+
+        partialResources.getResources().forEach(path -> partialResources.getMethods(path).forEach(method -> {
+            replaceIdentifiers(method, mergedIdentifiers);
+            resources.addMethod(path, method);
+        }));
+    }
+
+    private static void replaceIdentifiers(final ResourceMethod method, final Map<TypeIdentifier, TypeIdentifier> mergedIdentifiers) {
+        if (method.getRequestBody() != null)
+            method.setRequestBody(mergedIdentifiers.getOrDefault(method.getRequestBody(), method.getRequestBody()));
+
+        method.getResponses().replaceAll((status, response) -> {
+            if (response.getResponseBody() == null || !mergedIdentifiers.containsKey(response.getResponseBody()))
+                return response;
+
+            final Response mergedResponse = new Response(mergedIdentifiers.get(response.getResponseBody()), response.getDescription());
+            mergedResponse.getHeaders().addAll(response.getHeaders());
+            return mergedResponse;
+        });
     }
 
     /**
@@ -74,6 +191,18 @@ public class ResultInterpreter {
         classResult.getMethods().forEach(m -> interpretMethodResult(m, classResult));
     }
 
+    /**
+     * Interprets the class result of a root resource including its sub-resources.
+     *
+     * @param classResult The class result
+     */
+    private void interpretRootResource(final ClassResult classResult) {
+        final long allocation = Metrics.startResource();
+        interpretClassResult(classResult);
+        if (classResult.getOriginalClass() != null)
+            Metrics.stopResource(classResult.getOriginalClass().replace('/', '.'), allocation);
+    }
+
     /**
      * Interprets the method result.
      *
@@ -111,6 +240,7 @@ public class ResultInterpreter {
 
         addParameterDescriptions(resourceMethod.getMethodParameters(), methodDoc);
         stringParameterResolver.replaceParametersTypes(resourceMethod.getMethodParameters());
+        rehash(resourceMethod.getMethodParameters());
 
         if (methodResult.getRequestBodyType() != null) {
             resourceMethod.setRequestBody(javaTypeAnalyzer.analyze(methodResult.getRequestBodyType()));
@@ -196,10 +326,30 @@ public class ResultInterpreter {
             // remove preexisting parameters with identical names
             final Optional<MethodParameter> existingParameter = parameters.stream().filter(p -> p.getName().equals(a.getName())).findAny();
             existingParameter.ifPresent(parameters::remove);
-            parameters.add(a);
+            parameters.add(copy(a));
         });
     }
 
+    /**
+     * Copies the parameter, as the parameters of the method results are shared between several resource methods and are modified afterwards.
+     */
+    private static MethodParameter copy(final MethodParameter parameter) {
+        final MethodParameter copy = new MethodParameter(parameter.getType(), parameter.getParameterType());
+        copy.setName(parameter.getName());
+        copy.setDescription(parameter.getDescription());
+        copy.setDefaultValue(parameter.getDefaultValue());
+        return copy;
+    }
+
+    /**
+     * Re-adds the parameters after their descriptions and types have been modified, as their hash codes have changed.
+     */
+    private static void rehash(final Set<MethodParameter> parameters) {
+        final List<MethodParameter> modifiedParameters = new ArrayList<>(parameters);
+        parameters.clear();
+        parameters.addAll(modifiedParameters);
+    }
+
     private void addDefaultResponses(final MethodResult methodResult) {
         if (methodResult.getResponses().isEmpty()) {
             final HttpResponse httpResponse = new HttpResponse();
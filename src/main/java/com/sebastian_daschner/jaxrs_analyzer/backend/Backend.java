@@ -18,6 +18,8 @@ package com.sebastian_daschner.jaxrs_analyzer.backend;
 
 import com.sebastian_daschner.jaxrs_analyzer.model.rest.Project;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.Map;
 
 /**
@@ -35,6 +37,19 @@ public interface Backend {
      */
     byte[] render(Project project);
 
+    /**
+     * Renders the REST resources of the given project directly to the output stream.
+     * Backends should override this method to stream their output instead of creating it in memory as a whole.
+     * The output stream is not closed.
+     *
+     * @param project The project to render including all information and resources
+     * @param output  The output stream to write the data to
+     * @throws IOException If the data could not be written
+     */
+    default void render(Project project, OutputStream output) throws IOException {
+        output.write(render(project));
+    }
+
     /**
      * Returns a human readable name of the actual backend.
      */
@@ -26,52 +26,71 @@ import com.sebastian_daschner.jaxrs_analyzer.model.rest.TypeRepresentationVisito
 
 /**
  * Adds the JSON representation of type identifiers to String builders.
+ * The representation is either compact or indented in the same format as the pretty printing JSON-P writers.
  *
  * @author Sebastian Daschner
  */
 class JsonRepresentationAppender implements TypeRepresentationVisitor {
 
+    private static final String INDENTATION = "    ";
+
     private final StringBuilder builder;
     private final Map<TypeIdentifier, TypeRepresentation> representations;
+    private final boolean prettify;
 
     private Set<TypeIdentifier> visitedTypes = new HashSet<>();
+    private int level;
 
     JsonRepresentationAppender(final StringBuilder builder, final Map<TypeIdentifier, TypeRepresentation> representations) {
+        this(builder, representations, false);
+    }
+
+    JsonRepresentationAppender(final StringBuilder builder, final Map<TypeIdentifier, TypeRepresentation> representations, final boolean prettify) {
         this.builder = builder;
         this.representations = representations;
+        this.prettify = prettify;
     }
 
     @Override
     public void visit(TypeRepresentation.ConcreteTypeRepresentation representation) {
         if (representation.getProperties().isEmpty())
-            builder.append(toPrimitiveType(representation.getIdentifier()));
+            appendPrimitiveType(representation.getIdentifier());
         else {
             builder.append('{');
+            level++;
             visitedTypes.add(representation.getIdentifier());
             representation.getProperties().entrySet().stream().sorted(mapKeyComparator()).forEach(e -> {
-                builder.append('"').append(e.getKey()).append("\":");
+                appendLineBreak();
+                builder.append('"').append(e.getKey()).append(prettify ? "\": " : "\":");
                 final TypeRepresentation nestedRepresentation = representations.get(e.getValue());
                 if (nestedRepresentation == null)
-                    builder.append(toPrimitiveType(e.getValue()));
+                    appendPrimitiveType(e.getValue());
                 else if (visitedTypes.contains(e.getValue()))
                     // prevent infinite loop from recursively nested types
-                    builder.append("{}");
+                    appendEmptyObject();
                 else
                     nestedRepresentation.accept(this);
                 builder.append(',');
             });
             visitedTypes.remove(representation.getIdentifier());
-            builder.deleteCharAt(builder.length() - 1).append('}');
+            builder.deleteCharAt(builder.length() - 1);
+            level--;
+            appendLineBreak();
+            builder.append('}');
         }
     }
 
     @Override
     public void visitStart(TypeRepresentation.CollectionTypeRepresentation representation) {
         builder.append('[');
+        level++;
+        appendLineBreak();
     }
 
     @Override
     public void visitEnd(TypeRepresentation.CollectionTypeRepresentation representation) {
+        level--;
+        appendLineBreak();
         builder.append(']');
     }
 
@@ -83,6 +102,28 @@ class JsonRepresentationAppender implements TypeRepresentationVisitor {
         builder.append(values.length() == 2 ? "\"string\"" : values);
     }
 
+    private void appendPrimitiveType(final TypeIdentifier value) {
+        final String type = toPrimitiveType(value);
+        if (type == null)
+            appendEmptyObject();
+        else
+            builder.append(type);
+    }
+
+    private void appendEmptyObject() {
+        builder.append('{');
+        appendLineBreak();
+        builder.append('}');
+    }
+
+    private void appendLineBreak() {
+        if (!prettify)
+            return;
+        builder.append('\n');
+        for (int i = 0; i < level; i++)
+            builder.append(INDENTATION);
+    }
+
     private static String toPrimitiveType(final TypeIdentifier value) {
         final String type = value.getType();
         if (STRING.equals(type))
@@ -97,6 +138,6 @@ class JsonRepresentationAppender implements TypeRepresentationVisitor {
         if (DOUBLE_TYPES.contains(type))
             return "0.0";
 
-        return "{}";
+        return null;
     }
 }
@@ -1,20 +1,17 @@
 package com.sebastian_daschner.jaxrs_analyzer.backend;
 
+import com.sebastian_daschner.jaxrs_analyzer.Metrics;
 import com.sebastian_daschner.jaxrs_analyzer.model.rest.*;
 
-import javax.json.*;
-import javax.json.spi.JsonProvider;
-import javax.json.stream.JsonGenerator;
-import java.io.StringReader;
-import java.io.StringWriter;
+import java.io.*;
+import java.nio.charset.StandardCharsets;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
 import java.util.regex.Pattern;
 
 import static com.sebastian_daschner.jaxrs_analyzer.model.JavaUtils.toReadableType;
-import static java.util.Collections.singletonMap;
-import static java.util.Comparator.comparing;
 
 /**
  * A backend that is backed by Strings (plain text).
@@ -24,30 +21,45 @@ import static java.util.Comparator.comparing;
 public abstract class StringBackend implements Backend {
 
     public static final String INLINE_PRETTIFY = "inlinePrettify";
+    public static final String PARALLEL_RENDERING = "parallelRendering";
     private static final String INLINE_PRETTIFY_DEFAULT = "true";
+    private static final String PARALLEL_RENDERING_DEFAULT = "false";
     private static final Pattern CLEAR_COMPONENT_TYPE = Pattern.compile("[+\\-]");
 
     protected final Lock lock = new ReentrantLock();
-    protected StringBuilder builder;
+    private final Map<TypeIdentifier, String> samples = new ConcurrentHashMap<>();
     protected Resources resources;
     protected String projectName;
     protected String projectVersion;
     protected boolean prettify;
+    private boolean parallel;
 
     @Override
     public void configure(final Map<String, String> config) {
         prettify = Boolean.parseBoolean(config.getOrDefault(INLINE_PRETTIFY, INLINE_PRETTIFY_DEFAULT));
+        parallel = Boolean.parseBoolean(config.getOrDefault(PARALLEL_RENDERING, PARALLEL_RENDERING_DEFAULT));
     }
 
     @Override
     public byte[] render(final Project project) {
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        try {
+            render(project, output);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not render output", e);
+        }
+        return output.toByteArray();
+    }
+
+    @Override
+    public void render(final Project project, final OutputStream output) throws IOException {
         lock.lock();
         try {
             initRender(project);
 
-            final String output = renderInternal();
-
-            return serialize(output);
+            final Writer writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8));
+            renderInternal(writer);
+            writer.flush();
         } finally {
             lock.unlock();
         }
@@ -55,82 +67,116 @@ public abstract class StringBackend implements Backend {
 
     private void initRender(final Project project) {
         // initialize fields
-        builder = new StringBuilder();
+        samples.clear();
         resources = project.getResources();
         projectName = project.getName();
         projectVersion = project.getVersion();
     }
 
-    private String renderInternal() {
-        appendHeader();
+    /**
+     * Renders the header and the sections of all resources. Every section is rendered into its own builder, thus only single resources are kept in memory.
+     * In parallel mode the sections are rendered concurrently and written in the sorted order of the resources.
+     */
+    private void renderInternal(final Writer writer) throws IOException {
+        writer.append(renderHeader());
+
+        if (!parallel) {
+            for (final String resource : resources.getResources())
+                writer.append(renderResource(resource));
+            return;
+        }
 
-        resources.getResources().stream().sorted().forEach(this::appendResource);
+        try {
+            resources.getResources().parallelStream()
+                    .map(Metrics.propagate(this::renderResourceConcurrently))
+                    .forEachOrdered(section -> {
+                        try {
+                            writer.append(section);
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                    });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
 
-        return builder.toString();
+    private StringBuilder renderResourceConcurrently(final String resource) {
+        // the sections are rendered by worker threads, a nested measurement on the calling thread is ignored
+        final long allocation = Metrics.startAllocation(Metrics.Phase.RENDERING);
+        try {
+            return renderResource(resource);
+        } finally {
+            Metrics.stopAllocation(Metrics.Phase.RENDERING, allocation);
+        }
     }
 
-    private void appendHeader() {
-        appendFirstLine();
+    private StringBuilder renderHeader() {
+        final StringBuilder builder = new StringBuilder();
+        appendFirstLine(builder);
         builder.append(projectVersion).append("\n\n");
+        return builder;
     }
 
-    private void appendResource(final String resource) {
-        resources.getMethods(resource).stream()
-                .sorted(comparing(ResourceMethod::getMethod))
+    private StringBuilder renderResource(final String resource) {
+        final StringBuilder builder = new StringBuilder();
+        resources.getMethods(resource)
                 .forEach(resourceMethod -> {
-                    appendMethod(resources.getBasePath(), resource, resourceMethod);
-                    appendRequest(resourceMethod);
-                    appendResponse(resourceMethod);
-                    appendResourceEnd();
+                    appendMethod(builder, resources.getBasePath(), resource, resourceMethod);
+                    appendRequest(builder, resourceMethod);
+                    appendResponse(builder, resourceMethod);
+                    appendResourceEnd(builder);
                 });
+        return builder;
     }
 
-    protected abstract void appendFirstLine();
+    /**
+     * Appends the first line of the document.
+     *
+     * @param builder The builder of the document header
+     */
+    protected abstract void appendFirstLine(StringBuilder builder);
 
-    protected abstract void appendMethod(String baseUri, String resource, ResourceMethod resourceMethod);
+    /**
+     * Appends the description of the resource method. The resource sections might be rendered concurrently, therefore only the given builder must be used.
+     *
+     * @param builder        The builder of the current resource section
+     * @param baseUri        The base URI
+     * @param resource       The resource path
+     * @param resourceMethod The resource method
+     */
+    protected abstract void appendMethod(StringBuilder builder, String baseUri, String resource, ResourceMethod resourceMethod);
 
-    protected abstract void appendRequest(ResourceMethod resourceMethod);
+    protected abstract void appendRequest(StringBuilder builder, ResourceMethod resourceMethod);
 
-    protected abstract void appendResponse(ResourceMethod resourceMethod);
+    protected abstract void appendResponse(StringBuilder builder, ResourceMethod resourceMethod);
 
-    protected void appendResourceEnd() {
+    protected void appendResourceEnd(final StringBuilder builder) {
     }
 
+    /**
+     * Returns the JSON sample of the type representation. The samples are memoized per type during a render.
+     *
+     * @param typeRepresentation The type representation
+     * @return The JSON sample, indented if configured
+     */
     protected String doVisit(final TypeRepresentation typeRepresentation) {
-        final StringBuilder builder = new StringBuilder();
-        final TypeRepresentationVisitor appender = new JsonRepresentationAppender(builder,
-                resources.getTypeRepresentations());
-        typeRepresentation.accept(appender);
-        final String json = builder.toString();
-        return prettify ? format(json) : json;
+        final String sample = samples.get(typeRepresentation.getIdentifier());
+        if (sample != null) {
+            Metrics.count(Metrics.Counter.REPRESENTATION_CACHE_HITS);
+            return sample;
+        }
+        return samples.computeIfAbsent(typeRepresentation.getIdentifier(), identifier -> {
+            final StringBuilder builder = new StringBuilder();
+            final TypeRepresentationVisitor appender = new JsonRepresentationAppender(builder,
+                    resources.getTypeRepresentations(), prettify);
+            typeRepresentation.accept(appender);
+            return builder.toString();
+        });
     }
 
     protected String toReadableComponentType(TypeIdentifier componentType) {
         final String type = componentType.getType();
         return toReadableType(CLEAR_COMPONENT_TYPE.matcher(type).replaceAll(""));
     }
-
-    private static byte[] serialize(final String output) {
-        return output.getBytes();
-    }
-
-    private String format(final String json) {
-        final JsonProvider provider = JsonProvider.provider();
-        final StringWriter out = new StringWriter();
-        try (final JsonReader reader = provider.createReader(new StringReader(json));
-             final JsonWriter jsonWriter = provider.createWriterFactory(singletonMap(JsonGenerator.PRETTY_PRINTING, true))
-                     .createWriter(out)) {
-
-            // jsonWriter.write(reader.readValue()); // bug in RI, can switch to johnzon
-            final JsonStructure read = reader.read();
-            if (read.getValueType() == JsonValue.ValueType.OBJECT) {
-                jsonWriter.writeObject(JsonObject.class.cast(read));
-            } else if (read.getValueType() == JsonValue.ValueType.ARRAY) {
-                jsonWriter.writeArray(JsonArray.class.cast(read));
-            } else { // no reformatting
-                return json;
-            }
-            return out.toString().trim();
-        }
-    }
 }
@@ -31,7 +31,7 @@ public class MarkdownBackend extends StringBackend {
     private static final String TYPE_WILDCARD = "\\*/*";
 
     @Override
-    protected void appendMethod(final String baseUri, final String resource, final ResourceMethod resourceMethod) {
+    protected void appendMethod(final StringBuilder builder, final String baseUri, final String resource, final ResourceMethod resourceMethod) {
         builder.append("## `").append(resourceMethod.getMethod()).append(' ');
         if (!StringUtils.isBlank(baseUri))
             builder.append(baseUri).append('/');
@@ -43,7 +43,7 @@ public class MarkdownBackend extends StringBackend {
     }
 
     @Override
-    protected void appendRequest(final ResourceMethod resourceMethod) {
+    protected void appendRequest(final StringBuilder builder, final ResourceMethod resourceMethod) {
         builder.append("### Request\n");
 
         if (resourceMethod.getRequestBody() != null) {
@@ -53,7 +53,7 @@ public class MarkdownBackend extends StringBackend {
 
             builder.append("*Request Body*: (").append(toTypeOrCollection(resourceMethod.getRequestBody())).append(")");
             Optional.ofNullable(resources.getTypeRepresentations().get(resourceMethod.getRequestBody())).ifPresent(
-                    this::generateSample);
+                    r -> generateSample(builder, r));
             builder.append("\n");
         } else {
             builder.append("_No body_ + \n");
@@ -61,17 +61,17 @@ public class MarkdownBackend extends StringBackend {
 
         final Set<MethodParameter> parameters = resourceMethod.getMethodParameters();
 
-        appendParams("Path Param", parameters, ParameterType.PATH);
-        appendParams("Query Param", parameters, ParameterType.QUERY);
-        appendParams("Form Param", parameters, ParameterType.FORM);
-        appendParams("Header Param", parameters, ParameterType.HEADER);
-        appendParams("Cookie Param", parameters, ParameterType.COOKIE);
-        appendParams("Matrix Param", parameters, ParameterType.MATRIX);
+        appendParams(builder, "Path Param", parameters, ParameterType.PATH);
+        appendParams(builder, "Query Param", parameters, ParameterType.QUERY);
+        appendParams(builder, "Form Param", parameters, ParameterType.FORM);
+        appendParams(builder, "Header Param", parameters, ParameterType.HEADER);
+        appendParams(builder, "Cookie Param", parameters, ParameterType.COOKIE);
+        appendParams(builder, "Matrix Param", parameters, ParameterType.MATRIX);
 
         builder.append('\n');
     }
 
-    private void appendParams(final String name, final Set<MethodParameter> parameters, final ParameterType parameterType) {
+    private void appendParams(final StringBuilder builder, final String name, final Set<MethodParameter> parameters, final ParameterType parameterType) {
         parameters.stream().filter(p -> p.getParameterType() == parameterType)
                 .sorted(parameterComparator()).forEach(p -> builder
                 .append('*')
@@ -85,7 +85,7 @@ public class MarkdownBackend extends StringBackend {
     }
 
     @Override
-    protected void appendResponse(final ResourceMethod resourceMethod) {
+    protected void appendResponse(final StringBuilder builder, final ResourceMethod resourceMethod) {
         builder.append("### Response\n");
 
         builder.append("*Content-Type*: `");
@@ -101,7 +101,7 @@ public class MarkdownBackend extends StringBackend {
             if (response.getResponseBody() != null) {
                 builder.append("*Response Body*: ").append('(').append(toTypeOrCollection(response.getResponseBody())).append(")");
                 Optional.ofNullable(resources.getTypeRepresentations().get(response.getResponseBody())).ifPresent(
-                        this::generateSample);
+                        r -> generateSample(builder, r));
                 builder.append("\n");
             }
 
@@ -109,7 +109,7 @@ public class MarkdownBackend extends StringBackend {
         });
     }
 
-    private void generateSample(TypeRepresentation r) {
+    private void generateSample(final StringBuilder builder, final TypeRepresentation r) {
         builder.append("\n\n```javascript\n");
         builder.append(doVisit(r));
         builder.append("\n```\n\n");
@@ -133,7 +133,7 @@ public class MarkdownBackend extends StringBackend {
     }
 
     @Override
-    protected void appendFirstLine() {
+    protected void appendFirstLine(final StringBuilder builder) {
         builder.append(DOCUMENT_TITLE).append(projectName).append("\n\n");
     }
 
@@ -41,7 +41,7 @@ public class PlainTextBackend extends StringBackend {
     private static final String TYPE_WILDCARD = "*/*";
 
     @Override
-    protected void appendMethod(final String baseUri, final String resource, final ResourceMethod resourceMethod) {
+    protected void appendMethod(final StringBuilder builder, final String baseUri, final String resource, final ResourceMethod resourceMethod) {
         builder.append(resourceMethod.getMethod()).append(' ');
         if (!StringUtils.isBlank(baseUri))
             builder.append(baseUri).append('/');
@@ -53,7 +53,7 @@ public class PlainTextBackend extends StringBackend {
     }
 
     @Override
-    protected void appendRequest(final ResourceMethod resourceMethod) {
+    protected void appendRequest(final StringBuilder builder, final ResourceMethod resourceMethod) {
         builder.append(" Request:\n");
 
         if (resourceMethod.getRequestBody() != null) {
@@ -74,17 +74,17 @@ public class PlainTextBackend extends StringBackend {
 
         final Set<MethodParameter> parameters = resourceMethod.getMethodParameters();
 
-        appendParams("  Path Param: ", parameters, ParameterType.PATH);
-        appendParams("  Query Param: ", parameters, ParameterType.QUERY);
-        appendParams("  Form Param: ", parameters, ParameterType.FORM);
-        appendParams("  Header Param: ", parameters, ParameterType.HEADER);
-        appendParams("  Cookie Param: ", parameters, ParameterType.COOKIE);
-        appendParams("  Matrix Param: ", parameters, ParameterType.MATRIX);
+        appendParams(builder, "  Path Param: ", parameters, ParameterType.PATH);
+        appendParams(builder, "  Query Param: ", parameters, ParameterType.QUERY);
+        appendParams(builder, "  Form Param: ", parameters, ParameterType.FORM);
+        appendParams(builder, "  Header Param: ", parameters, ParameterType.HEADER);
+        appendParams(builder, "  Cookie Param: ", parameters, ParameterType.COOKIE);
+        appendParams(builder, "  Matrix Param: ", parameters, ParameterType.MATRIX);
 
         builder.append('\n');
     }
 
-    private void appendParams(final String name, final Set<MethodParameter> parameters, final ParameterType parameterType) {
+    private void appendParams(final StringBuilder builder, final String name, final Set<MethodParameter> parameters, final ParameterType parameterType) {
         parameters.stream().filter(p -> p.getParameterType() == parameterType)
                 .sorted(parameterComparator()).forEach(p -> builder
                 .append(name)
@@ -96,7 +96,7 @@ public class PlainTextBackend extends StringBackend {
     }
 
     @Override
-    protected void appendResponse(final ResourceMethod resourceMethod) {
+    protected void appendResponse(final StringBuilder builder, final ResourceMethod resourceMethod) {
         builder.append(" Response:\n");
 
         builder.append("  Content-Type: ");
@@ -125,7 +125,7 @@ public class PlainTextBackend extends StringBackend {
     }
 
     @Override
-    protected void appendResourceEnd() {
+    protected void appendResourceEnd(final StringBuilder builder) {
         builder.append("\n");
     }
 
@@ -147,7 +147,7 @@ public class PlainTextBackend extends StringBackend {
     }
 
     @Override
-    protected void appendFirstLine() {
+    protected void appendFirstLine(final StringBuilder builder) {
         builder.append(REST_HEADER).append(projectName).append(":\n");
     }
 
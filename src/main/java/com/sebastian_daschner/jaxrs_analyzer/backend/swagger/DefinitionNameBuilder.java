@@ -1,26 +1,51 @@
 package com.sebastian_daschner.jaxrs_analyzer.backend.swagger;
 
 import com.sebastian_daschner.jaxrs_analyzer.model.rest.TypeIdentifier;
-import com.sebastian_daschner.jaxrs_analyzer.utils.Pair;
 
-import javax.json.JsonObject;
-import java.util.Map;
+import java.util.*;
 
+/**
+ * Assigns unique Swagger definition names to types.
+ * The names of the known types are assigned once in the order of their type names, thus the names don't depend on the order of usage.
+ * Colliding names are suffixed with an increasing index.
+ */
 class DefinitionNameBuilder {
 
-    String buildDefinitionName(final String typeName, Map<String, Pair<String, JsonObject>> jsonDefinitions) {
-        String definition = buildDefinitionName(typeName);
+    private final Map<TypeIdentifier, String> definitionNames = new HashMap<>();
+    private final Set<String> assignedNames = new HashSet<>();
+    private final Map<String, Integer> nextIndices = new HashMap<>();
 
-        if (isOnlyType(typeName, definition, jsonDefinitions))
-            return definition;
+    DefinitionNameBuilder(final Collection<TypeIdentifier> identifiers) {
+        identifiers.stream().sorted(Comparator.comparing(TypeIdentifier::getName)).forEach(this::getDefinitionName);
+    }
 
-        // TODO can be problematic, see issue #155
-        if (!definition.matches("_\\d+$"))
-            return definition + "_2";
+    /**
+     * Returns the definition name of the type. Types which haven't been known in advance are assigned a new name.
+     *
+     * @param identifier The type identifier
+     * @return The unique definition name
+     */
+    String getDefinitionName(final TypeIdentifier identifier) {
+        final String assignedName = definitionNames.get(identifier);
+        if (assignedName != null)
+            return assignedName;
 
-        final int separatorIndex = definition.lastIndexOf('_');
-        final int index = Integer.parseInt(definition.substring(separatorIndex + 1));
-        return definition.substring(0, separatorIndex + 1) + (index + 1);
+        final String definitionName = assignName(buildDefinitionName(identifier.getName()));
+        definitionNames.put(identifier, definitionName);
+        return definitionName;
+    }
+
+    private String assignName(final String name) {
+        if (assignedNames.add(name))
+            return name;
+
+        int index = nextIndices.getOrDefault(name, 2);
+        String indexedName = name + '_' + index;
+        while (!assignedNames.add(indexedName))
+            indexedName = name + '_' + ++index;
+
+        nextIndices.put(name, index + 1);
+        return indexedName;
     }
 
     private String buildDefinitionName(String typeName) {
@@ -46,9 +71,4 @@ class DefinitionNameBuilder {
         return typeName.substring(typeName.lastIndexOf('/') + 1, typeName.length() - 1);
     }
 
-    private boolean isOnlyType(String typeName, String definition, Map<String, Pair<String, JsonObject>> jsonDefinitions) {
-        final Pair<String, JsonObject> containedEntry = jsonDefinitions.get(definition);
-        return containedEntry == null || containedEntry.getLeft() != null && containedEntry.getLeft().equals(typeName);
-    }
-
-}
\ No newline at end of file
+}
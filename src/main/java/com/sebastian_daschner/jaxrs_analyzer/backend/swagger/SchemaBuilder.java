@@ -16,33 +16,35 @@
 
 package com.sebastian_daschner.jaxrs_analyzer.backend.swagger;
 
+import com.sebastian_daschner.jaxrs_analyzer.Metrics;
 import com.sebastian_daschner.jaxrs_analyzer.model.rest.TypeIdentifier;
 import com.sebastian_daschner.jaxrs_analyzer.model.rest.TypeRepresentation;
 import com.sebastian_daschner.jaxrs_analyzer.model.rest.TypeRepresentationVisitor;
-import com.sebastian_daschner.jaxrs_analyzer.utils.Pair;
 
 import javax.json.Json;
 import javax.json.JsonArrayBuilder;
 import javax.json.JsonObject;
 import javax.json.JsonObjectBuilder;
-import java.util.HashMap;
-import java.util.Map;
+import javax.json.JsonValue;
+import java.util.*;
 
 import static com.sebastian_daschner.jaxrs_analyzer.backend.ComparatorUtils.mapKeyComparator;
 import static com.sebastian_daschner.jaxrs_analyzer.model.Types.*;
 
 /**
  * Creates Swagger schema type definitions.
+ * The schemas are cached per type, thus every type is only processed once.
  *
  * @author Sebastian Daschner
  */
 class SchemaBuilder {
 
     /**
-     * The fully-qualified class name together with the JSON definitions identified by the definition names.
+     * The JSON definitions identified by the definition names.
      */
-    private final Map<String, Pair<String, JsonObject>> jsonDefinitions = new HashMap<>();
-    private final DefinitionNameBuilder definitionNameBuilder = new DefinitionNameBuilder();
+    private final Map<String, JsonObject> jsonDefinitions = new TreeMap<>();
+    private final Map<TypeIdentifier, JsonObject> schemas = new HashMap<>();
+    private final DefinitionNameBuilder definitionNameBuilder;
 
     /**
      * All known representation defined in the REST resources
@@ -51,6 +53,7 @@ class SchemaBuilder {
 
     SchemaBuilder(final Map<TypeIdentifier, TypeRepresentation> typeRepresentations) {
         this.typeRepresentations = typeRepresentations;
+        definitionNameBuilder = new DefinitionNameBuilder(findDefinitionTypes(typeRepresentations.values()));
     }
 
     /**
@@ -61,6 +64,29 @@ class SchemaBuilder {
      * @return The schema JSON object builder with the needed properties
      */
     JsonObjectBuilder build(final TypeIdentifier identifier) {
+        return Json.createObjectBuilder(schema(identifier));
+    }
+
+    /**
+     * Returns the schema object for the identifier, which is created once per type.
+     * The actual definitions are retrieved via {@link SchemaBuilder#getDefinitions} after all types have been declared.
+     *
+     * @param identifier The identifier
+     * @return The schema JSON object with the needed properties
+     */
+    JsonObject schema(final TypeIdentifier identifier) {
+        JsonObject schema = schemas.get(identifier);
+        if (schema == null) {
+            // not using computeIfAbsent, as the schemas of nested types are created recursively
+            schema = createSchema(identifier);
+            schemas.put(identifier, schema);
+        } else {
+            Metrics.count(Metrics.Counter.REPRESENTATION_CACHE_HITS);
+        }
+        return schema;
+    }
+
+    private JsonObject createSchema(final TypeIdentifier identifier) {
         final SwaggerType type = toSwaggerType(identifier.getType());
         switch (type) {
             case BOOLEAN:
@@ -70,7 +96,7 @@ class SchemaBuilder {
             case STRING:
                 final JsonObjectBuilder builder = Json.createObjectBuilder();
                 addPrimitive(builder, type);
-                return builder;
+                return builder.build();
         }
 
         final JsonObjectBuilder builder = Json.createObjectBuilder();
@@ -122,7 +148,7 @@ class SchemaBuilder {
             builder.add("type", "object");
         else
             representation.accept(visitor);
-        return builder;
+        return builder.build();
     }
 
     /**
@@ -132,7 +158,7 @@ class SchemaBuilder {
      */
     JsonObject getDefinitions() {
         final JsonObjectBuilder builder = Json.createObjectBuilder();
-        jsonDefinitions.entrySet().stream().sorted(mapKeyComparator()).forEach(e -> builder.add(e.getKey(), e.getValue().getRight()));
+        jsonDefinitions.forEach(builder::add);
         return builder.build();
     }
 
@@ -152,7 +178,7 @@ class SchemaBuilder {
     }
 
     private void addObject(final JsonObjectBuilder builder, final TypeIdentifier identifier, final Map<String, TypeIdentifier> properties) {
-        final String definition = definitionNameBuilder.buildDefinitionName(identifier.getName(), jsonDefinitions);
+        final String definition = definitionNameBuilder.getDefinitionName(identifier);
 
         if (jsonDefinitions.containsKey(definition)) {
             builder.add("$ref", "#/definitions/" + definition);
@@ -160,16 +186,46 @@ class SchemaBuilder {
         }
 
         // reserve definition
-        jsonDefinitions.put(definition, Pair.of(identifier.getName(), Json.createObjectBuilder().build()));
+        jsonDefinitions.put(definition, JsonValue.EMPTY_JSON_OBJECT);
 
         final JsonObjectBuilder nestedBuilder = Json.createObjectBuilder();
 
-        properties.entrySet().stream().sorted(mapKeyComparator()).forEach(e -> nestedBuilder.add(e.getKey(), build(e.getValue())));
-        jsonDefinitions.put(definition, Pair.of(identifier.getName(), Json.createObjectBuilder().add("properties", nestedBuilder).build()));
+        properties.entrySet().stream().sorted(mapKeyComparator()).forEach(e -> nestedBuilder.add(e.getKey(), schema(e.getValue())));
+        jsonDefinitions.put(definition, Json.createObjectBuilder().add("properties", nestedBuilder).build());
 
         builder.add("$ref", "#/definitions/" + definition);
     }
 
+    /**
+     * Returns the identifiers of all types which are rendered as definitions, including the types nested in collections.
+     */
+    private static Set<TypeIdentifier> findDefinitionTypes(final Collection<TypeRepresentation> representations) {
+        final Set<TypeIdentifier> identifiers = new HashSet<>();
+        final TypeRepresentationVisitor visitor = new TypeRepresentationVisitor() {
+
+            @Override
+            public void visit(final TypeRepresentation.ConcreteTypeRepresentation representation) {
+                if (toSwaggerType(representation.getIdentifier().getType()) == SwaggerType.OBJECT)
+                    identifiers.add(representation.getIdentifier());
+            }
+
+            @Override
+            public void visitStart(final TypeRepresentation.CollectionTypeRepresentation representation) {
+            }
+
+            @Override
+            public void visitEnd(final TypeRepresentation.CollectionTypeRepresentation representation) {
+            }
+
+            @Override
+            public void visit(final TypeRepresentation.EnumTypeRepresentation representation) {
+            }
+
+        };
+        representations.forEach(r -> r.accept(visitor));
+        return identifiers;
+    }
+
     private void addPrimitive(final JsonObjectBuilder builder, final SwaggerType type) {
         builder.add("type", type.toString());
     }
@@ -22,21 +22,23 @@ import com.sebastian_daschner.jaxrs_analyzer.utils.StringUtils;
 
 import javax.json.*;
 import javax.json.stream.JsonGenerator;
+import javax.json.stream.JsonGeneratorFactory;
 import javax.ws.rs.core.Response;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
-import java.util.stream.Collectors;
 
 import static com.sebastian_daschner.jaxrs_analyzer.backend.ComparatorUtils.mapKeyComparator;
 import static com.sebastian_daschner.jaxrs_analyzer.backend.ComparatorUtils.parameterComparator;
 import static java.util.Collections.singletonMap;
-import static java.util.Comparator.comparing;
 
 /**
  * A backend which produces a Swagger JSON representation of the resources.
@@ -47,12 +49,12 @@ public class SwaggerBackend implements Backend {
 
     private static final String NAME = "Swagger";
     private static final String SWAGGER_VERSION = "2.0";
+    private static final JsonGeneratorFactory GENERATOR_FACTORY = Json.createGeneratorFactory(singletonMap(JsonGenerator.PRETTY_PRINTING, true));
 
     private final Lock lock = new ReentrantLock();
     private final SwaggerOptions options = new SwaggerOptions();
 
     private Resources resources;
-    private JsonObjectBuilder builder;
     private SchemaBuilder schemaBuilder;
     private String projectName;
     private String projectVersion;
@@ -64,43 +66,73 @@ public class SwaggerBackend implements Backend {
 
     @Override
     public byte[] render(final Project project) {
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        try {
+            render(project, output);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write Swagger output", e);
+        }
+        return output.toByteArray();
+    }
+
+    @Override
+    public void render(final Project project, final OutputStream output) throws IOException {
         lock.lock();
         try {
             // initialize fields
-            builder = Json.createObjectBuilder();
             resources = project.getResources();
             projectName = project.getName();
             projectVersion = project.getVersion();
             schemaBuilder = new SchemaBuilder(resources.getTypeRepresentations());
 
-            final JsonObject output = modifyJson(renderInternal());
+            final JsonGenerator generator = GENERATOR_FACTORY.createGenerator(output, StandardCharsets.UTF_8);
+
+            // the JSON patch has to be applied to the whole document
+            if (options.getJsonPatch() == null)
+                renderInternal(generator);
+            else
+                generator.write(options.getJsonPatch().apply(renderInternal()));
 
-            return serialize(output);
+            generator.flush();
         } finally {
             lock.unlock();
         }
     }
 
-    private JsonObject modifyJson(final JsonObject json) {
-        if (options.getJsonPatch() == null)
-            return json;
-        return options.getJsonPatch().apply(json);
+    /**
+     * Streams the document, only the definition of a single path is kept in memory.
+     * The definitions are written last, as they are collected while the paths are rendered.
+     */
+    private void renderInternal(final JsonGenerator generator) {
+        final JsonObjectBuilder header = Json.createObjectBuilder();
+        appendHeader(header);
+
+        generator.writeStartObject();
+        header.build().forEach(generator::write);
+
+        generator.writeStartObject("paths");
+        resources.getResources().forEach(s -> generator.write('/' + s, buildPathDefinition(s).build()));
+        generator.writeEnd();
+
+        generator.write("definitions", schemaBuilder.getDefinitions());
+        generator.writeEnd();
     }
 
     private JsonObject renderInternal() {
-        appendHeader();
-        appendPaths();
-        appendDefinitions();
+        final JsonObjectBuilder builder = Json.createObjectBuilder();
+        appendHeader(builder);
+        appendPaths(builder);
+        appendDefinitions(builder);
 
         return builder.build();
     }
 
-    private void appendHeader() {
-        renderHeader();
-        renderTags();
+    private void appendHeader(final JsonObjectBuilder builder) {
+        renderHeader(builder);
+        renderTags(builder);
     }
 
-    private void renderHeader() {
+    private void renderHeader(final JsonObjectBuilder builder) {
         builder.add("swagger", SWAGGER_VERSION).add("info", Json.createObjectBuilder()
                 .add("version", projectVersion).add("title", projectName))
                 .add("host", options.getDomain() == null ? "" : options.getDomain()).add("basePath", (options.getDomain() != null && !"".equals(options.getDomain().trim()) ? '/' : '/' + projectName + '/') + resources.getBasePath())
@@ -108,7 +140,7 @@ public class SwaggerBackend implements Backend {
                         .collect(Json::createArrayBuilder, JsonArrayBuilder::add, JsonArrayBuilder::add).build());
     }
 
-    private void renderTags() {
+    private void renderTags(final JsonObjectBuilder builder) {
         if (options.isRenderTags()) {
             final JsonArrayBuilder tags = Json.createArrayBuilder();
             resources.getResources().stream()
@@ -122,37 +154,29 @@ public class SwaggerBackend implements Backend {
 
     private String extractTag(final String s) {
         final int offset = options.getTagsPathOffset();
-        final String[] parts = s.split("/");
+        final PathTrie.Node path = resources.getPath(s);
 
-        if (parts.length > offset && !parts[offset].contains("{")) {
-            return parts[offset];
+        if (path.getDepth() > offset) {
+            final PathTrie.Node segment = path.getAncestor(offset);
+            if (!segment.isParameter())
+                return segment.getSegment();
         }
         return null;
     }
 
-    private void appendPaths() {
+    private void appendPaths(final JsonObjectBuilder builder) {
         final JsonObjectBuilder paths = Json.createObjectBuilder();
-        resources.getResources().stream().sorted().forEach(s -> paths.add('/' + s, buildPathDefinition(s)));
+        resources.getResources().forEach(s -> paths.add('/' + s, buildPathDefinition(s)));
         builder.add("paths", paths);
     }
 
     private JsonObjectBuilder buildPathDefinition(final String s) {
         final JsonObjectBuilder methods = Json.createObjectBuilder();
-        consolidateMultipleMethodsForSamePath(s)
-                .values().stream()
-                .sorted(comparing(ResourceMethod::getMethod))
-                .forEach(m ->
-                        methods.add(m.getMethod().toString().toLowerCase(), buildForMethod(m, s)));
+        resources.getConsolidatedMethods(s).forEach(m ->
+                methods.add(m.getMethod().toString().toLowerCase(), buildForMethod(m, s)));
         return methods;
     }
 
-    private Map<String, ResourceMethod> consolidateMultipleMethodsForSamePath(String s) {
-        return resources.getMethods(s).stream().collect(
-                Collectors.groupingBy(m->m.getMethod().toString().toLowerCase(),
-                        Collectors.reducing(new ResourceMethod(), ResourceMethod::combine))
-        );
-    }
-
     private JsonObjectBuilder buildForMethod(final ResourceMethod method, final String s) {
         final JsonArrayBuilder consumes = Json.createArrayBuilder();
         method.getRequestMediaTypes().stream().sorted().forEach(consumes::add);
@@ -191,7 +215,7 @@ public class SwaggerBackend implements Backend {
                     .add("name", "body")
                     .add("in", "body")
                     .add("required", true)
-                    .add("schema", schemaBuilder.build(method.getRequestBody()));
+                    .add("schema", schemaBuilder.schema(method.getRequestBody()));
             if (!StringUtils.isBlank(method.getRequestBodyDescription()))
                 requestBuilder.add("description", method.getRequestBodyDescription());
             parameterBuilder.add(requestBuilder);
@@ -232,7 +256,7 @@ public class SwaggerBackend implements Backend {
                     .add("headers", headers);
 
             if (e.getValue().getResponseBody() != null) {
-                final JsonObject schema = schemaBuilder.build(e.getValue().getResponseBody()).build();
+                final JsonObject schema = schemaBuilder.schema(e.getValue().getResponseBody());
                 if (!schema.isEmpty())
                     response.add("schema", schema);
             }
@@ -243,7 +267,7 @@ public class SwaggerBackend implements Backend {
         return responses;
     }
 
-    private void appendDefinitions() {
+    private void appendDefinitions(final JsonObjectBuilder builder) {
         builder.add("definitions", schemaBuilder.getDefinitions());
     }
 
@@ -269,17 +293,4 @@ public class SwaggerBackend implements Backend {
         }
     }
 
-    private static byte[] serialize(final JsonObject jsonObject) {
-        try (final ByteArrayOutputStream output = new ByteArrayOutputStream()) {
-            final Map<String, ?> config = singletonMap(JsonGenerator.PRETTY_PRINTING, true);
-            final JsonWriter jsonWriter = Json.createWriterFactory(config).createWriter(output);
-            jsonWriter.write(jsonObject);
-            jsonWriter.close();
-
-            return output.toByteArray();
-        } catch (IOException e) {
-            throw new RuntimeException("Could not write Swagger output", e);
-        }
-    }
-
 }
@@ -0,0 +1,25 @@
+package com.sebastian_daschner.jaxrs_analyzer.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.StackTrace;
+
+/**
+ * A Flight Recorder event of the analyzer.
+ *
+ * @author Sebastian Daschner
+ */
+@Category("JAX-RS Analyzer")
+@StackTrace(false)
+abstract class AnalyzerEvent extends Event {
+
+    /**
+     * Sets the event fields.
+     *
+     * @param subject    The analyzed class, method, type or backend
+     * @param size       The size of the input
+     * @param resultSize The size of the result
+     */
+    abstract void set(String subject, long size, long resultSize);
+
+}
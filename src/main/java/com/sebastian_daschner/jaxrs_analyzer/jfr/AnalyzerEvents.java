@@ -0,0 +1,92 @@
+package com.sebastian_daschner.jaxrs_analyzer.jfr;
+
+import com.sebastian_daschner.jaxrs_analyzer.model.methods.MethodIdentifier;
+
+/**
+ * Emits JDK Flight Recorder events of the analyzer internals.
+ * If the running JDK doesn't support Flight Recorder or no recording enables the event, no event is created.
+ * This class is thread-safe.
+ *
+ * @author Sebastian Daschner
+ */
+public final class AnalyzerEvents {
+
+    private static final String FLIGHT_RECORDER_CLASS = "jdk.jfr.FlightRecorder";
+    private static final String FLIGHT_RECORDER_EVENT_RECORDER_CLASS = "com.sebastian_daschner.jaxrs_analyzer.jfr.FlightRecorderEventRecorder";
+
+    private static final EventRecorder RECORDER = createRecorder();
+
+    private AnalyzerEvents() {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Begins the event of the given type.
+     *
+     * @param type The event type
+     * @return The event which is passed to the commit method or {@code null} if the event is not recorded
+     */
+    public static Object begin(final Type type) {
+        return RECORDER.begin(type);
+    }
+
+    /**
+     * Ends and commits the event.
+     *
+     * @param event      The event as returned by {@link #begin(Type)}
+     * @param subject    The analyzed class, method, type or backend
+     * @param size       The size of the input
+     * @param resultSize The size of the result
+     */
+    public static void commit(final Object event, final String subject, final long size, final long resultSize) {
+        if (event != null)
+            RECORDER.commit(event, subject, size, resultSize);
+    }
+
+    /**
+     * Ends and commits the event of the given method.
+     *
+     * @param event      The event as returned by {@link #begin(Type)}
+     * @param identifier The analyzed method
+     * @param size       The size of the input
+     * @param resultSize The size of the result
+     */
+    public static void commit(final Object event, final MethodIdentifier identifier, final long size, final long resultSize) {
+        if (event != null)
+            RECORDER.commit(event, identifier.getContainingClass() + '#' + identifier.getMethodName() + identifier.getSignature(), size, resultSize);
+    }
+
+    private static EventRecorder createRecorder() {
+        try {
+            Class.forName(FLIGHT_RECORDER_CLASS);
+            return (EventRecorder) Class.forName(FLIGHT_RECORDER_EVENT_RECORDER_CLASS).newInstance();
+        } catch (ReflectiveOperationException | LinkageError e) {
+            // Flight Recorder not supported by the JDK
+            return new NoOpEventRecorder();
+        }
+    }
+
+    /**
+     * The analyzer event types.
+     */
+    public enum Type {
+
+        CLASS_PARSING, INSTRUCTION_REDUCTION, PROJECT_METHOD_INLINING, SIMULATION, TYPE_ANALYSIS, RENDERING
+
+    }
+
+    private static class NoOpEventRecorder implements EventRecorder {
+
+        @Override
+        public Object begin(final Type type) {
+            return null;
+        }
+
+        @Override
+        public void commit(final Object event, final String subject, final long size, final long resultSize) {
+            // do nothing
+        }
+
+    }
+
+}
@@ -0,0 +1,27 @@
+package com.sebastian_daschner.jaxrs_analyzer.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * @author Sebastian Daschner
+ */
+@Name("com.sebastian_daschner.jaxrs_analyzer.ClassParsing")
+@Label("Class Parsing")
+@Description("Parsing of a class file with a class visitor")
+class ClassParsingEvent extends AnalyzerEvent {
+
+    @Label("Class Name")
+    String className;
+
+    @Label("Class File Size")
+    long classSize;
+
+    @Override
+    void set(final String subject, final long size, final long resultSize) {
+        className = subject;
+        classSize = size;
+    }
+
+}
@@ -0,0 +1,14 @@
+package com.sebastian_daschner.jaxrs_analyzer.jfr;
+
+/**
+ * Creates and commits analyzer events. The implementations have to be thread-safe.
+ *
+ * @author Sebastian Daschner
+ */
+interface EventRecorder {
+
+    Object begin(AnalyzerEvents.Type type);
+
+    void commit(Object event, String subject, long size, long resultSize);
+
+}
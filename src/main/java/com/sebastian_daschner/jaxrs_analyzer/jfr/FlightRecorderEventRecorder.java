@@ -0,0 +1,50 @@
+package com.sebastian_daschner.jaxrs_analyzer.jfr;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Records the analyzer events with the JDK Flight Recorder.
+ * This class is only loaded if the JDK supports Flight Recorder.
+ *
+ * @author Sebastian Daschner
+ */
+class FlightRecorderEventRecorder implements EventRecorder {
+
+    private final Map<AnalyzerEvents.Type, Supplier<AnalyzerEvent>> factories = new EnumMap<>(AnalyzerEvents.Type.class);
+    private final Map<AnalyzerEvents.Type, AnalyzerEvent> prototypes = new EnumMap<>(AnalyzerEvents.Type.class);
+
+    FlightRecorderEventRecorder() {
+        factories.put(AnalyzerEvents.Type.CLASS_PARSING, ClassParsingEvent::new);
+        factories.put(AnalyzerEvents.Type.INSTRUCTION_REDUCTION, InstructionReductionEvent::new);
+        factories.put(AnalyzerEvents.Type.PROJECT_METHOD_INLINING, ProjectMethodInliningEvent::new);
+        factories.put(AnalyzerEvents.Type.SIMULATION, SimulationEvent::new);
+        factories.put(AnalyzerEvents.Type.TYPE_ANALYSIS, TypeAnalysisEvent::new);
+        factories.put(AnalyzerEvents.Type.RENDERING, RenderingEvent::new);
+
+        // the prototypes are only used to check whether the event type is enabled
+        factories.forEach((type, factory) -> prototypes.put(type, factory.get()));
+    }
+
+    @Override
+    public Object begin(final AnalyzerEvents.Type type) {
+        if (!prototypes.get(type).isEnabled())
+            return null;
+
+        final AnalyzerEvent event = factories.get(type).get();
+        event.begin();
+        return event;
+    }
+
+    @Override
+    public void commit(final Object event, final String subject, final long size, final long resultSize) {
+        final AnalyzerEvent analyzerEvent = (AnalyzerEvent) event;
+        analyzerEvent.end();
+        if (analyzerEvent.shouldCommit()) {
+            analyzerEvent.set(subject, size, resultSize);
+            analyzerEvent.commit();
+        }
+    }
+
+}
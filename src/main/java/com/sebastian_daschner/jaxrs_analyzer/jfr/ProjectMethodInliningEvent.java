@@ -0,0 +1,31 @@
+package com.sebastian_daschner.jaxrs_analyzer.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * @author Sebastian Daschner
+ */
+@Name("com.sebastian_daschner.jaxrs_analyzer.ProjectMethodInlining")
+@Label("Project Method Inlining")
+@Description("Visiting and reduction of a project method which is invoked by an analyzed method")
+class ProjectMethodInliningEvent extends AnalyzerEvent {
+
+    @Label("Method")
+    String method;
+
+    @Label("Instructions")
+    long instructions;
+
+    @Label("Relevant Instructions")
+    long relevantInstructions;
+
+    @Override
+    void set(final String subject, final long size, final long resultSize) {
+        method = subject;
+        instructions = size;
+        relevantInstructions = resultSize;
+    }
+
+}
@@ -0,0 +1,27 @@
+package com.sebastian_daschner.jaxrs_analyzer.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * @author Sebastian Daschner
+ */
+@Name("com.sebastian_daschner.jaxrs_analyzer.Rendering")
+@Label("Rendering")
+@Description("Rendering of the analysis result with a backend")
+class RenderingEvent extends AnalyzerEvent {
+
+    @Label("Backend")
+    String backend;
+
+    @Label("Resources")
+    long resources;
+
+    @Override
+    void set(final String subject, final long size, final long resultSize) {
+        backend = subject;
+        resources = size;
+    }
+
+}
@@ -0,0 +1,27 @@
+package com.sebastian_daschner.jaxrs_analyzer.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * @author Sebastian Daschner
+ */
+@Name("com.sebastian_daschner.jaxrs_analyzer.Simulation")
+@Label("Simulation")
+@Description("Simulation of the relevant method instructions")
+class SimulationEvent extends AnalyzerEvent {
+
+    @Label("Method")
+    String method;
+
+    @Label("Instructions")
+    long instructions;
+
+    @Override
+    void set(final String subject, final long size, final long resultSize) {
+        method = subject;
+        instructions = size;
+    }
+
+}
@@ -0,0 +1,27 @@
+package com.sebastian_daschner.jaxrs_analyzer.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * @author Sebastian Daschner
+ */
+@Name("com.sebastian_daschner.jaxrs_analyzer.TypeAnalysis")
+@Label("Type Analysis")
+@Description("Analysis of a Java type and its nested types")
+class TypeAnalysisEvent extends AnalyzerEvent {
+
+    @Label("Type")
+    String type;
+
+    @Label("Type Representations")
+    long representations;
+
+    @Override
+    void set(final String subject, final long size, final long resultSize) {
+        type = subject;
+        representations = size;
+    }
+
+}
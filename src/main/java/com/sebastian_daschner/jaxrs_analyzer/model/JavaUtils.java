@@ -17,16 +17,23 @@
 package com.sebastian_daschner.jaxrs_analyzer.model;
 
 import com.sebastian_daschner.jaxrs_analyzer.LogProvider;
+import com.sebastian_daschner.jaxrs_analyzer.Metrics;
+import com.sebastian_daschner.jaxrs_analyzer.analysis.classes.ClassIndex;
 import com.sebastian_daschner.jaxrs_analyzer.analysis.classes.ContextClassReader;
+import org.objectweb.asm.Opcodes;
 import org.objectweb.asm.Type;
 import org.objectweb.asm.signature.SignatureReader;
+import org.objectweb.asm.signature.SignatureVisitor;
 import org.objectweb.asm.util.TraceSignatureVisitor;
 
 import java.lang.annotation.Annotation;
 import java.lang.reflect.AnnotatedElement;
 import java.lang.reflect.Field;
+import java.lang.reflect.GenericArrayType;
 import java.lang.reflect.Method;
+import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.TypeVariable;
+import java.lang.reflect.WildcardType;
 import java.util.*;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -44,6 +51,9 @@ public final class JavaUtils {
 
     public static final String INITIALIZER_NAME = "<init>";
 
+    private static final Field METHOD_SIGNATURE = signatureField(Method.class);
+    private static final Field FIELD_SIGNATURE = signatureField(Field.class);
+
     private JavaUtils() {
         throw new UnsupportedOperationException();
     }
@@ -207,13 +217,55 @@ public final class JavaUtils {
             return false;
         }
 
+        final boolean bothTypesParameterized = hasTypeParameters(leftType) && hasTypeParameters(rightType);
+        return isSubClass(leftType, rightType) && (firstTypeArray || !bothTypesParameterized || getTypeParameters(leftType).equals(getTypeParameters(rightType)));
+    }
+
+    private static boolean isSubClass(final String leftType, final String rightType) {
+        if (leftType.charAt(0) == 'L' && rightType.charAt(0) == 'L') {
+            final String leftClassName = toClassName(leftType);
+            final ClassIndex.IndexedClass indexedClass = ContextClassReader.getIndexedClass(leftClassName);
+            if (indexedClass != null) {
+                Metrics.count(Metrics.Counter.CLASS_INDEX_HITS);
+                return isIndexedSubClass(indexedClass, toClassName(rightType));
+            }
+        }
+
         final Class<?> leftClass = loadClassFromType(leftType);
         final Class<?> rightClass = loadClassFromType(rightType);
-        if (leftClass == null || rightClass == null)
-            return false;
+        return leftClass != null && rightClass != null && rightClass.isAssignableFrom(leftClass);
+    }
 
-        final boolean bothTypesParameterized = hasTypeParameters(leftType) && hasTypeParameters(rightType);
-        return rightClass.isAssignableFrom(leftClass) && (firstTypeArray || !bothTypesParameterized || getTypeParameters(leftType).equals(getTypeParameters(rightType)));
+    /**
+     * Walks the super types of the indexed class without loading them. Only the super types which are not contained in the class indexes,
+     * i.e. JDK or project classes which can't be sub-types of the indexed dependency classes, are loaded.
+     */
+    private static boolean isIndexedSubClass(final ClassIndex.IndexedClass indexedClass, final String rightClassName) {
+        final boolean rightClassIndexed = ContextClassReader.getIndexedClass(rightClassName) != null;
+        final Set<String> visited = new HashSet<>();
+        final Deque<String> superTypes = new ArrayDeque<>();
+        superTypes.add(indexedClass.getName());
+
+        while (!superTypes.isEmpty()) {
+            final String className = superTypes.poll();
+            if (className.equals(rightClassName))
+                return true;
+            if (!visited.add(className))
+                continue;
+
+            final ClassIndex.IndexedClass superType = ContextClassReader.getIndexedClass(className);
+            if (superType != null) {
+                if (superType.getSuperName() != null)
+                    superTypes.add(superType.getSuperName());
+                superTypes.addAll(superType.getInterfaces());
+            } else if (!rightClassIndexed) {
+                final Class<?> leftClass = loadClassFromName(className);
+                final Class<?> rightClass = loadClassFromName(rightClassName);
+                if (leftClass != null && rightClass != null && rightClass.isAssignableFrom(leftClass))
+                    return true;
+            }
+        }
+        return false;
     }
 
     private static boolean hasTypeParameters(final String type) {
@@ -335,6 +387,17 @@ public final class JavaUtils {
             return emptyMap();
         final Map<String, String> variables = new HashMap<>();
         final List<String> actualTypeParameters = getTypeParameters(type);
+
+        final ClassIndex.IndexedClass indexedClass = type.charAt(0) == 'L' ? ContextClassReader.getIndexedClass(toClassName(type)) : null;
+        if (indexedClass != null) {
+            Metrics.count(Metrics.Counter.CLASS_INDEX_HITS);
+            final List<String> typeParameters = getFormalTypeParameters(indexedClass.getSignature());
+            for (int i = 0; i < actualTypeParameters.size() && i < typeParameters.size(); i++) {
+                variables.put(typeParameters.get(i), actualTypeParameters.get(i));
+            }
+            return variables;
+        }
+
         final Class<?> loadedClass = loadClassFromType(type);
         if (loadedClass == null) {
             LogProvider.debug("could not load class for type " + type);
@@ -348,6 +411,20 @@ public final class JavaUtils {
         return variables;
     }
 
+    private static List<String> getFormalTypeParameters(final String classSignature) {
+        if (classSignature == null)
+            return emptyList();
+
+        final List<String> typeParameters = new ArrayList<>();
+        new SignatureReader(classSignature).accept(new SignatureVisitor(Opcodes.ASM5) {
+            @Override
+            public void visitFormalTypeParameter(final String name) {
+                typeParameters.add(name);
+            }
+        });
+        return typeParameters;
+    }
+
     public static Class<?> loadClassFromName(final String className) {
         switch (className) {
             case CLASS_PRIMITIVE_VOID:
@@ -373,6 +450,7 @@ public final class JavaUtils {
         // TODO test for variable types
 
         try {
+            Metrics.count(Metrics.Counter.CLASSES_LOADED);
             return ContextClassReader.getClassLoader().loadClass(className.replace('/', '.'));
         } catch (ClassNotFoundException e) {
             LogProvider.error("Could not load class " + className);
@@ -409,9 +487,7 @@ public final class JavaUtils {
 
     public static String getMethodSignature(final Method method) {
         try {
-            final Field signatureField = method.getClass().getDeclaredField("signature");
-            signatureField.setAccessible(true);
-            final String signature = (String) signatureField.get(method);
+            final String signature = METHOD_SIGNATURE != null ? (String) METHOD_SIGNATURE.get(method) : toGenericSignature(method);
 
             if (signature != null)
                 return signature;
@@ -425,9 +501,7 @@ public final class JavaUtils {
 
     public static String getFieldDescriptor(final Field field, final String containedType) {
         try {
-            final Field signatureField = field.getClass().getDeclaredField("signature");
-            signatureField.setAccessible(true);
-            String signature = (String) signatureField.get(field);
+            String signature = FIELD_SIGNATURE != null ? (String) FIELD_SIGNATURE.get(field) : toGenericSignature(field.getGenericType());
             if (signature != null) {
                 return resolvePotentialTypeVariables(signature, containedType);
 
@@ -440,6 +514,113 @@ public final class JavaUtils {
         }
     }
 
+    /**
+     * Returns the private signature field of the reflection class, which holds the generic signature of the class file.
+     *
+     * @return The field or {@code null} if the field is not accessible, as on JDK 12 and later
+     */
+    private static Field signatureField(final Class<?> reflectionClass) {
+        try {
+            final Field signatureField = reflectionClass.getDeclaredField("signature");
+            signatureField.setAccessible(true);
+            return signatureField;
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            LogProvider.debug("The signatures of " + reflectionClass.getSimpleName() + "s are derived from the reflected generic types");
+            return null;
+        }
+    }
+
+    /**
+     * Derives the generic signature of the method from its reflected generic types.
+     *
+     * @return The signature or {@code null} if the method is not generic
+     */
+    private static String toGenericSignature(final Method method) {
+        final TypeVariable<Method>[] typeParameters = method.getTypeParameters();
+        final java.lang.reflect.Type[] parameterTypes = method.getGenericParameterTypes();
+        final java.lang.reflect.Type returnType = method.getGenericReturnType();
+        if (typeParameters.length == 0 && returnType instanceof Class && Stream.of(parameterTypes).allMatch(t -> t instanceof Class))
+            return null;
+
+        final StringBuilder builder = new StringBuilder();
+        if (typeParameters.length > 0) {
+            builder.append('<');
+            for (final TypeVariable<Method> typeParameter : typeParameters) {
+                builder.append(typeParameter.getName());
+                final java.lang.reflect.Type[] bounds = typeParameter.getBounds();
+                for (int i = 0; i < bounds.length; i++) {
+                    // interface bounds are separated by an additional colon from the (omitted) class bound
+                    if (i == 0 && isInterface(bounds[i]))
+                        builder.append(':');
+                    builder.append(':');
+                    appendGenericSignature(bounds[i], builder);
+                }
+            }
+            builder.append('>');
+        }
+        builder.append('(');
+        for (final java.lang.reflect.Type parameterType : parameterTypes)
+            appendGenericSignature(parameterType, builder);
+        builder.append(')');
+        appendGenericSignature(returnType, builder);
+        return builder.toString();
+    }
+
+    /**
+     * Derives the generic signature of the reflected type.
+     *
+     * @return The signature or {@code null} if the type is not generic
+     */
+    private static String toGenericSignature(final java.lang.reflect.Type type) {
+        if (type instanceof Class)
+            return null;
+        final StringBuilder builder = new StringBuilder();
+        appendGenericSignature(type, builder);
+        return builder.toString();
+    }
+
+    private static void appendGenericSignature(final java.lang.reflect.Type type, final StringBuilder builder) {
+        if (type instanceof Class) {
+            builder.append(Type.getDescriptor((Class<?>) type));
+        } else if (type instanceof ParameterizedType) {
+            final ParameterizedType parameterizedType = (ParameterizedType) type;
+            final Class<?> rawType = (Class<?>) parameterizedType.getRawType();
+            if (parameterizedType.getOwnerType() instanceof ParameterizedType) {
+                appendGenericSignature(parameterizedType.getOwnerType(), builder);
+                builder.setCharAt(builder.length() - 1, '.');
+                builder.append(rawType.getSimpleName());
+            } else {
+                builder.append('L').append(Type.getInternalName(rawType));
+            }
+            builder.append('<');
+            for (final java.lang.reflect.Type argument : parameterizedType.getActualTypeArguments())
+                appendGenericSignature(argument, builder);
+            builder.append(">;");
+        } else if (type instanceof TypeVariable) {
+            builder.append('T').append(((TypeVariable<?>) type).getName()).append(';');
+        } else if (type instanceof GenericArrayType) {
+            builder.append('[');
+            appendGenericSignature(((GenericArrayType) type).getGenericComponentType(), builder);
+        } else if (type instanceof WildcardType) {
+            final WildcardType wildcardType = (WildcardType) type;
+            if (wildcardType.getLowerBounds().length > 0) {
+                builder.append('-');
+                appendGenericSignature(wildcardType.getLowerBounds()[0], builder);
+            } else if (wildcardType.getUpperBounds()[0] == Object.class) {
+                builder.append('*');
+            } else {
+                builder.append('+');
+                appendGenericSignature(wildcardType.getUpperBounds()[0], builder);
+            }
+        }
+    }
+
+    private static boolean isInterface(final java.lang.reflect.Type type) {
+        if (type instanceof ParameterizedType)
+            return isInterface(((ParameterizedType) type).getRawType());
+        return type instanceof Class && ((Class<?>) type).isInterface();
+    }
+
     private static String resolvePotentialTypeVariables(final String signature, final String containedType) {
         // resolve type variables immediately
         if (signature.charAt(0) == 'T' || signature.contains("<T") || signature.contains(";T") || signature.contains(")T")) {
@@ -16,7 +16,7 @@
 
 package com.sebastian_daschner.jaxrs_analyzer.model.elements;
 
-import com.sebastian_daschner.jaxrs_analyzer.analysis.bytecode.simulation.MethodPool;
+import com.sebastian_daschner.jaxrs_analyzer.analysis.AnalysisContext;
 import com.sebastian_daschner.jaxrs_analyzer.model.JavaUtils;
 import com.sebastian_daschner.jaxrs_analyzer.model.methods.Method;
 import com.sebastian_daschner.jaxrs_analyzer.model.methods.MethodIdentifier;
@@ -70,7 +70,7 @@ public class MethodHandle extends Element implements Method {
         final List<Element> combinedArguments = Stream.concat(transferredArguments.stream(), arguments.stream()).collect(Collectors.toList());
         return possibleIdentifiers.stream()
                 .map(i -> {
-                    final Method method = MethodPool.getInstance().get(i);
+                    final Method method = AnalysisContext.current().getMethodPool().get(i);
                     if (!i.isStaticMethod()) {
                         final List<Element> actualArguments = new ArrayList<>(combinedArguments);
                         final Element object = actualArguments.isEmpty() ? new Element() : actualArguments.remove(0);
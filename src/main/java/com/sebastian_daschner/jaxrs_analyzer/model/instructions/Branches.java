@@ -0,0 +1,106 @@
+package com.sebastian_daschner.jaxrs_analyzer.model.instructions;
+
+import org.objectweb.asm.Label;
+
+import java.util.*;
+
+/**
+ * The control flow information of the collected instructions of a method, i.e. the positions of the labels,
+ * the targets of the jump and switch instructions and the try-catch blocks. The positions are the indexes in the instruction list.
+ *
+ * @author Sebastian Daschner
+ */
+public class Branches {
+
+    private final Map<Label, Integer> labelPositions = new HashMap<>();
+    private final Map<Integer, List<Label>> branchTargets = new HashMap<>();
+    private final Set<Integer> conditionalBranches = new HashSet<>();
+    private final List<TryCatchBlock> tryCatchBlocks = new ArrayList<>();
+
+    /**
+     * Adds the label which precedes the instruction at the given position.
+     *
+     * @param label    The label
+     * @param position The position of the next instruction
+     */
+    public void addLabel(final Label label, final int position) {
+        labelPositions.put(label, position);
+    }
+
+    /**
+     * Adds the branch instruction at the given position.
+     *
+     * @param position    The position of the branch instruction
+     * @param conditional If the execution may continue with the next instruction
+     * @param targets     The branch targets
+     */
+    public void addBranch(final int position, final boolean conditional, final Label... targets) {
+        branchTargets.put(position, Arrays.asList(targets));
+        if (conditional)
+            conditionalBranches.add(position);
+    }
+
+    public void addTryCatchBlock(final Label start, final Label end, final Label handler) {
+        tryCatchBlocks.add(new TryCatchBlock(start, end, handler));
+    }
+
+    /**
+     * Returns the position of the instruction which follows the label.
+     *
+     * @param label The label
+     * @return The position or {@code null} if the label is unknown
+     */
+    public Integer getPosition(final Label label) {
+        return labelPositions.get(label);
+    }
+
+    public Collection<Integer> getLabelPositions() {
+        return labelPositions.values();
+    }
+
+    public Map<Integer, List<Label>> getBranchTargets() {
+        return branchTargets;
+    }
+
+    public boolean isConditional(final int position) {
+        return conditionalBranches.contains(position);
+    }
+
+    public List<TryCatchBlock> getTryCatchBlocks() {
+        return tryCatchBlocks;
+    }
+
+    public void clear() {
+        labelPositions.clear();
+        branchTargets.clear();
+        conditionalBranches.clear();
+        tryCatchBlocks.clear();
+    }
+
+    public static class TryCatchBlock {
+
+        private final Label start;
+        private final Label end;
+        private final Label handler;
+
+        private TryCatchBlock(final Label start, final Label end, final Label handler) {
+            this.start = start;
+            this.end = end;
+            this.handler = handler;
+        }
+
+        public Label getStart() {
+            return start;
+        }
+
+        public Label getEnd() {
+            return end;
+        }
+
+        public Label getHandler() {
+            return handler;
+        }
+
+    }
+
+}
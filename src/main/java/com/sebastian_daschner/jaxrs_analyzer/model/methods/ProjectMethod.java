@@ -16,6 +16,7 @@
 
 package com.sebastian_daschner.jaxrs_analyzer.model.methods;
 
+import com.sebastian_daschner.jaxrs_analyzer.analysis.bytecode.simulation.ControlFlowGraph;
 import com.sebastian_daschner.jaxrs_analyzer.analysis.bytecode.simulation.InjectableArgumentMethodSimulator;
 import com.sebastian_daschner.jaxrs_analyzer.model.instructions.Instruction;
 import com.sebastian_daschner.jaxrs_analyzer.model.elements.Element;
@@ -31,10 +32,27 @@ public class ProjectMethod implements IdentifiableMethod {
 
     private final MethodIdentifier identifier;
     private final List<Instruction> instructions;
+    private final ControlFlowGraph graph;
 
     public ProjectMethod(final MethodIdentifier identifier, final List<Instruction> instructions) {
+        this(identifier, instructions, null);
+    }
+
+    /**
+     * Creates a project method which is simulated along its control flow graph. The graph is shared by all invocations.
+     *
+     * @param identifier   The method identifier
+     * @param instructions The relevant instructions
+     * @param graph        The control flow graph or {@code null} if the instructions are simulated linearly
+     */
+    public ProjectMethod(final MethodIdentifier identifier, final List<Instruction> instructions, final ControlFlowGraph graph) {
         this.identifier = identifier;
         this.instructions = instructions;
+        this.graph = graph;
+    }
+
+    public MethodIdentifier getIdentifier() {
+        return identifier;
     }
 
     @Override
@@ -44,6 +62,8 @@ public class ProjectMethod implements IdentifiableMethod {
 
     @Override
     public Element invoke(final Element object, final List<Element> arguments) {
+        if (graph != null)
+            return new InjectableArgumentMethodSimulator().simulate(arguments, graph, identifier);
         return new InjectableArgumentMethodSimulator().simulate(arguments, instructions, identifier);
     }
 
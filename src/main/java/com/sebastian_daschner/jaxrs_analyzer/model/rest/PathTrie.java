@@ -0,0 +1,98 @@
+package com.sebastian_daschner.jaxrs_analyzer.model.rest;
+
+import java.util.*;
+
+/**
+ * An immutable trie of resource paths. Paths with equal prefixes share their nodes, the path segments are interned.
+ *
+ * @author Sebastian Daschner
+ */
+public class PathTrie {
+
+    private static final String SEPARATOR = "/";
+
+    private final Node root = new Node(null, null);
+    private final Map<String, Node> nodes = new HashMap<>();
+
+    PathTrie(final Collection<String> paths) {
+        paths.forEach(this::add);
+    }
+
+    private void add(final String path) {
+        Node current = root;
+        for (final String segment : path.split(SEPARATOR)) {
+            final Node parent = current;
+            current = parent.children.computeIfAbsent(segment.intern(), s -> new Node(parent, s));
+        }
+        nodes.put(path, current);
+    }
+
+    /**
+     * Returns the node of the given resource path.
+     *
+     * @param path The resource path
+     * @return The node of the last path segment or {@code null} if the path is unknown
+     */
+    public Node get(final String path) {
+        return nodes.get(path);
+    }
+
+    /**
+     * Represents a single path segment.
+     */
+    public static class Node {
+
+        private final Node parent;
+        private final String segment;
+        private final boolean parameter;
+        private final int depth;
+        private final Map<String, Node> children = new HashMap<>();
+
+        private Node(final Node parent, final String segment) {
+            this.parent = parent;
+            this.segment = segment;
+            parameter = segment != null && segment.contains("{");
+            depth = parent == null ? 0 : parent.depth + 1;
+        }
+
+        public String getSegment() {
+            return segment;
+        }
+
+        /**
+         * Checks if the segment contains a path parameter.
+         *
+         * @return {@code true} if the segment contains a path parameter
+         */
+        public boolean isParameter() {
+            return parameter;
+        }
+
+        /**
+         * Returns the number of segments of the path up to this node.
+         *
+         * @return The number of segments
+         */
+        public int getDepth() {
+            return depth;
+        }
+
+        /**
+         * Returns the node of the path segment at the given position.
+         *
+         * @param index The zero-based position in the path
+         * @return The node of the segment
+         */
+        public Node getAncestor(final int index) {
+            if (index < 0 || index >= depth)
+                throw new IndexOutOfBoundsException("Index " + index + " is not within the path depth " + depth);
+
+            Node current = this;
+            while (current.depth > index + 1)
+                current = current.parent;
+            return current;
+        }
+
+    }
+
+}
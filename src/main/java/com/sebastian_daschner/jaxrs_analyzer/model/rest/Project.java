@@ -3,7 +3,7 @@ package com.sebastian_daschner.jaxrs_analyzer.model.rest;
 import com.sebastian_daschner.jaxrs_analyzer.utils.StringUtils;
 
 /**
- * A REST project.
+ * A REST project. The project contains frozen resources; resources which aren't frozen yet are copied, therefore the caller's resources stay modifiable.
  *
  * @author Sebastian Daschner
  */
@@ -18,7 +18,7 @@ public class Project {
         StringUtils.requireNonBlank(version);
         this.name = name;
         this.version = version;
-        this.resources = resources;
+        this.resources = resources.frozen();
     }
 
     public String getName() {
@@ -0,0 +1,129 @@
+package com.sebastian_daschner.jaxrs_analyzer.model.rest;
+
+import com.sebastian_daschner.jaxrs_analyzer.utils.WeakInterner;
+
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * The immutable properties of a {@link TypeRepresentation.ConcreteTypeRepresentation}.
+ * <p>
+ * The properties are stored in two arrays which are sorted by the property names, instead of the entries and tables of a hash map.
+ * The property names are shared by all representations which are in use and the hash code is computed once, therefore the properties
+ * are cheap to compare and to use as map keys.
+ *
+ * @author Sebastian Daschner
+ */
+final class PropertyMap extends AbstractMap<String, TypeIdentifier> {
+
+    static final PropertyMap EMPTY = new PropertyMap(new String[0], new TypeIdentifier[0]);
+
+    private static final WeakInterner<String, String> NAMES = new WeakInterner<>();
+
+    private final String[] names;
+    private final TypeIdentifier[] identifiers;
+    private final int hashCode;
+
+    private PropertyMap(final String[] names, final TypeIdentifier[] identifiers) {
+        this.names = names;
+        this.identifiers = identifiers;
+
+        int hashCode = 0;
+        for (int i = 0; i < names.length; i++)
+            hashCode += names[i].hashCode() ^ identifiers[i].hashCode();
+        this.hashCode = hashCode;
+    }
+
+    /**
+     * Returns the compact properties which contain the given properties.
+     *
+     * @param properties The properties
+     * @return The property map
+     */
+    static PropertyMap of(final Map<String, TypeIdentifier> properties) {
+        if (properties instanceof PropertyMap)
+            return (PropertyMap) properties;
+        if (properties.isEmpty())
+            return EMPTY;
+
+        final String[] names = properties.keySet().stream().map(PropertyMap::intern).sorted().toArray(String[]::new);
+        final TypeIdentifier[] identifiers = new TypeIdentifier[names.length];
+        for (int i = 0; i < names.length; i++)
+            identifiers[i] = Objects.requireNonNull(properties.get(names[i]));
+
+        return new PropertyMap(names, identifiers);
+    }
+
+    private static String intern(final String name) {
+        return NAMES.intern(name, Function.identity());
+    }
+
+    @Override
+    public int size() {
+        return names.length;
+    }
+
+    @Override
+    public boolean containsKey(final Object key) {
+        return indexOf(key) >= 0;
+    }
+
+    @Override
+    public TypeIdentifier get(final Object key) {
+        final int index = indexOf(key);
+        return index < 0 ? null : identifiers[index];
+    }
+
+    private int indexOf(final Object key) {
+        if (!(key instanceof String))
+            return -1;
+        return Arrays.binarySearch(names, key);
+    }
+
+    @Override
+    public Set<Entry<String, TypeIdentifier>> entrySet() {
+        return new AbstractSet<Entry<String, TypeIdentifier>>() {
+            @Override
+            public Iterator<Entry<String, TypeIdentifier>> iterator() {
+                return new Iterator<Entry<String, TypeIdentifier>>() {
+                    private int index;
+
+                    @Override
+                    public boolean hasNext() {
+                        return index < names.length;
+                    }
+
+                    @Override
+                    public Entry<String, TypeIdentifier> next() {
+                        if (!hasNext())
+                            throw new NoSuchElementException();
+                        final Entry<String, TypeIdentifier> entry = new SimpleImmutableEntry<>(names[index], identifiers[index]);
+                        index++;
+                        return entry;
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return names.length;
+            }
+        };
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) return true;
+        if (o instanceof PropertyMap) {
+            final PropertyMap that = (PropertyMap) o;
+            return hashCode == that.hashCode && Arrays.equals(names, that.names) && Arrays.equals(identifiers, that.identifiers);
+        }
+        return super.equals(o);
+    }
+
+    @Override
+    public int hashCode() {
+        return hashCode;
+    }
+
+}
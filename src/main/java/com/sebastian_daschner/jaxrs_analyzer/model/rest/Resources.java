@@ -21,13 +21,19 @@ import java.util.stream.Collectors;
 
 /**
  * Represents a set of resources and their possible methods.
+ * The resources can be frozen after the analysis; frozen resources are immutable and iterate their paths and methods in sorted order.
  *
  * @author Sebastian Daschner
  */
 public class Resources {
 
+    private static final Comparator<ResourceMethod> METHOD_COMPARATOR = Comparator.comparing(ResourceMethod::getMethod);
+
     private Map<String, Set<ResourceMethod>> resources = new HashMap<>();
-    private final Map<TypeIdentifier, TypeRepresentation> typeRepresentations = new HashMap<>();
+    // insertion order is kept, nested types are always added before the types containing them
+    private Map<TypeIdentifier, TypeRepresentation> typeRepresentations = new LinkedHashMap<>();
+    private Map<String, List<ResourceMethod>> consolidatedMethods;
+    private PathTrie paths;
     private String basePath;
 
     /**
@@ -37,12 +43,13 @@ public class Resources {
      * @param method   The method to add
      */
     public void addMethod(final String resource, final ResourceMethod method) {
+        requireNotFrozen();
         resources.putIfAbsent(resource, new HashSet<>());
         resources.get(resource).add(method);
     }
 
     /**
-     * Returns all resource paths.
+     * Returns all resource paths. The paths of frozen resources are sorted.
      *
      * @return The resources
      */
@@ -51,7 +58,7 @@ public class Resources {
     }
 
     /**
-     * Returns the resource methods for a given resource.
+     * Returns the resource methods for a given resource. The methods of frozen resources are sorted by their HTTP method.
      *
      * @param resource The resource path
      * @return The methods
@@ -60,6 +67,30 @@ public class Resources {
         return Collections.unmodifiableSet(resources.get(resource));
     }
 
+    /**
+     * Returns the resource methods for a given resource, combined to a single method per HTTP method and sorted.
+     *
+     * @param resource The resource path
+     * @return The consolidated methods
+     */
+    public List<ResourceMethod> getConsolidatedMethods(final String resource) {
+        if (consolidatedMethods != null)
+            return consolidatedMethods.get(resource);
+        return consolidateMethods(resources.get(resource));
+    }
+
+    /**
+     * Returns the path trie node of the given resource path which provides the individual path segments.
+     *
+     * @param resource The resource path
+     * @return The node of the last path segment or {@code null} if the resource is unknown
+     */
+    public PathTrie.Node getPath(final String resource) {
+        if (paths != null)
+            return paths.get(resource);
+        return new PathTrie(Collections.singleton(resource)).get(resource);
+    }
+
     /**
      * Checks if the resources contain reasonable data, i.e. actual methods mapped to resources.
      */
@@ -72,6 +103,7 @@ public class Resources {
      * Internally creates new resources.
      */
     public void consolidateMultiplePaths() {
+        requireNotFrozen();
         Map<String, Set<ResourceMethod>> oldResources = resources;
         resources = new HashMap<>();
 
@@ -85,6 +117,65 @@ public class Resources {
                 ).forEach((k, v) -> addMethod(path, v));
     }
 
+    private static List<ResourceMethod> consolidateMethods(final Set<ResourceMethod> resourceMethods) {
+        return resourceMethods.stream()
+                .collect(Collectors.groupingBy(ResourceMethod::getMethod,
+                        Collectors.reducing(new ResourceMethod(), ResourceMethod::combine)))
+                .values().stream()
+                .sorted(METHOD_COMPARATOR)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Freezes the resources. The paths and their methods are sorted and the consolidated methods per path are computed once.
+     * Afterwards no modifications are possible anymore. Freezing already frozen resources has no effect.
+     */
+    public void freeze() {
+        if (isFrozen())
+            return;
+
+        final Map<String, Set<ResourceMethod>> sortedResources = new TreeMap<>();
+        final Map<String, List<ResourceMethod>> sortedConsolidatedMethods = new HashMap<>();
+
+        resources.forEach((path, methods) -> {
+            final Set<ResourceMethod> sortedMethods = methods.stream().sorted(METHOD_COMPARATOR)
+                    .collect(Collectors.toCollection(LinkedHashSet::new));
+            sortedResources.put(path, Collections.unmodifiableSet(sortedMethods));
+            sortedConsolidatedMethods.put(path, Collections.unmodifiableList(consolidateMethods(methods)));
+        });
+
+        resources = Collections.unmodifiableMap(sortedResources);
+        typeRepresentations = Collections.unmodifiableMap(typeRepresentations);
+        paths = new PathTrie(sortedResources.keySet());
+        consolidatedMethods = sortedConsolidatedMethods;
+    }
+
+    /**
+     * Returns these resources if they are already frozen, otherwise a frozen copy. The original resources stay modifiable.
+     *
+     * @return The frozen resources
+     */
+    public Resources frozen() {
+        if (isFrozen())
+            return this;
+
+        final Resources copy = new Resources();
+        resources.forEach((path, methods) -> copy.resources.put(path, new HashSet<>(methods)));
+        copy.typeRepresentations.putAll(typeRepresentations);
+        copy.basePath = basePath;
+        copy.freeze();
+        return copy;
+    }
+
+    public boolean isFrozen() {
+        return paths != null;
+    }
+
+    private void requireNotFrozen() {
+        if (isFrozen())
+            throw new IllegalStateException("The resources are frozen");
+    }
+
     public Map<TypeIdentifier, TypeRepresentation> getTypeRepresentations() {
         return typeRepresentations;
     }
@@ -94,6 +185,7 @@ public class Resources {
     }
 
     public void setBasePath(final String basePath) {
+        requireNotFrozen();
         this.basePath = basePath;
     }
 
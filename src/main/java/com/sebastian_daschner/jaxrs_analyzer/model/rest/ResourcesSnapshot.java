@@ -0,0 +1,336 @@
+package com.sebastian_daschner.jaxrs_analyzer.model.rest;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+/**
+ * Writes and reads the analyzed resources in a compact, versioned binary format.
+ * The snapshot enables rendering the resources with several backends without analyzing the project again.
+ * <p>
+ * The snapshot consists of a header (magic number and format version), the table of all strings, the table of all type identifiers
+ * and the actual records of the base path, the type representations and the resource methods.
+ * Strings and type identifiers are referenced by their table index; numbers are written as variable-length integers.
+ *
+ * @author Sebastian Daschner
+ */
+public final class ResourcesSnapshot {
+
+    private static final int MAGIC = 0x4A415253;
+    private static final int VERSION = 1;
+
+    private static final int NULL_REFERENCE = 0;
+
+    private static final int JAVA_TYPE = 0;
+    private static final int DYNAMIC_TYPE = 1;
+
+    private static final int CONCRETE_REPRESENTATION = 0;
+    private static final int COLLECTION_REPRESENTATION = 1;
+    private static final int ENUM_REPRESENTATION = 2;
+
+    private ResourcesSnapshot() {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Writes the snapshot of the resources. The output stream is not closed.
+     *
+     * @param resources The resources
+     * @param output    The output stream
+     * @throws IOException If the snapshot could not be written
+     */
+    public static void write(final Resources resources, final OutputStream output) throws IOException {
+        new Writer().write(resources, output);
+    }
+
+    /**
+     * Reads the resources from a snapshot. The input stream is not closed.
+     *
+     * @param input The input stream
+     * @return The resources
+     * @throws IOException If the snapshot could not be read or has an unsupported format
+     */
+    public static Resources read(final InputStream input) throws IOException {
+        return new Reader(new DataInputStream(new BufferedInputStream(input))).read();
+    }
+
+    private static class Writer {
+
+        private final Map<String, Integer> strings = new LinkedHashMap<>();
+        private final Map<TypeIdentifier, Integer> identifiers = new LinkedHashMap<>();
+
+        void write(final Resources resources, final OutputStream output) throws IOException {
+            final ByteArrayOutputStream records = new ByteArrayOutputStream();
+            final DataOutputStream recordOutput = new DataOutputStream(records);
+            writeRecords(resources, recordOutput);
+
+            // the identifiers reference strings, therefore they are written before the string table is complete
+            final ByteArrayOutputStream identifierTable = new ByteArrayOutputStream();
+            writeIdentifiers(new DataOutputStream(identifierTable));
+
+            final DataOutputStream dataOutput = new DataOutputStream(new BufferedOutputStream(output));
+            dataOutput.writeInt(MAGIC);
+            writeNumber(VERSION, dataOutput);
+            writeStrings(dataOutput);
+            identifierTable.writeTo(dataOutput);
+            records.writeTo(dataOutput);
+            dataOutput.flush();
+        }
+
+        private void writeRecords(final Resources resources, final DataOutputStream output) throws IOException {
+            writeString(resources.getBasePath(), output);
+
+            writeNumber(resources.getTypeRepresentations().size(), output);
+            for (final TypeRepresentation representation : resources.getTypeRepresentations().values())
+                writeRepresentation(representation, output);
+
+            writeNumber(resources.getResources().size(), output);
+            for (final String resource : resources.getResources()) {
+                writeString(resource, output);
+                final Set<ResourceMethod> methods = resources.getMethods(resource);
+                writeNumber(methods.size(), output);
+                for (final ResourceMethod method : methods)
+                    writeMethod(method, output);
+            }
+        }
+
+        private void writeRepresentation(final TypeRepresentation representation, final DataOutputStream output) throws IOException {
+            writeIdentifier(representation.getIdentifier(), output);
+
+            if (representation instanceof TypeRepresentation.ConcreteTypeRepresentation) {
+                final Map<String, TypeIdentifier> properties = ((TypeRepresentation.ConcreteTypeRepresentation) representation).getProperties();
+                writeNumber(CONCRETE_REPRESENTATION, output);
+                writeNumber(properties.size(), output);
+                for (final Map.Entry<String, TypeIdentifier> property : properties.entrySet()) {
+                    writeString(property.getKey(), output);
+                    writeIdentifier(property.getValue(), output);
+                }
+            } else if (representation instanceof TypeRepresentation.CollectionTypeRepresentation) {
+                writeNumber(COLLECTION_REPRESENTATION, output);
+                writeRepresentation(((TypeRepresentation.CollectionTypeRepresentation) representation).getRepresentation(), output);
+            } else {
+                writeNumber(ENUM_REPRESENTATION, output);
+                writeStrings(((TypeRepresentation.EnumTypeRepresentation) representation).getEnumValues(), output);
+            }
+        }
+
+        private void writeMethod(final ResourceMethod method, final DataOutputStream output) throws IOException {
+            writeString(method.getMethod().name(), output);
+            writeString(method.getDescription(), output);
+            writeStrings(method.getRequestMediaTypes(), output);
+            writeStrings(method.getResponseMediaTypes(), output);
+            writeIdentifier(method.getRequestBody(), output);
+            writeString(method.getRequestBodyDescription(), output);
+            output.writeBoolean(method.isDeprecated());
+
+            writeNumber(method.getMethodParameters().size(), output);
+            for (final MethodParameter parameter : method.getMethodParameters()) {
+                writeIdentifier(parameter.getType(), output);
+                writeString(parameter.getParameterType() == null ? null : parameter.getParameterType().name(), output);
+                writeString(parameter.getName(), output);
+                writeString(parameter.getDescription(), output);
+                writeString(parameter.getDefaultValue(), output);
+            }
+
+            writeNumber(method.getResponses().size(), output);
+            for (final Map.Entry<Integer, Response> entry : method.getResponses().entrySet()) {
+                final Response response = entry.getValue();
+                writeNumber(entry.getKey(), output);
+                writeIdentifier(response.getResponseBody(), output);
+                writeString(response.getDescription(), output);
+                writeStrings(response.getHeaders(), output);
+            }
+        }
+
+        private void writeIdentifiers(final DataOutputStream output) throws IOException {
+            writeNumber(identifiers.size(), output);
+            for (final TypeIdentifier identifier : identifiers.keySet()) {
+                final int dynamicNumber = identifier.getDynamicNumber();
+                if (dynamicNumber < 0) {
+                    writeNumber(JAVA_TYPE, output);
+                    writeString(identifier.getType(), output);
+                } else {
+                    writeNumber(DYNAMIC_TYPE, output);
+                    writeNumber(dynamicNumber, output);
+                }
+            }
+        }
+
+        private void writeStrings(final DataOutputStream output) throws IOException {
+            writeNumber(strings.size(), output);
+            for (final String string : strings.keySet()) {
+                final byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+                writeNumber(bytes.length, output);
+                output.write(bytes);
+            }
+        }
+
+        private void writeStrings(final Collection<String> values, final DataOutputStream output) throws IOException {
+            writeNumber(values.size(), output);
+            for (final String value : values)
+                writeString(value, output);
+        }
+
+        private void writeString(final String string, final DataOutputStream output) throws IOException {
+            writeNumber(string == null ? NULL_REFERENCE : strings.computeIfAbsent(string, s -> strings.size() + 1), output);
+        }
+
+        private void writeIdentifier(final TypeIdentifier identifier, final DataOutputStream output) throws IOException {
+            writeNumber(identifier == null ? NULL_REFERENCE : identifiers.computeIfAbsent(identifier, i -> identifiers.size() + 1), output);
+        }
+
+        private static void writeNumber(final int number, final DataOutputStream output) throws IOException {
+            int value = number;
+            while ((value & ~0x7F) != 0) {
+                output.writeByte((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            output.writeByte(value);
+        }
+
+    }
+
+    private static class Reader {
+
+        private final DataInputStream input;
+        private String[] strings;
+        private TypeIdentifier[] identifiers;
+
+        Reader(final DataInputStream input) {
+            this.input = input;
+        }
+
+        Resources read() throws IOException {
+            if (input.readInt() != MAGIC)
+                throw new IOException("The data is not a snapshot of analyzed resources");
+            final int version = readNumber();
+            if (version != VERSION)
+                throw new IOException("Unsupported snapshot version " + version + ", expected version " + VERSION);
+
+            readStrings();
+            readIdentifiers();
+
+            final Resources resources = new Resources();
+            resources.setBasePath(readString());
+
+            final int representations = readNumber();
+            for (int i = 0; i < representations; i++) {
+                final TypeRepresentation representation = readRepresentation();
+                resources.getTypeRepresentations().put(representation.getIdentifier(), representation);
+            }
+
+            final int paths = readNumber();
+            for (int i = 0; i < paths; i++) {
+                final String resource = readString();
+                final int methods = readNumber();
+                for (int j = 0; j < methods; j++)
+                    resources.addMethod(resource, readMethod());
+            }
+
+            return resources;
+        }
+
+        private TypeRepresentation readRepresentation() throws IOException {
+            final TypeIdentifier identifier = readIdentifier();
+
+            final int kind = readNumber();
+            switch (kind) {
+                case CONCRETE_REPRESENTATION:
+                    final int size = readNumber();
+                    final Map<String, TypeIdentifier> properties = new HashMap<>();
+                    for (int i = 0; i < size; i++)
+                        properties.put(readString(), readIdentifier());
+                    return TypeRepresentation.ofConcrete(identifier, properties);
+                case COLLECTION_REPRESENTATION:
+                    return TypeRepresentation.ofCollection(identifier, readRepresentation());
+                case ENUM_REPRESENTATION:
+                    final Set<String> enumValues = readStrings(new HashSet<>());
+                    return TypeRepresentation.ofEnum(identifier, enumValues.toArray(new String[enumValues.size()]));
+                default:
+                    throw new IOException("Unknown type representation " + kind);
+            }
+        }
+
+        private ResourceMethod readMethod() throws IOException {
+            final ResourceMethod method = new ResourceMethod(HttpMethod.valueOf(readString()), readString());
+            readStrings(method.getRequestMediaTypes());
+            readStrings(method.getResponseMediaTypes());
+            method.setRequestBody(readIdentifier());
+            method.setRequestBodyDescription(readString());
+            method.setDeprecated(input.readBoolean());
+
+            final int parameters = readNumber();
+            for (int i = 0; i < parameters; i++) {
+                final MethodParameter parameter = new MethodParameter(readIdentifier());
+                final String parameterType = readString();
+                parameter.setParameterType(parameterType == null ? null : ParameterType.valueOf(parameterType));
+                parameter.setName(readString());
+                parameter.setDescription(readString());
+                parameter.setDefaultValue(readString());
+                method.getMethodParameters().add(parameter);
+            }
+
+            final int responses = readNumber();
+            for (int i = 0; i < responses; i++) {
+                final int status = readNumber();
+                final Response response = new Response(readIdentifier(), readString());
+                readStrings(response.getHeaders());
+                method.getResponses().put(status, response);
+            }
+
+            return method;
+        }
+
+        private void readStrings() throws IOException {
+            strings = new String[readNumber()];
+            for (int i = 0; i < strings.length; i++) {
+                final byte[] bytes = new byte[readNumber()];
+                input.readFully(bytes);
+                strings[i] = new String(bytes, StandardCharsets.UTF_8);
+            }
+        }
+
+        private void readIdentifiers() throws IOException {
+            identifiers = new TypeIdentifier[readNumber()];
+            for (int i = 0; i < identifiers.length; i++) {
+                final int kind = readNumber();
+                if (kind == JAVA_TYPE)
+                    identifiers[i] = TypeIdentifier.ofType(readString());
+                else if (kind == DYNAMIC_TYPE)
+                    identifiers[i] = TypeIdentifier.ofDynamic(readNumber());
+                else
+                    throw new IOException("Unknown type identifier " + kind);
+            }
+        }
+
+        private <T extends Collection<String>> T readStrings(final T values) throws IOException {
+            final int size = readNumber();
+            for (int i = 0; i < size; i++)
+                values.add(readString());
+            return values;
+        }
+
+        private String readString() throws IOException {
+            final int reference = readNumber();
+            return reference == NULL_REFERENCE ? null : strings[reference - 1];
+        }
+
+        private TypeIdentifier readIdentifier() throws IOException {
+            final int reference = readNumber();
+            return reference == NULL_REFERENCE ? null : identifiers[reference - 1];
+        }
+
+        private int readNumber() throws IOException {
+            int number = 0;
+            for (int shift = 0; shift < 32; shift += 7) {
+                final int current = input.readUnsignedByte();
+                number |= (current & 0x7F) << shift;
+                if ((current & 0x80) == 0)
+                    return number;
+            }
+            throw new IOException("Malformed number in snapshot");
+        }
+
+    }
+
+}
@@ -1,6 +1,7 @@
 package com.sebastian_daschner.jaxrs_analyzer.model.rest;
 
 import com.sebastian_daschner.jaxrs_analyzer.model.Types;
+import com.sebastian_daschner.jaxrs_analyzer.utils.WeakInterner;
 
 import java.util.Objects;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -15,6 +16,7 @@ public abstract class TypeIdentifier {
 
     public static final String DYNAMIC_TYPE_PREFIX = "$";
     private static final AtomicInteger dynamicCounter = new AtomicInteger();
+    private static final WeakInterner<String, TypeIdentifier> javaTypes = new WeakInterner<>();
 
     @Override
     public abstract boolean equals(final Object object);
@@ -23,14 +25,47 @@ public abstract class TypeIdentifier {
 
     public abstract String getName();
 
+    /**
+     * Returns the type identifier of the given Java type. The identifiers are interned, i.e. all identifiers of a type are the same instance,
+     * as long as the identifier is in use.
+     *
+     * @param type The type
+     * @return The type identifier
+     */
     public static TypeIdentifier ofType(final String type) {
-        return new JavaTypeIdentifier(type);
+        return javaTypes.intern(type, JavaTypeIdentifier::new);
     }
 
+    /**
+     * Creates a new dynamic type identifier which is unique within the JVM, e.g. for manually created type representations.
+     * The analysis numbers the dynamic types per type representation storage instead, see {@link #ofDynamic(int)}.
+     *
+     * @return The type identifier
+     */
     public static TypeIdentifier ofDynamic() {
         return new DynamicTypeIdentifier(dynamicCounter.incrementAndGet());
     }
 
+    /**
+     * Creates or restores the dynamic type identifier with the given number, e.g. from a snapshot.
+     * The number has to be unique within the type representation storage.
+     *
+     * @param number The number of the dynamic type
+     * @return The type identifier
+     */
+    public static TypeIdentifier ofDynamic(final int number) {
+        return new DynamicTypeIdentifier(number);
+    }
+
+    /**
+     * Returns the number of the dynamic type.
+     *
+     * @return The number of the dynamic type or {@code -1} for Java types
+     */
+    public int getDynamicNumber() {
+        return -1;
+    }
+
     private static class JavaTypeIdentifier extends TypeIdentifier {
         private final String type;
 
@@ -85,6 +120,11 @@ public abstract class TypeIdentifier {
             return Types.JSON;
         }
 
+        @Override
+        public int getDynamicNumber() {
+            return number;
+        }
+
         @Override
         public String getName() {
             return DYNAMIC_TYPE_PREFIX + number;
@@ -69,18 +69,19 @@ public abstract class TypeRepresentation {
      * @return The type representation
      */
     public static TypeRepresentation ofConcrete(final TypeIdentifier identifier) {
-        return new ConcreteTypeRepresentation(identifier, Collections.emptyMap());
+        return new ConcreteTypeRepresentation(identifier, PropertyMap.EMPTY);
     }
 
     /**
      * Creates a type representation of a concrete type (i.e. a Java type, not a programmatically created type) plus the actual properties.
+     * The properties are copied into an immutable, compact map.
      *
      * @param identifier The type identifier
      * @param properties The type (POJO) description
      * @return The type representation
      */
     public static TypeRepresentation ofConcrete(final TypeIdentifier identifier, final Map<String, TypeIdentifier> properties) {
-        return new ConcreteTypeRepresentation(identifier, properties);
+        return new ConcreteTypeRepresentation(identifier, PropertyMap.of(properties));
     }
 
     /**
@@ -109,13 +110,18 @@ public abstract class TypeRepresentation {
 
     public static class ConcreteTypeRepresentation extends TypeRepresentation {
 
-        private final Map<String, TypeIdentifier> properties;
+        private final PropertyMap properties;
 
-        private ConcreteTypeRepresentation(final TypeIdentifier identifier, final Map<String, TypeIdentifier> properties) {
+        private ConcreteTypeRepresentation(final TypeIdentifier identifier, final PropertyMap properties) {
             super(identifier);
             this.properties = properties;
         }
 
+        /**
+         * Returns the immutable properties, sorted by their names.
+         *
+         * @return The properties
+         */
         public Map<String, TypeIdentifier> getProperties() {
             return properties;
         }
@@ -17,6 +17,7 @@
 package com.sebastian_daschner.jaxrs_analyzer.model.results;
 
 import com.sebastian_daschner.jaxrs_analyzer.model.elements.HttpResponse;
+import com.sebastian_daschner.jaxrs_analyzer.model.instructions.Branches;
 import com.sebastian_daschner.jaxrs_analyzer.model.instructions.Instruction;
 import com.sebastian_daschner.jaxrs_analyzer.model.javadoc.MethodComment;
 import com.sebastian_daschner.jaxrs_analyzer.model.methods.MethodIdentifier;
@@ -39,7 +40,8 @@ public class MethodResult {
     private final Set<String> responseMediaTypes = new HashSet<>();
     private final Set<MethodParameter> methodParameters = new HashSet<>();
     private final Set<HttpResponse> responses = new HashSet<>();
-    private final List<Instruction> instructions = new ArrayList<>();
+    private final ArrayList<Instruction> instructions = new ArrayList<>();
+    private Branches branches;
     private String path;
     private String requestBodyType;
     private MethodIdentifier originalMethodSignature;
@@ -69,6 +71,33 @@ public class MethodResult {
         return instructions;
     }
 
+    /**
+     * Returns the control flow information of the collected instructions.
+     *
+     * @return The branches or {@code null} if the control flow information is not collected
+     */
+    public Branches getBranches() {
+        return branches;
+    }
+
+    /**
+     * Collects the control flow information together with the instructions, which is only needed for the control flow simulation.
+     */
+    public void collectBranches() {
+        if (branches == null)
+            branches = new Branches();
+    }
+
+    /**
+     * Releases the collected instructions. The instructions are not needed anymore after the bytecode analysis of this method.
+     */
+    public void releaseInstructions() {
+        instructions.clear();
+        instructions.trimToSize();
+        if (branches != null)
+            branches.clear();
+    }
+
     public String getPath() {
         return path;
     }
@@ -0,0 +1,53 @@
+package com.sebastian_daschner.jaxrs_analyzer.utils;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Issues the blocking reads of the analysis, i.e. the directory listings, class files and source files.
+ * <p>
+ * This is the Java 8 implementation which reads on the calling thread, or on the worker threads which also process the read results.
+ * The multi-release jar contains an implementation for JDK 21 and later ({@code src/main/java21}) which issues the reads concurrently on virtual threads
+ * and processes the results on a bounded pool of platform threads. Both implementations have the same public API.
+ *
+ * @author Sebastian Daschner
+ */
+public final class ConcurrentReads {
+
+    private ConcurrentReads() {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Returns if the reads are issued concurrently, i.e. if reading ahead pays off.
+     */
+    public static boolean isConcurrent() {
+        return false;
+    }
+
+    /**
+     * Reads all items.
+     *
+     * @param items The items to read
+     * @param read  The blocking read of a single item
+     * @return The read results in the order of the items
+     */
+    public static <T, R> List<R> readAll(final List<T> items, final Function<T, R> read) {
+        return items.stream().map(read).collect(Collectors.toList());
+    }
+
+    /**
+     * Reads all items and processes every read result. Blocks until all items have been processed.
+     *
+     * @param items   The items to read
+     * @param read    The blocking read of a single item
+     * @param process The CPU-bound processing of a single read result, which must be thread-safe
+     */
+    public static <T, R> void readAndProcess(final Collection<T> items, final Function<T, R> read, final Consumer<R> process) {
+        items.parallelStream().forEach(i -> process.accept(read.apply(i)));
+    }
+
+}
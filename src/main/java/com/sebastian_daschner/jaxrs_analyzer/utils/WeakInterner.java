@@ -0,0 +1,55 @@
+package com.sebastian_daschner.jaxrs_analyzer.utils;
+
+import java.lang.ref.WeakReference;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.function.Function;
+
+/**
+ * Interns values by their keys, without keeping them alive. The values are released as soon as they aren't used anymore,
+ * e.g. after an analysis, therefore a long-running process, like a build daemon, doesn't accumulate the values of all analyses.
+ * <p>
+ * The values must reference their keys, e.g. a type identifier references its type name, so that the entries stay interned while
+ * the values are in use. This class is thread-safe; the entries are striped to several locks.
+ *
+ * @param <K> The type of the keys
+ * @param <V> The type of the values
+ * @author Sebastian Daschner
+ */
+public class WeakInterner<K, V> {
+
+    private static final int STRIPES = 16;
+
+    private final Map<K, WeakReference<V>>[] entries;
+
+    @SuppressWarnings("unchecked")
+    public WeakInterner() {
+        entries = new Map[STRIPES];
+        for (int i = 0; i < STRIPES; i++)
+            entries[i] = new WeakHashMap<>();
+    }
+
+    /**
+     * Returns the interned value of the key, or creates and interns a new value.
+     *
+     * @param key     The key
+     * @param factory Creates the value of the key
+     * @return The interned value
+     */
+    public V intern(final K key, final Function<K, V> factory) {
+        final Map<K, WeakReference<V>> stripe = entries[(key.hashCode() & Integer.MAX_VALUE) % STRIPES];
+        synchronized (stripe) {
+            final WeakReference<V> reference = stripe.get(key);
+            final V interned = reference != null ? reference.get() : null;
+            if (interned != null)
+                return interned;
+
+            final V value = factory.apply(key);
+            // replaces the stale key, which is not referenced by the new value
+            stripe.remove(key);
+            stripe.put(key, new WeakReference<>(value));
+            return value;
+        }
+    }
+
+}
@@ -0,0 +1,118 @@
+package com.sebastian_daschner.jaxrs_analyzer.utils;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Issues the blocking reads of the analysis, i.e. the directory listings, class files and source files.
+ * <p>
+ * This is the JDK 21 implementation of the multi-release jar which issues every read on its own virtual thread, therefore thousands of reads
+ * may be in flight on slow (e.g. network-mounted) file systems. The read results are processed on the bounded common fork-join pool.
+ * The number of reads which are in flight or not processed yet is limited, which also limits the memory of the pending read results.
+ *
+ * @author Sebastian Daschner
+ */
+public final class ConcurrentReads {
+
+    private static final int MAX_PENDING_READS = 4096;
+
+    private ConcurrentReads() {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Returns if the reads are issued concurrently, i.e. if reading ahead pays off.
+     */
+    public static boolean isConcurrent() {
+        return true;
+    }
+
+    /**
+     * Reads all items.
+     *
+     * @param items The items to read
+     * @param read  The blocking read of a single item
+     * @return The read results in the order of the items
+     */
+    public static <T, R> List<R> readAll(final List<T> items, final Function<T, R> read) {
+        if (items.size() < 2)
+            return items.stream().map(read).toList();
+
+        final Semaphore pendingReads = new Semaphore(MAX_PENDING_READS);
+        try (final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            final List<Future<R>> futures = new ArrayList<>(items.size());
+            for (final T item : items) {
+                pendingReads.acquireUninterruptibly();
+                futures.add(executor.submit(() -> {
+                    try {
+                        return read.apply(item);
+                    } finally {
+                        pendingReads.release();
+                    }
+                }));
+            }
+
+            final List<R> results = new ArrayList<>(items.size());
+            for (final Future<R> future : futures)
+                results.add(join(future));
+            return results;
+        }
+    }
+
+    /**
+     * Reads all items and processes every read result. Blocks until all items have been processed.
+     *
+     * @param items   The items to read
+     * @param read    The blocking read of a single item
+     * @param process The CPU-bound processing of a single read result, which must be thread-safe
+     */
+    public static <T, R> void readAndProcess(final Collection<T> items, final Function<T, R> read, final Consumer<R> process) {
+        final Semaphore pendingReads = new Semaphore(MAX_PENDING_READS);
+        try (final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            final List<CompletableFuture<Void>> futures = new ArrayList<>(items.size());
+            for (final T item : items) {
+                pendingReads.acquireUninterruptibly();
+                futures.add(CompletableFuture.supplyAsync(() -> read.apply(item), executor)
+                        .thenAcceptAsync(process, ForkJoinPool.commonPool())
+                        .whenComplete((r, e) -> pendingReads.release()));
+            }
+
+            try {
+                CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])).join();
+            } catch (CompletionException e) {
+                throw unchecked(e.getCause());
+            }
+        }
+    }
+
+    private static <R> R join(final Future<R> future) {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            throw unchecked(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("The reads have been interrupted", e);
+        }
+    }
+
+    private static RuntimeException unchecked(final Throwable throwable) {
+        if (throwable instanceof RuntimeException runtimeException)
+            return runtimeException;
+        if (throwable instanceof Error error)
+            throw error;
+        return new IllegalStateException(throwable);
+    }
+
+}
@@ -0,0 +1,144 @@
+package com.sebastian_daschner.jaxrs_analyzer;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import javax.json.Json;
+import javax.json.JsonArrayBuilder;
+import javax.json.JsonObject;
+import javax.json.JsonReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.*;
+
+public class BatchAnalyzerTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void test() throws IOException {
+        final Path root = folder.getRoot().toPath();
+        final SyntheticProject orders = SyntheticProject.withResources(2)
+                .andBasePackage("com.sebastian_daschner.batch_orders")
+                .generate(Files.createDirectory(root.resolve("orders")));
+        final SyntheticProject customers = SyntheticProject.withResources(3)
+                .andBasePackage("com.sebastian_daschner.batch_customers")
+                .andPackaging(SyntheticProject.Packaging.JAR)
+                .generate(Files.createDirectory(root.resolve("customers")));
+
+        final JsonArrayBuilder classPath = Json.createArrayBuilder();
+        Stream.of(System.getProperty("java.class.path").split(File.pathSeparator)).forEach(classPath::add);
+
+        final Path manifest = write(root.resolve("batch.json"), Json.createObjectBuilder()
+                .add("classPath", classPath)
+                .add("threads", 2)
+                .add("projects", Json.createArrayBuilder()
+                        .add(Json.createObjectBuilder()
+                                .add("name", "orders")
+                                .add("version", "1.0")
+                                .add("projectPath", Json.createArrayBuilder().add(root.relativize(orders.getClassPath()).toString()))
+                                .add("sourcePath", Json.createArrayBuilder().add(orders.getSourcePath().toString()))
+                                .add("output", "orders.json"))
+                        .add(Json.createObjectBuilder()
+                                .add("name", "customers")
+                                .add("projectPath", Json.createArrayBuilder().add(customers.getClassPath().toString()))
+                                .add("backend", "plaintext")
+                                .add("output", "customers.txt")))
+                .build());
+
+        final BatchAnalyzer batchAnalyzer = BatchAnalyzer.fromManifest(manifest);
+        batchAnalyzer.setStatistics(true);
+
+        assertEquals(0, batchAnalyzer.analyze());
+        // the root resources and their sub-resources of every project
+        final List<Metrics.Summary> statistics = new ArrayList<>(batchAnalyzer.getStatistics().values());
+        assertEquals(2, statistics.size());
+        assertEquals(4, statistics.get(0).getInvocations(Metrics.Phase.CLASS_VISITING));
+        assertEquals(6, statistics.get(1).getInvocations(Metrics.Phase.CLASS_VISITING));
+
+        final JsonObject swagger = read(root.resolve("orders.json"));
+        assertEquals("orders", swagger.getJsonObject("info").getString("title"));
+        assertEquals("1.0", swagger.getJsonObject("info").getString("version"));
+        assertTrue(swagger.getJsonObject("paths").containsKey("/resources1"));
+        assertFalse(swagger.getJsonObject("paths").containsKey("/resources2"));
+
+        final String plaintext = new String(Files.readAllBytes(root.resolve("customers.txt")), "UTF-8");
+        assertTrue(plaintext.startsWith("REST resources of customers:"));
+        assertTrue(plaintext.contains("GET resources2"));
+    }
+
+    @Test
+    public void testCollidingClasses() throws IOException {
+        final Path root = folder.getRoot().toPath();
+        // both projects contain the same classes with different properties
+        final SyntheticProject narrow = SyntheticProject.withResources(1)
+                .andBasePackage("com.sebastian_daschner.batch_colliding")
+                .andDtoWidth(1)
+                .generate(Files.createDirectory(root.resolve("narrow")));
+        final SyntheticProject wide = SyntheticProject.withResources(1)
+                .andBasePackage("com.sebastian_daschner.batch_colliding")
+                .andDtoWidth(4)
+                .generate(Files.createDirectory(root.resolve("wide")));
+
+        final JsonArrayBuilder classPath = Json.createArrayBuilder();
+        Stream.of(System.getProperty("java.class.path").split(File.pathSeparator)).forEach(classPath::add);
+
+        final Path manifest = write(root.resolve("batch.json"), Json.createObjectBuilder()
+                .add("classPath", classPath)
+                .add("threads", 2)
+                .add("projects", Json.createArrayBuilder()
+                        .add(Json.createObjectBuilder()
+                                .add("projectPath", Json.createArrayBuilder().add(narrow.getClassPath().toString()))
+                                .add("output", "narrow.json"))
+                        .add(Json.createObjectBuilder()
+                                .add("projectPath", Json.createArrayBuilder().add(wide.getClassPath().toString()))
+                                .add("output", "wide.json")))
+                .build());
+
+        assertEquals(0, BatchAnalyzer.fromManifest(manifest).analyze());
+
+        // the DTOs contain an id besides the simple properties
+        assertEquals(2, countProperties(read(root.resolve("narrow.json"))));
+        assertEquals(5, countProperties(read(root.resolve("wide.json"))));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testMissingOutput() throws IOException {
+        final Path manifest = write(folder.getRoot().toPath().resolve("batch.json"), Json.createObjectBuilder()
+                .add("projects", Json.createArrayBuilder()
+                        .add(Json.createObjectBuilder()
+                                .add("projectPath", Json.createArrayBuilder().add(folder.newFolder().toString()))))
+                .build());
+
+        BatchAnalyzer.fromManifest(manifest);
+    }
+
+    private static int countProperties(final JsonObject swagger) {
+        return swagger.getJsonObject("definitions").values().stream()
+                .mapToInt(d -> ((JsonObject) d).getJsonObject("properties").size())
+                .max().orElse(0);
+    }
+
+    private static Path write(final Path path, final JsonObject object) throws IOException {
+        try (final Writer writer = Files.newBufferedWriter(path)) {
+            Json.createWriter(writer).write(object);
+        }
+        return path;
+    }
+
+    private static JsonObject read(final Path path) throws IOException {
+        try (final JsonReader reader = Json.createReader(Files.newBufferedReader(path))) {
+            return reader.readObject();
+        }
+    }
+
+}
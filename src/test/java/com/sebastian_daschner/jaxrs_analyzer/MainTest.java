@@ -4,6 +4,7 @@ import com.sebastian_daschner.jaxrs_analyzer.backend.Backend;
 import com.sebastian_daschner.jaxrs_analyzer.backend.asciidoc.AsciiDocBackend;
 import com.sebastian_daschner.jaxrs_analyzer.backend.plaintext.PlainTextBackend;
 import com.sebastian_daschner.jaxrs_analyzer.backend.swagger.SwaggerBackend;
+import org.junit.Before;
 import org.junit.Test;
 
 import java.util.Map;
@@ -14,6 +15,11 @@ import static org.junit.Assert.assertThat;
 
 public class MainTest {
 
+    @Before
+    public void setUp() {
+        Main.setDefaults();
+    }
+
     @Test
     public void shouldAddBinaryAttributes() {
         final Map<String, String> conf = Main.addAttribute("att1 = val1");
@@ -35,6 +41,27 @@ public class MainTest {
         assertThat(conf.get("att1"), is(""));
     }
 
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldRejectDuplicateOutputLocations() {
+        Main.extractArgs(new String[]{"-b", "plaintext", "-o", "resources.txt", "-b", "asciidoc", "-o", "./resources.txt"});
+    }
+
+    @Test
+    public void shouldResetOutputLocations() {
+        Main.extractArgs(new String[]{"-b", "plaintext", "-o", "resources.txt"});
+        Main.extractArgs(new String[]{"-b", "plaintext", "-o", "resources.txt", "-b", "asciidoc", "-o", "resources.adoc"});
+    }
+
+    @Test
+    public void shouldBindLeadingOptionsToSingleBackend() {
+        Main.extractArgs(new String[]{"-o", "resources.txt", "--noInlinePrettify", "-b", "plaintext"});
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldRejectLeadingOptionsOfSeveralBackends() {
+        Main.extractArgs(new String[]{"-o", "resources.txt", "-b", "plaintext", "-b", "asciidoc", "-o", "resources.adoc"});
+    }
+
     @Test
     public void shouldLoadSwaggerFromJavaService() {
         final Backend backend = JAXRSAnalyzer.constructBackend("swagger");
@@ -0,0 +1,191 @@
+package com.sebastian_daschner.jaxrs_analyzer;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import javax.json.JsonObject;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
+
+public class MetricsTest {
+
+    private static final int ALLOCATION_SIZE = 1 << 20;
+
+    private static volatile Object sink;
+
+    @Before
+    public void setUp() {
+        Metrics.reset();
+    }
+
+    @After
+    public void tearDown() {
+        Metrics.setEnabled(false);
+        Metrics.reset();
+    }
+
+    @Test
+    public void testDisabled() {
+        final long start = Metrics.start();
+        Metrics.count(Metrics.Counter.CLASSES_SCANNED);
+        Metrics.stop(Metrics.Phase.DISCOVERY, start);
+
+        final Metrics.Summary summary = Metrics.summary();
+        assertEquals(0, summary.getCount(Metrics.Counter.CLASSES_SCANNED));
+        assertEquals(0, summary.getInvocations(Metrics.Phase.DISCOVERY));
+    }
+
+    @Test
+    public void testEnabled() throws InterruptedException {
+        Metrics.setEnabled(true);
+
+        final long start = Metrics.start();
+        Thread.sleep(2);
+        Metrics.stop(Metrics.Phase.SIMULATION, start);
+        Metrics.count(Metrics.Counter.INSTRUCTIONS_SIMULATED, 3);
+        Metrics.count(Metrics.Counter.INSTRUCTIONS_SIMULATED);
+
+        final Metrics.Summary summary = Metrics.summary();
+        assertEquals(4, summary.getCount(Metrics.Counter.INSTRUCTIONS_SIMULATED));
+        assertEquals(1, summary.getInvocations(Metrics.Phase.SIMULATION));
+        assertTrue(summary.getTime(Metrics.Phase.SIMULATION, TimeUnit.MILLISECONDS) >= 2);
+        assertEquals(0, summary.getInvocations(Metrics.Phase.RENDERING));
+        assertTrue(summary.format().contains("instructions simulated"));
+    }
+
+    @Test
+    public void testMethodCosts() {
+        Metrics.setEnabled(true);
+
+        Metrics.count(Metrics.Counter.INSTRUCTIONS_SIMULATED, 2);
+        final Metrics.MethodCost first = Metrics.startMethod("GET first");
+        Metrics.count(Metrics.Counter.INSTRUCTIONS_SIMULATED, 5);
+        Metrics.stopMethod(first);
+        final Metrics.MethodCost second = Metrics.startMethod("GET second");
+        Metrics.count(Metrics.Counter.PROJECT_METHODS_INLINED);
+        Metrics.stopMethod(second);
+
+        final Metrics.Summary summary = Metrics.summary();
+        assertEquals(7, summary.getCount(Metrics.Counter.INSTRUCTIONS_SIMULATED));
+        assertEquals(2, summary.getMethodCosts().size());
+
+        final Metrics.MethodCost firstCost = summary.getMethodCosts().stream().filter(c -> c.getMethod().equals("GET first")).findAny().get();
+        assertEquals(5, firstCost.getCount(Metrics.Counter.INSTRUCTIONS_SIMULATED));
+        assertEquals(0, firstCost.getCount(Metrics.Counter.PROJECT_METHODS_INLINED));
+
+        final JsonObject json = summary.toJson(1);
+        assertEquals(1, json.getJsonArray("methods").size());
+        assertEquals(7, json.getJsonObject("counters").getInt("instructions_simulated"));
+        assertTrue(summary.format(2).contains("GET second"));
+    }
+
+    @Test
+    public void testMethodCostsDisabled() {
+        final Metrics.MethodCost cost = Metrics.startMethod("GET method");
+        Metrics.stopMethod(cost);
+
+        assertNull(cost);
+        assertTrue(Metrics.summary().getMethodCosts().isEmpty());
+    }
+
+    @Test
+    public void testAllocations() throws InterruptedException {
+        Metrics.setEnabled(true);
+        assumeTrue(Metrics.summary().isAllocationsSupported());
+
+        final long allocation = Metrics.startAllocation(Metrics.Phase.INTERPRETATION);
+        // the allocations of the worker thread and of the calling thread are summed up, the nested measurement is ignored
+        final Thread worker = new Thread(() -> {
+            final long workerAllocation = Metrics.startAllocation(Metrics.Phase.INTERPRETATION);
+            sink = new byte[ALLOCATION_SIZE];
+            Metrics.stopAllocation(Metrics.Phase.INTERPRETATION, workerAllocation);
+        });
+        worker.start();
+        worker.join();
+        final long nestedAllocation = Metrics.startAllocation(Metrics.Phase.INTERPRETATION);
+        sink = new byte[ALLOCATION_SIZE];
+        Metrics.stopAllocation(Metrics.Phase.INTERPRETATION, nestedAllocation);
+        Metrics.stopAllocation(Metrics.Phase.INTERPRETATION, allocation);
+
+        final long resourceAllocation = Metrics.startResource();
+        sink = new byte[ALLOCATION_SIZE];
+        Metrics.stopResource("com.sebastian_daschner.test.Resource", resourceAllocation);
+
+        final Metrics.Summary summary = Metrics.summary();
+        final long allocated = summary.getAllocatedBytes(Metrics.Phase.INTERPRETATION);
+        assertTrue("allocated " + allocated, allocated >= 2 * ALLOCATION_SIZE && allocated < 3 * ALLOCATION_SIZE);
+        assertEquals(0, summary.getAllocatedBytes(Metrics.Phase.RENDERING));
+        assertTrue(summary.getResourceAllocations().get("com.sebastian_daschner.test.Resource") >= ALLOCATION_SIZE);
+
+        assertTrue(summary.format(1).contains("com.sebastian_daschner.test.Resource"));
+        final JsonObject json = summary.toJson(1);
+        assertTrue(json.getJsonObject("phases").getJsonObject("interpretation").getJsonNumber("allocated").longValue() >= 2 * ALLOCATION_SIZE);
+        assertEquals(1, json.getJsonArray("resources").size());
+    }
+
+    @Test
+    public void testBound() throws InterruptedException {
+        final Metrics first = new Metrics();
+        final Metrics second = new Metrics();
+
+        first.run(() -> Metrics.count(Metrics.Counter.CLASSES_SCANNED, 2));
+        final Thread thread = new Thread(() -> second.run(() -> Metrics.count(Metrics.Counter.CLASSES_SCANNED)));
+        thread.start();
+        thread.join();
+        // the worker threads record into the metrics of the calling thread
+        first.run(() -> Stream.of(1, 2, 3).parallel().map(Metrics.propagate(i -> {
+            Metrics.count(Metrics.Counter.CLASSES_LOADED);
+            return i;
+        })).forEach(i -> {
+        }));
+
+        assertEquals(2, first.getSummary().getCount(Metrics.Counter.CLASSES_SCANNED));
+        assertEquals(3, first.getSummary().getCount(Metrics.Counter.CLASSES_LOADED));
+        assertEquals(1, second.getSummary().getCount(Metrics.Counter.CLASSES_SCANNED));
+        assertEquals(0, Metrics.summary().getCount(Metrics.Counter.CLASSES_SCANNED));
+    }
+
+    @Test
+    public void testAdd() {
+        final Metrics worker = new Metrics();
+        worker.run(() -> {
+            final Metrics.MethodCost cost = Metrics.startMethod("GET com/example/Resource#get()V");
+            Metrics.count(Metrics.Counter.INSTRUCTIONS_COLLECTED, 5);
+            Metrics.stopMethod(cost);
+            Metrics.stop(Metrics.Phase.SIMULATION, Metrics.start());
+        });
+
+        final Metrics metrics = new Metrics();
+        metrics.run(() -> {
+            Metrics.count(Metrics.Counter.INSTRUCTIONS_COLLECTED, 2);
+            Metrics.add(worker.getSummary().toJson(10));
+            Metrics.add(worker.getSummary().toJson(10));
+        });
+
+        final Metrics.Summary summary = metrics.getSummary();
+        assertEquals(12, summary.getCount(Metrics.Counter.INSTRUCTIONS_COLLECTED));
+        assertEquals(2, summary.getInvocations(Metrics.Phase.SIMULATION));
+        assertEquals(2, summary.getMethodCosts().size());
+        assertEquals(5, summary.getMethodCosts().get(0).getCount(Metrics.Counter.INSTRUCTIONS_COLLECTED));
+
+        // the disabled default metrics ignore added metrics
+        Metrics.add(worker.getSummary().toJson(10));
+        assertEquals(0, Metrics.summary().getCount(Metrics.Counter.INSTRUCTIONS_COLLECTED));
+    }
+
+    @Test
+    public void testAllocationsDisabled() {
+        final long allocation = Metrics.startAllocation(Metrics.Phase.DISCOVERY);
+        sink = new byte[ALLOCATION_SIZE];
+        Metrics.stopAllocation(Metrics.Phase.DISCOVERY, allocation);
+
+        assertEquals(0, Metrics.summary().getAllocatedBytes(Metrics.Phase.DISCOVERY));
+    }
+
+}
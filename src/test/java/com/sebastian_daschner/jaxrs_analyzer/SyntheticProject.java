@@ -0,0 +1,474 @@
+package com.sebastian_daschner.jaxrs_analyzer;
+
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * A generated JAX-RS project of configurable size and shape which is used to test the scalability of the analysis.
+ * <p>
+ * Every resource <i>i</i> consists of the root resource class {@code Resource<i>} with CRUD methods,
+ * a chain of {@code Chain<i>_<n>} helper classes which are invoked by the resource methods,
+ * a chain of sub-resource classes {@code Sub<i>_<n>} which are reached via sub-resource locators
+ * and a graph of {@code Dto<i>_<n>} classes which are used as request and response bodies.
+ * The sources are compiled with the system Java compiler.
+ *
+ * @author Sebastian Daschner
+ */
+public class SyntheticProject {
+
+    public static final String BASE_PACKAGE = "com.sebastian_daschner.synthetic";
+
+    private static final int RESOURCES_PER_PACKAGE = 100;
+    private static final int RESOURCES_PER_COMPILATION = 500;
+    private static final String[] PROPERTY_TYPES = {"String", "int", "boolean", "double", "java.util.Date"};
+
+    private final Path sourcePath;
+    private final Path classPath;
+    private final int classCount;
+
+    private SyntheticProject(final Path sourcePath, final Path classPath, final int classCount) {
+        this.sourcePath = sourcePath;
+        this.classPath = classPath;
+        this.classCount = classCount;
+    }
+
+    /**
+     * Returns the directory containing the generated Java sources.
+     */
+    public Path getSourcePath() {
+        return sourcePath;
+    }
+
+    /**
+     * Returns the directory or jar file containing the compiled classes.
+     */
+    public Path getClassPath() {
+        return classPath;
+    }
+
+    public int getClassCount() {
+        return classCount;
+    }
+
+    public static Builder withResources(final int resources) {
+        if (resources < 1)
+            throw new IllegalArgumentException("At least one resource is required");
+        return new Builder(resources, 0);
+    }
+
+    /**
+     * Creates a project with approximately the given number of classes; the number of resources is derived from the shape.
+     */
+    public static Builder withClasses(final int classes) {
+        if (classes < 1)
+            throw new IllegalArgumentException("At least one class is required");
+        return new Builder(0, classes);
+    }
+
+    /**
+     * The packaging of the compiled classes.
+     */
+    public enum Packaging {
+        DIRECTORY, JAR
+    }
+
+    /**
+     * Configures the shape of the generated project.
+     */
+    public static class Builder {
+
+        private final int targetResources;
+        private final int targetClasses;
+        private String basePackage = BASE_PACKAGE;
+        private int locatorDepth = 1;
+        private int callChainDepth = 1;
+        private int dtoDepth = 1;
+        private int dtoWidth = 3;
+        private boolean recursiveDtos;
+        private boolean javaDoc;
+        private Packaging packaging = Packaging.DIRECTORY;
+
+        private Builder(final int targetResources, final int targetClasses) {
+            this.targetResources = targetResources;
+            this.targetClasses = targetClasses;
+        }
+
+        /**
+         * Sets the package of the generated classes. Every analysis loads the project classes with its own class loader,
+         * but projects whose classes are loaded by the tests themselves in the same JVM need distinct packages.
+         */
+        public Builder andBasePackage(final String basePackage) {
+            this.basePackage = basePackage;
+            return this;
+        }
+
+        /**
+         * Sets the number of nested sub-resource locators per resource.
+         */
+        public Builder andLocatorDepth(final int locatorDepth) {
+            if (locatorDepth < 0)
+                throw new IllegalArgumentException("The locator depth must not be negative");
+            this.locatorDepth = locatorDepth;
+            return this;
+        }
+
+        /**
+         * Sets the number of helper classes which are invoked by a resource method one after another.
+         */
+        public Builder andCallChainDepth(final int callChainDepth) {
+            if (callChainDepth < 1)
+                throw new IllegalArgumentException("At least one helper class is required");
+            this.callChainDepth = callChainDepth;
+            return this;
+        }
+
+        /**
+         * Sets the number of nested DTO classes per resource.
+         */
+        public Builder andDtoDepth(final int dtoDepth) {
+            if (dtoDepth < 1)
+                throw new IllegalArgumentException("At least one DTO class is required");
+            this.dtoDepth = dtoDepth;
+            return this;
+        }
+
+        /**
+         * Sets the number of simple properties per DTO class.
+         */
+        public Builder andDtoWidth(final int dtoWidth) {
+            if (dtoWidth < 0)
+                throw new IllegalArgumentException("The DTO width must not be negative");
+            this.dtoWidth = dtoWidth;
+            return this;
+        }
+
+        /**
+         * Lets the innermost DTO class of every resource refer to the outermost one.
+         */
+        public Builder andRecursiveDtos() {
+            recursiveDtos = true;
+            return this;
+        }
+
+        /**
+         * Adds JavaDoc comments to the generated classes, methods and fields.
+         */
+        public Builder andJavaDoc() {
+            javaDoc = true;
+            return this;
+        }
+
+        public Builder andPackaging(final Packaging packaging) {
+            this.packaging = packaging;
+            return this;
+        }
+
+        /**
+         * Returns the number of classes which are generated per resource.
+         */
+        public int getClassesPerResource() {
+            return 1 + locatorDepth + callChainDepth + dtoDepth;
+        }
+
+        /**
+         * Generates and compiles the project in the given directory.
+         *
+         * @param directory The directory where the sources and classes are placed
+         * @return The generated project
+         */
+        public SyntheticProject generate(final Path directory) throws IOException {
+            final int resources = targetClasses > 0 ? Math.max(1, targetClasses / getClassesPerResource()) : targetResources;
+            final Path sourcePath = Files.createDirectories(directory.resolve("sources"));
+            final Path classesPath = Files.createDirectories(directory.resolve("classes"));
+
+            final JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+            try (final StandardJavaFileManager fileManager = compiler.getStandardFileManager(null, null, StandardCharsets.UTF_8)) {
+                final List<String> options = Arrays.asList("-g", "-nowarn", "-encoding", "UTF-8",
+                        "-classpath", System.getProperty("java.class.path"), "-d", classesPath.toString());
+
+                // the resources don't refer to each other, therefore they are compiled in batches to bound the compiler's memory
+                for (int start = 0; start < resources; start += RESOURCES_PER_COMPILATION) {
+                    final List<File> files = new ArrayList<>();
+                    for (int resource = start; resource < Math.min(resources, start + RESOURCES_PER_COMPILATION); resource++)
+                        files.addAll(writeSources(sourcePath, resource));
+
+                    final Iterable<? extends JavaFileObject> compilationUnits = fileManager.getJavaFileObjectsFromFiles(files);
+                    if (!compiler.getTask(null, fileManager, null, options, null, compilationUnits).call())
+                        throw new IllegalStateException("Could not compile the synthetic project");
+                }
+            }
+
+            final Path classPath = packaging == Packaging.JAR ? createJar(classesPath, directory.resolve("synthetic.jar")) : classesPath;
+            return new SyntheticProject(sourcePath, classPath, resources * getClassesPerResource());
+        }
+
+        private List<File> writeSources(final Path sourcePath, final int resource) throws IOException {
+            final String packageName = basePackage + ".p" + resource / RESOURCES_PER_PACKAGE;
+            final Path packageDirectory = Files.createDirectories(sourcePath.resolve(packageName.replace('.', File.separatorChar)));
+
+            final List<File> files = new ArrayList<>();
+            files.add(write(packageDirectory, "Resource" + resource, resourceSource(packageName, resource)));
+            for (int link = 0; link < callChainDepth; link++)
+                files.add(write(packageDirectory, "Chain" + resource + '_' + link, chainSource(packageName, resource, link)));
+            for (int level = 1; level <= locatorDepth; level++)
+                files.add(write(packageDirectory, "Sub" + resource + '_' + level, subResourceSource(packageName, resource, level)));
+            for (int level = 0; level < dtoDepth; level++)
+                files.add(write(packageDirectory, "Dto" + resource + '_' + level, dtoSource(packageName, resource, level)));
+            return files;
+        }
+
+        private static File write(final Path directory, final String className, final String source) throws IOException {
+            return Files.write(directory.resolve(className + ".java"), source.getBytes(StandardCharsets.UTF_8)).toFile();
+        }
+
+        private String resourceSource(final String packageName, final int resource) {
+            final String dto = "Dto" + resource + "_0";
+            final SourceBuilder source = new SourceBuilder(packageName, "javax.ws.rs.*", "javax.ws.rs.core.MediaType", "javax.ws.rs.core.Response", "java.net.URI", "java.util.List");
+
+            source.javaDoc("Manages the entities of resource " + resource + '.')
+                    .line("@Path(\"resources" + resource + "\")")
+                    .line("@Produces(MediaType.APPLICATION_JSON)")
+                    .line("@Consumes(MediaType.APPLICATION_JSON)")
+                    .line("public class Resource" + resource + " {")
+                    .line()
+                    .line("    private final Chain" + resource + "_0 chain = new Chain" + resource + "_0();")
+                    .line()
+                    .javaDoc("Returns all entities.")
+                    .line("    @GET")
+                    .line("    public List<" + dto + "> getAll() {")
+                    .line("        return chain.findAll();")
+                    .line("    }")
+                    .line()
+                    .javaDoc("Returns the entity with the given id.", "@param id The id of the entity")
+                    .line("    @GET")
+                    .line("    @Path(\"{id}\")")
+                    .line("    public Response get(@PathParam(\"id\") long id) {")
+                    .line("        final " + dto + " dto = chain.find(id);")
+                    .line("        if (dto == null)")
+                    .line("            return Response.status(Response.Status.NOT_FOUND).build();")
+                    .line("        return Response.ok(dto).build();")
+                    .line("    }")
+                    .line()
+                    .javaDoc("Creates a new entity.", "@param dto The new entity")
+                    .line("    @POST")
+                    .line("    public Response create(" + dto + " dto) {")
+                    .line("        chain.store(dto);")
+                    .line("        return Response.created(URI.create(\"resources" + resource + "/\" + dto.getId())).build();")
+                    .line("    }")
+                    .line()
+                    .javaDoc("Deletes the entity with the given id.", "@param id The id of the entity")
+                    .line("    @DELETE")
+                    .line("    @Path(\"{id}\")")
+                    .line("    public void delete(@PathParam(\"id\") long id) {")
+                    .line("        chain.remove(id);")
+                    .line("    }")
+                    .line();
+
+            if (locatorDepth > 0)
+                locator(source, resource, 1);
+
+            return source.line("}").toString();
+        }
+
+        private String subResourceSource(final String packageName, final int resource, final int level) {
+            final String className = "Sub" + resource + '_' + level;
+            final SourceBuilder source = new SourceBuilder(packageName, "javax.ws.rs.*", "javax.ws.rs.core.MediaType");
+
+            source.javaDoc("The sub-resource of resource " + resource + " at level " + level + '.')
+                    .line("@Produces(MediaType.APPLICATION_JSON)")
+                    .line("public class " + className + " {")
+                    .line()
+                    .javaDoc("Returns the entity of this level.")
+                    .line("    @GET")
+                    .line("    public Dto" + resource + "_0 get() {")
+                    .line("        return new Chain" + resource + "_0().find(" + level + "L);")
+                    .line("    }")
+                    .line();
+
+            if (level < locatorDepth)
+                locator(source, resource, level + 1);
+
+            return source.line("}").toString();
+        }
+
+        private void locator(final SourceBuilder source, final int resource, final int level) {
+            source.javaDoc("Locates the sub-resource at level " + level + '.')
+                    .line("    @Path(\"sub" + level + "\")")
+                    .line("    public Sub" + resource + '_' + level + " sub() {")
+                    .line("        return new Sub" + resource + '_' + level + "();")
+                    .line("    }")
+                    .line();
+        }
+
+        private String chainSource(final String packageName, final int resource, final int link) {
+            final String dto = "Dto" + resource + "_0";
+            final boolean last = link == callChainDepth - 1;
+            final SourceBuilder source = new SourceBuilder(packageName, "java.util.*", "java.util.concurrent.ConcurrentHashMap");
+
+            source.javaDoc("The helper number " + link + " of resource " + resource + '.')
+                    .line("public class Chain" + resource + '_' + link + " {")
+                    .line();
+
+            if (last) {
+                source.line("    private final Map<Long, " + dto + "> entities = new ConcurrentHashMap<>();")
+                        .line()
+                        .line("    public List<" + dto + "> findAll() {")
+                        .line("        return new ArrayList<>(entities.values());")
+                        .line("    }")
+                        .line()
+                        .line("    public " + dto + " find(long id) {")
+                        .line("        return entities.get(id);")
+                        .line("    }")
+                        .line()
+                        .line("    public void store(" + dto + " dto) {")
+                        .line("        entities.put(dto.getId(), dto);")
+                        .line("    }")
+                        .line()
+                        .line("    public void remove(long id) {")
+                        .line("        entities.remove(id);")
+                        .line("    }")
+                        .line();
+            } else {
+                final String next = "Chain" + resource + '_' + (link + 1);
+                source.line("    private final " + next + " next = new " + next + "();")
+                        .line()
+                        .line("    public List<" + dto + "> findAll() {")
+                        .line("        return next.findAll();")
+                        .line("    }")
+                        .line()
+                        .line("    public " + dto + " find(long id) {")
+                        .line("        return next.find(id);")
+                        .line("    }")
+                        .line()
+                        .line("    public void store(" + dto + " dto) {")
+                        .line("        next.store(dto);")
+                        .line("    }")
+                        .line()
+                        .line("    public void remove(long id) {")
+                        .line("        next.remove(id);")
+                        .line("    }")
+                        .line();
+            }
+
+            return source.line("}").toString();
+        }
+
+        private String dtoSource(final String packageName, final int resource, final int level) {
+            final String className = "Dto" + resource + '_' + level;
+            final SourceBuilder source = new SourceBuilder(packageName, "java.util.List");
+
+            final List<String[]> properties = new ArrayList<>();
+            if (level == 0)
+                properties.add(new String[]{"long", "id"});
+            for (int property = 0; property < dtoWidth; property++)
+                properties.add(new String[]{PROPERTY_TYPES[property % PROPERTY_TYPES.length], "property" + property});
+            if (level < dtoDepth - 1) {
+                final String child = "Dto" + resource + '_' + (level + 1);
+                properties.add(new String[]{child, "child"});
+                properties.add(new String[]{"List<" + child + ">", "children"});
+            } else if (recursiveDtos) {
+                properties.add(new String[]{"Dto" + resource + "_0", "root"});
+            }
+
+            source.javaDoc("The entity of resource " + resource + " at level " + level + '.')
+                    .line("public class " + className + " {")
+                    .line();
+            for (final String[] property : properties)
+                source.javaDoc("The " + property[1] + '.')
+                        .line("    private " + property[0] + ' ' + property[1] + ';')
+                        .line();
+
+            for (final String[] property : properties) {
+                final String capitalized = Character.toUpperCase(property[1].charAt(0)) + property[1].substring(1);
+                source.line("    public " + property[0] + " get" + capitalized + "() {")
+                        .line("        return " + property[1] + ';')
+                        .line("    }")
+                        .line()
+                        .line("    public void set" + capitalized + '(' + property[0] + ' ' + property[1] + ") {")
+                        .line("        this." + property[1] + " = " + property[1] + ';')
+                        .line("    }")
+                        .line();
+            }
+
+            return source.line("}").toString();
+        }
+
+        private static Path createJar(final Path classesPath, final Path jarFile) throws IOException {
+            final List<Path> classFiles;
+            try (final Stream<Path> files = Files.walk(classesPath)) {
+                classFiles = files.filter(Files::isRegularFile).sorted().collect(Collectors.toList());
+            }
+
+            try (final JarOutputStream jar = new JarOutputStream(Files.newOutputStream(jarFile))) {
+                for (final Path classFile : classFiles) {
+                    jar.putNextEntry(new JarEntry(classesPath.relativize(classFile).toString().replace(File.separatorChar, '/')));
+                    Files.copy(classFile, jar);
+                    jar.closeEntry();
+                }
+            }
+            return jarFile;
+        }
+
+        /**
+         * Assembles a single source file; JavaDoc comments are only written if enabled.
+         */
+        private class SourceBuilder {
+
+            private final StringBuilder builder = new StringBuilder();
+            private String indentation = "";
+
+            SourceBuilder(final String packageName, final String... imports) {
+                line("package " + packageName + ';').line();
+                for (final String importName : imports)
+                    line("import " + importName + ';');
+                line();
+            }
+
+            SourceBuilder line() {
+                builder.append('\n');
+                return this;
+            }
+
+            SourceBuilder line(final String line) {
+                builder.append(line).append('\n');
+                indentation = line.startsWith("public class") ? "    " : indentation;
+                return this;
+            }
+
+            SourceBuilder javaDoc(final String description, final String... tags) {
+                if (!javaDoc)
+                    return this;
+                builder.append(indentation).append("/**\n")
+                        .append(indentation).append(" * ").append(description).append('\n');
+                if (tags.length > 0)
+                    builder.append(indentation).append(" *\n");
+                for (final String tag : tags)
+                    builder.append(indentation).append(" * ").append(tag).append('\n');
+                builder.append(indentation).append(" */\n");
+                return this;
+            }
+
+            @Override
+            public String toString() {
+                return builder.toString();
+            }
+
+        }
+
+    }
+
+}
@@ -0,0 +1,87 @@
+package com.sebastian_daschner.jaxrs_analyzer;
+
+import com.sebastian_daschner.jaxrs_analyzer.analysis.ProjectAnalyzer;
+import com.sebastian_daschner.jaxrs_analyzer.model.rest.*;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static java.util.Collections.emptySet;
+import static java.util.Collections.singleton;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class SyntheticProjectTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testDirectory() throws IOException {
+        final SyntheticProject project = SyntheticProject.withResources(2)
+                .andBasePackage("com.sebastian_daschner.synthetic_directory")
+                .generate(folder.getRoot().toPath());
+
+        assertEquals(8, project.getClassCount());
+        assertTrue(project.getClassPath().toFile().isDirectory());
+
+        final Resources resources = analyze(project);
+        assertEquals(new HashSet<>(Arrays.asList("resources0", "resources0/{id}", "resources0/sub1",
+                "resources1", "resources1/{id}", "resources1/sub1")), resources.getResources());
+        assertEquals(2, resources.getMethods("resources0").size());
+        assertEquals(2, resources.getMethods("resources0/{id}").size());
+    }
+
+    @Test
+    public void testShape() throws IOException {
+        final SyntheticProject project = SyntheticProject.withResources(1)
+                .andBasePackage("com.sebastian_daschner.synthetic_shape")
+                .andLocatorDepth(2)
+                .andCallChainDepth(3)
+                .andDtoDepth(2)
+                .andDtoWidth(5)
+                .andRecursiveDtos()
+                .andJavaDoc()
+                .andPackaging(SyntheticProject.Packaging.JAR)
+                .generate(folder.getRoot().toPath());
+
+        assertEquals(8, project.getClassCount());
+        assertTrue(project.getClassPath().toString().endsWith(".jar"));
+
+        final Resources resources = analyze(project);
+        assertEquals(new HashSet<>(Arrays.asList("resources0", "resources0/{id}", "resources0/sub1", "resources0/sub1/sub2")),
+                resources.getResources());
+
+        final ResourceMethod getAll = resources.getMethods("resources0").stream().filter(m -> m.getMethod() == HttpMethod.GET).findAny().get();
+        assertEquals("Returns all entities.", getAll.getDescription());
+
+        final ResourceMethod create = resources.getMethods("resources0").stream().filter(m -> m.getMethod() == HttpMethod.POST).findAny().get();
+        assertEquals(singleton(201), create.getResponses().keySet());
+
+        final TypeIdentifier dto = TypeIdentifier.ofType("Lcom/sebastian_daschner/synthetic_shape/p0/Dto0_0;");
+        final TypeIdentifier nestedDto = TypeIdentifier.ofType("Lcom/sebastian_daschner/synthetic_shape/p0/Dto0_1;");
+        assertEquals(dto, create.getRequestBody());
+        assertEquals(8, ((TypeRepresentation.ConcreteTypeRepresentation) resources.getTypeRepresentations().get(dto)).getProperties().size());
+        assertEquals(dto, ((TypeRepresentation.ConcreteTypeRepresentation) resources.getTypeRepresentations().get(nestedDto)).getProperties().get("root"));
+    }
+
+    private static Resources analyze(final SyntheticProject project) {
+        final Set<Path> classPaths = Stream.of(System.getProperty("java.class.path").split(File.pathSeparator))
+                .map(Paths::get)
+                .collect(Collectors.toSet());
+        classPaths.add(project.getClassPath());
+
+        return new ProjectAnalyzer(classPaths).analyze(singleton(project.getClassPath()), singleton(project.getSourcePath()), emptySet());
+    }
+
+}
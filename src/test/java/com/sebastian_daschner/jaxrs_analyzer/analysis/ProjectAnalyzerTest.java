@@ -17,6 +17,7 @@
 package com.sebastian_daschner.jaxrs_analyzer.analysis;
 
 import com.sebastian_daschner.jaxrs_analyzer.LogProvider;
+import com.sebastian_daschner.jaxrs_analyzer.analysis.results.ResultInterpreter;
 import com.sebastian_daschner.jaxrs_analyzer.builder.ResourceMethodBuilder;
 import com.sebastian_daschner.jaxrs_analyzer.builder.ResponseBuilder;
 import com.sebastian_daschner.jaxrs_analyzer.model.Types;
@@ -28,7 +29,10 @@ import javax.tools.JavaCompiler;
 import javax.tools.JavaFileObject;
 import javax.tools.StandardJavaFileManager;
 import javax.tools.ToolProvider;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.File;
+import java.io.IOException;
 import java.net.MalformedURLException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
@@ -43,6 +47,7 @@ import static org.junit.Assert.*;
 public class ProjectAnalyzerTest {
 
     private ProjectAnalyzer classUnderTest;
+    private Set<Path> classPaths;
     private Path path;
     private String ignoredRootResource = "com.sebastian_daschner.jaxrs_test.IgnoredTestResources";
 
@@ -62,7 +67,7 @@ public class ProjectAnalyzerTest {
 
         path = Paths.get(testClassPath).toAbsolutePath();
 
-        final Set<Path> classPaths = Stream.of(System.getProperty("java.class.path").split(File.pathSeparator))
+        classPaths = Stream.of(System.getProperty("java.class.path").split(File.pathSeparator))
                 .map(Paths::get)
                 .collect(Collectors.toSet());
 
@@ -85,6 +90,44 @@ public class ProjectAnalyzerTest {
         assertEquals(expectedResources.getTypeRepresentations().size(), actualResources.getTypeRepresentations().size());
     }
 
+    @Test
+    public void testOptions() {
+        final ProjectAnalyzer.Options options = new ProjectAnalyzer.Options();
+        options.setParallelInterpretation(true);
+        options.setControlFlowSimulation(true);
+
+        final Resources actualResources = new ProjectAnalyzer(classPaths, options).analyze(singleton(path), singleton(path), singleton(ignoredRootResource));
+        final Resources expectedResources = getResources();
+
+        assertEquals(expectedResources.getBasePath(), actualResources.getBasePath());
+        assertEquals(expectedResources.getResources(), actualResources.getResources());
+        assertResourceEquals(expectedResources, actualResources);
+    }
+
+    @Test
+    public void testShards() throws IOException {
+        final List<Resources> partialResources = new ArrayList<>();
+        for (int shard = 0; shard < 2; shard++) {
+            final ProjectAnalyzer projectAnalyzer = new ProjectAnalyzer(classPaths);
+            projectAnalyzer.setShard(shard, 2);
+            final Resources shardResources = projectAnalyzer.analyze(singleton(path), singleton(path), singleton(ignoredRootResource));
+            assertFalse(shardResources.isEmpty());
+
+            // the partial results of the worker processes are transferred as snapshots
+            final ByteArrayOutputStream output = new ByteArrayOutputStream();
+            ResourcesSnapshot.write(shardResources, output);
+            partialResources.add(ResourcesSnapshot.read(new ByteArrayInputStream(output.toByteArray())));
+        }
+
+        final Resources actualResources = new ResultInterpreter().merge(partialResources);
+        final Resources expectedResources = getResources();
+
+        assertEquals(expectedResources.getBasePath(), actualResources.getBasePath());
+        assertEquals(expectedResources.getResources(), actualResources.getResources());
+        assertResourceEquals(expectedResources, actualResources);
+        assertEquals(expectedResources.getTypeRepresentations().size(), actualResources.getTypeRepresentations().size());
+    }
+
     private static void assertResourceEquals(final Resources expectedResources, final Resources actualResources) {
         actualResources.getResources().forEach(r -> {
             final Set<ResourceMethod> expectedMethods = expectedResources.getMethods(r);
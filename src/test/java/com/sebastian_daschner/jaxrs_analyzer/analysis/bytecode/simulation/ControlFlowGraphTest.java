@@ -0,0 +1,102 @@
+package com.sebastian_daschner.jaxrs_analyzer.analysis.bytecode.simulation;
+
+import com.sebastian_daschner.jaxrs_analyzer.analysis.bytecode.reduction.RelevantInstructionReducer;
+import com.sebastian_daschner.jaxrs_analyzer.analysis.classes.ContextClassReader;
+import com.sebastian_daschner.jaxrs_analyzer.analysis.classes.ProjectMethodClassVisitor;
+import com.sebastian_daschner.jaxrs_analyzer.model.elements.Element;
+import com.sebastian_daschner.jaxrs_analyzer.model.instructions.Instruction;
+import com.sebastian_daschner.jaxrs_analyzer.model.results.MethodResult;
+import org.junit.Test;
+import org.objectweb.asm.ClassReader;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+
+import static com.sebastian_daschner.jaxrs_analyzer.model.methods.MethodIdentifier.of;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class ControlFlowGraphTest {
+
+    private static final String TEST_CLASS = "com/sebastian_daschner/jaxrs_analyzer/analysis/bytecode/simulation/ControlFlowGraphTest$TestClass";
+
+    @Test
+    public void testBranches() throws IOException {
+        final MethodResult methodResult = collect("branches");
+        final List<Instruction> relevantInstructions = new RelevantInstructionReducer().reduceInstructions(methodResult.getInstructions());
+        final ControlFlowGraph graph = ControlFlowGraph.build(methodResult.getInstructions(), methodResult.getBranches(), relevantInstructions);
+
+        assertTrue(graph.getBlocks().size() >= 4);
+        assertTrue(graph.getBlocks().stream().anyMatch(b -> b.getSuccessors().size() == 2));
+
+        // the overwritten initial value does not reach the return
+        final Element element = new MethodSimulator().simulate(graph);
+        assertEquals(new HashSet<>(Arrays.asList("b", "c")), element.getPossibleValues());
+    }
+
+    @Test
+    public void testLoop() throws IOException {
+        final MethodResult methodResult = collect("loop");
+        final List<Instruction> relevantInstructions = new RelevantInstructionReducer().reduceInstructions(methodResult.getInstructions());
+        final ControlFlowGraph graph = ControlFlowGraph.build(methodResult.getInstructions(), methodResult.getBranches(), relevantInstructions);
+
+        final Element element = new MethodSimulator().simulate(graph);
+        assertTrue(element.getPossibleValues().contains("a"));
+    }
+
+    @Test
+    public void testTryCatch() throws IOException {
+        final MethodResult methodResult = collect("tryCatch");
+        final List<Instruction> relevantInstructions = new RelevantInstructionReducer().reduceInstructions(methodResult.getInstructions());
+        final ControlFlowGraph graph = ControlFlowGraph.build(methodResult.getInstructions(), methodResult.getBranches(), relevantInstructions);
+
+        assertTrue(graph.getBlocks().stream().anyMatch(b -> !b.getExceptionSuccessors().isEmpty()));
+
+        final Element element = new MethodSimulator().simulate(graph);
+        assertEquals(new HashSet<>(Arrays.asList("a", "b")), element.getPossibleValues());
+    }
+
+    private static MethodResult collect(final String method) throws IOException {
+        final MethodResult methodResult = new MethodResult();
+        methodResult.collectBranches();
+        final ProjectMethodClassVisitor visitor = new ProjectMethodClassVisitor(methodResult, of(TEST_CLASS, method, "(Z)Ljava/lang/String;", true));
+        new ContextClassReader(TEST_CLASS).accept(visitor, ClassReader.EXPAND_FRAMES);
+        return methodResult;
+    }
+
+    @SuppressWarnings("unused")
+    private static class TestClass {
+
+        static String branches(final boolean flag) {
+            String value = "a";
+            if (flag)
+                value = "b";
+            else
+                value = "c";
+            return value;
+        }
+
+        static String loop(final boolean flag) {
+            String value = "a";
+            while (flag && value.isEmpty())
+                value = value.trim();
+            return value;
+        }
+
+        static String tryCatch(final boolean flag) {
+            String value;
+            try {
+                value = "a";
+                if (flag)
+                    throw new IllegalStateException();
+            } catch (IllegalStateException e) {
+                value = "b";
+            }
+            return value;
+        }
+
+    }
+
+}
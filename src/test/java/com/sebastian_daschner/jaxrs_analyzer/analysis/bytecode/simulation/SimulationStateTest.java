@@ -0,0 +1,50 @@
+package com.sebastian_daschner.jaxrs_analyzer.analysis.bytecode.simulation;
+
+import com.sebastian_daschner.jaxrs_analyzer.model.Types;
+import com.sebastian_daschner.jaxrs_analyzer.model.elements.Element;
+import org.junit.Test;
+
+import java.util.*;
+
+import static org.junit.Assert.*;
+
+public class SimulationStateTest {
+
+    @Test
+    public void testJoin() {
+        final SimulationState state = state(new Element(Types.STRING, "a"));
+
+        assertTrue(state.join(state(new Element(Types.STRING, "b"))));
+        assertFalse(state.join(state(new Element(Types.STRING, "a"))));
+        assertEquals(new HashSet<>(Arrays.asList("a", "b")), restore(state).getPossibleValues());
+    }
+
+    @Test
+    public void testWiden() {
+        final SimulationState state = state(new Element(Types.STRING, "a"));
+        state.widen();
+
+        assertTrue(restore(state).getPossibleValues().isEmpty());
+
+        // the values of the joined states are unknown, only the types are added
+        assertFalse(state.join(state(new Element(Types.STRING, "b"))));
+        assertTrue(state.join(state(new Element(Types.OBJECT, "c"))));
+
+        final Element element = restore(state);
+        assertTrue(element.getPossibleValues().isEmpty());
+        assertEquals(new HashSet<>(Arrays.asList(Types.STRING, Types.OBJECT)), element.getTypes());
+    }
+
+    private static SimulationState state(final Element element) {
+        return new SimulationState(Collections.singletonMap(1, element), Collections.singletonList(element));
+    }
+
+    private static Element restore(final SimulationState state) {
+        final Map<Integer, Element> localVariables = new HashMap<>();
+        final Stack<Element> runtimeStack = new Stack<>();
+        state.restore(localVariables, runtimeStack);
+        assertEquals(localVariables.get(1), runtimeStack.peek());
+        return localVariables.get(1);
+    }
+
+}
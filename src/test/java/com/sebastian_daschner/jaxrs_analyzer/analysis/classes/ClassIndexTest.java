@@ -0,0 +1,138 @@
+package com.sebastian_daschner.jaxrs_analyzer.analysis.classes;
+
+import com.sebastian_daschner.jaxrs_analyzer.analysis.AnalysisContext;
+import com.sebastian_daschner.jaxrs_analyzer.model.JavaUtils;
+import com.sebastian_daschner.jaxrs_analyzer.model.Types;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.objectweb.asm.Opcodes;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.FileTime;
+import java.util.Arrays;
+import java.util.stream.Stream;
+
+import static java.util.Collections.singletonList;
+import static org.junit.Assert.*;
+
+public class ClassIndexTest {
+
+    private static final Path JAVAEE_API = Stream.of(System.getProperty("java.class.path").split(File.pathSeparator))
+            .filter(p -> p.contains("javaee-api"))
+            .map(Paths::get)
+            .findAny().orElseThrow(IllegalStateException::new);
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void test() throws IOException {
+        final ClassIndex index = ClassIndex.of(JAVAEE_API, folder.getRoot().toPath());
+
+        final ClassIndex.IndexedClass response = index.get("javax/ws/rs/core/Response");
+        assertEquals("javax/ws/rs/core/Response", response.getName());
+        assertEquals(Types.CLASS_OBJECT, response.getSuperName());
+        assertTrue((response.getAccess() & Opcodes.ACC_ABSTRACT) != 0);
+        assertTrue(response.getMethods().stream().anyMatch(m -> m.getName().equals("ok") && m.getDescriptor().equals("(Ljava/lang/Object;)Ljavax/ws/rs/core/Response$ResponseBuilder;")));
+
+        final ClassIndex.IndexedClass notFound = index.get("javax/ws/rs/NotFoundException");
+        assertEquals("javax/ws/rs/ClientErrorException", notFound.getSuperName());
+
+        final ClassIndex.IndexedClass genericEntity = index.get("javax/ws/rs/core/GenericEntity");
+        assertTrue(genericEntity.getSignature().startsWith("<T:Ljava/lang/Object;>"));
+
+        final ClassIndex.IndexedClass path = index.get("javax/ws/rs/Path");
+        assertEquals(singletonList("java/lang/annotation/Annotation"), path.getInterfaces());
+        assertTrue(path.getAnnotations().contains("Ljava/lang/annotation/Retention;"));
+
+        assertNull(index.get("javax/ws/rs/Unknown"));
+    }
+
+    @Test
+    public void testCache() throws IOException {
+        final Path cacheDirectory = folder.getRoot().toPath();
+        final ClassIndex built = ClassIndex.of(JAVAEE_API, cacheDirectory);
+
+        final Path[] indexFiles;
+        try (final Stream<Path> files = Files.list(cacheDirectory)) {
+            indexFiles = files.toArray(Path[]::new);
+        }
+        assertEquals(1, indexFiles.length);
+        assertTrue(indexFiles[0].getFileName().toString().endsWith(".idx"));
+
+        final ClassIndex cached = ClassIndex.of(JAVAEE_API, cacheDirectory);
+        assertEquals(built.size(), cached.size());
+        assertEquals(built.get("javax/ws/rs/core/Response").getMethods().size(), cached.get("javax/ws/rs/core/Response").getMethods().size());
+    }
+
+    @Test
+    public void testCorruptedCache() throws IOException {
+        final Path cacheDirectory = folder.getRoot().toPath();
+        final int size = ClassIndex.of(JAVAEE_API, cacheDirectory).size();
+
+        try (final Stream<Path> files = Files.list(cacheDirectory)) {
+            final Path indexFile = files.findAny().get();
+            Files.write(indexFile, new byte[]{1, 2, 3});
+        }
+
+        assertEquals(size, ClassIndex.of(JAVAEE_API, cacheDirectory).size());
+    }
+
+    @Test
+    public void testTruncatedCache() throws IOException {
+        final Path cacheDirectory = folder.getRoot().toPath();
+        final ClassIndex.IndexedClass response = ClassIndex.of(JAVAEE_API, cacheDirectory).get("javax/ws/rs/core/Response");
+
+        try (final Stream<Path> files = Files.list(cacheDirectory)) {
+            final Path indexFile = files.findAny().get();
+            final byte[] index = Files.readAllBytes(indexFile);
+            Files.write(indexFile, Arrays.copyOf(index, index.length / 2));
+        }
+
+        final ClassIndex rebuilt = ClassIndex.of(JAVAEE_API, cacheDirectory);
+        assertEquals(response.getMethods().size(), rebuilt.get("javax/ws/rs/core/Response").getMethods().size());
+    }
+
+    @Test
+    public void testOutdatedCache() throws IOException {
+        final Path cacheDirectory = folder.newFolder("cache").toPath();
+        final Path jar = folder.getRoot().toPath().resolve("dependency.jar");
+        Files.copy(JAVAEE_API, jar);
+
+        final ClassIndex built = ClassIndex.of(jar, cacheDirectory);
+        assertEquals(64, built.getChecksum().length());
+
+        Files.setLastModifiedTime(jar, FileTime.fromMillis(Files.getLastModifiedTime(jar).toMillis() - 60_000));
+        final ClassIndex rebuilt = ClassIndex.of(jar, cacheDirectory);
+        assertNotSame(built, rebuilt);
+        assertEquals(built.getChecksum(), rebuilt.getChecksum());
+
+        try (final Stream<Path> files = Files.list(cacheDirectory)) {
+            assertEquals(1, files.count());
+        }
+    }
+
+    @Test
+    public void testAssignable() throws IOException {
+        final AnalysisContext context = new AnalysisContext();
+        context.getClassPool().addIndexedClassPath(JAVAEE_API, folder.getRoot().toPath());
+
+        context.call(() -> {
+            assertNotNull(ContextClassReader.getIndexedClass("javax/ws/rs/NotFoundException"));
+            assertTrue(JavaUtils.isAssignableTo("Ljavax/ws/rs/NotFoundException;", "Ljavax/ws/rs/WebApplicationException;"));
+            assertTrue(JavaUtils.isAssignableTo("Ljavax/ws/rs/NotFoundException;", "Ljava/lang/RuntimeException;"));
+            assertTrue(JavaUtils.isAssignableTo("Ljavax/ws/rs/NotFoundException;", Types.OBJECT));
+            assertFalse(JavaUtils.isAssignableTo("Ljavax/ws/rs/NotFoundException;", "Ljavax/ws/rs/ServerErrorException;"));
+            assertFalse(JavaUtils.isAssignableTo("Ljavax/ws/rs/NotFoundException;", Types.COLLECTION));
+            assertTrue(JavaUtils.isAssignableTo("Ljavax/ws/rs/core/MultivaluedHashMap;", "Ljava/util/Map;"));
+            assertEquals(Types.STRING, JavaUtils.getReturnType("()TT;", "Ljavax/ws/rs/core/GenericEntity<Ljava/lang/String;>;"));
+            return null;
+        });
+    }
+
+}
@@ -40,6 +40,7 @@ import java.util.Set;
 
 import static com.sebastian_daschner.jaxrs_analyzer.analysis.utils.TestClassUtils.getClasses;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 
 @RunWith(Parameterized.class)
 public class ResourceMethodContentAnalyzerTest {
@@ -103,9 +104,11 @@ public class ResourceMethodContentAnalyzerTest {
             classReader.accept(visitor, ClassReader.EXPAND_FRAMES);
             new BytecodeAnalyzer().analyzeBytecode(classResult);
 
-            final Set<HttpResponse> actualResult = classResult.getMethods().iterator().next().getResponses();
+            final MethodResult methodResult = classResult.getMethods().iterator().next();
+            final Set<HttpResponse> actualResult = methodResult.getResponses();
 
             assertEquals(testClassName, expectedResult, actualResult);
+            assertTrue("instructions have not been released", methodResult.getInstructions().isEmpty());
         } catch (Exception e) {
             System.err.println("exception in " + testClassName);
             throw e;
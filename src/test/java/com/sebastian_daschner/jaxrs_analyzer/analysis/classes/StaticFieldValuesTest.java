@@ -0,0 +1,81 @@
+package com.sebastian_daschner.jaxrs_analyzer.analysis.classes;
+
+import org.junit.Test;
+
+import javax.json.Json;
+import javax.json.JsonObject;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Response;
+
+import static org.junit.Assert.*;
+
+public class StaticFieldValuesTest {
+
+    private static final String CONSTANTS = "com/sebastian_daschner/jaxrs_analyzer/analysis/classes/StaticFieldValuesTest$Constants";
+
+    static boolean initialized;
+
+    @Test
+    public void test() {
+        final StaticFieldValues values = new StaticFieldValues();
+
+        assertEquals("constant", values.get(CONSTANTS, "STRING"));
+        assertEquals(true, values.get(CONSTANTS, "BOOLEAN"));
+        assertEquals(404, values.get(CONSTANTS, "BOXED"));
+        assertEquals(2L, values.get(CONSTANTS, "BOXED_LONG"));
+        assertEquals("path", values.get(CONSTANTS, "path"));
+        assertEquals(Response.Status.NOT_FOUND, values.get(CONSTANTS, "STATUS"));
+        assertEquals(MediaType.APPLICATION_JSON_TYPE, values.get(CONSTANTS, "MEDIA_TYPE"));
+        assertEquals(404, values.get(CONSTANTS, "ALIAS"));
+
+        assertNull(values.get(CONSTANTS, "CONDITIONAL"));
+        assertNull(values.get(CONSTANTS, "CONDITIONALLY_ASSIGNED"));
+        assertNull(values.get(CONSTANTS, "VALUE_OF"));
+        assertNull(values.get(CONSTANTS, "reassigned"));
+        assertNull(values.get(CONSTANTS, "INSTANCE"));
+        assertNull(values.get(CONSTANTS, "unknown"));
+        assertNull(values.get("com/sebastian_daschner/Unknown", "unknown"));
+
+        assertFalse("The static initializer must not be executed", initialized);
+    }
+
+    @Test
+    public void testComputedObject() {
+        // computed values of project classes are not resolved, as the static initializers are not executed
+        assertNull(new StaticFieldValues().get(CONSTANTS, "TEMPLATE"));
+        assertFalse("The static initializer must not be executed", initialized);
+    }
+
+    @SuppressWarnings("unused")
+    private static class Constants {
+        static final String STRING = "constant";
+        static final boolean BOOLEAN = true;
+        static final Integer BOXED = 404;
+        static final Long BOXED_LONG = 2L;
+        static final Response.Status STATUS = Response.Status.NOT_FOUND;
+        static final MediaType MEDIA_TYPE = MediaType.APPLICATION_JSON_TYPE;
+        static final Integer ALIAS = BOXED;
+        static final String CONDITIONAL = System.currentTimeMillis() > 0 ? "a" : "b";
+        static final String VALUE_OF = String.valueOf(404);
+        static final JsonObject TEMPLATE = Json.createObjectBuilder().add("key", "value").build();
+        static Integer CONDITIONALLY_ASSIGNED;
+
+        static {
+            if (System.currentTimeMillis() > 0)
+                CONDITIONALLY_ASSIGNED = 1;
+        }
+
+        static final Constants INSTANCE = new Constants();
+        static String path = "path";
+        static String reassigned = "first";
+
+        static {
+            initialized = true;
+        }
+
+        static void reassign() {
+            reassigned = "second";
+        }
+    }
+
+}
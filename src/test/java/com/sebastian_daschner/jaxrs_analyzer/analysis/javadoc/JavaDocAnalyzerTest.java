@@ -0,0 +1,111 @@
+package com.sebastian_daschner.jaxrs_analyzer.analysis.javadoc;
+
+import com.sebastian_daschner.jaxrs_analyzer.builder.ClassResultBuilder;
+import com.sebastian_daschner.jaxrs_analyzer.builder.MethodResultBuilder;
+import com.sebastian_daschner.jaxrs_analyzer.model.methods.MethodIdentifier;
+import com.sebastian_daschner.jaxrs_analyzer.model.rest.HttpMethod;
+import com.sebastian_daschner.jaxrs_analyzer.model.results.ClassResult;
+import com.sebastian_daschner.jaxrs_analyzer.model.results.MethodResult;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static java.util.Collections.singleton;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+public class JavaDocAnalyzerTest {
+
+    private static final String SOURCE_FILE = "com/example/TestResource.java";
+    private static final String SOURCE = "package com.example;\n" +
+            "public class TestResource {\n" +
+            "    /** Returns the greeting. */\n" +
+            "    public String greeting() { return null; }\n" +
+            "    /** Returns the sub resource. */\n" +
+            "    public SubResource sub() { return null; }\n" +
+            "}\n" +
+            "class SubResource {\n" +
+            "    /** Deletes the sub resource. */\n" +
+            "    public void delete() { }\n" +
+            "}\n";
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private JavaDocAnalyzer classUnderTest;
+    private ClassResult classResult;
+    private MethodResult greetingMethod;
+    private MethodResult deleteMethod;
+
+    @Before
+    public void setUp() {
+        classUnderTest = new JavaDocAnalyzer();
+
+        greetingMethod = MethodResultBuilder.newBuilder().andMethod(HttpMethod.GET).build();
+        greetingMethod.setOriginalMethodSignature(MethodIdentifier.ofNonStatic("com/example/TestResource", "greeting", "Ljava/lang/String;"));
+
+        deleteMethod = MethodResultBuilder.newBuilder().andMethod(HttpMethod.DELETE).build();
+        deleteMethod.setOriginalMethodSignature(MethodIdentifier.ofNonStatic("com/example/SubResource", "delete", "V"));
+        final ClassResult subResource = ClassResultBuilder.withResourcePath(null).andMethods(deleteMethod).build();
+        subResource.setOriginalClass("com/example/SubResource");
+
+        final MethodResult locatorMethod = MethodResultBuilder.newBuilder().andPath("sub").build();
+        locatorMethod.setOriginalMethodSignature(MethodIdentifier.ofNonStatic("com/example/TestResource", "sub", "Lcom/example/SubResource;"));
+        locatorMethod.setSubResource(subResource);
+
+        classResult = ClassResultBuilder.withResourcePath("test").andMethods(greetingMethod, locatorMethod).build();
+        classResult.setOriginalClass("com/example/TestResource");
+    }
+
+    @Test
+    public void testSourceDirectory() throws IOException {
+        final Path sourceFile = folder.getRoot().toPath().resolve(SOURCE_FILE);
+        Files.createDirectories(sourceFile.getParent());
+        Files.write(sourceFile, SOURCE.getBytes(StandardCharsets.UTF_8));
+
+        classUnderTest.analyze(singleton(folder.getRoot().toPath()), singleton(classResult));
+
+        assertComments();
+    }
+
+    @Test
+    public void testSourceJar() throws IOException {
+        final File jarFile = folder.newFile("test-sources.jar");
+        try (final ZipOutputStream outputStream = new ZipOutputStream(new FileOutputStream(jarFile))) {
+            outputStream.putNextEntry(new ZipEntry(SOURCE_FILE));
+            outputStream.write(SOURCE.getBytes(StandardCharsets.UTF_8));
+            outputStream.closeEntry();
+        }
+
+        classUnderTest.analyze(singleton(jarFile.toPath()), singleton(classResult));
+
+        assertComments();
+    }
+
+    @Test
+    public void testNoSources() {
+        classUnderTest.analyze(singleton(folder.getRoot().toPath()), singleton(classResult));
+
+        assertNull(greetingMethod.getMethodDoc());
+        assertNull(deleteMethod.getMethodDoc());
+    }
+
+    private void assertComments() {
+        assertNotNull(greetingMethod.getMethodDoc());
+        assertEquals("Returns the greeting.", greetingMethod.getMethodDoc().getComment());
+        assertNotNull(deleteMethod.getMethodDoc());
+        assertEquals("Deletes the sub resource.", deleteMethod.getMethodDoc().getComment());
+    }
+
+}
@@ -161,6 +161,21 @@ public class DynamicTypeAnalyzerTest {
         assertThat(concrete.getProperties().get("hello").getType(), is(Types.STRING));
     }
 
+    @Test
+    public void testDeterministicIdentifiers() {
+        final JsonValue value = Json.createObjectBuilder().add("key", "value").add("array", Json.createArrayBuilder().add(1)).build();
+
+        assertThat(cut.analyze(value), is(TypeIdentifier.ofDynamic(2)));
+        assertThat(cut.analyze(value), is(TypeIdentifier.ofDynamic(2)));
+        assertThat(new DynamicTypeAnalyzer(new HashMap<>()).analyze(value), is(TypeIdentifier.ofDynamic(2)));
+
+        // already contained dynamic types are reused
+        final DynamicTypeAnalyzer other = new DynamicTypeAnalyzer(typeRepresentations);
+        assertThat(other.analyze(value), is(TypeIdentifier.ofDynamic(2)));
+        assertThat(other.analyze(Json.createArrayBuilder().add("string").build()), is(TypeIdentifier.ofDynamic(3)));
+        assertThat(typeRepresentations.size(), is(3));
+    }
+
     private <T extends TypeRepresentation> T getRepresentation(final String firstName) {
         return (T) typeRepresentations.entrySet().stream().filter(e -> e.getKey().getName().equals(firstName)).findAny().get().getValue();
     }
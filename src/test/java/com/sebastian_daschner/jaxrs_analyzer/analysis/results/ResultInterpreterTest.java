@@ -18,6 +18,9 @@ package com.sebastian_daschner.jaxrs_analyzer.analysis.results;
 
 import com.sebastian_daschner.jaxrs_analyzer.builder.*;
 import com.sebastian_daschner.jaxrs_analyzer.model.Types;
+import com.sebastian_daschner.jaxrs_analyzer.model.elements.Element;
+import com.sebastian_daschner.jaxrs_analyzer.model.elements.JsonObject;
+import com.sebastian_daschner.jaxrs_analyzer.model.javadoc.MemberParameterTag;
 import com.sebastian_daschner.jaxrs_analyzer.model.javadoc.MethodComment;
 import com.sebastian_daschner.jaxrs_analyzer.model.rest.*;
 import com.sebastian_daschner.jaxrs_analyzer.model.results.ClassResult;
@@ -34,6 +37,7 @@ import java.util.Set;
 
 import static com.sebastian_daschner.jaxrs_analyzer.analysis.results.TypeUtils.STRING_IDENTIFIER;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
 
 public class ResultInterpreterTest {
 
@@ -307,6 +311,104 @@ public class ResultInterpreterTest {
         assertEquals(expectedResult, actualResult);
     }
 
+    @Test
+    public void testSharedClassFieldDescriptions() {
+        final MethodComment getDoc = new MethodComment("Get description.",
+                Collections.singletonList(new MemberParameterTag("The query.", Collections.singletonMap("QueryParam", "query"))),
+                Collections.emptyMap(), null, false);
+        final MethodComment postDoc = new MethodComment("Post description.");
+
+        final Resources expectedResult = new Resources();
+        expectedResult.setBasePath("path");
+        expectedResult.addMethod("test", ResourceMethodBuilder.withMethod(HttpMethod.GET, "Get description.")
+                .andQueryParam("query", "Ljava/lang/String;", null, "The query.")
+                .andResponse(204, ResponseBuilder.newBuilder().build()).build());
+        expectedResult.addMethod("test", ResourceMethodBuilder.withMethod(HttpMethod.POST, "Post description.")
+                .andQueryParam("query", "Ljava/lang/String;", null)
+                .andResponse(204, ResponseBuilder.newBuilder().build()).build());
+
+        // the parameter of the class field is shared by both methods, the description of one method must not change the other one
+        final ClassResult appPathResult = ClassResultBuilder.withApplicationPath("path/").build();
+        final MethodResult getMethod = MethodResultBuilder.newBuilder().andMethodDoc(getDoc).andMethod(HttpMethod.GET).build();
+        final MethodResult postMethod = MethodResultBuilder.newBuilder().andMethodDoc(postDoc).andMethod(HttpMethod.POST).build();
+        final ClassResult resClassResult = ClassResultBuilder.withResourcePath("test").andQueryParam("query", "Ljava/lang/String;")
+                .andMethods(getMethod, postMethod).build();
+
+        final Set<ClassResult> results = new HashSet<>(Arrays.asList(appPathResult, resClassResult));
+
+        final Resources actualResult = classUnderTest.interpret(results);
+
+        assertEquals(expectedResult, actualResult);
+        assertEquals(expectedResult, new ResultInterpreter(true).interpret(results));
+    }
+
+    @Test
+    public void testParallel() {
+        final Resources expectedResult = new Resources();
+        expectedResult.setBasePath("path");
+        expectedResult.addMethod("test", ResourceMethodBuilder.withMethod(HttpMethod.GET)
+                .andResponse(200, ResponseBuilder.withResponseBody(STRING_IDENTIFIER).build())
+                .build());
+        expectedResult.addMethod("test", ResourceMethodBuilder.withMethod(HttpMethod.POST)
+                .andResponse(204, ResponseBuilder.newBuilder().build()).build());
+        expectedResult.addMethod("other", ResourceMethodBuilder.withMethod(HttpMethod.DELETE)
+                .andResponse(204, ResponseBuilder.newBuilder().build()).build());
+
+        final ClassResult appPathResult = ClassResultBuilder.withApplicationPath("path/").build();
+        final MethodResult getMethod = MethodResultBuilder.withResponses(HttpResponseBuilder.withStatues(200).andEntityTypes(Types.STRING).build())
+                .andMethod(HttpMethod.GET).build();
+        final MethodResult postMethod = MethodResultBuilder.newBuilder().andMethod(HttpMethod.POST).build();
+        final MethodResult deleteMethod = MethodResultBuilder.newBuilder().andMethod(HttpMethod.DELETE).build();
+        final ClassResult firstClassResult = ClassResultBuilder.withResourcePath("test").andMethods(getMethod).build();
+        final ClassResult secondClassResult = ClassResultBuilder.withResourcePath("test").andMethods(postMethod).build();
+        final ClassResult thirdClassResult = ClassResultBuilder.withResourcePath("other").andMethods(deleteMethod).build();
+
+        final Set<ClassResult> results = new HashSet<>(Arrays.asList(appPathResult, firstClassResult, secondClassResult, thirdClassResult));
+
+        final Resources actualResult = new ResultInterpreter(true).interpret(results);
+
+        assertEquals(expectedResult, actualResult);
+    }
+
+    @Test
+    public void testParallelDynamicTypes() {
+        final MethodResult firstMethod = MethodResultBuilder.withResponses(HttpResponseBuilder.withStatues(200).andInlineEntities(jsonObject("key")).build())
+                .andMethod(HttpMethod.GET).build();
+        final MethodResult secondMethod = MethodResultBuilder.withResponses(HttpResponseBuilder.withStatues(200).andInlineEntities(jsonObject("key")).build())
+                .andMethod(HttpMethod.GET).build();
+        final MethodResult thirdMethod = MethodResultBuilder.withResponses(HttpResponseBuilder.withStatues(200).andInlineEntities(jsonObject("another")).build())
+                .andMethod(HttpMethod.GET).build();
+        final ClassResult firstClassResult = ClassResultBuilder.withResourcePath("first").andMethods(firstMethod).build();
+        final ClassResult secondClassResult = ClassResultBuilder.withResourcePath("second").andMethods(secondMethod).build();
+        final ClassResult thirdClassResult = ClassResultBuilder.withResourcePath("third").andMethods(thirdMethod).build();
+
+        final Set<ClassResult> results = new HashSet<>(Arrays.asList(firstClassResult, secondClassResult, thirdClassResult));
+
+        final Resources actualResult = new ResultInterpreter(true).interpret(results);
+
+        final TypeIdentifier firstIdentifier = responseBody(actualResult, "first");
+        final TypeIdentifier secondIdentifier = responseBody(actualResult, "second");
+        final TypeIdentifier thirdIdentifier = responseBody(actualResult, "third");
+
+        assertEquals(2, actualResult.getTypeRepresentations().size());
+        assertEquals(firstIdentifier, secondIdentifier);
+        assertNotEquals(firstIdentifier, thirdIdentifier);
+        assertEquals(Collections.singletonMap("key", STRING_IDENTIFIER),
+                ((TypeRepresentation.ConcreteTypeRepresentation) actualResult.getTypeRepresentations().get(firstIdentifier)).getProperties());
+        assertEquals(Collections.singletonMap("another", STRING_IDENTIFIER),
+                ((TypeRepresentation.ConcreteTypeRepresentation) actualResult.getTypeRepresentations().get(thirdIdentifier)).getProperties());
+    }
+
+    private static JsonObject jsonObject(final String key) {
+        final JsonObject jsonObject = new JsonObject();
+        jsonObject.getStructure().put(key, new Element(Types.STRING, "value"));
+        return jsonObject;
+    }
+
+    private static TypeIdentifier responseBody(final Resources resources, final String path) {
+        return resources.getMethods(path).iterator().next().getResponses().get(200).getResponseBody();
+    }
+
     private interface ConfigurationManager {
         @XmlAccessorType(XmlAccessType.FIELD)
         class Configuration {
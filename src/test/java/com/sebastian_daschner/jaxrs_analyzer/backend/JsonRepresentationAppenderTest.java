@@ -7,9 +7,15 @@ import com.sebastian_daschner.jaxrs_analyzer.model.rest.TypeRepresentationVisito
 import org.junit.Before;
 import org.junit.Test;
 
+import javax.json.Json;
+import javax.json.JsonWriter;
+import javax.json.stream.JsonGenerator;
+import java.io.StringReader;
+import java.io.StringWriter;
 import java.util.HashMap;
 import java.util.Map;
 
+import static java.util.Collections.singletonMap;
 import static org.hamcrest.core.Is.is;
 import static org.junit.Assert.assertThat;
 
@@ -251,6 +257,71 @@ public class JsonRepresentationAppenderTest {
                 "}"));
     }
 
+    @Test
+    public void testVisitPrettified() {
+        final TypeIdentifier firstModelIdentifier = TypeIdentifier.ofType("com.sebastian_daschner.test.first.Model");
+        final TypeIdentifier secondModelIdentifier = TypeIdentifier.ofType("com.sebastian_daschner.test.second.Model");
+        final TypeIdentifier listIdentifier = TypeIdentifier.ofType("java.util.List<com.sebastian_daschner.test.second.Model>");
+
+        Map<String, TypeIdentifier> properties = new HashMap<>();
+        properties.put("world", INT_IDENTIFIER);
+        properties.put("models", listIdentifier);
+        properties.put("strings", STRING_LIST_IDENTIFIER);
+        properties.put("dynamic", TypeIdentifier.ofDynamic());
+        final TypeRepresentation firstModelRepresentation = TypeRepresentation.ofConcrete(firstModelIdentifier, properties);
+        representations.put(firstModelIdentifier, firstModelRepresentation);
+
+        properties = new HashMap<>();
+        properties.put("hello", STRING_IDENTIFIER);
+        properties.put("model", firstModelIdentifier);
+        final TypeRepresentation secondModelRepresentation = TypeRepresentation.ofConcrete(secondModelIdentifier, properties);
+        representations.put(secondModelIdentifier, secondModelRepresentation);
+        representations.put(listIdentifier, TypeRepresentation.ofCollection(listIdentifier, secondModelRepresentation));
+        representations.put(STRING_LIST_IDENTIFIER, TypeRepresentation.ofCollection(STRING_LIST_IDENTIFIER, TypeRepresentation.ofConcrete(STRING_IDENTIFIER)));
+
+        firstModelRepresentation.accept(cut);
+        final String compact = builder.toString();
+
+        clear(builder);
+        firstModelRepresentation.accept(new JsonRepresentationAppender(builder, representations, true));
+        assertThat(builder.toString(), is(prettify(compact)));
+        assertThat(builder.toString(), is("{\n" +
+                "    \"dynamic\": {\n" +
+                "    },\n" +
+                "    \"models\": [\n" +
+                "        {\n" +
+                "            \"hello\": \"string\",\n" +
+                "            \"model\": {\n" +
+                "            }\n" +
+                "        }\n" +
+                "    ],\n" +
+                "    \"strings\": [\n" +
+                "        \"string\"\n" +
+                "    ],\n" +
+                "    \"world\": 0\n" +
+                "}"));
+    }
+
+    @Test
+    public void testVisitPrettifiedPrimitive() {
+        final JsonRepresentationAppender appender = new JsonRepresentationAppender(builder, representations, true);
+
+        TypeRepresentation.ofConcrete(STRING_IDENTIFIER).accept(appender);
+        assertThat(builder.toString(), is("\"string\""));
+
+        clear(builder);
+        TypeRepresentation.ofConcrete(TypeIdentifier.ofDynamic()).accept(appender);
+        assertThat(builder.toString(), is(prettify("{}")));
+    }
+
+    private static String prettify(final String json) {
+        final StringWriter writer = new StringWriter();
+        try (final JsonWriter jsonWriter = Json.createWriterFactory(singletonMap(JsonGenerator.PRETTY_PRINTING, true)).createWriter(writer)) {
+            jsonWriter.write(Json.createReader(new StringReader(json)).read());
+        }
+        return writer.toString().trim();
+    }
+
     private static void clear(final StringBuilder builder) {
         builder.delete(0, builder.length());
     }
@@ -0,0 +1,90 @@
+package com.sebastian_daschner.jaxrs_analyzer.backend;
+
+import com.sebastian_daschner.jaxrs_analyzer.backend.asciidoc.AsciiDocBackend;
+import com.sebastian_daschner.jaxrs_analyzer.backend.markdown.MarkdownBackend;
+import com.sebastian_daschner.jaxrs_analyzer.backend.plaintext.PlainTextBackend;
+import com.sebastian_daschner.jaxrs_analyzer.builder.ResourceMethodBuilder;
+import com.sebastian_daschner.jaxrs_analyzer.builder.ResourcesBuilder;
+import com.sebastian_daschner.jaxrs_analyzer.builder.ResponseBuilder;
+import com.sebastian_daschner.jaxrs_analyzer.model.Types;
+import com.sebastian_daschner.jaxrs_analyzer.model.rest.*;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import static org.junit.Assert.assertArrayEquals;
+
+@RunWith(Parameterized.class)
+public class StringBackendTest {
+
+    private static final int RESOURCES = 50;
+
+    private final Supplier<StringBackend> backendSupplier;
+    private final boolean inlinePrettify;
+
+    public StringBackendTest(final String name, final Supplier<StringBackend> backendSupplier, final boolean inlinePrettify) {
+        this.backendSupplier = backendSupplier;
+        this.inlinePrettify = inlinePrettify;
+    }
+
+    @Test
+    public void testParallel() {
+        final Project project = new Project("project name", "1.0", createResources());
+
+        final byte[] sequentialOutput = render(project, false);
+        final byte[] parallelOutput = render(project, true);
+
+        assertArrayEquals(sequentialOutput, parallelOutput);
+    }
+
+    private byte[] render(final Project project, final boolean parallel) {
+        final StringBackend backend = backendSupplier.get();
+        final Map<String, String> config = new HashMap<>();
+        config.put(StringBackend.INLINE_PRETTIFY, String.valueOf(inlinePrettify));
+        config.put(StringBackend.PARALLEL_RENDERING, String.valueOf(parallel));
+        backend.configure(config);
+        return backend.render(project);
+    }
+
+    /**
+     * Creates resources which share their type representations, therefore the memoized JSON samples are used by concurrently rendered sections.
+     */
+    private static Resources createResources() {
+        final TypeIdentifier identifier = TypeIdentifier.ofDynamic();
+        final Map<String, TypeIdentifier> properties = new HashMap<>();
+        properties.put("key", TypeIdentifier.ofType(Types.STRING));
+        properties.put("another", TypeIdentifier.ofType(Types.PRIMITIVE_INT));
+
+        final ResourcesBuilder builder = ResourcesBuilder.withBase("rest")
+                .andTypeRepresentation(identifier, TypeRepresentation.ofConcrete(identifier, properties));
+        for (int i = 0; i < RESOURCES; i++) {
+            builder.andResource("res" + i, ResourceMethodBuilder.withMethod(HttpMethod.GET, "Resource " + i)
+                    .andResponse(200, ResponseBuilder.withResponseBody(identifier).andHeaders("Location").build()).build());
+            builder.andResource("res" + i + "/{id}", ResourceMethodBuilder.withMethod(HttpMethod.PUT)
+                    .andPathParam("id", Types.STRING).andRequestBodyType(identifier)
+                    .andResponse(204, ResponseBuilder.newBuilder().build()).build());
+        }
+        return builder.build();
+    }
+
+    @Parameterized.Parameters(name = "{0}, inline prettify: {2}")
+    public static Collection<Object[]> data() {
+        final Supplier<StringBackend> plainText = PlainTextBackend::new;
+        final Supplier<StringBackend> asciiDoc = AsciiDocBackend::new;
+        final Supplier<StringBackend> markdown = MarkdownBackend::new;
+        return Arrays.asList(
+                new Object[]{"plaintext", plainText, false},
+                new Object[]{"plaintext", plainText, true},
+                new Object[]{"asciidoc", asciiDoc, false},
+                new Object[]{"asciidoc", asciiDoc, true},
+                new Object[]{"markdown", markdown, false},
+                new Object[]{"markdown", markdown, true});
+    }
+
+}
@@ -114,6 +114,35 @@ public class SchemaBuilderTest {
                 .build()));
     }
 
+    @Test
+    public void testMultipleDefinitionsNameCollisionsUsageOrder() {
+        final TypeIdentifier lockIdentifier = TypeIdentifier.ofType("Ljava/util/concurrent/locks/Lock;");
+        final TypeIdentifier anotherLockIdentifier = TypeIdentifier.ofType("Ljavax/ejb/Lock;");
+        final TypeIdentifier thirdLockIdentifier = TypeIdentifier.ofType("Lcom/sebastian_daschner/test/Lock;");
+
+        final Map<String, TypeIdentifier> lockProperties = new HashMap<>();
+        lockProperties.put("test1", INT_IDENTIFIER);
+
+        representations.put(lockIdentifier, TypeRepresentation.ofConcrete(lockIdentifier, lockProperties));
+        representations.put(anotherLockIdentifier, TypeRepresentation.ofConcrete(anotherLockIdentifier, lockProperties));
+        representations.put(thirdLockIdentifier, TypeRepresentation.ofConcrete(thirdLockIdentifier, lockProperties));
+
+        cut = new SchemaBuilder(representations);
+
+        assertThat(cut.build(anotherLockIdentifier).build(), is(Json.createObjectBuilder().add("$ref", "#/definitions/Lock_3").build()));
+        assertThat(cut.build(lockIdentifier).build(), is(Json.createObjectBuilder().add("$ref", "#/definitions/Lock_2").build()));
+        assertThat(cut.build(thirdLockIdentifier).build(), is(Json.createObjectBuilder().add("$ref", "#/definitions/Lock").build()));
+        assertThat(cut.build(anotherLockIdentifier).build(), is(Json.createObjectBuilder().add("$ref", "#/definitions/Lock_3").build()));
+
+        final JsonObject lockDefinition = Json.createObjectBuilder().add("properties", Json.createObjectBuilder()
+                .add("test1", type("integer"))).build();
+        assertThat(cut.getDefinitions(), is(Json.createObjectBuilder()
+                .add("Lock", lockDefinition)
+                .add("Lock_2", lockDefinition)
+                .add("Lock_3", lockDefinition)
+                .build()));
+    }
+
     @Test
     public void testSingleDynamicDefinitionMissingNestedType() {
         final TypeIdentifier identifier = TypeIdentifier.ofDynamic();
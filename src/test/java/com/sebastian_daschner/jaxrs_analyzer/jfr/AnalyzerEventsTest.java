@@ -0,0 +1,57 @@
+package com.sebastian_daschner.jaxrs_analyzer.jfr;
+
+import com.sebastian_daschner.jaxrs_analyzer.model.methods.MethodIdentifier;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+public class AnalyzerEventsTest {
+
+    private static final String SIMULATION_EVENT = "com.sebastian_daschner.jaxrs_analyzer.Simulation";
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testNotRecording() {
+        final Object event = AnalyzerEvents.begin(AnalyzerEvents.Type.SIMULATION);
+        AnalyzerEvents.commit(event, "com/example/Test#test()V", 1, 0);
+
+        assertNull(event);
+    }
+
+    @Test
+    public void testRecording() throws IOException {
+        final Path recordingFile = folder.getRoot().toPath().resolve("recording.jfr");
+
+        try (final Recording recording = new Recording()) {
+            recording.enable(SIMULATION_EVENT);
+            recording.start();
+
+            final Object event = AnalyzerEvents.begin(AnalyzerEvents.Type.SIMULATION);
+            assertNotNull(event);
+            AnalyzerEvents.commit(event, MethodIdentifier.ofNonStatic("com/example/Test", "test", "V"), 3, 0);
+
+            recording.stop();
+            recording.dump(recordingFile);
+        }
+
+        final List<RecordedEvent> events = RecordingFile.readAllEvents(recordingFile);
+        assertEquals(1, events.size());
+        assertEquals(SIMULATION_EVENT, events.get(0).getEventType().getName());
+        assertEquals("com/example/Test#test()V", events.get(0).getString("method"));
+        assertEquals(3, events.get(0).getLong("instructions"));
+    }
+
+}
@@ -0,0 +1,63 @@
+package com.sebastian_daschner.jaxrs_analyzer.model.rest;
+
+import com.sebastian_daschner.jaxrs_analyzer.model.Types;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import static com.sebastian_daschner.jaxrs_analyzer.analysis.results.TypeUtils.*;
+import static org.junit.Assert.*;
+
+public class PropertyMapTest {
+
+    @Test
+    public void test() {
+        final Map<String, TypeIdentifier> properties = new HashMap<>();
+        properties.put("world", INT_IDENTIFIER);
+        properties.put("hello", STRING_IDENTIFIER);
+        properties.put("abc", OBJECT_IDENTIFIER);
+
+        final PropertyMap propertyMap = PropertyMap.of(properties);
+
+        assertEquals(3, propertyMap.size());
+        assertEquals(STRING_IDENTIFIER, propertyMap.get("hello"));
+        assertTrue(propertyMap.containsKey("world"));
+        assertNull(propertyMap.get("unknown"));
+        assertNull(propertyMap.get(1));
+        assertEquals(Arrays.asList("abc", "hello", "world"), new ArrayList<>(propertyMap.keySet()));
+
+        assertEquals(properties, propertyMap);
+        assertEquals(propertyMap, properties);
+        assertEquals(properties.hashCode(), propertyMap.hashCode());
+        assertEquals(propertyMap, PropertyMap.of(new HashMap<>(properties)));
+        assertSame(propertyMap, PropertyMap.of(propertyMap));
+
+        properties.put("abc", STRING_IDENTIFIER);
+        assertNotEquals(properties, propertyMap);
+        assertNotEquals(PropertyMap.of(properties), propertyMap);
+
+        assertSame(PropertyMap.EMPTY, PropertyMap.of(new HashMap<>()));
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testImmutable() {
+        PropertyMap.of(new HashMap<>()).put("hello", STRING_IDENTIFIER);
+    }
+
+    @Test
+    public void testSharedInstances() {
+        final Map<String, TypeIdentifier> firstProperties = new HashMap<>();
+        firstProperties.put(new String("hello"), TypeIdentifier.ofType(Types.STRING));
+        final Map<String, TypeIdentifier> secondProperties = new HashMap<>();
+        secondProperties.put(new String("hello"), TypeIdentifier.ofType(Types.STRING));
+
+        final Map.Entry<String, TypeIdentifier> first = PropertyMap.of(firstProperties).entrySet().iterator().next();
+        final Map.Entry<String, TypeIdentifier> second = PropertyMap.of(secondProperties).entrySet().iterator().next();
+        assertSame(first.getKey(), second.getKey());
+        assertSame(first.getValue(), second.getValue());
+    }
+
+}
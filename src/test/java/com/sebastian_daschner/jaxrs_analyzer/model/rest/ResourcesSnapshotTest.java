@@ -0,0 +1,70 @@
+package com.sebastian_daschner.jaxrs_analyzer.model.rest;
+
+import com.sebastian_daschner.jaxrs_analyzer.builder.ResourceMethodBuilder;
+import com.sebastian_daschner.jaxrs_analyzer.builder.ResourcesBuilder;
+import com.sebastian_daschner.jaxrs_analyzer.builder.ResponseBuilder;
+import com.sebastian_daschner.jaxrs_analyzer.model.Types;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+
+public class ResourcesSnapshotTest {
+
+    @Test
+    public void testRoundTrip() throws IOException {
+        final TypeIdentifier modelIdentifier = TypeIdentifier.ofType("Lcom/sebastian_daschner/test/Model;");
+        final TypeIdentifier listIdentifier = TypeIdentifier.ofType("Ljava/util/List<Lcom/sebastian_daschner/test/Model;>;");
+        final TypeIdentifier enumIdentifier = TypeIdentifier.ofType("Lcom/sebastian_daschner/test/Enumeration;");
+        final TypeIdentifier dynamicIdentifier = TypeIdentifier.ofDynamic();
+
+        final Map<String, TypeIdentifier> properties = new HashMap<>();
+        properties.put("name", TypeIdentifier.ofType(Types.STRING));
+        properties.put("länge", TypeIdentifier.ofType(Types.PRIMITIVE_INT));
+        properties.put("enumeration", enumIdentifier);
+        final Map<String, TypeIdentifier> dynamicProperties = new HashMap<>();
+        dynamicProperties.put("model", modelIdentifier);
+
+        final Resources resources = ResourcesBuilder.withBase("rest")
+                .andTypeRepresentation(modelIdentifier, TypeRepresentation.ofConcrete(modelIdentifier, properties))
+                .andTypeRepresentation(listIdentifier, TypeRepresentation.ofCollection(listIdentifier, TypeRepresentation.ofConcrete(modelIdentifier, properties)))
+                .andTypeRepresentation(enumIdentifier, TypeRepresentation.ofEnum(enumIdentifier, "FIRST", "SECOND"))
+                .andTypeRepresentation(dynamicIdentifier, TypeRepresentation.ofConcrete(dynamicIdentifier, dynamicProperties))
+                .andResource("models", ResourceMethodBuilder.withMethod(HttpMethod.GET, "Returns all models.")
+                        .andResponseMediaTypes("application/json")
+                        .andQueryParam("query", Types.STRING, "all", "The query.")
+                        .andResponse(200, ResponseBuilder.withResponseBody(listIdentifier).andHeaders("X-Total").build())
+                        .andResponse(404, ResponseBuilder.newBuilder().build()).build())
+                .andResource("models", ResourceMethodBuilder.withMethod(HttpMethod.POST)
+                        .andAcceptMediaTypes("application/json")
+                        .andRequestBodyType(modelIdentifier)
+                        .andResponse(201, ResponseBuilder.withResponseBody(dynamicIdentifier).build()).build())
+                .andResource("models/{id}", ResourceMethodBuilder.withMethod(HttpMethod.DELETE)
+                        .andPathParam("id", Types.PRIMITIVE_LONG)
+                        .andDeprecated(true).build())
+                .build();
+
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        ResourcesSnapshot.write(resources, output);
+        final Resources actual = ResourcesSnapshot.read(new ByteArrayInputStream(output.toByteArray()));
+
+        assertEquals(resources, actual);
+        assertEquals("rest", actual.getBasePath());
+        assertEquals(properties, ((TypeRepresentation.ConcreteTypeRepresentation) actual.getTypeRepresentations().get(modelIdentifier)).getProperties());
+        assertEquals(dynamicProperties, ((TypeRepresentation.ConcreteTypeRepresentation) actual.getTypeRepresentations().get(dynamicIdentifier)).getProperties());
+        assertEquals(((TypeRepresentation.EnumTypeRepresentation) resources.getTypeRepresentations().get(enumIdentifier)).getEnumValues(),
+                ((TypeRepresentation.EnumTypeRepresentation) actual.getTypeRepresentations().get(enumIdentifier)).getEnumValues());
+        assertEquals(modelIdentifier, ((TypeRepresentation.CollectionTypeRepresentation) actual.getTypeRepresentations().get(listIdentifier)).getRepresentation().getIdentifier());
+    }
+
+    @Test(expected = IOException.class)
+    public void testInvalidSnapshot() throws IOException {
+        ResourcesSnapshot.read(new ByteArrayInputStream("{\"swagger\":\"2.0\"}".getBytes()));
+    }
+
+}
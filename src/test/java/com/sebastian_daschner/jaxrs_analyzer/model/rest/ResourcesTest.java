@@ -0,0 +1,104 @@
+package com.sebastian_daschner.jaxrs_analyzer.model.rest;
+
+import com.sebastian_daschner.jaxrs_analyzer.builder.ResourceMethodBuilder;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static java.util.Arrays.asList;
+import static org.junit.Assert.*;
+
+public class ResourcesTest {
+
+    private Resources classUnderTest;
+
+    @Before
+    public void setUp() {
+        classUnderTest = new Resources();
+        classUnderTest.addMethod("test/{id}", ResourceMethodBuilder.withMethod(HttpMethod.PUT).andAcceptMediaTypes("application/json").build());
+        classUnderTest.addMethod("test/{id}", ResourceMethodBuilder.withMethod(HttpMethod.PUT).andAcceptMediaTypes("application/xml").build());
+        classUnderTest.addMethod("test/{id}", ResourceMethodBuilder.withMethod(HttpMethod.DELETE).build());
+        classUnderTest.addMethod("test", ResourceMethodBuilder.withMethod(HttpMethod.POST).build());
+        classUnderTest.addMethod("test", ResourceMethodBuilder.withMethod(HttpMethod.GET).build());
+        classUnderTest.addMethod("another", ResourceMethodBuilder.withMethod(HttpMethod.GET).build());
+    }
+
+    @Test
+    public void testFreeze() {
+        final Resources expected = new Resources();
+        classUnderTest.getResources().forEach(r -> classUnderTest.getMethods(r).forEach(m -> expected.addMethod(r, m)));
+
+        classUnderTest.freeze();
+
+        assertTrue(classUnderTest.isFrozen());
+        assertEquals(expected, classUnderTest);
+        assertEquals(asList("another", "test", "test/{id}"), new ArrayList<>(classUnderTest.getResources()));
+        assertEquals(asList(HttpMethod.GET, HttpMethod.POST), methods(new ArrayList<>(classUnderTest.getMethods("test"))));
+        assertEquals(3, classUnderTest.getMethods("test/{id}").size());
+    }
+
+    @Test
+    public void testFrozenCopy() {
+        classUnderTest.setBasePath("rest");
+
+        final Resources frozen = classUnderTest.frozen();
+
+        assertTrue(frozen.isFrozen());
+        assertFalse(classUnderTest.isFrozen());
+        assertEquals(classUnderTest, frozen);
+        assertSame(frozen, frozen.frozen());
+
+        // the original resources stay modifiable and the copy is not affected
+        classUnderTest.addMethod("test", ResourceMethodBuilder.withMethod(HttpMethod.HEAD).build());
+        assertEquals(2, frozen.getMethods("test").size());
+    }
+
+    @Test
+    public void testConsolidatedMethods() {
+        classUnderTest.freeze();
+
+        final List<ResourceMethod> methods = classUnderTest.getConsolidatedMethods("test/{id}");
+        assertEquals(asList(HttpMethod.PUT, HttpMethod.DELETE), methods(methods));
+        assertEquals(2, methods.get(0).getRequestMediaTypes().size());
+    }
+
+    @Test
+    public void testConsolidatedMethodsNotFrozen() {
+        assertEquals(asList(HttpMethod.PUT, HttpMethod.DELETE), methods(classUnderTest.getConsolidatedMethods("test/{id}")));
+    }
+
+    @Test
+    public void testPath() {
+        classUnderTest.freeze();
+
+        final PathTrie.Node path = classUnderTest.getPath("test/{id}");
+        assertEquals(2, path.getDepth());
+        assertEquals("{id}", path.getSegment());
+        assertTrue(path.isParameter());
+        assertEquals("test", path.getAncestor(0).getSegment());
+        assertFalse(path.getAncestor(0).isParameter());
+        assertSame(classUnderTest.getPath("test"), path.getAncestor(0));
+        assertNull(classUnderTest.getPath("unknown"));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testFrozenModification() {
+        classUnderTest.freeze();
+        classUnderTest.addMethod("test", ResourceMethodBuilder.withMethod(HttpMethod.HEAD).build());
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testFrozenTypeRepresentations() {
+        classUnderTest.freeze();
+        classUnderTest.getTypeRepresentations().put(TypeIdentifier.ofDynamic(), null);
+    }
+
+    private static List<HttpMethod> methods(final List<ResourceMethod> methods) {
+        final List<HttpMethod> httpMethods = new ArrayList<>();
+        methods.forEach(m -> httpMethods.add(m.getMethod()));
+        return httpMethods;
+    }
+
+}
@@ -0,0 +1,40 @@
+package com.sebastian_daschner.jaxrs_analyzer.utils;
+
+import org.junit.Test;
+
+import java.lang.ref.WeakReference;
+
+import static org.junit.Assert.*;
+
+public class WeakInternerTest {
+
+    @Test
+    public void test() {
+        final WeakInterner<String, Value> interner = new WeakInterner<>();
+
+        final Value value = interner.intern("key", Value::new);
+        assertSame(value, interner.intern(new String("key"), Value::new));
+        assertNotSame(value, interner.intern("other", Value::new));
+    }
+
+    @Test
+    public void testReleased() {
+        final WeakInterner<String, Value> interner = new WeakInterner<>();
+        final WeakReference<Value> reference = new WeakReference<>(interner.intern(new String("key"), Value::new));
+
+        for (int i = 0; i < 10 && reference.get() != null; i++)
+            System.gc();
+
+        assertNull("The unused value must not be kept alive", reference.get());
+        assertNotNull(interner.intern("key", Value::new));
+    }
+
+    private static class Value {
+        private final String key;
+
+        Value(final String key) {
+            this.key = key;
+        }
+    }
+
+}